@@ -0,0 +1,214 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how many concurrent requests the backend can hold open while staying responsive.
+ *
+ * For each load level it opens N slow uploads to /api/workreturns/stream (clients on a bad
+ * network, sending 1 KB every 100 ms for the whole run) and, alongside them, drives a few
+ * probe clients in a loop against a cheap endpoint. On the platform thread pool every slow
+ * upload holds one of Tomcat's 200 threads, so past that point the probes queue behind them; on
+ * virtual threads they should not.
+ *
+ * The uploads are raw sockets sending a chunked body, all fed by one timer thread, so the driver
+ * stays cheap enough to share a small machine with the server without skewing the numbers.
+ *
+ * Usage: java ThreadModeBenchmark.java <baseUrl> <label> [levels=50,200,400,800] [seconds=20]
+ *        [probePath=/api/levels] [assignmentId=1] [studentId=1]
+ * Run by bench/thread-mode-benchmark.sh once per thread mode.
+ */
+public class ThreadModeBenchmark {
+
+    private static final int PROBE_CLIENTS = 8;
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final long TICK_MILLIS = 100;
+    private static final int WARM_UP_SECONDS = 10;
+    private static final byte[] CHUNK = chunk(1024);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: java ThreadModeBenchmark.java <baseUrl> <label> [levels] [seconds] "
+                    + "[probePath] [assignmentId] [studentId]");
+            System.exit(2);
+        }
+        URI base = URI.create(args[0]);
+        String label = args[1];
+        String[] levels = (args.length > 2 ? args[2] : "50,200,400,800").split(",");
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        String probePath = args.length > 4 ? args[4] : "/api/levels";
+        String uploadPath = "/api/workreturns/stream?assignmentId=" + (args.length > 5 ? args[5] : "1")
+                + "&studentId=" + (args.length > 6 ? args[6] : "1") + "&fileName=bench.pdf";
+
+        // Let the JIT compile the request path so the first level is not measuring a cold JVM
+        long warmUpEnd = System.nanoTime() + Duration.ofSeconds(WARM_UP_SECONDS).toNanos();
+        while (System.nanoTime() < warmUpEnd) {
+            try {
+                probe(base.resolve(probePath).toString());
+            } catch (IOException e) {
+                // counted in the measured runs, not here
+            }
+        }
+
+        System.out.println("| mode | slow uploads | probe req/s | probe p50 ms | probe p99 ms | probe errors | uploads ok | uploads failed |");
+        System.out.println("|---|---|---|---|---|---|---|---|");
+        for (String level : levels) {
+            System.out.println(run(base, label, Integer.parseInt(level.trim()), seconds, probePath, uploadPath));
+        }
+    }
+
+    private static String run(URI base, String label, int slowClients, int seconds, String probePath,
+                              String uploadPath) throws InterruptedException {
+        List<SlowUpload> uploads = new ArrayList<>();
+        int uploadsFailed = 0;
+        for (int i = 0; i < slowClients; i++) {
+            try {
+                uploads.add(new SlowUpload(base, uploadPath));
+            } catch (IOException e) {
+                uploadsFailed++;
+            }
+        }
+
+        AtomicInteger probeErrors = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long probeStart = System.nanoTime();
+        long deadline = probeStart + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService probes = Executors.newFixedThreadPool(PROBE_CLIENTS);
+        for (int i = 0; i < PROBE_CLIENTS; i++) {
+            probes.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        if (probe(base.resolve(probePath).toString()) == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            probeErrors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        probeErrors.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // Every upload gets 1 KB per tick until the deadline
+        while (System.nanoTime() < deadline) {
+            for (SlowUpload upload : uploads) {
+                upload.send();
+            }
+            Thread.sleep(TICK_MILLIS);
+        }
+        double probeSeconds = (System.nanoTime() - probeStart) / 1e9;
+        probes.shutdown();
+        probes.awaitTermination(TIMEOUT_MILLIS * 2L, TimeUnit.MILLISECONDS);
+
+        int uploadsOk = 0;
+        for (SlowUpload upload : uploads) {
+            // 400 "Student not found" still means the whole body was read and handled
+            int status = upload.finish();
+            if (status > 0 && status < 500) {
+                uploadsOk++;
+            } else {
+                uploadsFailed++;
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return String.format("| %s | %d | %.1f | %s | %s | %d | %d | %d |", label, slowClients,
+                sorted.size() / probeSeconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                probeErrors.get(), uploadsOk, uploadsFailed);
+    }
+
+    private static int probe(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        int status = connection.getResponseCode();
+        try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (body != null) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return status;
+    }
+
+    private static String percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return "-";
+        }
+        long nanos = sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1));
+        return String.format("%.1f", nanos / 1e6);
+    }
+
+    private static byte[] chunk(int size) {
+        byte[] header = (Integer.toHexString(size) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] chunk = new byte[header.length + size + 2];
+        System.arraycopy(header, 0, chunk, 0, header.length);
+        Arrays.fill(chunk, header.length, header.length + size, (byte) '%');
+        chunk[chunk.length - 2] = '\r';
+        chunk[chunk.length - 1] = '\n';
+        return chunk;
+    }
+
+    // One upload with a chunked body, written a chunk at a time by the caller
+    private static class SlowUpload {
+        private final Socket socket = new Socket();
+        private final OutputStream out;
+        private boolean failed;
+
+        SlowUpload(URI base, String path) throws IOException {
+            socket.connect(new InetSocketAddress(base.getHost(), base.getPort()), TIMEOUT_MILLIS);
+            out = socket.getOutputStream();
+            String head = "POST " + path + " HTTP/1.1\r\n"
+                    + "Host: " + base.getHost() + ":" + base.getPort() + "\r\n"
+                    + "Content-Type: application/octet-stream\r\n"
+                    + "Transfer-Encoding: chunked\r\n"
+                    + "Connection: close\r\n\r\n";
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        void send() {
+            if (failed) {
+                return;
+            }
+            try {
+                out.write(CHUNK);
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+
+        // Ends the body and returns the response status, or -1 if the upload broke
+        int finish() {
+            try (socket) {
+                if (failed) {
+                    return -1;
+                }
+                out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                socket.setSoTimeout(30_000);
+                byte[] statusLine = socket.getInputStream().readNBytes(12);
+                return statusLine.length == 12 ? Integer.parseInt(new String(statusLine, 9, 3, StandardCharsets.US_ASCII)) : -1;
+            } catch (IOException | NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Deadline-day load test on an in-memory H2 database, all in one JVM: the loadtest profile
+# generates a school (SchoolDataGenerator), replays deadline-day traffic against the local HTTP
+# port (DeadlineDayLoadDriver), logs p50/p99 latency and throughput per operation, and exits.
+# Same arguments, same data and same request sequence; the JSON report goes to
+# target/loadtest-report.json.
+#
+# Usage: bench/deadline-day-load-test.sh [students=2000] [seconds=30] [clients=32] [extra Spring arguments...]
+#   e.g. bench/deadline-day-load-test.sh 20000 60 64 --loadtest.mix=upload:80,summary:20
+#        bench/deadline-day-load-test.sh 2000 30 32 --spring.threads.virtual.enabled=true
+# Environment:
+#   JAVA_OPTS   JVM options for the application (default -Xmx1g)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+STUDENTS="${1:-2000}"
+DURATION="${2:-30}"
+CLIENTS="${3:-32}"
+shift $(( $# < 3 ? $# : 3 ))
+
+mvn -q -DskipTests package
+java ${JAVA_OPTS:--Xmx1g} -jar target/demo-0.0.1-SNAPSHOT.jar \
+  --spring.profiles.active=loadtest \
+  --generator.students="$STUDENTS" \
+  --loadtest.duration="PT${DURATION}S" \
+  --loadtest.clients="$CLIENTS" \
+  "$@"
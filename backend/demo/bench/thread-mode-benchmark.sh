@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compares platform and virtual request threads on the backend image, under the same limits as
+# docker-compose.yml (0.5 CPU, 512M). Each mode gets a fresh container; ThreadModeBenchmark.java
+# then opens slow uploads at each level and measures how a cheap endpoint holds up beside them.
+#
+# Usage: bench/thread-mode-benchmark.sh [levels=50,200,400,800] [seconds=20]
+# Environment:
+#   IMAGE                      backend image (default scholarhub-backend)
+#   PORT                       host port for the container (default 18080)
+#   NETWORK                    docker network with the database (default scholarhub-net)
+#   SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME, SPRING_DATASOURCE_PASSWORD
+#                              passed through when set, to point the backend at a test database
+#   ASSIGNMENT_ID, STUDENT_ID  existing rows the uploads are filed under (default 1 and 1)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+LEVELS="${1:-50,200,400,800}"
+SECONDS_PER_LEVEL="${2:-20}"
+IMAGE="${IMAGE:-scholarhub-backend}"
+PORT="${PORT:-18080}"
+NETWORK="${NETWORK:-scholarhub-net}"
+CONTAINER=scholarhub-thread-bench
+
+env_args=(-e LOGSTASH_HOST=logstash)
+for name in SPRING_DATASOURCE_URL SPRING_DATASOURCE_USERNAME SPRING_DATASOURCE_PASSWORD; do
+  if [ -n "${!name:-}" ]; then
+    env_args+=(-e "$name=${!name}")
+  fi
+done
+
+cleanup() {
+  docker rm -f "$CONTAINER" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+for virtual in false true; do
+  cleanup
+  docker run -d --name "$CONTAINER" --network "$NETWORK" --cpus 0.5 --memory 512m \
+    -p "$PORT:8080" "${env_args[@]}" -e "SPRING_THREADS_VIRTUAL_ENABLED=$virtual" \
+    "$IMAGE" >/dev/null
+
+  echo "Waiting for the backend (virtual threads: $virtual)..." >&2
+  for _ in $(seq 1 90); do
+    if curl -fs -o /dev/null "http://localhost:$PORT/api/levels"; then
+      break
+    fi
+    sleep 2
+  done
+
+  label=$([ "$virtual" = true ] && echo virtual || echo platform)
+  java bench/ThreadModeBenchmark.java "http://localhost:$PORT" "$label" "$LEVELS" "$SECONDS_PER_LEVEL" \
+    /api/levels "${ASSIGNMENT_ID:-1}" "${STUDENT_ID:-1}"
+  echo
+  echo "Pinned waits (virtual threads: $virtual):" >&2
+  curl -fs "http://localhost:$PORT/actuator/prometheus" | grep '^jvm_threads_virtual_pinned_seconds_count' >&2 || true
+done
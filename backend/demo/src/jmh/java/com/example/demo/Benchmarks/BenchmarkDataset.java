@@ -0,0 +1,221 @@
+package com.example.demo.Benchmarks;
+
+import com.example.demo.Application;
+import com.example.demo.Authentication.PasswordHasher;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application context over an H2 database (SQL Server mode, migrated by Flyway as in the prod
+ * profile) holding {@link #rows} work returns, half of them graded, and the students, groups and
+ * assignments they belong to. Every student has {@link #PASSWORD}.
+ *
+ * Each size is seeded once into target/jmh-data (override with -Djmh.data-dir) and reused by
+ * every later fork and run; a database whose seeding did not finish is dropped and seeded again.
+ * Bump {@link #SEED_VERSION} when the data or the migrations change.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkDataset.class);
+
+    static final String PASSWORD = "benchpass";
+    private static final int SEED_VERSION = 1;
+    private static final int BATCH = 10_000;
+    private static final int STUDENTS_PER_GROUP = 30;
+    private static final int SUBJECTS = 5;
+    private static final int TEACHERS = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    int students;
+    int groups;
+    int assignments;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        // Every student hands in one work return for ten different assignments
+        students = Math.max(10, rows / 10);
+        groups = Math.max(1, students / STUDENTS_PER_GROUP);
+        assignments = Math.max(10, rows / 100);
+
+        Path dir = Paths.get(System.getProperty("jmh.data-dir", "target/jmh-data")).toAbsolutePath();
+        String url = "jdbc:h2:file:" + dir.resolve("rows-" + rows + "-v" + SEED_VERSION)
+                + ";MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS";
+        boolean seeded = isSeeded(url);
+
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("prod")
+                .run("--spring.main.web-application-type=none",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.demo.Benchmarks=INFO",
+                        "--file.upload-dir=" + dir.resolve("uploads") + "/");
+        if (!seeded) {
+            seed(context.getBean(JdbcTemplate.class));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    long randomStudentId() {
+        return ThreadLocalRandom.current().nextLong(1, students + 1);
+    }
+
+    long randomAssignmentId() {
+        return ThreadLocalRandom.current().nextLong(1, assignments + 1);
+    }
+
+    long randomGroupId() {
+        return ThreadLocalRandom.current().nextLong(1, groups + 1);
+    }
+
+    static String studentEmail(long studentId) {
+        return "student" + studentId + "@bench.local";
+    }
+
+    // Checked before Flyway runs, so an unfinished seed can be wiped and migrated from scratch
+    private static boolean isSeeded(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            try (ResultSet marker = statement.executeQuery(
+                    "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'jmh_seed'")) {
+                marker.next();
+                if (marker.getInt(1) > 0) {
+                    return true;
+                }
+            }
+            statement.execute("DROP ALL OBJECTS");
+            return false;
+        }
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        long start = System.nanoTime();
+        // One hash for everyone: BCrypt at the configured strength would take hours for 100k students
+        String hash = bean(PasswordHasher.class).encode(PASSWORD);
+
+        jdbc.update("INSERT INTO levels (id, name) VALUES (1, 'Level 1')");
+        for (int i = 1; i <= SUBJECTS; i++) {
+            jdbc.update("INSERT INTO subjects (id, name, level_id) VALUES (?, ?, 1)", i, "Subject " + i);
+        }
+        for (int i = 1; i <= TEACHERS; i++) {
+            jdbc.update("INSERT INTO teachers (id, email, password, firstname, lastname) VALUES (?, ?, ?, ?, ?)",
+                    i, "teacher" + i + "@bench.local", hash, "Teacher", "T" + i);
+        }
+        insert(jdbc, "INSERT INTO groups (id, name, level_id) VALUES (?, ?, 1)", groups,
+                i -> new Object[]{i, "Group " + i});
+        // One program per group, numbered like the group
+        insert(jdbc, "INSERT INTO programs (id, teacher_id, group_id, subject_id) VALUES (?, ?, ?, ?)", groups,
+                i -> new Object[]{i, 1 + (i - 1) % TEACHERS, i, subjectOf(i)});
+        insert(jdbc, "INSERT INTO students (id, email, password, firstname, lastname, level_id, group_id) "
+                        + "VALUES (?, ?, ?, ?, ?, 1, ?)", students,
+                i -> new Object[]{i, studentEmail(i), hash, "First" + i, "Last" + i, groupOfStudent(i)});
+        insert(jdbc, "INSERT INTO assignments (id, title, description, status, subject_id, group_id, program_id) "
+                        + "VALUES (?, ?, ?, 'Not Started', ?, ?, ?)", assignments,
+                i -> {
+                    long group = 1 + (i - 1) % groups;
+                    return new Object[]{i, "Assignment " + i, "Benchmark assignment " + i, subjectOf(group), group, group};
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        insert(jdbc, "INSERT INTO work_return (id, file_path, original_file_name, file_size, created_at, grade, "
+                        + "student_id, assignment_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows,
+                i -> new Object[]{i, "/uploads/bench-" + i + ".pdf", "bench-" + i + ".pdf", 1024L,
+                        Timestamp.valueOf(now.minusSeconds(i)), i % 2 == 0 ? (int) (i % 21) : null,
+                        studentOfWorkReturn(i), assignmentOfWorkReturn(i)});
+        // A Grade for every graded work return
+        insert(jdbc, "INSERT INTO grades (id, score, student_id, assignment_id, subject_id) VALUES (?, ?, ?, ?, ?)",
+                rows / 2,
+                i -> {
+                    long workReturn = i * 2;
+                    long assignment = assignmentOfWorkReturn(workReturn);
+                    return new Object[]{i, (double) (workReturn % 21), studentOfWorkReturn(workReturn), assignment,
+                            subjectOf(1 + (assignment - 1) % groups)};
+                });
+
+        jdbc.execute("CREATE TABLE jmh_seed (seeded_rows int)");
+        LOGGER.info("Seeded {} work returns, {} students, {} assignments in {} ms",
+                rows, students, assignments, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, long count, RowValues values) {
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (long i = 1; i <= count; i++) {
+            batch.add(values.row(i));
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+    }
+
+    private long groupOfStudent(long studentId) {
+        return 1 + (studentId - 1) % groups;
+    }
+
+    private static long subjectOf(long groupId) {
+        return 1 + (groupId - 1) % SUBJECTS;
+    }
+
+    private long studentOfWorkReturn(long workReturnId) {
+        return 1 + (workReturnId - 1) % students;
+    }
+
+    // The ten work returns of a student go to ten different assignments, so (student, assignment)
+    // stays unique as the grades table requires
+    private long assignmentOfWorkReturn(long workReturnId) {
+        long round = (workReturnId - 1) / students;
+        long student = (workReturnId - 1) % students;
+        return 1 + (round + student * 10) % assignments;
+    }
+
+    @FunctionalInterface
+    private interface RowValues {
+        Object[] row(long index);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.Benchmarks;
+
+import com.example.demo.Group.GroupController;
+import com.example.demo.Group.GroupDTO;
+import com.example.demo.Group.GroupRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/groups: the DTO query itself (what a cache miss costs) and the controller behind the
+ * reference data cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GroupListingBenchmark {
+
+    @Benchmark
+    public List<GroupDTO> query(BenchmarkDataset dataset) {
+        return dataset.bean(GroupRepository.class).findAllAsDTO();
+    }
+
+    @Benchmark
+    public List<GroupDTO> cached(BenchmarkDataset dataset) {
+        return dataset.bean(GroupController.class).getAllGroups();
+    }
+}
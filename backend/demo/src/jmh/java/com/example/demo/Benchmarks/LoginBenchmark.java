@@ -0,0 +1,52 @@
+package com.example.demo.Benchmarks;
+
+import com.example.demo.Authentication.AuthController;
+import com.example.demo.Authentication.LoginRequest;
+import com.example.demo.Authentication.LoginService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/auth/login. A successful login is dominated by BCrypt (auth.bcrypt-strength), with
+ * or without the credential cache in front of the database; an unknown email measures the
+ * account lookup alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LoginBenchmark {
+
+    @Benchmark
+    public ResponseEntity<?> cachedAccount(BenchmarkDataset dataset) {
+        return dataset.bean(AuthController.class).login(request(BenchmarkDataset.studentEmail(1), BenchmarkDataset.PASSWORD));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> uncachedAccount(BenchmarkDataset dataset) {
+        String email = BenchmarkDataset.studentEmail(dataset.randomStudentId());
+        dataset.bean(LoginService.class).evict(email);
+        return dataset.bean(AuthController.class).login(request(email, BenchmarkDataset.PASSWORD));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> unknownEmail(BenchmarkDataset dataset) {
+        return dataset.bean(AuthController.class).login(request("nobody@bench.local", BenchmarkDataset.PASSWORD));
+    }
+
+    private static LoginRequest request(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
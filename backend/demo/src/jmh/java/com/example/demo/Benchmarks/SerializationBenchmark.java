@@ -0,0 +1,84 @@
+package com.example.demo.Benchmarks;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Assignment.AssignmentDTO;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Grade.GradeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson alone, with the application's ObjectMapper: one page of 200 (the assignment listing's
+ * default page size) of Assignment and Grade entity graphs as the entity endpoints return them,
+ * and the flat AssignmentDTO listing page. The pages are loaded once, so no query or lazy load is
+ * measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+        ObjectMapper objectMapper;
+        List<Assignment> assignments;
+        List<Grade> grades;
+        List<AssignmentDTO> assignmentListing;
+
+        @Setup(Level.Trial)
+        public void load(BenchmarkDataset dataset) {
+            objectMapper = dataset.bean(ObjectMapper.class);
+            PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+            new TransactionTemplate(dataset.bean(PlatformTransactionManager.class)).executeWithoutResult(tx -> {
+                assignments = dataset.bean(AssignmentRepository.class).findAll(page).getContent();
+                grades = dataset.bean(GradeRepository.class).findAll(page).getContent();
+                // Serializing once inside the transaction loads every lazy association Jackson follows
+                try {
+                    objectMapper.writeValueAsBytes(assignments);
+                    objectMapper.writeValueAsBytes(grades);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assignmentListing = dataset.bean(AssignmentRepository.class).findListingPage(null, 0L, PageRequest.of(0, PAGE_SIZE));
+        }
+    }
+
+    @Benchmark
+    public byte[] assignmentGraphs(Pages pages) throws JsonProcessingException {
+        return pages.objectMapper.writeValueAsBytes(pages.assignments);
+    }
+
+    @Benchmark
+    public byte[] gradeGraphs(Pages pages) throws JsonProcessingException {
+        return pages.objectMapper.writeValueAsBytes(pages.grades);
+    }
+
+    @Benchmark
+    public byte[] assignmentListing(Pages pages) throws JsonProcessingException {
+        return pages.objectMapper.writeValueAsBytes(pages.assignmentListing);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.demo.Admin;
 
+import com.example.demo.Authentication.LoginService;
+import com.example.demo.Authentication.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -14,6 +18,12 @@ public class AdminController {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginService loginService;
+
     // Get all admins
     @GetMapping
     public List<Admin> getAllAdmins() {
@@ -30,20 +40,28 @@ public class AdminController {
 
     // Create new admin
     @PostMapping
-    public Admin createAdmin(@RequestBody Admin admin) {
-        return adminRepository.save(admin);
+    public ResponseEntity<?> createAdmin(@RequestBody Admin admin) {
+        if (admin.getEmail() == null || admin.getEmail().isBlank()
+                || admin.getPassword() == null || admin.getPassword().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Admin email and password are required"));
+        }
+        admin.setPassword(passwordHasher.encode(admin.getPassword()));
+        loginService.evict(admin.getEmail());
+        return new ResponseEntity<>(adminRepository.save(admin), HttpStatus.CREATED);
     }
 
     // Update admin
     @PutMapping("/{id}")
     public ResponseEntity<Admin> updateAdmin(@PathVariable Long id, @RequestBody Admin adminDetails) {
         return adminRepository.findById(id).map(admin -> {
+            loginService.evict(admin.getEmail());
             admin.setEmail(adminDetails.getEmail());
-            admin.setPassword(adminDetails.getPassword());
+            admin.setPassword(passwordHasher.encodeIfChanged(adminDetails.getPassword(), admin.getPassword()));
             admin.setFirstname(adminDetails.getFirstname());
             admin.setLastname(adminDetails.getLastname());
             admin.setInstitutionName(adminDetails.getInstitutionName());
             adminRepository.save(admin);
+            loginService.evict(admin.getEmail());
             return ResponseEntity.ok(admin);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -53,6 +71,7 @@ public class AdminController {
         Optional<Admin> optionalAdmin = adminRepository.findById(id);
         if (optionalAdmin.isPresent()) {
             adminRepository.delete(optionalAdmin.get());
+            loginService.evict(optionalAdmin.get().getEmail());
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
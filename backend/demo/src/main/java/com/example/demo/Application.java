@@ -36,7 +36,7 @@ public class Application {
     }
 
     @Bean
-    @Profile("!test") // Ne s'exécute pas en mode test
+    @Profile("!test & !prod") // Ne s'exécute pas en mode test, ni en production (schéma persistant)
     CommandLineRunner testEverything(LevelRepository levelRepo,
                                      SubjectRepository subjectRepo,
                                      TeacherRepository teacherRepo,
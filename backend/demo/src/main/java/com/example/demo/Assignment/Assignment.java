@@ -4,6 +4,7 @@ import com.example.demo.Subject.Subject;
 import com.example.demo.Group.Group;
 import com.example.demo.Program.Program;
 import com.example.demo.WorkReturn.WorkReturn;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.*;
@@ -11,7 +12,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "Assignments")
+// (group_id, id) serves the per-group listing, which pages in id order
+@Table(name = "Assignments", indexes = {
+    @Index(name = "idx_assignments_group", columnList = "group_id, id")
+})
 public class Assignment {
 
     @Id
@@ -33,8 +37,9 @@ public class Assignment {
     @JsonIgnoreProperties({"assignments", "teachers", "level", "grades"})
     private Subject subject;
 
+    // Not serialized: it would embed every submission of the assignment in each response
     @OneToMany(mappedBy = "assignment")
-    @JsonIgnoreProperties("assignment")
+    @JsonIgnore
     private List<WorkReturn> workReturns;
 
     @ManyToOne
@@ -1,27 +1,46 @@
 package com.example.demo.Assignment;
 
+import com.example.demo.Authentication.AuthenticatedUser;
+import com.example.demo.Dashboard.GroupDashboardService;
 import com.example.demo.Group.Group;
 import com.example.demo.Group.GroupRepository;
 import com.example.demo.Program.Program;
 import com.example.demo.Program.ProgramRepository;
 import com.example.demo.Subject.Subject;
 import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.SubmissionState.AssignmentSubmissionStats;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import com.example.demo.SubmissionState.SubmissionStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/assignments")
 public class AssignmentController {
 
-    private static final Logger LOGGER = Logger.getLogger(AssignmentController.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssignmentController.class);
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Set<String> INCLUDABLE = Set.of("subject", "group", "program");
 
     @Autowired
     private AssignmentRepository assignmentRepository;
@@ -35,12 +54,18 @@ public class AssignmentController {
     @Autowired
     private ProgramRepository programRepository;
 
+    @Autowired
+    private SubmissionStateService submissionStates;
+
+    @Autowired
+    private GroupDashboardService dashboards;
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> createAssignment(@RequestBody AssignmentDTO assignmentDTO) {
         try {
             // Validate DTO
             if (assignmentDTO.getSubjectId() == null || assignmentDTO.getGroupId() == null || assignmentDTO.getProgramId() == null) {
-                LOGGER.warning("[DEBUG] POST /api/assignments - Missing subjectId, groupId, or programId");
+                LOGGER.warn("Missing subjectId, groupId, or programId");
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Subject, group, and program are required");
                 return ResponseEntity.badRequest().body(error);
@@ -49,21 +74,21 @@ public class AssignmentController {
             // Fetch related entities
             Optional<Subject> subjectOpt = subjectRepository.findById(assignmentDTO.getSubjectId());
             if (!subjectOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] POST /api/assignments - Subject not found: " + assignmentDTO.getSubjectId());
+                LOGGER.warn("Subject not found: {}", assignmentDTO.getSubjectId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Subject not found");
                 return ResponseEntity.badRequest().body(error);
             }
             Optional<Group> groupOpt = groupRepository.findById(assignmentDTO.getGroupId());
             if (!groupOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] POST /api/assignments - Group not found: " + assignmentDTO.getGroupId());
+                LOGGER.warn("Group not found: {}", assignmentDTO.getGroupId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Group not found");
                 return ResponseEntity.badRequest().body(error);
             }
             Optional<Program> programOpt = programRepository.findById(assignmentDTO.getProgramId());
             if (!programOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] POST /api/assignments - Program not found: " + assignmentDTO.getProgramId());
+                LOGGER.warn("Program not found: {}", assignmentDTO.getProgramId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Program not found");
                 return ResponseEntity.badRequest().body(error);
@@ -79,9 +104,11 @@ public class AssignmentController {
             assignment.setGroup(groupOpt.get());
             assignment.setProgram(programOpt.get());
 
-            LOGGER.info("[DEBUG] POST /api/assignments - Creating assignment: " + assignment.getTitle());
+            LOGGER.debug("Creating assignment: {}", assignment.getTitle());
             Assignment savedAssignment = assignmentRepository.save(assignment);
-            LOGGER.info("[DEBUG] POST /api/assignments - Saved assignment: " + savedAssignment.getId());
+            LOGGER.debug("Saved assignment: {}", savedAssignment.getId());
+            submissionStates.syncAssignment(savedAssignment.getId(), savedAssignment.getGroup().getId());
+            dashboards.groupsChanged(List.of(savedAssignment.getGroup().getId()));
 
             // Map back to DTO for response
             AssignmentDTO responseDTO = new AssignmentDTO();
@@ -95,7 +122,7 @@ public class AssignmentController {
 
             return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
         } catch (Exception e) {
-            LOGGER.severe("[DEBUG] POST /api/assignments - Failed to create assignment: " + e.getMessage());
+            LOGGER.error("Failed to create assignment", e);
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to create assignment: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -107,7 +134,7 @@ public class AssignmentController {
         try {
             // Validate DTO
             if (assignmentDTO.getSubjectId() == null || assignmentDTO.getGroupId() == null || assignmentDTO.getProgramId() == null) {
-                LOGGER.warning("[DEBUG] PUT /api/assignments/" + id + " - Missing subjectId, groupId, or programId");
+                LOGGER.warn("Assignment {}: missing subjectId, groupId, or programId", id);
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Subject, group, and program are required");
                 return ResponseEntity.badRequest().body(error);
@@ -116,7 +143,7 @@ public class AssignmentController {
             // Check if assignment exists
             Optional<Assignment> existingAssignmentOpt = assignmentRepository.findById(id);
             if (!existingAssignmentOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] PUT /api/assignments/" + id + " - Assignment not found");
+                LOGGER.warn("Assignment {} not found", id);
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Assignment not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
@@ -125,21 +152,21 @@ public class AssignmentController {
             // Fetch related entities
             Optional<Subject> subjectOpt = subjectRepository.findById(assignmentDTO.getSubjectId());
             if (!subjectOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] PUT /api/assignments/" + id + " - Subject not found: " + assignmentDTO.getSubjectId());
+                LOGGER.warn("Assignment {}: subject not found: {}", id, assignmentDTO.getSubjectId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Subject not found");
                 return ResponseEntity.badRequest().body(error);
             }
             Optional<Group> groupOpt = groupRepository.findById(assignmentDTO.getGroupId());
             if (!groupOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] PUT /api/assignments/" + id + " - Group not found: " + assignmentDTO.getGroupId());
+                LOGGER.warn("Assignment {}: group not found: {}", id, assignmentDTO.getGroupId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Group not found");
                 return ResponseEntity.badRequest().body(error);
             }
             Optional<Program> programOpt = programRepository.findById(assignmentDTO.getProgramId());
             if (!programOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] PUT /api/assignments/" + id + " - Program not found: " + assignmentDTO.getProgramId());
+                LOGGER.warn("Assignment {}: program not found: {}", id, assignmentDTO.getProgramId());
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Program not found");
                 return ResponseEntity.badRequest().body(error);
@@ -147,6 +174,8 @@ public class AssignmentController {
 
             // Update entity
             Assignment assignment = existingAssignmentOpt.get();
+            Long previousGroupId = assignment.getGroup() != null ? assignment.getGroup().getId() : null;
+            LocalDateTime previousDelay = assignment.getDelay();
             assignment.setTitle(assignmentDTO.getTitle());
             assignment.setDescription(assignmentDTO.getDescription());
             assignment.setDelay(assignmentDTO.getDelay());
@@ -155,9 +184,17 @@ public class AssignmentController {
             assignment.setGroup(groupOpt.get());
             assignment.setProgram(programOpt.get());
 
-            LOGGER.info("[DEBUG] PUT /api/assignments/" + id + " - Updating assignment: " + assignment.getTitle());
+            LOGGER.debug("Updating assignment {}: {}", id, assignment.getTitle());
             Assignment savedAssignment = assignmentRepository.save(assignment);
-            LOGGER.info("[DEBUG] PUT /api/assignments/" + id + " - Updated assignment: " + savedAssignment.getId());
+            LOGGER.debug("Updated assignment {}", savedAssignment.getId());
+            if (!savedAssignment.getGroup().getId().equals(previousGroupId)) {
+                submissionStates.syncAssignment(savedAssignment.getId(), savedAssignment.getGroup().getId());
+            }
+            // Moving the assignment changes both groups' counters, a new due date the late count
+            if (!savedAssignment.getGroup().getId().equals(previousGroupId)
+                    || !Objects.equals(savedAssignment.getDelay(), previousDelay)) {
+                dashboards.groupsChanged(Arrays.asList(previousGroupId, savedAssignment.getGroup().getId()));
+            }
 
             // Map back to DTO for response
             AssignmentDTO responseDTO = new AssignmentDTO();
@@ -172,7 +209,7 @@ public class AssignmentController {
 
             return new ResponseEntity<>(responseDTO, HttpStatus.OK);
         } catch (Exception e) {
-            LOGGER.severe("[DEBUG] PUT /api/assignments/" + id + " - Failed to update assignment: " + e.getMessage());
+            LOGGER.error("Failed to update assignment {}", id, e);
             Map<String, String> error = new HashMap<>();
             error.put("message", "Failed to update assignment: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
@@ -180,14 +217,21 @@ public class AssignmentController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<Assignment> getAllAssignments() {
-        LOGGER.info("[DEBUG] GET /api/assignments - Fetching all assignments");
-        return assignmentRepository.findAll();
+    public ResponseEntity<?> getAllAssignments(
+            @RequestParam(value = "groupId", required = false) Long groupId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "include", required = false) String include,
+            @RequestParam(value = "studentId", required = false) Long studentId,
+            HttpServletRequest request) {
+        LOGGER.debug("Fetching assignments, groupId: {}, after: {}, limit: {}, include: {}",
+                groupId, after, limit, include);
+        return listAssignments(groupId, after, limit, include, requestingStudent(request, studentId));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> getAssignmentById(@PathVariable Long id) {
-        LOGGER.info("[DEBUG] GET /api/assignments/" + id + " - Fetching assignment");
+        LOGGER.debug("Fetching assignment {}", id);
         Optional<Assignment> assignment = assignmentRepository.findById(id);
         if (assignment.isPresent()) {
             AssignmentDTO responseDTO = new AssignmentDTO();
@@ -207,27 +251,135 @@ public class AssignmentController {
         }
     }
 
+    // Submitted / graded / missing counts, read from the per-assignment counter row
+    @GetMapping(value = "/{id}/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSubmissionSummary(@PathVariable Long id) {
+        LOGGER.debug("Fetching submission summary for assignment {}", id);
+        Optional<AssignmentSubmissionStats> stats = submissionStates.getStats(id);
+        if (!stats.isPresent()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Assignment not found");
+            return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("assignmentId", id);
+        summary.put("submitted", stats.get().getSubmitted());
+        summary.put("graded", stats.get().getGraded());
+        summary.put("missing", stats.get().getMissing());
+        return ResponseEntity.ok(summary);
+    }
+
+    // One line per student of the assignment, optionally only those in one status (?status=MISSING)
+    @GetMapping(value = "/{id}/submissions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSubmissionTable(@PathVariable Long id,
+                                                @RequestParam(value = "status", required = false) String status) {
+        LOGGER.debug("Fetching submission table for assignment {}, status: {}", id, status);
+        SubmissionStatus filter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                filter = SubmissionStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Unknown status '" + status + "', expected one of " + List.of(SubmissionStatus.values()));
+                return ResponseEntity.badRequest().body(error);
+            }
+        }
+        if (!submissionStates.getStats(id).isPresent()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Assignment not found");
+            return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(submissionStates.getTable(id, filter));
+    }
+
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<Assignment> getAllAssignmentsDebug() {
-        LOGGER.info("[DEBUG] GET /api/assignments/all - Fetching all assignments for debug");
-        return assignmentRepository.findAll();
+    public ResponseEntity<?> getAllAssignmentsDebug(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "include", required = false) String include) {
+        LOGGER.debug("Fetching all assignments for debug");
+        return listAssignments(null, after, limit, include, null);
     }
 
     @GetMapping(value = "/group/{groupId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<Assignment> getAssignmentsByGroup(@PathVariable Long groupId) {
-        LOGGER.info("[DEBUG] GET /api/assignments/group/" + groupId + " - Fetching assignments for group");
-        return assignmentRepository.findByGroupId(groupId);
+    public ResponseEntity<?> getAssignmentsByGroup(
+            @PathVariable Long groupId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "include", required = false) String include,
+            @RequestParam(value = "studentId", required = false) Long studentId,
+            HttpServletRequest request) {
+        LOGGER.debug("Fetching assignments for group {}", groupId);
+        return listAssignments(groupId, after, limit, include, requestingStudent(request, studentId));
+    }
+
+    // A signed-in student always gets their own statuses; otherwise ?studentId= names the student
+    private static Long requestingStudent(HttpServletRequest request, Long studentId) {
+        Object caller = request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        if (caller instanceof AuthenticatedUser && ((AuthenticatedUser) caller).isStudent()) {
+            return ((AuthenticatedUser) caller).getId();
+        }
+        return studentId;
+    }
+
+    // Listings are flat DTOs built by one query, so the response size and query count do not
+    // depend on the entity graph. Nested subject/group/program objects are opt-in via ?include=.
+    // Without limit or after the whole list comes back, as the web pages expect; with either, one
+    // page and X-Next-Cursor. For a student each row also carries their own submissionStatus,
+    // read from submission_states in one query for the page.
+    private ResponseEntity<?> listAssignments(Long groupId, Long after, Integer limit, String include, Long studentId) {
+        Set<String> includes = new HashSet<>();
+        if (include != null && !include.isBlank()) {
+            for (String part : include.split(",")) {
+                String name = part.trim().toLowerCase();
+                if (!INCLUDABLE.contains(name)) {
+                    LOGGER.warn("Unknown include: {}", name);
+                    Map<String, String> error = new HashMap<>();
+                    error.put("message", "Unknown include '" + name + "', expected one of " + INCLUDABLE);
+                    return ResponseEntity.badRequest().body(error);
+                }
+                includes.add(name);
+            }
+        }
+
+        boolean paged = limit != null || after != null;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = after == null ? 0L : after;
+        Pageable page = paged ? PageRequest.of(0, pageSize) : Pageable.unpaged();
+        List<AssignmentDTO> assignments = assignmentRepository.findListingPage(groupId, afterId, page);
+        for (AssignmentDTO assignment : assignments) {
+            assignment.setIncludes(includes);
+        }
+        if (studentId != null) {
+            Map<Long, SubmissionStatus> statuses = submissionStates.getStudentStatuses(studentId,
+                    assignments.stream().map(AssignmentDTO::getId).toList());
+            for (AssignmentDTO assignment : assignments) {
+                assignment.setSubmissionStatus(statuses.get(assignment.getId()));
+            }
+        }
+
+        LOGGER.debug("Found {} assignments", assignments.size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (paged && assignments.size() == pageSize) {
+            // A full page means there may be more rows; the client passes this back as ?after=
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(assignments.get(assignments.size() - 1).getId()));
+        }
+        return response.body(assignments);
     }
 
     @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> deleteAssignment(@PathVariable Long id) {
-        LOGGER.info("[DEBUG] DELETE /api/assignments/" + id + " - Deleting assignment");
-        if (assignmentRepository.existsById(id)) {
+        LOGGER.debug("Deleting assignment {}", id);
+        Optional<Assignment> assignment = assignmentRepository.findById(id);
+        if (assignment.isPresent()) {
             assignmentRepository.deleteById(id);
-            LOGGER.info("[DEBUG] DELETE /api/assignments/" + id + " - Deleted assignment");
+            LOGGER.debug("Deleted assignment {}", id);
+            if (assignment.get().getGroup() != null) {
+                dashboards.groupsChanged(List.of(assignment.get().getGroup().getId()));
+            }
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
-            LOGGER.warning("[DEBUG] DELETE /api/assignments/" + id + " - Assignment not found");
+            LOGGER.warn("Assignment {} not found", id);
             Map<String, String> error = new HashMap<>();
             error.put("message", "Assignment not found");
             return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
@@ -1,8 +1,12 @@
 package com.example.demo.Assignment;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
+import com.example.demo.SubmissionState.SubmissionStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 public class AssignmentDTO {
 
@@ -16,8 +20,77 @@ public class AssignmentDTO {
     private Long groupId;
     private Long programId;
 
+    // Listing fields, filled by AssignmentRepository.findListingPage in the same query
+    private String subjectName;
+    private String groupName;
+    private String teacherName;
+
+    // The student's own status on the assignment, when the listing is asked for a student
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SubmissionStatus submissionStatus;
+
+    // Nested objects, only serialized when the client asks for them with ?include=
+    @JsonIgnore
+    private Ref subjectRef;
+    @JsonIgnore
+    private Ref groupRef;
+    @JsonIgnore
+    private Ref programRef;
+    @JsonIgnore
+    private Set<String> includes = Set.of();
+
+    /** Compact view of a related entity, used by ?include= expansion. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Ref {
+        private final Long id;
+        private final String name;
+        private final String levelName;
+
+        public Ref(Long id, String name, String levelName) {
+            this.id = id;
+            this.name = name;
+            this.levelName = levelName;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getLevelName() {
+            return levelName;
+        }
+    }
+
     public AssignmentDTO() {}
 
+    // JPQL constructor expression used by the listing query
+    public AssignmentDTO(Long id, String title, String description, LocalDateTime delay, String status,
+                         Long subjectId, String subjectName, String subjectLevelName,
+                         Long groupId, String groupName, String groupLevelName,
+                         Long programId, String teacherFirstname, String teacherLastname) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.delay = delay;
+        this.status = status;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.programId = programId;
+        if (teacherFirstname != null || teacherLastname != null) {
+            this.teacherName = ((teacherFirstname != null ? teacherFirstname : "") + " "
+                    + (teacherLastname != null ? teacherLastname : "")).trim();
+        }
+        this.subjectRef = subjectId != null ? new Ref(subjectId, subjectName, subjectLevelName) : null;
+        this.groupRef = groupId != null ? new Ref(groupId, groupName, groupLevelName) : null;
+        this.programRef = programId != null ? new Ref(programId, teacherName, null) : null;
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -83,4 +156,57 @@ public class AssignmentDTO {
     public void setProgramId(Long programId) {
         this.programId = programId;
     }
-}
\ No newline at end of file
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public void setSubjectName(String subjectName) {
+        this.subjectName = subjectName;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public String getTeacherName() {
+        return teacherName;
+    }
+
+    public void setTeacherName(String teacherName) {
+        this.teacherName = teacherName;
+    }
+
+    public SubmissionStatus getSubmissionStatus() {
+        return submissionStatus;
+    }
+
+    public void setSubmissionStatus(SubmissionStatus submissionStatus) {
+        this.submissionStatus = submissionStatus;
+    }
+
+    /** Selects which nested objects (subject, group, program) are serialized. */
+    @JsonIgnore
+    public void setIncludes(Set<String> includes) {
+        this.includes = includes;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Ref getSubject() {
+        return includes.contains("subject") ? subjectRef : null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Ref getGroup() {
+        return includes.contains("group") ? groupRef : null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Ref getProgram() {
+        return includes.contains("program") ? programRef : null;
+    }
+}
@@ -1,10 +1,38 @@
 package com.example.demo.Assignment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     Optional<Assignment> findById(Long id);
-    List<Assignment> findByGroupId(Long groupId);
-}
\ No newline at end of file
+
+    // Keyset pages of listing DTOs (id > afterId, in id order), each built in one joined query.
+    String LISTING_SELECT = "SELECT new com.example.demo.Assignment.AssignmentDTO(a.id, a.title, a.description, a.delay, a.status, " +
+           "s.id, s.name, sl.name, g.id, g.name, gl.name, p.id, t.firstname, t.lastname) " +
+           "FROM Assignment a " +
+           "LEFT JOIN a.subject s LEFT JOIN s.level sl " +
+           "LEFT JOIN Group g ON g.id = a.group.id LEFT JOIN g.level gl " +
+           "LEFT JOIN a.program p LEFT JOIN p.teacher t ";
+
+    // The group is joined on its id, so a.group.id stays assignments.group_id and the page is a seek
+    // on idx_assignments_group
+    @Query(LISTING_SELECT + "WHERE a.group.id = :groupId AND a.id > :afterId ORDER BY a.id")
+    List<AssignmentDTO> findListingPageByGroup(@Param("groupId") Long groupId,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query(LISTING_SELECT + "WHERE a.id > :afterId ORDER BY a.id")
+    List<AssignmentDTO> findListingPageOfAll(@Param("afterId") Long afterId, Pageable pageable);
+
+    // groupId is optional (null = all groups). Two statements rather than "(:groupId IS NULL OR ...)",
+    // which the database has to plan for both cases and so can't seek on the group.
+    default List<AssignmentDTO> findListingPage(Long groupId, Long afterId, Pageable pageable) {
+        return groupId == null
+                ? findListingPageOfAll(afterId, pageable)
+                : findListingPageByGroup(groupId, afterId, pageable);
+    }
+}
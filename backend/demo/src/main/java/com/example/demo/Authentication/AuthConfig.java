@@ -0,0 +1,19 @@
+package com.example.demo.Authentication;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuthConfig {
+
+    // Registered here rather than as a @Component so controller slice tests do not pick it up
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(TokenService tokenService) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenService));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(TokenAuthenticationFilter.ORDER);
+        return registration;
+    }
+}
@@ -1,16 +1,12 @@
 package com.example.demo.Authentication;
 
-import com.example.demo.Admin.Admin;
-import com.example.demo.Admin.AdminRepository;
-import com.example.demo.Student.Student;
-import com.example.demo.Student.StudentRepository;
-import com.example.demo.Teacher.Teacher;
-import com.example.demo.Teacher.TeacherRepository;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,55 +15,34 @@ import java.util.Optional;
 public class AuthController {
 
     @Autowired
-    private StudentRepository studentRepository;
+    private LoginService loginService;
 
     @Autowired
-    private TeacherRepository teacherRepository;
-
-    @Autowired
-    private AdminRepository adminRepository;
-
-   @PostMapping("/login")
-@CrossOrigin(origins = "http://localhost:3000")
-public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-    String email = request.getEmail();
-    String password = request.getPassword();
-
-    // Check Student
-    Optional<Student> student = studentRepository.findByEmail(email);
-    if (student.isPresent()) {
-        String dbPassword = student.get().getPassword();
-        if (dbPassword != null && dbPassword.equals(password)) {
-            return ResponseEntity.ok(
-                new LoginResponse("student", student.get().getId(), student.get().getEmail())
-            );
+    private TokenService tokenService;
+
+    // One query covers students, teachers and admins; a student match wins over a teacher or
+    // admin sharing the same email, as before. The response carries a signed session token.
+    @PostMapping("/login")
+    @CrossOrigin(origins = "http://localhost:3000")
+    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+        Optional<LoginResponse> response = loginService.authenticate(request.getEmail(), request.getPassword());
+        if (response.isPresent()) {
+            response.get().setToken(tokenService.issue(response.get()));
+            return ResponseEntity.ok(response.get());
         }
-    }
 
-    // Check Teacher
-    Optional<Teacher> teacher = teacherRepository.findByEmail(email);
-    if (teacher.isPresent()) {
-        String dbPassword = teacher.get().getPassword();
-        if (dbPassword != null && dbPassword.equals(password)) {
-            return ResponseEntity.ok(
-                new LoginResponse("teacher", teacher.get().getId(), teacher.get().getEmail())
-            );
-        }
+        // If no match
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
     }
 
-    // Check Admin
-    Optional<Admin> admin = adminRepository.findByEmail(email);
-    if (admin.isPresent()) {
-        String dbPassword = admin.get().getPassword();
-        if (dbPassword != null && dbPassword.equals(password)) {
-            return ResponseEntity.ok(
-                new LoginResponse("admin", admin.get().getId(), admin.get().getEmail())
-            );
+    // Identity of the caller, read from the token alone
+    @GetMapping("/me")
+    public ResponseEntity<?> me(HttpServletRequest request) {
+        Object user = request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Missing bearer token"));
         }
+        return ResponseEntity.ok(user);
     }
 
-    // If no match
-    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
-}
-
 }
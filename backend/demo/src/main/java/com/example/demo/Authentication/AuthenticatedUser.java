@@ -0,0 +1,53 @@
+package com.example.demo.Authentication;
+
+import java.time.Instant;
+
+/** Identity carried by a verified session token; stored as a request attribute by the token filter. */
+public class AuthenticatedUser {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+    public static final String ADMIN_ROLE = "admin";
+    public static final String STUDENT_ROLE = "student";
+
+    private final String role;
+    private final Long id;
+    private final String email;
+    private final Long groupId;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(String role, Long id, String email, Long groupId, Instant expiresAt) {
+        this.role = role;
+        this.id = id;
+        this.email = email;
+        this.groupId = groupId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isAdmin() {
+        return ADMIN_ROLE.equals(role);
+    }
+
+    public boolean isStudent() {
+        return STUDENT_ROLE.equals(role);
+    }
+}
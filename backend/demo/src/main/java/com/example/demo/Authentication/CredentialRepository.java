@@ -0,0 +1,82 @@
+package com.example.demo.Authentication;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks an email up across the students, teachers and admins tables in a single round trip.
+ * Rows come back in the order login used to try the tables: student, teacher, admin.
+ */
+@Repository
+public class CredentialRepository {
+
+    private static final String FIND_BY_EMAIL =
+            "SELECT 1 AS priority, 'student' AS role, id, email, password, group_id FROM students WHERE email = ? " +
+            "UNION ALL SELECT 2, 'teacher', id, email, password, CAST(NULL AS BIGINT) FROM teachers WHERE email = ? " +
+            "UNION ALL SELECT 3, 'admin', id, email, password, CAST(NULL AS BIGINT) FROM admins WHERE email = ? " +
+            "ORDER BY priority";
+
+    private static final Map<String, String> TABLES = Map.of(
+            "student", "students",
+            "teacher", "teachers",
+            "admin", "admins");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** An account's role, id, email, stored password (hash or legacy plaintext) and, for students, group id. */
+    public static class Credential {
+        private final String role;
+        private final Long id;
+        private final String email;
+        private final String password;
+        private final Long groupId;
+
+        public Credential(String role, Long id, String email, String password, Long groupId) {
+            this.role = role;
+            this.id = id;
+            this.email = email;
+            this.password = password;
+            this.groupId = groupId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public Long getGroupId() {
+            return groupId;
+        }
+    }
+
+    public List<Credential> findByEmail(String email) {
+        return jdbcTemplate.query(FIND_BY_EMAIL,
+                (rs, rowNum) -> new Credential(rs.getString("role"), rs.getLong("id"),
+                        rs.getString("email"), rs.getString("password"), rs.getObject("group_id", Long.class)),
+                email, email, email);
+    }
+
+    public void updatePassword(String role, Long id, String password) {
+        String table = TABLES.get(role);
+        if (table == null) {
+            throw new IllegalArgumentException("Unknown role: " + role);
+        }
+        jdbcTemplate.update("UPDATE " + table + " SET password = ? WHERE id = ?", password, id);
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.demo.Authentication;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class LoginResponse {
     private String role;
     private Long id;
     private String email;
+    private Long groupId; // students only
+    private String token; // signed session token, sent back as "Authorization: Bearer <token>"
 
     public LoginResponse(String role, Long id, String email) {
+        this(role, id, email, null);
+    }
+
+    public LoginResponse(String role, Long id, String email, Long groupId) {
         this.role = role;
         this.id = id;
         this.email = email;
+        this.groupId = groupId;
     }
 
     public String getRole() {
@@ -23,5 +32,16 @@ public class LoginResponse {
     public String getEmail() {
         return email;
     }
-}
 
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
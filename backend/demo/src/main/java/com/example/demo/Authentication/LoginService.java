@@ -0,0 +1,102 @@
+package com.example.demo.Authentication;
+
+import com.example.demo.Authentication.CredentialRepository.Credential;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checks login credentials with one database query across all account tables.
+ *
+ * A successful lookup is kept for a short time, so a user who signs in again (a second device,
+ * a retried request) skips the database. Account writes call {@link #evict} so a changed or
+ * removed password stops working immediately rather than when the entry expires.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginService.class);
+
+    @Autowired
+    private CredentialRepository credentialRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private final Cache<String, List<Credential>> credentialCache;
+
+    public LoginService(@Value("${auth.credential-cache-ttl:PT1M}") Duration cacheTtl) {
+        this.credentialCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public Optional<LoginResponse> authenticate(String email, String password) {
+        if (email == null || password == null) {
+            return Optional.empty();
+        }
+
+        List<Credential> cached = credentialCache.getIfPresent(email);
+        if (cached != null) {
+            Optional<LoginResponse> response = verify(email, password, cached);
+            if (response.isPresent()) {
+                return response;
+            }
+            // The password may have changed outside the API; check the database before refusing
+            credentialCache.invalidate(email);
+        }
+        return verify(email, password, credentialRepository.findByEmail(email));
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            credentialCache.invalidate(email);
+        }
+    }
+
+    public void evictAll() {
+        credentialCache.invalidateAll();
+    }
+
+    Optional<List<Credential>> cachedCredentials(String email) {
+        return Optional.ofNullable(credentialCache.getIfPresent(email));
+    }
+
+    private Optional<LoginResponse> verify(String email, String password, List<Credential> credentials) {
+        for (int i = 0; i < credentials.size(); i++) {
+            Credential credential = credentials.get(i);
+            if (!passwordHasher.matches(password, credential.getPassword())) {
+                continue;
+            }
+            if (passwordHasher.needsRehash(credential.getPassword())) {
+                credentials = rehash(credentials, i, password);
+            }
+            credentialCache.put(email, credentials);
+            return Optional.of(new LoginResponse(credential.getRole(), credential.getId(), credential.getEmail(),
+                    credential.getGroupId()));
+        }
+        return Optional.empty();
+    }
+
+    // Replaces a plaintext or weaker hash with a current one, now that the raw password is known
+    private List<Credential> rehash(List<Credential> credentials, int index, String password) {
+        Credential credential = credentials.get(index);
+        String hash = passwordHasher.encode(password);
+        credentialRepository.updatePassword(credential.getRole(), credential.getId(), hash);
+        LOGGER.info("Upgraded password hash for {} {}", credential.getRole(), credential.getId());
+
+        Credential[] updated = credentials.toArray(new Credential[0]);
+        updated[index] = new Credential(credential.getRole(), credential.getId(), credential.getEmail(), hash,
+                credential.getGroupId());
+        return List.of(updated);
+    }
+}
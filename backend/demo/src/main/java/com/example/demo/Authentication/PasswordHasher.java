@@ -0,0 +1,71 @@
+package com.example.demo.Authentication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password hashing with a configurable cost factor.
+ *
+ * Accounts created before hashing was introduced still hold plaintext passwords. Those are
+ * compared in constant time and reported by {@link #needsRehash}, so the login path can replace
+ * them with a hash the first time the user signs in.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+
+    public PasswordHasher(@Value("${auth.bcrypt-strength:10}") int strength) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        // One hash up front gives the per-login CPU cost on this machine, for tuning the strength
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        LOGGER.info("BCrypt strength {} takes {} ms per hash", strength, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public String encode(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    /**
+     * Hashes a password submitted on an account write. A blank value, or the stored hash sent
+     * back unchanged by an edit form, keeps the current password.
+     */
+    public String encodeIfChanged(String rawPassword, String currentPassword) {
+        if (rawPassword == null || rawPassword.isEmpty() || rawPassword.equals(currentPassword)) {
+            return currentPassword;
+        }
+        return encode(rawPassword);
+    }
+
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (isHashed(storedPassword)) {
+            return encoder.matches(rawPassword, storedPassword);
+        }
+        return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** True for legacy plaintext passwords and hashes made with a lower cost factor. */
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+}
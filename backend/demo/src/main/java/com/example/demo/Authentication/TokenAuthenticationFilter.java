@@ -0,0 +1,54 @@
+package com.example.demo.Authentication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifies a "Bearer" session token and exposes the caller as the {@link AuthenticatedUser}
+ * request attribute. The check is signature and expiry only, with no database access.
+ *
+ * Requests without a token pass through unchanged so existing clients keep working; a token
+ * that is present but invalid or expired is rejected with 401.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /** Early in the chain, so filters and controllers after it can rely on the caller being known. */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 50;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AuthenticatedUser> user = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        if (!user.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Invalid or expired token\"}");
+            return;
+        }
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user.get());
+        chain.doFilter(request, response);
+    }
+}
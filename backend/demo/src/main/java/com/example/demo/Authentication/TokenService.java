@@ -0,0 +1,127 @@
+package com.example.demo.Authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies stateless session tokens: {@code base64url(json claims) "." base64url(HMAC-SHA256)}.
+ *
+ * The claims hold the role, user id, email, group id (students) and expiry, so a request can be
+ * attributed to a user without touching the database or any shared session store. Every instance
+ * behind a load balancer must be given the same {@code auth.token-secret}.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String HMAC = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${auth.token-secret:}") String secret,
+                        @Value("${auth.token-ttl:PT12H}") Duration ttl,
+                        ObjectMapper objectMapper) {
+        this(secret, ttl, objectMapper, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, ObjectMapper objectMapper, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Fine for a single instance; tokens stop validating after a restart
+            LOGGER.warn("auth.token-secret is not set, using a random key for this process only");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("auth.token-secret must be at least 32 bytes (base64 encoded)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public String issue(LoginResponse login) {
+        ObjectNode claims = objectMapper.createObjectNode();
+        claims.put("sub", login.getId());
+        claims.put("role", login.getRole());
+        claims.put("email", login.getEmail());
+        if (login.getGroupId() != null) {
+            claims.put("gid", login.getGroupId());
+        }
+        claims.put("exp", clock.instant().plus(ttl).getEpochSecond());
+
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + ENCODER.encodeToString(sign(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize token claims", e);
+        }
+    }
+
+    /** Returns the token's user when the signature is valid and the token has not expired. */
+    public Optional<AuthenticatedUser> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(payload));
+            Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(
+                    claims.path("role").asText(null),
+                    claims.path("sub").asLong(),
+                    claims.path("email").asText(null),
+                    claims.hasNonNull("gid") ? claims.get("gid").asLong() : null,
+                    expiresAt));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Cache over the reference data lists. The Caffeine cache manager and its
+ * hit/miss metrics come from spring.cache.* in application.properties.
+ *
+ * Each cache holds one entry, the full list, and is evicted by every endpoint that changes
+ * something the list's JSON contains. Level and program JSON embed group and student data,
+ * so student, teacher, group and subject writes evict them as well.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LEVELS = "levels";
+    public static final String GROUPS = "groups";
+    public static final String SUBJECTS = "subjects";
+    public static final String PROGRAMS = "programs";
+}
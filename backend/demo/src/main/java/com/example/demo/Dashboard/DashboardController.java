@@ -0,0 +1,44 @@
+package com.example.demo.Dashboard;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Teacher dashboard counters per group, read from the rows GroupDashboardService maintains
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private GroupDashboardService dashboardService;
+
+    // Every group, or the groups of one teacher's programs, in one response
+    @GetMapping(value = "/groups", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getGroupDashboards(@RequestParam(value = "teacherId", required = false) Long teacherId) {
+        return dashboardService.getDashboards(teacherId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Teacher not found"));
+    }
+
+    @GetMapping(value = "/groups/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getGroupDashboard(@PathVariable Long id) {
+        return dashboardService.getDashboard(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Group not found"));
+    }
+
+    private static ResponseEntity<?> notFound(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+}
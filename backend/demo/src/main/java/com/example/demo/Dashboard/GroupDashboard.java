@@ -0,0 +1,58 @@
+package com.example.demo.Dashboard;
+
+import com.example.demo.Group.Group;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+// Per-group totals for the teacher dashboard, kept current by GroupDashboardService so a dashboard
+// is one read. Submissions are processed (READY) WorkReturns of the group's assignments;
+// "ungraded" and "late" count the ones among them without a grade or received after the due date.
+@Table(name = "group_dashboards")
+public class GroupDashboard {
+
+    @Id
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "group_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Group group;
+
+    @Column(name = "assignments", nullable = false)
+    private int assignments;
+
+    @Column(name = "submissions", nullable = false)
+    private int submissions;
+
+    @Column(name = "ungraded", nullable = false)
+    private int ungraded;
+
+    @Column(name = "late", nullable = false)
+    private int late;
+
+    public GroupDashboard() {}
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public int getAssignments() {
+        return assignments;
+    }
+
+    public int getSubmissions() {
+        return submissions;
+    }
+
+    public int getUngraded() {
+        return ungraded;
+    }
+
+    public int getLate() {
+        return late;
+    }
+}
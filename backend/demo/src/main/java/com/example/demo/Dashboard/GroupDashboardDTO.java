@@ -0,0 +1,44 @@
+package com.example.demo.Dashboard;
+
+// One group's dashboard counters with the group's name, built by a JPQL constructor expression
+public class GroupDashboardDTO {
+    private final Long groupId;
+    private final String groupName;
+    private final int assignments;
+    private final int submissions;
+    private final int ungraded;
+    private final int late;
+
+    public GroupDashboardDTO(Long groupId, String groupName, int assignments, int submissions, int ungraded, int late) {
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.assignments = assignments;
+        this.submissions = submissions;
+        this.ungraded = ungraded;
+        this.late = late;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public int getAssignments() {
+        return assignments;
+    }
+
+    public int getSubmissions() {
+        return submissions;
+    }
+
+    public int getUngraded() {
+        return ungraded;
+    }
+
+    public int getLate() {
+        return late;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.Dashboard;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GroupDashboardRepository extends JpaRepository<GroupDashboard, Long> {
+
+    String SELECT_DTO = "SELECT new com.example.demo.Dashboard.GroupDashboardDTO(g.id, g.name, " +
+            "d.assignments, d.submissions, d.ungraded, d.late) FROM GroupDashboard d JOIN d.group g ";
+
+    @Query(SELECT_DTO + "ORDER BY g.name, g.id")
+    List<GroupDashboardDTO> findAllDashboards();
+
+    // Groups the teacher has a program in
+    @Query(SELECT_DTO + "WHERE g.id IN (SELECT p.group.id FROM Program p WHERE p.teacher.id = :teacherId) " +
+           "ORDER BY g.name, g.id")
+    List<GroupDashboardDTO> findDashboardsByTeacherId(@Param("teacherId") Long teacherId);
+
+    @Query(SELECT_DTO + "WHERE g.id = :groupId")
+    Optional<GroupDashboardDTO> findDashboardByGroupId(@Param("groupId") Long groupId);
+
+    // Groups whose assignments the student handed something in for
+    @Query("SELECT DISTINCT a.group.id FROM WorkReturn wr JOIN wr.assignment a WHERE wr.student.id = :studentId")
+    List<Long> findGroupIdsByWorkReturnStudentId(@Param("studentId") Long studentId);
+
+    // Increments in place: no read, and the row lock lasts one statement
+    @Modifying
+    @Query("UPDATE GroupDashboard d SET d.ungraded = d.ungraded + :ungraded WHERE d.groupId = :groupId")
+    int addUngraded(@Param("groupId") Long groupId, @Param("ungraded") int ungraded);
+
+    // The group of a processed WorkReturn (none while it is pending or rejected)
+    String GROUP_OF_READY_WORK_RETURN = "(SELECT a.group_id FROM work_return wr " +
+            "JOIN assignments a ON a.id = wr.assignment_id " +
+            "WHERE wr.id = :workReturnId AND wr.processing_status = 'READY')";
+
+    // One WorkReturn added to its group's counters, as stored (its grade and its lateness)
+    @Modifying
+    @Query(value = "UPDATE group_dashboards SET submissions = submissions + 1, " +
+            "ungraded = ungraded + (SELECT CASE WHEN wr.grade IS NULL THEN 1 ELSE 0 END " +
+            "FROM work_return wr WHERE wr.id = :workReturnId), " +
+            "late = late + (SELECT CASE WHEN a.delay IS NOT NULL AND wr.created_at > a.delay THEN 1 ELSE 0 END " +
+            "FROM work_return wr JOIN assignments a ON a.id = wr.assignment_id WHERE wr.id = :workReturnId) " +
+            "WHERE group_id = " + GROUP_OF_READY_WORK_RETURN,
+            nativeQuery = true)
+    int addWorkReturn(@Param("workReturnId") Long workReturnId);
+
+    @Modifying
+    @Query(value = "UPDATE group_dashboards SET ungraded = ungraded + :ungraded " +
+            "WHERE group_id = " + GROUP_OF_READY_WORK_RETURN,
+            nativeQuery = true)
+    int addUngradedForWorkReturn(@Param("workReturnId") Long workReturnId, @Param("ungraded") int ungraded);
+
+    // Counters from assignments and work_return, each subquery closed with the group id to count
+    String COUNT_ASSIGNMENTS = "(SELECT COUNT(*) FROM assignments a WHERE a.group_id = ";
+    String COUNT_READY = "(SELECT COUNT(*) FROM work_return wr JOIN assignments a ON a.id = wr.assignment_id " +
+            "WHERE wr.processing_status = 'READY' AND ";
+    String COUNT_UNGRADED = COUNT_READY + "wr.grade IS NULL AND ";
+    String COUNT_LATE = COUNT_READY + "a.delay IS NOT NULL AND wr.created_at > a.delay AND ";
+
+    String INSERT_COUNTED = "INSERT INTO group_dashboards (group_id, assignments, submissions, ungraded, late) " +
+            "SELECT g.id, " + COUNT_ASSIGNMENTS + "g.id), " + COUNT_READY + "a.group_id = g.id), " +
+            COUNT_UNGRADED + "a.group_id = g.id), " + COUNT_LATE + "a.group_id = g.id) FROM groups g " +
+            "WHERE NOT EXISTS (SELECT 1 FROM group_dashboards d WHERE d.group_id = g.id) ";
+
+    // Rows for groups that have none yet, counted from scratch; nothing to do once every group has one
+    @Modifying
+    @Query(value = INSERT_COUNTED, nativeQuery = true)
+    int insertMissing();
+
+    @Modifying
+    @Query(value = INSERT_COUNTED + "AND g.id = :groupId", nativeQuery = true)
+    int insertForGroup(@Param("groupId") Long groupId);
+
+    // Full recount, for the rare changes that move many rows at once (assignments edited or deleted)
+    @Modifying
+    @Query(value = "UPDATE group_dashboards SET " +
+            "assignments = " + COUNT_ASSIGNMENTS + "group_dashboards.group_id), " +
+            "submissions = " + COUNT_READY + "a.group_id = group_dashboards.group_id), " +
+            "ungraded = " + COUNT_UNGRADED + "a.group_id = group_dashboards.group_id), " +
+            "late = " + COUNT_LATE + "a.group_id = group_dashboards.group_id) " +
+            "WHERE group_id IN (:groupIds)",
+            nativeQuery = true)
+    int recount(@Param("groupIds") Collection<Long> groupIds);
+}
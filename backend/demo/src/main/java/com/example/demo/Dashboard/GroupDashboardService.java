@@ -0,0 +1,124 @@
+package com.example.demo.Dashboard;
+
+import com.example.demo.Teacher.TeacherRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps group_dashboards (assignments, submissions, ungraded and late submissions per group) in
+ * step with its sources, so opening a dashboard reads one row per group.
+ *
+ * A processed upload and a grade change adjust their group's row by a delta, with one UPDATE and
+ * no reads. Assignments created, edited or deleted, and WorkReturns deleted, recount just the
+ * groups they touched. Rows are created with their group, and at startup for groups that have
+ * none (created before the table, or filled outside the controllers such as the seed data), so
+ * reads never write.
+ */
+@Service
+public class GroupDashboardService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupDashboardService.class);
+
+    @Autowired
+    private GroupDashboardRepository dashboardRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    // Called through the proxy, so the inserts run in this listener's transaction
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeAtStartup() {
+        try {
+            initializeMissing();
+        } catch (DataIntegrityViolationException e) {
+            // Another instance starting at the same time inserted them first
+            LOGGER.warn("Dashboard counters were initialized concurrently", e);
+        }
+    }
+
+    /** Counted rows for every group that has none, such as groups written without {@link #groupCreated}. */
+    @Transactional
+    public void initializeMissing() {
+        int rows = dashboardRepository.insertMissing();
+        if (rows > 0) {
+            LOGGER.info("Initialized dashboard counters for {} groups", rows);
+        }
+    }
+
+    @Transactional
+    public void groupCreated(Long groupId) {
+        dashboardRepository.insertForGroup(groupId);
+    }
+
+    /** A WorkReturn finished processing (READY): one more submission, ungraded and late as stored. */
+    @Transactional
+    public void workReturnProcessed(Long workReturnId) {
+        dashboardRepository.addWorkReturn(workReturnId);
+    }
+
+    /** The grade of a processed WorkReturn was set or cleared. */
+    @Transactional
+    public void workReturnGraded(Long workReturnId, boolean wasGraded, boolean graded) {
+        if (wasGraded != graded) {
+            dashboardRepository.addUngradedForWorkReturn(workReturnId, graded ? -1 : 1);
+        }
+    }
+
+    /** Bulk grading: the change in ungraded submissions per group, applied as one UPDATE per group. */
+    @Transactional
+    public void ungradedChanged(Map<Long, Integer> ungradedByGroupId) {
+        ungradedByGroupId.forEach((groupId, delta) -> {
+            if (delta != 0) {
+                dashboardRepository.addUngraded(groupId, delta);
+            }
+        });
+    }
+
+    /**
+     * Assignments were created, edited or deleted, or WorkReturns deleted: recounts these groups.
+     * Null ids (an assignment without a group) are ignored.
+     */
+    @Transactional
+    public void groupsChanged(Collection<Long> groupIds) {
+        List<Long> ids = groupIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (!ids.isEmpty()) {
+            dashboardRepository.recount(ids);
+        }
+    }
+
+    /** Groups counting submissions of this student, to recount after the student and their WorkReturns are deleted. */
+    @Transactional(readOnly = true)
+    public List<Long> groupsWithWorkReturnsOf(Long studentId) {
+        return dashboardRepository.findGroupIdsByWorkReturnStudentId(studentId);
+    }
+
+    /** Every group's dashboard, or only the groups the teacher has a program in; empty if the teacher does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<List<GroupDashboardDTO>> getDashboards(Long teacherId) {
+        if (teacherId != null && !teacherRepository.existsById(teacherId)) {
+            return Optional.empty();
+        }
+        return Optional.of(teacherId != null
+                ? dashboardRepository.findDashboardsByTeacherId(teacherId)
+                : dashboardRepository.findAllDashboards());
+    }
+
+    /** One group's dashboard; empty if the group does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<GroupDashboardDTO> getDashboard(Long groupId) {
+        return dashboardRepository.findDashboardByGroupId(groupId);
+    }
+}
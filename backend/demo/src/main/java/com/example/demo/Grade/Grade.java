@@ -8,11 +8,20 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "grades")
+// One grade per student and assignment; the unique key also serves the (student, assignment) lookup
+@Table(name = "grades", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_grades_student_assignment", columnNames = {"student_id", "assignment_id"})
+}, indexes = {
+    @Index(name = "idx_grades_student", columnList = "student_id"),
+    @Index(name = "idx_grades_assignment", columnList = "assignment_id"),
+    @Index(name = "idx_grades_subject", columnList = "subject_id")
+})
 public class Grade {
 
+    // A pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     private Double score;
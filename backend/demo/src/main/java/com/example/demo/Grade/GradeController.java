@@ -2,17 +2,22 @@ package com.example.demo.Grade;
 
 import com.example.demo.Assignment.Assignment;
 import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Gradebook.GradebookService;
 import com.example.demo.Student.Student;
 import com.example.demo.Student.StudentRepository;
 import com.example.demo.Subject.Subject;
 import com.example.demo.Subject.SubjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/grades")
@@ -30,12 +35,37 @@ public class GradeController {
     @Autowired
     private AssignmentRepository assignmentRepository;
 
-    // Get all grades
+    @Autowired
+    private GradebookService gradebookService;
+
+    // All grades, or one filtered view. A filtered view resolves in the database and returns flat
+    // DTOs; at most one of studentId, assignmentId, subjectId and groupId.
     @GetMapping
-    public List<Grade> getAllGrades() {
+    public ResponseEntity<?> getGrades(@RequestParam(required = false) Long studentId,
+                                       @RequestParam(required = false) Long assignmentId,
+                                       @RequestParam(required = false) Long subjectId,
+                                       @RequestParam(required = false) Long groupId) {
+        int filters = (studentId != null ? 1 : 0) + (assignmentId != null ? 1 : 0)
+                + (subjectId != null ? 1 : 0) + (groupId != null ? 1 : 0);
+        if (filters > 1) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Filter by only one of studentId, assignmentId, subjectId and groupId"));
+        }
+        if (studentId != null) {
+            return ResponseEntity.ok(gradeRepository.findViewsByStudentId(studentId));
+        }
+        if (assignmentId != null) {
+            return ResponseEntity.ok(gradeRepository.findViewsByAssignmentId(assignmentId));
+        }
+        if (subjectId != null) {
+            return ResponseEntity.ok(gradeRepository.findViewsBySubjectId(subjectId));
+        }
+        if (groupId != null) {
+            return ResponseEntity.ok(gradeRepository.findViewsByGroupId(groupId));
+        }
         List<Grade> grades = gradeRepository.findAll();
         System.out.println("Grades returned: " + grades.size());
-        return grades;
+        return ResponseEntity.ok(grades);
     }
 
     // Get a specific grade by ID
@@ -66,9 +96,10 @@ public class GradeController {
         grade.setAssignment(assignment);
 
         // Save the grade to the database
-        gradeRepository.save(grade);
+        Grade savedGrade = gradeRepository.save(grade);
+        gradebookService.gradesChanged(List.of(student.getId()));
 
-        return ResponseEntity.ok(grade);  // Return the saved grade
+        return ResponseEntity.ok(savedGrade);  // Return the saved grade
     }
 
     // Update an existing grade
@@ -82,6 +113,7 @@ public class GradeController {
         Optional<Grade> existingGrade = gradeRepository.findById(id);
         if (existingGrade.isPresent()) {
             Grade grade = existingGrade.get();
+            Long previousStudentId = grade.getStudent() != null ? grade.getStudent().getId() : null;
             grade.setScore(gradeDTO.getScore());
 
             // Fetch and set relationships
@@ -98,6 +130,13 @@ public class GradeController {
             grade.setAssignment(assignment);
 
             gradeRepository.save(grade);  // Save the updated grade
+            // The grade may have moved to another student: both get their summaries recomputed
+            Set<Long> studentIds = new HashSet<>();
+            studentIds.add(student.getId());
+            if (previousStudentId != null) {
+                studentIds.add(previousStudentId);
+            }
+            gradebookService.gradesChanged(studentIds);
             return ResponseEntity.ok(grade);
         }
 
@@ -107,11 +146,23 @@ public class GradeController {
     // Delete a grade
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGrade(@PathVariable Long id) {
-        if (!gradeRepository.existsById(id)) {
+        Optional<Grade> grade = gradeRepository.findById(id);
+        if (!grade.isPresent()) {
             return ResponseEntity.notFound().build();
         }
 
         gradeRepository.deleteById(id);
+        if (grade.get().getStudent() != null) {
+            gradebookService.gradesChanged(List.of(grade.get().getStudent().getId()));
+        }
         return ResponseEntity.noContent().build();
     }
+
+    // A student has one grade per assignment (uk_grades_student_assignment): creating a second one,
+    // or moving a grade onto a pair that already has one, is a conflict rather than a server error
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateGrade(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "This student already has a grade for this assignment"));
+    }
 }
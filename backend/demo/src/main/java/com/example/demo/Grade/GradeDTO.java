@@ -35,6 +35,23 @@ public class GradeDTO {
         }
     }
 
+    // Flat projection used by the JPQL constructor expressions in GradeRepository
+    public GradeDTO(Long id, Double score,
+                    Long studentId, String studentFirstname, String studentLastname,
+                    Long subjectId, String subjectName,
+                    Long assignmentId, String assignmentName) {
+        this.id = id;
+        this.score = score;
+        this.studentId = studentId;
+        if (studentId != null) {
+            this.studentName = studentFirstname + " " + studentLastname;
+        }
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.assignmentId = assignmentId;
+        this.assignmentName = assignmentName;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
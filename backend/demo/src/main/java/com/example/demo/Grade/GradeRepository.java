@@ -1,8 +1,13 @@
 package com.example.demo.Grade;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Assignment.Assignment;
@@ -11,6 +16,47 @@ import com.example.demo.Student.Student;
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
 
+    String GRADE_VIEW_SELECT = "SELECT new com.example.demo.Grade.GradeDTO(" +
+            "g.id, g.score, s.id, s.firstname, s.lastname, sub.id, sub.name, a.id, a.title) " +
+            "FROM Grade g LEFT JOIN Student s ON s.id = g.student.id LEFT JOIN Subject sub ON sub.id = g.subject.id " +
+            "LEFT JOIN Assignment a ON a.id = g.assignment.id ";
+
     Optional<Grade> findByStudentAndAssignment(Student student, Assignment assignment);
-    // You can add custom query methods here if needed
+
+    @Query("SELECT g FROM Grade g WHERE g.student.id IN :studentIds AND g.assignment.id IN :assignmentIds")
+    List<Grade> findByStudentIdsAndAssignmentIds(@Param("studentIds") Collection<Long> studentIds,
+                                                 @Param("assignmentIds") Collection<Long> assignmentIds);
+
+    // Creates or updates the Grade of a WorkReturn's student and assignment in one statement,
+    // matched on uk_grades_student_assignment. Standard MERGE, which SQL Server and H2 (MSSQLServer
+    // mode) both run; the subject comes from the assignment, as in the Grade constructor. New ids
+    // are drawn straight from grades_seq: Hibernate's pooled optimizer treats every value it reads
+    // as the top of its own block of 50, so an id taken here never collides, it only skips a block.
+    @Modifying
+    @Query(value = "MERGE INTO grades AS g " +
+            "USING (SELECT wr.student_id, wr.assignment_id, a.subject_id FROM work_return wr " +
+            "JOIN assignments a ON a.id = wr.assignment_id WHERE wr.id = :workReturnId) AS src " +
+            "ON g.student_id = src.student_id AND g.assignment_id = src.assignment_id " +
+            "WHEN MATCHED THEN UPDATE SET score = :score " +
+            "WHEN NOT MATCHED THEN INSERT (id, score, student_id, assignment_id, subject_id) " +
+            "VALUES (NEXT VALUE FOR grades_seq, :score, src.student_id, src.assignment_id, src.subject_id);",
+            nativeQuery = true)
+    int upsertForWorkReturn(@Param("workReturnId") Long workReturnId, @Param("score") Double score);
+
+    // Flat views: one joined query per call, no entity graph for Jackson to walk. The joins are on
+    // the ids rather than the associations so that g.student.id, g.assignment.id and g.subject.id
+    // stay grades columns (a join on g.student would turn them into students.id, ...) and the
+    // filters seek on the grades indexes.
+
+    @Query(GRADE_VIEW_SELECT + "WHERE g.student.id = :studentId ORDER BY g.id")
+    List<GradeDTO> findViewsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(GRADE_VIEW_SELECT + "WHERE g.assignment.id = :assignmentId ORDER BY g.id")
+    List<GradeDTO> findViewsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query(GRADE_VIEW_SELECT + "WHERE g.subject.id = :subjectId ORDER BY g.id")
+    List<GradeDTO> findViewsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query(GRADE_VIEW_SELECT + "WHERE s.group.id = :groupId ORDER BY g.id")
+    List<GradeDTO> findViewsByGroupId(@Param("groupId") Long groupId);
 }
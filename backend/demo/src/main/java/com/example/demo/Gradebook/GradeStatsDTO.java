@@ -0,0 +1,63 @@
+package com.example.demo.Gradebook;
+
+// Scored grades of one student, subject or group: how many, their average and their range.
+// Built from a count and a total so rows of grade_summaries add up the same way as grades.
+public class GradeStatsDTO {
+    private final Long id;
+    private final String name;
+    private final long count;
+    private final Double average;
+    private final Double min;
+    private final Double max;
+
+    public GradeStatsDTO(Long id, String name, Long count, Double total, Double min, Double max) {
+        this.id = id;
+        this.name = name;
+        this.count = count == null ? 0 : count;
+        this.average = this.count == 0 || total == null ? null : total / this.count;
+        this.min = min;
+        this.max = max;
+    }
+
+    // Every row folded into one, for the totals line
+    static GradeStatsDTO combine(Long id, String name, Iterable<GradeStatsDTO> rows) {
+        long count = 0;
+        double total = 0;
+        Double min = null;
+        Double max = null;
+        for (GradeStatsDTO row : rows) {
+            if (row.count == 0) {
+                continue;
+            }
+            count += row.count;
+            total += row.average * row.count;
+            min = min == null ? row.min : Math.min(min, row.min);
+            max = max == null ? row.max : Math.max(max, row.max);
+        }
+        return new GradeStatsDTO(id, name, count, total, min, max);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+}
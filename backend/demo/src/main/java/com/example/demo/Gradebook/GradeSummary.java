@@ -0,0 +1,74 @@
+package com.example.demo.Gradebook;
+
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+// Scored grades of one student in one subject, folded into count, total, min and max. Any rollup
+// (a student's subjects, a group, a level) is a GROUP BY over these rows instead of over grades.
+// Derived data, rewritten by GradebookService on grade writes and removed with the student or subject.
+@Table(name = "grade_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_grade_summaries_student_subject",
+               columnNames = {"student_id", "subject_id"}),
+       indexes = @Index(name = "idx_grade_summaries_subject", columnList = "subject_id"))
+public class GradeSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subject_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Subject subject;
+
+    @Column(name = "grade_count", nullable = false)
+    private int gradeCount;
+
+    @Column(name = "score_total", nullable = false)
+    private double scoreTotal;
+
+    @Column(name = "min_score", nullable = false)
+    private double minScore;
+
+    @Column(name = "max_score", nullable = false)
+    private double maxScore;
+
+    public GradeSummary() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Subject getSubject() {
+        return subject;
+    }
+
+    public int getGradeCount() {
+        return gradeCount;
+    }
+
+    public double getScoreTotal() {
+        return scoreTotal;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public double getMaxScore() {
+        return maxScore;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.Gradebook;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.example.demo.Gradebook.GradebookQueries.*;
+
+@Repository
+public interface GradeSummaryRepository extends JpaRepository<GradeSummary, Long> {
+
+    // The same aggregates as GradebookRepository, over one row per (student, subject)
+    String FROM_SUMMARIES = "SUM(x.gradeCount), SUM(x.scoreTotal), MIN(x.minScore), MAX(x.maxScore)) " +
+            "FROM GradeSummary x JOIN x.student s LEFT JOIN s.group gr JOIN x.subject sub WHERE ";
+
+    @Query(SUBJECT_STATS + FROM_SUMMARIES + STUDENT_BY_SUBJECT)
+    List<GradeStatsDTO> findStudentBySubject(@Param("studentId") Long studentId);
+
+    @Query(STUDENT_STATS + FROM_SUMMARIES + GROUP_BY_STUDENT)
+    List<GradeStatsDTO> findGroupByStudent(@Param("groupId") Long groupId);
+
+    @Query(SUBJECT_STATS + FROM_SUMMARIES + GROUP_BY_SUBJECT)
+    List<GradeStatsDTO> findGroupBySubject(@Param("groupId") Long groupId);
+
+    @Query(GROUP_STATS + FROM_SUMMARIES + LEVEL_BY_GROUP)
+    List<GradeStatsDTO> findLevelByGroup(@Param("levelId") Long levelId);
+
+    @Query(SUBJECT_STATS + FROM_SUMMARIES + LEVEL_BY_SUBJECT)
+    List<GradeStatsDTO> findLevelBySubject(@Param("levelId") Long levelId);
+
+    @Query(REPORT_CARD + FROM_SUMMARIES + LEVEL_REPORT_CARDS)
+    List<ReportCardLineDTO> findLevelReportCards(@Param("levelId") Long levelId);
+
+    // Maintenance: a grade write recomputes its student's rows from grades (an indexed read of
+    // that student's grades), so updates, deletions and subject changes all come out right.
+    // Standard MERGE, as in GradeRepository.upsertForWorkReturn.
+
+    String SCORED_GRADES = "SELECT g.student_id, g.subject_id, COUNT(*) AS grade_count, SUM(g.score) AS score_total, " +
+            "MIN(g.score) AS min_score, MAX(g.score) AS max_score FROM grades g " +
+            "WHERE g.student_id IS NOT NULL AND g.subject_id IS NOT NULL AND g.score IS NOT NULL ";
+
+    @Modifying
+    @Query(value = "MERGE INTO grade_summaries AS gs " +
+            "USING (" + SCORED_GRADES + "AND g.student_id IN (:studentIds) GROUP BY g.student_id, g.subject_id) AS src " +
+            "ON gs.student_id = src.student_id AND gs.subject_id = src.subject_id " +
+            "WHEN MATCHED THEN UPDATE SET grade_count = src.grade_count, score_total = src.score_total, " +
+            "min_score = src.min_score, max_score = src.max_score " +
+            "WHEN NOT MATCHED THEN INSERT (student_id, subject_id, grade_count, score_total, min_score, max_score) " +
+            "VALUES (src.student_id, src.subject_id, src.grade_count, src.score_total, src.min_score, src.max_score);",
+            nativeQuery = true)
+    int mergeForStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    // Subjects where the student has no scored grade left
+    @Modifying
+    @Query(value = "DELETE FROM grade_summaries WHERE student_id IN (:studentIds) AND NOT EXISTS (" +
+            "SELECT 1 FROM grades g WHERE g.student_id = grade_summaries.student_id " +
+            "AND g.subject_id = grade_summaries.subject_id AND g.score IS NOT NULL)",
+            nativeQuery = true)
+    int deleteUnscoredForStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM grade_summaries", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO grade_summaries (student_id, subject_id, grade_count, score_total, min_score, max_score) " +
+            SCORED_GRADES + "GROUP BY g.student_id, g.subject_id", nativeQuery = true)
+    int insertAllFromGrades();
+}
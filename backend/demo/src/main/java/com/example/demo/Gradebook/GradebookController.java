@@ -0,0 +1,60 @@
+package com.example.demo.Gradebook;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Grade statistics computed server-side: averages, counts, min/max and distributions
+@RestController
+@RequestMapping("/api/gradebook")
+public class GradebookController {
+
+    @Autowired
+    private GradebookService gradebookService;
+
+    // Per subject and overall, for one student
+    @GetMapping(value = "/students/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getStudentGradebook(@PathVariable Long id) {
+        return gradebookService.getStudent(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Student not found"));
+    }
+
+    // Per student, per subject, overall and the score distribution, for one group
+    @GetMapping(value = "/groups/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getGroupGradebook(@PathVariable Long id) {
+        return gradebookService.getGroup(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Group not found"));
+    }
+
+    // Per group, per subject, overall and the score distribution, for one level
+    @GetMapping(value = "/levels/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getLevelGradebook(@PathVariable Long id) {
+        return gradebookService.getLevel(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Level not found"));
+    }
+
+    // Every student's subject averages across the level, in one response
+    @GetMapping(value = "/levels/{id}/report-cards", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getReportCards(@PathVariable Long id) {
+        return gradebookService.getReportCards(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Level not found"));
+    }
+
+    private static ResponseEntity<?> notFound(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.Gradebook;
+
+/**
+ * The gradebook's JPQL, shared by its two sources. Each query is a select, then the FROM of
+ * either source (grades in {@link GradebookRepository}, grade_summaries in
+ * {@link GradeSummaryRepository}, both ending in an open WHERE with s = student, gr = group,
+ * sub = subject), then one of the filters below.
+ */
+final class GradebookQueries {
+
+    private GradebookQueries() {}
+
+    static final String SUBJECT_STATS = "SELECT new com.example.demo.Gradebook.GradeStatsDTO(sub.id, sub.name, ";
+    static final String STUDENT_STATS = "SELECT new com.example.demo.Gradebook.GradeStatsDTO(s.id, " +
+            "CONCAT(s.firstname, ' ', s.lastname), ";
+    static final String GROUP_STATS = "SELECT new com.example.demo.Gradebook.GradeStatsDTO(gr.id, gr.name, ";
+    static final String REPORT_CARD = "SELECT new com.example.demo.Gradebook.ReportCardLineDTO(s.id, s.firstname, " +
+            "s.lastname, gr.id, sub.id, sub.name, ";
+
+    static final String STUDENT_BY_SUBJECT = "s.id = :studentId GROUP BY sub.id, sub.name ORDER BY sub.name";
+    static final String GROUP_BY_STUDENT = "gr.id = :groupId " +
+            "GROUP BY s.id, s.firstname, s.lastname ORDER BY s.lastname, s.firstname, s.id";
+    static final String GROUP_BY_SUBJECT = "gr.id = :groupId GROUP BY sub.id, sub.name ORDER BY sub.name";
+    static final String LEVEL_BY_GROUP = "s.level.id = :levelId AND gr.id IS NOT NULL " +
+            "GROUP BY gr.id, gr.name ORDER BY gr.name";
+    static final String LEVEL_BY_SUBJECT = "s.level.id = :levelId GROUP BY sub.id, sub.name ORDER BY sub.name";
+    static final String LEVEL_REPORT_CARDS = "s.level.id = :levelId " +
+            "GROUP BY s.id, s.firstname, s.lastname, gr.id, sub.id, sub.name " +
+            "ORDER BY s.lastname, s.firstname, s.id, sub.name";
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Gradebook;
+
+import com.example.demo.Grade.Grade;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+import static com.example.demo.Gradebook.GradebookQueries.*;
+
+// Gradebook aggregates straight from grades: one GROUP BY per call, nothing loaded as entities
+public interface GradebookRepository extends Repository<Grade, Long> {
+
+    String FROM_GRADES = "COUNT(g.score), SUM(g.score), MIN(g.score), MAX(g.score)) " +
+            "FROM Grade g JOIN g.student s LEFT JOIN s.group gr JOIN g.subject sub WHERE g.score IS NOT NULL AND ";
+
+    // Scores in tenths (0-9, 10-19 ... 100 and above), counted per bucket
+    String DISTRIBUTION = "SELECT FLOOR(g.score / 10), COUNT(g.score) " +
+            "FROM Grade g JOIN g.student s LEFT JOIN s.group gr WHERE g.score IS NOT NULL AND ";
+
+    @Query(SUBJECT_STATS + FROM_GRADES + STUDENT_BY_SUBJECT)
+    List<GradeStatsDTO> findStudentBySubject(@Param("studentId") Long studentId);
+
+    @Query(STUDENT_STATS + FROM_GRADES + GROUP_BY_STUDENT)
+    List<GradeStatsDTO> findGroupByStudent(@Param("groupId") Long groupId);
+
+    @Query(SUBJECT_STATS + FROM_GRADES + GROUP_BY_SUBJECT)
+    List<GradeStatsDTO> findGroupBySubject(@Param("groupId") Long groupId);
+
+    @Query(GROUP_STATS + FROM_GRADES + LEVEL_BY_GROUP)
+    List<GradeStatsDTO> findLevelByGroup(@Param("levelId") Long levelId);
+
+    @Query(SUBJECT_STATS + FROM_GRADES + LEVEL_BY_SUBJECT)
+    List<GradeStatsDTO> findLevelBySubject(@Param("levelId") Long levelId);
+
+    @Query(REPORT_CARD + FROM_GRADES + LEVEL_REPORT_CARDS)
+    List<ReportCardLineDTO> findLevelReportCards(@Param("levelId") Long levelId);
+
+    @Query(DISTRIBUTION + "gr.id = :groupId GROUP BY FLOOR(g.score / 10)")
+    List<Object[]> findGroupDistribution(@Param("groupId") Long groupId);
+
+    @Query(DISTRIBUTION + "s.level.id = :levelId GROUP BY FLOOR(g.score / 10)")
+    List<Object[]> findLevelDistribution(@Param("levelId") Long levelId);
+}
@@ -0,0 +1,164 @@
+package com.example.demo.Gradebook;
+
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Student.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Averages, counts, ranges and score distributions per student, subject, group and level, all
+ * computed by the database with GROUP BY.
+ *
+ * With gradebook.summary-tables on, the aggregates read grade_summaries (one row per student
+ * and subject) instead of grades, so a level's report cards cost a few rows per student
+ * whatever the number of assignments. Every grade write then calls {@link #gradesChanged} to
+ * recompute its students' rows. Distributions are always counted from grades.
+ */
+@Service
+public class GradebookService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GradebookService.class);
+
+    static final int BUCKETS = 10;
+
+    @Autowired
+    private GradebookRepository gradebookRepository;
+
+    @Autowired
+    private GradeSummaryRepository summaryRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @Value("${gradebook.summary-tables:true}")
+    private boolean summaryTables;
+
+    // Recompute every summary row at startup, for databases whose grades were written without them
+    @Value("${gradebook.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // Called through the proxy, so the rebuild below runs in this listener's transaction
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildAtStartup() {
+        if (summaryTables && rebuildOnStartup) {
+            rebuildSummaries();
+        }
+    }
+
+    /** Grades of these students were created, changed or deleted: recompute their summary rows. */
+    @Transactional
+    public void gradesChanged(Collection<Long> studentIds) {
+        if (!summaryTables || studentIds.isEmpty()) {
+            return;
+        }
+        summaryRepository.mergeForStudents(studentIds);
+        summaryRepository.deleteUnscoredForStudents(studentIds);
+    }
+
+    /** Rebuilds grade_summaries from scratch, after grades were written around {@link #gradesChanged}. */
+    @Transactional
+    public void rebuildSummaries() {
+        summaryRepository.deleteAllRows();
+        int rows = summaryRepository.insertAllFromGrades();
+        LOGGER.debug("Rebuilt {} grade summaries", rows);
+    }
+
+    /** A student's stats per subject and overall; empty if the student does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getStudent(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            return Optional.empty();
+        }
+        List<GradeStatsDTO> subjects = summaryTables
+                ? summaryRepository.findStudentBySubject(studentId)
+                : gradebookRepository.findStudentBySubject(studentId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("studentId", studentId);
+        result.put("overall", GradeStatsDTO.combine(studentId, null, subjects));
+        result.put("subjects", subjects);
+        return Optional.of(result);
+    }
+
+    /** A group's stats per student and per subject, overall, and its score distribution. */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getGroup(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            return Optional.empty();
+        }
+        List<GradeStatsDTO> students = summaryTables
+                ? summaryRepository.findGroupByStudent(groupId)
+                : gradebookRepository.findGroupByStudent(groupId);
+        List<GradeStatsDTO> subjects = summaryTables
+                ? summaryRepository.findGroupBySubject(groupId)
+                : gradebookRepository.findGroupBySubject(groupId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("groupId", groupId);
+        result.put("overall", GradeStatsDTO.combine(groupId, null, subjects));
+        result.put("students", students);
+        result.put("subjects", subjects);
+        result.put("distribution", distribution(gradebookRepository.findGroupDistribution(groupId)));
+        return Optional.of(result);
+    }
+
+    /** A level's stats per group and per subject, overall, and its score distribution. */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getLevel(Long levelId) {
+        if (!levelRepository.existsById(levelId)) {
+            return Optional.empty();
+        }
+        List<GradeStatsDTO> groups = summaryTables
+                ? summaryRepository.findLevelByGroup(levelId)
+                : gradebookRepository.findLevelByGroup(levelId);
+        List<GradeStatsDTO> subjects = summaryTables
+                ? summaryRepository.findLevelBySubject(levelId)
+                : gradebookRepository.findLevelBySubject(levelId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("levelId", levelId);
+        result.put("overall", GradeStatsDTO.combine(levelId, null, subjects));
+        result.put("groups", groups);
+        result.put("subjects", subjects);
+        result.put("distribution", distribution(gradebookRepository.findLevelDistribution(levelId)));
+        return Optional.of(result);
+    }
+
+    /** Every student of the level, one line per subject with a scored grade, ordered by student. */
+    @Transactional(readOnly = true)
+    public Optional<List<ReportCardLineDTO>> getReportCards(Long levelId) {
+        if (!levelRepository.existsById(levelId)) {
+            return Optional.empty();
+        }
+        return Optional.of(summaryTables
+                ? summaryRepository.findLevelReportCards(levelId)
+                : gradebookRepository.findLevelReportCards(levelId));
+    }
+
+    // Counts per tenth of the 0-100 scale; anything outside it lands in the first or last bucket
+    static long[] distribution(List<Object[]> rows) {
+        long[] buckets = new long[BUCKETS];
+        for (Object[] row : rows) {
+            int bucket = Math.max(0, Math.min(BUCKETS - 1, ((Number) row[0]).intValue()));
+            buckets[bucket] += ((Number) row[1]).longValue();
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.Gradebook;
+
+// One subject on one student's report card
+public class ReportCardLineDTO {
+    private final Long studentId;
+    private final String firstname;
+    private final String lastname;
+    private final Long groupId;
+    private final Long subjectId;
+    private final String subjectName;
+    private final long count;
+    private final Double average;
+    private final Double min;
+    private final Double max;
+
+    public ReportCardLineDTO(Long studentId, String firstname, String lastname, Long groupId, Long subjectId,
+                             String subjectName, Long count, Double total, Double min, Double max) {
+        this.studentId = studentId;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.groupId = groupId;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.count = count == null ? 0 : count;
+        this.average = this.count == 0 || total == null ? null : total / this.count;
+        this.min = min;
+        this.max = max;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+}
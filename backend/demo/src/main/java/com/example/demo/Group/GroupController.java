@@ -1,11 +1,14 @@
 package com.example.demo.Group;
 
+import com.example.demo.CacheConfig;
+import com.example.demo.Dashboard.GroupDashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,9 @@ public class GroupController {
     @Autowired
     private LevelRepository levelRepository;
 
+    @Autowired
+    private GroupDashboardService dashboards;
+
     // DTO for input
     public static class GroupInputDTO {
         private String name;
@@ -44,33 +50,9 @@ public class GroupController {
         }
     }
 
-    // DTO for output
-    public static class GroupDTO {
-        private Long id;
-        private String name;
-        private String levelName;
-
-        public GroupDTO(Long id, String name, String levelName) {
-            this.id = id;
-            this.name = name;
-            this.levelName = levelName;
-        }
-
-        public Long getId() {
-            return id;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public String getLevelName() {
-            return levelName;
-        }
-    }
-
     // Create a new Group
     @PostMapping
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.GROUPS}, allEntries = true)
     public ResponseEntity<Group> createGroup(@RequestBody GroupInputDTO input) {
         try {
             Group group = new Group();
@@ -81,26 +63,19 @@ public class GroupController {
                 group.setLevel(level);
             }
             Group savedGroup = groupRepository.save(group);
+            dashboards.groupCreated(savedGroup.getId());
             return new ResponseEntity<>(savedGroup, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         }
     }
 
-    private GroupDTO convertToDTO(Group group) {
-        String levelName = group.getLevel() != null ? group.getLevel().getName() : "N/A";
-        return new GroupDTO(group.getId(), group.getName(), levelName);
-    }
-
     // Get all Groups
     @GetMapping
+    @Cacheable(cacheNames = CacheConfig.GROUPS, sync = true)
     public List<GroupDTO> getAllGroups() {
-        List<Group> groups = groupRepository.findAll();
-        List<GroupDTO> groupDTOs = new ArrayList<>();
-        for (Group group : groups) {
-            groupDTOs.add(convertToDTO(group));
-        }
-        return groupDTOs;
+        // One joined query; reading group.getLevel() per row would load each level separately
+        return groupRepository.findAllAsDTO();
     }
 
     // Get Group by ID
@@ -116,6 +91,7 @@ public class GroupController {
 
     // Update Group by ID
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.GROUPS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Group> updateGroup(@PathVariable Long id, @RequestBody GroupInputDTO input) {
         try {
             Optional<Group> groupOpt = groupRepository.findById(id);
@@ -141,6 +117,7 @@ public class GroupController {
 
     // Delete Group by ID
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.GROUPS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Void> deleteGroup(@PathVariable Long id) {
         Optional<Group> group = groupRepository.findById(id);
         if (group.isPresent()) {
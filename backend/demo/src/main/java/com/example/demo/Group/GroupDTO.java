@@ -0,0 +1,26 @@
+package com.example.demo.Group;
+
+// Output shape of the group listing, built directly by GroupRepository.findAllAsDTO
+public class GroupDTO {
+    private Long id;
+    private String name;
+    private String levelName;
+
+    public GroupDTO(Long id, String name, String levelName) {
+        this.id = id;
+        this.name = name;
+        this.levelName = levelName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+}
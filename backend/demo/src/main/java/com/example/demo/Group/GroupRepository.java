@@ -1,9 +1,18 @@
 package com.example.demo.Group;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
-    // You can add custom query methods if needed
+    @Query("SELECT g FROM Group g LEFT JOIN FETCH g.level")
+    List<Group> findAllWithLevel();
+
+    // Builds the listing DTOs in a single joined query instead of loading each level lazily
+    @Query("SELECT new com.example.demo.Group.GroupDTO(g.id, g.name, COALESCE(l.name, 'N/A')) " +
+           "FROM Group g LEFT JOIN g.level l ORDER BY g.id")
+    List<GroupDTO> findAllAsDTO();
 }
@@ -1,11 +1,16 @@
 package com.example.demo.Level;
 
+import com.example.demo.CacheConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,17 +20,26 @@ public class LevelController {
     @Autowired
     private LevelRepository levelRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Create a new Level
     @PostMapping
-    public ResponseEntity<Level> createLevel(@RequestBody Level level) {
+    @CacheEvict(cacheNames = CacheConfig.LEVELS, allEntries = true)
+    public ResponseEntity<?> createLevel(@RequestBody Level level) {
+        if (level.getName() == null || level.getName().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Level name is required"));
+        }
         Level savedLevel = levelRepository.save(level);
         return new ResponseEntity<>(savedLevel, HttpStatus.CREATED);
     }
 
-    // Get all Levels
+    // Get all Levels. Cached as a JSON tree built while the persistence context is still open:
+    // the entities' lazy collections could not be serialized once detached in the cache.
     @GetMapping
-    public List<Level> getAllLevels() {
-        return levelRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.LEVELS, sync = true)
+    public JsonNode getAllLevels() {
+        return objectMapper.valueToTree(levelRepository.findAll());
     }
 
     // Get Level by ID
@@ -41,6 +55,7 @@ public class LevelController {
 
     // Update Level by ID
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.GROUPS, CacheConfig.SUBJECTS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Level> updateLevel(@PathVariable Long id, @RequestBody Level updatedLevel) {
         Optional<Level> level = levelRepository.findById(id);
         if (level.isPresent()) {
@@ -54,6 +69,7 @@ public class LevelController {
 
     // Delete Level by ID
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.GROUPS, CacheConfig.SUBJECTS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Void> deleteLevel(@PathVariable Long id) {
         Optional<Level> level = levelRepository.findById(id);
         if (level.isPresent()) {
@@ -0,0 +1,36 @@
+package com.example.demo.LoadTest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the configured database with a generated school at startup (generate-data profile), e.g.
+ * --spring.profiles.active=generate-data --generator.students=50000 --generator.exit=true
+ */
+@Component
+@Profile("generate-data")
+public class DataGeneratorRunner implements CommandLineRunner {
+
+    @Autowired
+    private SchoolDataGenerator generator;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    // Stop once the data is written instead of serving it
+    @Value("${generator.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(String... args) {
+        generator.generate();
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
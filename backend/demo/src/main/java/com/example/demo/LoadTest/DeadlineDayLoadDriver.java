@@ -0,0 +1,353 @@
+package com.example.demo.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deadline-day load test (loadtest profile, see application-loadtest.properties): generates a
+ * school with {@link SchoolDataGenerator}, then replays the traffic of a day when assignments are
+ * due against this application's own HTTP port. Students of the groups with an assignment due
+ * today upload their work, teachers grade recent submissions and follow the submission tables,
+ * counters, their group dashboards and pages of submissions, and everyone browses assignments
+ * and groups.
+ *
+ * Each of loadtest.clients virtual threads sends one request after the other, picking the
+ * operation by the weights in loadtest.mix. After loadtest.warmup, every response time is
+ * recorded for loadtest.duration; the report gives, per operation, the requests, the errors
+ * (status 4xx/5xx or no response), the throughput and the p50, p99 and maximum latency. It is
+ * logged, and written as JSON to loadtest.report-file when set. Same seeds, same request sequence
+ * per client.
+ */
+@Component
+@Profile("loadtest")
+public class DeadlineDayLoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadlineDayLoadDriver.class);
+
+    // Caps the grading targets: the most recent submissions of past assignments
+    private static final int MAX_GRADE_TARGETS = 50_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private SchoolDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.clients:32}")
+    private int clients;
+
+    @Value("${loadtest.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${loadtest.mix:upload:45,grade:15,list-submissions:15,summary:10,dashboard:5,list-workreturns:5,list-assignments:5,groups:5}")
+    private String mix;
+
+    // Bytes per uploaded file
+    @Value("${loadtest.upload-size:65536}")
+    private int uploadSize;
+
+    @Value("${loadtest.seed:7}")
+    private long seed;
+
+    @Value("${loadtest.report-file:}")
+    private String reportFile;
+
+    // Stop the application once the report is out
+    @Value("${loadtest.exit:true}")
+    private boolean exit;
+
+    enum Operation {
+        UPLOAD("upload"),
+        GRADE("grade"),
+        LIST_SUBMISSIONS("list-submissions"),
+        LIST_WORKRETURNS("list-workreturns"),
+        SUMMARY("summary"),
+        DASHBOARD("dashboard"),
+        LIST_ASSIGNMENTS("list-assignments"),
+        GROUPS("groups");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation '" + key + "' in loadtest.mix, expected one of "
+                    + Arrays.stream(values()).map(operation -> operation.key).toList());
+        }
+    }
+
+    // Ids the requests are drawn from
+    private long[][] uploadTargets;
+    private long[] gradeTargets;
+    private long[] assignmentTargets;
+    private long[] groupTargets;
+    private long[] teacherTargets;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run(ApplicationReadyEvent event) throws IOException {
+        Map<Operation, Integer> weights = parseMix(mix);
+        generator.generate();
+        loadTargets();
+
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port;
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        weights.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+
+        LOGGER.info("Load test: {} clients, warm-up {} s, measuring {} s, mix {}",
+                clients, warmup.toSeconds(), duration.toSeconds(), weights);
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = new SplittableRandom(seed * 31 + i);
+                pool.submit(() -> runClient(http, baseUrl, weights, random, measureFrom, end, recorders));
+            }
+        }
+
+        report(recorders);
+        if (exit) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private void runClient(HttpClient http, String baseUrl, Map<Operation, Integer> weights, SplittableRandom random,
+                           long measureFrom, long end, Map<Operation, LatencyRecorder> recorders) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            Operation operation = pick(weights, total, random);
+            HttpRequest request = request(operation, baseUrl, random);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= measureFrom) {
+                recorders.get(operation).record(System.nanoTime() - start, ok);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, String baseUrl, SplittableRandom random) {
+        HttpRequest.Builder builder;
+        switch (operation) {
+            case UPLOAD -> {
+                long[] target = uploadTargets[random.nextInt(uploadTargets.length)];
+                // Random content, so content-addressed storage cannot fold the files together
+                byte[] body = new byte[uploadSize];
+                random.nextBytes(body);
+                System.arraycopy("%PDF-1.4\n".getBytes(), 0, body, 0, Math.min(9, body.length));
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workreturns/stream?assignmentId="
+                                + target[0] + "&studentId=" + target[1] + "&fileName=homework.pdf"))
+                        .header("Content-Type", "application/octet-stream")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+            }
+            case GRADE -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workreturns/"
+                            + gradeTargets[random.nextInt(gradeTargets.length)]))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"grade\":" + random.nextInt(40, 101) + "}"));
+            case LIST_SUBMISSIONS -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/assignments/"
+                    + assignmentTargets[random.nextInt(assignmentTargets.length)] + "/submissions"));
+            case LIST_WORKRETURNS -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/workreturns?assignmentId="
+                    + assignmentTargets[random.nextInt(assignmentTargets.length)] + "&limit=20"));
+            case SUMMARY -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/assignments/"
+                    + assignmentTargets[random.nextInt(assignmentTargets.length)] + "/summary"));
+            case DASHBOARD -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard/groups?teacherId="
+                    + teacherTargets[random.nextInt(teacherTargets.length)]));
+            case LIST_ASSIGNMENTS -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/assignments/group/"
+                    + groupTargets[random.nextInt(groupTargets.length)]));
+            default -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/groups"));
+        }
+        return builder.timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private void loadTargets() {
+        LocalDate today = LocalDate.now();
+        Timestamp dayStart = Timestamp.valueOf(today.atStartOfDay());
+        Timestamp dayEnd = Timestamp.valueOf(today.plusDays(1).atStartOfDay());
+
+        // Every student of a group with an assignment due today, paired with that assignment
+        List<long[]> pairs = jdbcTemplate.query("SELECT a.id, s.id FROM assignments a "
+                        + "JOIN students s ON s.group_id = a.group_id WHERE a.delay >= ? AND a.delay < ?",
+                (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)}, dayStart, dayEnd);
+        if (pairs.isEmpty()) {
+            pairs = jdbcTemplate.query("SELECT a.id, s.id FROM assignments a JOIN students s ON s.group_id = a.group_id",
+                    (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        }
+        uploadTargets = pairs.toArray(new long[0][]);
+
+        gradeTargets = ids(jdbcTemplate.queryForList("SELECT wr.id FROM work_return wr "
+                + "JOIN assignments a ON a.id = wr.assignment_id WHERE a.delay < ? "
+                + "ORDER BY wr.created_at DESC OFFSET 0 ROWS FETCH NEXT " + MAX_GRADE_TARGETS + " ROWS ONLY",
+                Long.class, dayStart));
+
+        // Teachers follow what is due today and what was due this past week
+        assignmentTargets = ids(jdbcTemplate.queryForList("SELECT id FROM assignments WHERE delay >= ? AND delay < ?",
+                Long.class, Timestamp.valueOf(today.minusDays(7).atStartOfDay()), dayEnd));
+        groupTargets = ids(jdbcTemplate.queryForList("SELECT id FROM groups", Long.class));
+        teacherTargets = ids(jdbcTemplate.queryForList("SELECT DISTINCT teacher_id FROM programs", Long.class));
+
+        if (uploadTargets.length == 0 || gradeTargets.length == 0 || assignmentTargets.length == 0
+                || groupTargets.length == 0 || teacherTargets.length == 0) {
+            throw new IllegalStateException("Not enough generated data to drive every operation, raise generator.students");
+        }
+        LOGGER.info("Load test targets: {} student uploads, {} submissions to grade, {} assignments, {} groups",
+                uploadTargets.length, gradeTargets.length, assignmentTargets.length, groupTargets.length);
+    }
+
+    private void report(Map<Operation, LatencyRecorder> recorders) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        List<Map<String, Object>> operations = new ArrayList<>();
+        long requests = 0;
+        StringBuilder table = new StringBuilder(String.format("%n%-18s %9s %7s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("operation", entry.getKey().key);
+            row.putAll(entry.getValue().summary(seconds));
+            operations.add(row);
+            requests += (Integer) row.get("requests");
+            table.append(String.format("%-18s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", row.get("operation"),
+                    row.get("requests"), row.get("errors"), row.get("throughput"), row.get("p50Ms"),
+                    row.get("p99Ms"), row.get("maxMs")));
+        }
+        table.append(String.format("%-18s %9d %7s %9.1f%n", "total", requests, "", requests / seconds));
+        LOGGER.info("Deadline-day load test, {} clients over {} s:{}", clients, duration.toSeconds(), table);
+
+        if (!reportFile.isBlank()) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("clients", clients);
+            report.put("durationSeconds", seconds);
+            report.put("mix", mix);
+            report.put("requests", requests);
+            report.put("throughput", requests / seconds);
+            report.put("operations", operations);
+            File file = new File(reportFile);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+            LOGGER.info("Load test report written to {}", file.getAbsolutePath());
+        }
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry '" + part + "', expected operation:weight");
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(entry[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static Operation pick(Map<Operation, Integer> weights, int total, SplittableRandom random) {
+        int ticket = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private static long[] ids(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Response times of one operation; percentiles by nearest rank over every recorded request
+    static class LatencyRecorder {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long elapsedNanos, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughput", count / seconds);
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", count == 0 ? 0.0 : sorted[count - 1] / 1e6);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.demo.LoadTest;
+
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a synthetic school: levels, subjects, teachers, groups, programs,
+ * students, assignments, submissions (WorkReturns) and grades, written with JDBC batches.
+ *
+ * The same settings and seed always produce the same school; only the database ids and the
+ * dates, which are relative to the day of the run, differ. The data is skewed the way a real
+ * school is: group sizes vary, a few teachers carry many programs, diligent students submit
+ * more often and score higher, most submissions arrive in the last day before the deadline and
+ * some after it, a share of assignments is due today, and past assignments are mostly graded.
+ *
+ * Sizes come from generator.* properties. Run it with the generate-data profile
+ * ({@link DataGeneratorRunner}) or the loadtest profile ({@link DeadlineDayLoadDriver}).
+ */
+@Service
+public class SchoolDataGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchoolDataGenerator.class);
+
+    static final String STUDENT_DOMAIN = "@students.generated.scholarhub";
+    private static final String TEACHER_DOMAIN = "@teachers.generated.scholarhub";
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] FIRST_NAMES = {"Adam", "Amina", "Chloe", "David", "Elias", "Fatima", "Hugo",
+            "Ines", "Jade", "Karim", "Lea", "Lucas", "Malak", "Nora", "Omar", "Rayan", "Sara", "Theo", "Yasmine", "Zoe"};
+    private static final String[] LAST_NAMES = {"Alaoui", "Bernard", "Benali", "Dubois", "El Idrissi", "Fontaine",
+            "Garcia", "Haddad", "Lambert", "Martin", "Mansouri", "Moreau", "Petit", "Rousseau", "Tazi", "Ziani"};
+    private static final String[] SUBJECT_NAMES = {"Mathematics", "Physics", "Chemistry", "Biology", "French",
+            "English", "History", "Geography", "Philosophy", "Computer Science", "Economics", "Arabic"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private SubmissionStateService submissionStates;
+
+    @Autowired
+    private GradebookService gradebook;
+
+    @Autowired
+    private GroupDashboardService dashboards;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Value("${generator.seed:42}")
+    private long seed;
+
+    @Value("${generator.levels:3}")
+    private int levelCount;
+
+    @Value("${generator.subjects-per-level:5}")
+    private int subjectsPerLevel;
+
+    @Value("${generator.groups-per-level:4}")
+    private int groupsPerLevel;
+
+    @Value("${generator.teachers:20}")
+    private int teacherCount;
+
+    @Value("${generator.students:1000}")
+    private int studentCount;
+
+    @Value("${generator.assignments-per-program:4}")
+    private int assignmentsPerProgram;
+
+    // Share of assignments due later today: the deadline-day rush
+    @Value("${generator.due-today-share:0.1}")
+    private double dueTodayShare;
+
+    // Every generated account signs in with this password
+    @Value("${generator.password:password}")
+    private String password;
+
+    /** Counts of what one run wrote. */
+    public static class Summary {
+        private final int students;
+        private final int assignments;
+        private final int workReturns;
+        private final int grades;
+        private final long millis;
+
+        Summary(int students, int assignments, int workReturns, int grades, long millis) {
+            this.students = students;
+            this.assignments = assignments;
+            this.workReturns = workReturns;
+            this.grades = grades;
+            this.millis = millis;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+
+        public int getAssignments() {
+            return assignments;
+        }
+
+        public int getWorkReturns() {
+            return workReturns;
+        }
+
+        public int getGrades() {
+            return grades;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * Generates the school. Throws IllegalStateException when generated students are already
+     * present, since a second run would only collide with the first one's emails.
+     */
+    public synchronized Summary generate() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE email LIKE ?", Integer.class, "%" + STUDENT_DOMAIN);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("The database already holds " + existing + " generated students");
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime now = LocalDate.now().atTime(12, 0);
+        String hash = passwordHasher.encode(password);
+
+        // Levels and their subjects
+        List<Object[]> rows = new ArrayList<>();
+        for (int l = 1; l <= levelCount; l++) {
+            rows.add(new Object[]{"Level " + l});
+        }
+        long[] levelIds = insert("levels", "INSERT INTO levels (name) VALUES (?)", rows);
+
+        rows.clear();
+        for (int l = 0; l < levelCount; l++) {
+            for (int s = 0; s < subjectsPerLevel; s++) {
+                rows.add(new Object[]{SUBJECT_NAMES[s % SUBJECT_NAMES.length], levelIds[l]});
+            }
+        }
+        long[] subjectIds = insert("subjects", "INSERT INTO subjects (name, level_id) VALUES (?, ?)", rows);
+
+        rows.clear();
+        for (int t = 1; t <= teacherCount; t++) {
+            rows.add(new Object[]{"teacher" + t + TEACHER_DOMAIN, hash, pick(random, FIRST_NAMES), pick(random, LAST_NAMES)});
+        }
+        long[] teacherIds = insert("teachers",
+                "INSERT INTO teachers (email, password, firstname, lastname) VALUES (?, ?, ?, ?)", rows);
+
+        // Groups, with uneven sizes: each gets a weight between 0.6 and 1.4
+        int groupCount = levelCount * groupsPerLevel;
+        rows.clear();
+        double[] groupWeights = new double[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            int level = g / groupsPerLevel;
+            rows.add(new Object[]{"Group " + (level + 1) + "-" + (char) ('A' + g % groupsPerLevel), levelIds[level]});
+            groupWeights[g] = 0.6 + 0.8 * random.nextDouble();
+        }
+        long[] groupIds = insert("groups", "INSERT INTO groups (name, level_id) VALUES (?, ?)", rows);
+
+        // One program per group and subject of its level; a few teachers take most of them
+        rows.clear();
+        int[] programGroup = new int[groupCount * subjectsPerLevel];
+        long[] programSubject = new long[programGroup.length];
+        for (int g = 0, p = 0; g < groupCount; g++) {
+            for (int s = 0; s < subjectsPerLevel; s++, p++) {
+                programGroup[p] = g;
+                programSubject[p] = subjectIds[(g / groupsPerLevel) * subjectsPerLevel + s];
+                rows.add(new Object[]{teacherIds[skewed(random, teacherCount)], groupIds[g], programSubject[p]});
+            }
+        }
+        long[] programIds = insert("programs",
+                "INSERT INTO programs (teacher_id, group_id, subject_id) VALUES (?, ?, ?)", rows);
+
+        // Students, each with a diligence between 0.5 and 1 that drives how often they submit and their scores
+        double[] cumulative = new double[groupCount];
+        double total = 0;
+        for (int g = 0; g < groupCount; g++) {
+            total += groupWeights[g];
+            cumulative[g] = total;
+        }
+        rows.clear();
+        int[] studentGroup = new int[studentCount];
+        double[] diligence = new double[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            int g = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            studentGroup[i] = g < 0 ? Math.min(-g - 1, groupCount - 1) : g;
+            diligence[i] = 0.5 + 0.5 * Math.sqrt(random.nextDouble());
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            rows.add(new Object[]{(first + "." + last).toLowerCase().replace(' ', '-') + "." + (i + 1) + STUDENT_DOMAIN,
+                    hash, first, last, levelIds[studentGroup[i] / groupsPerLevel], groupIds[studentGroup[i]]});
+        }
+        long[] studentIds = insert("students", "INSERT INTO students (id, email, password, firstname, lastname, "
+                + "level_id, group_id) VALUES (NEXT VALUE FOR students_seq, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+
+        List<List<Integer>> groupMembers = new ArrayList<>();
+        for (int g = 0; g < groupCount; g++) {
+            groupMembers.add(new ArrayList<>());
+        }
+        for (int i = 0; i < studentCount; i++) {
+            groupMembers.get(studentGroup[i]).add(i);
+        }
+
+        // Assignments: deadlines over the last 90 days and the next two weeks, some due later today
+        List<LocalDateTime> deadlines = new ArrayList<>();
+        List<Integer> assignmentProgram = new ArrayList<>();
+        for (int p = 0; p < programIds.length; p++) {
+            int count = assignmentsPerProgram / 2 + random.nextInt(assignmentsPerProgram + 1);
+            for (int k = 1; k <= count; k++) {
+                LocalDateTime deadline = random.nextDouble() < dueTodayShare
+                        ? now.plusHours(1 + random.nextInt(11))
+                        : now.plusDays(random.nextInt(-90, 15)).withHour(8 + random.nextInt(12));
+                deadlines.add(deadline);
+                assignmentProgram.add(p);
+                rows.add(new Object[]{"Assignment " + k, "Generated " + SUBJECT_NAMES[p % subjectsPerLevel % SUBJECT_NAMES.length]
+                        + " assignment " + k + " for group " + (programGroup[p] + 1),
+                        Timestamp.valueOf(deadline), "Not Started", programSubject[p], groupIds[programGroup[p]],
+                        programIds[p]});
+            }
+        }
+        long[] assignmentIds = insert("assignments", "INSERT INTO assignments (title, description, delay, status, "
+                + "subject_id, group_id, program_id) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+
+        // Submissions and grades, streamed per assignment
+        Batch workReturns = new Batch("INSERT INTO work_return (file_path, original_file_name, file_size, created_at, "
+                + "grade, student_id, assignment_id, version, processing_status, page_count) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 'READY', ?)");
+        Batch grades = new Batch("INSERT INTO grades (id, score, student_id, assignment_id, subject_id) "
+                + "VALUES (NEXT VALUE FOR grades_seq, ?, ?, ?, ?)");
+        for (int a = 0; a < assignmentIds.length; a++) {
+            LocalDateTime deadline = deadlines.get(a);
+            int program = assignmentProgram.get(a);
+            boolean past = deadline.isBefore(now);
+            double submitShare = past ? 1.0 : deadline.toLocalDate().equals(now.toLocalDate()) ? 0.55 : 0.25;
+
+            for (int student : groupMembers.get(programGroup[program])) {
+                if (random.nextDouble() >= diligence[student] * submitShare) {
+                    continue;
+                }
+                // Most work arrives in the last hours; one in twelve is late
+                int submissions = 1;
+                while (submissions < 3 && random.nextDouble() < 0.2) {
+                    submissions++;
+                }
+                LocalDateTime submitted = random.nextDouble() < 0.08
+                        ? deadline.plusMinutes((long) (random.nextExponential() * 360))
+                        : deadline.minusMinutes(1 + (long) (random.nextExponential() * 1080));
+                if (submitted.isAfter(now)) {
+                    submitted = now.minusMinutes(1 + random.nextInt(600));
+                }
+                Integer score = null;
+                if (past && random.nextDouble() < 0.85) {
+                    double mean = 60 + 30 * (diligence[student] - 0.5) * 2;
+                    score = (int) Math.max(0, Math.min(100, Math.round(mean + random.nextGaussian() * 12)));
+                }
+                for (int k = 1; k <= submissions; k++) {
+                    LocalDateTime createdAt = submitted.minusMinutes((long) (submissions - k) * (5 + random.nextInt(120)));
+                    workReturns.add("/generated/" + assignmentIds[a] + "/" + studentIds[student] + "-" + k + ".pdf",
+                            "submission-" + k + ".pdf", 20_000L + (long) (random.nextExponential() * 400_000),
+                            Timestamp.valueOf(createdAt), k == submissions ? score : null, studentIds[student],
+                            assignmentIds[a], 1 + random.nextInt(30));
+                }
+                if (score != null) {
+                    grades.add(score.doubleValue(), studentIds[student], assignmentIds[a], programSubject[program]);
+                }
+            }
+        }
+        workReturns.flush();
+        grades.flush();
+
+        // Per-student submission states and the assignment counters, from the rows just written
+        for (int a = 0; a < assignmentIds.length; a++) {
+            submissionStates.syncAssignment(assignmentIds[a], groupIds[programGroup[assignmentProgram.get(a)]]);
+        }
+        gradebook.rebuildSummaries();
+        dashboards.initializeMissing();
+        if (cacheManager != null) {
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        }
+
+        Summary summary = new Summary(studentCount, assignmentIds.length, workReturns.count, grades.count,
+                (System.nanoTime() - start) / 1_000_000);
+        LOGGER.info("Generated {} groups, {} students, {} assignments, {} submissions and {} grades in {} ms (seed {})",
+                groupCount, summary.getStudents(), summary.getAssignments(), summary.getWorkReturns(),
+                summary.getGrades(), summary.getMillis(), seed);
+        return summary;
+    }
+
+    // Batch insert, then the generated ids in insert order: nothing else writes while generating,
+    // and both identity columns and sequences hand out increasing values
+    private long[] insert(String table, String sql, List<Object[]> rows) {
+        Long before = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class, before);
+        if (ids.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " new rows in " + table + ", found " + ids.size());
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private int count;
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            rows.add(values);
+            count++;
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // An index in [0, n) where low indexes come up far more often than high ones
+    private static int skewed(SplittableRandom random, int n) {
+        double u = random.nextDouble();
+        return Math.min(n - 1, (int) (n * u * u * u));
+    }
+}
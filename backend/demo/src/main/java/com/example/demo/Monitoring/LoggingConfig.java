@@ -0,0 +1,24 @@
+package com.example.demo.Monitoring;
+
+import com.example.demo.Authentication.TokenAuthenticationFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request-scoped logging context. Appenders, the async ring buffers and their overflow policy are
+ * configured in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter() {
+        FilterRegistrationBean<RequestLoggingFilter> registration =
+                new FilterRegistrationBean<>(new RequestLoggingFilter());
+        registration.addUrlPatterns("/api/*");
+        // Just inside the token filter, so the caller is already known when the MDC is filled
+        registration.setOrder(TokenAuthenticationFilter.ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.Monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request ran, as the {@code http.server.requests.queries}
+ * distribution tagged with the URI pattern and controller method. A jump in this number is how
+ * an N+1 regression shows up on the dashboard.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "http.server.requests.queries";
+    private static final double[] BUCKETS = {1, 2, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountInspector.stop();
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements executed per HTTP request")
+                    .tag("uri", MetricsConfig.uriPattern(request))
+                    .tag("handler", MetricsConfig.handlerName(request))
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meterRegistry)
+                    .record(queries);
+        }
+    }
+}
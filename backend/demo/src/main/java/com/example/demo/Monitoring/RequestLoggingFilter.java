@@ -0,0 +1,55 @@
+package com.example.demo.Monitoring;
+
+import com.example.demo.Authentication.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Puts the route and caller into the logging MDC for the duration of a request, so every line
+ * logged while serving it carries them as JSON fields, then logs one completion line with the
+ * status and latency. Runs after the token filter, which resolves the caller.
+ */
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    static final String ROUTE = "route";
+    static final String USER_ID = "userId";
+    static final String STATUS = "status";
+    static final String LATENCY_MS = "latencyMs";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        MDC.put(ROUTE, request.getMethod() + " " + request.getRequestURI());
+        Object user = request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        if (user instanceof AuthenticatedUser) {
+            AuthenticatedUser authenticated = (AuthenticatedUser) user;
+            MDC.put(USER_ID, authenticated.getRole() + ":" + authenticated.getId());
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            // The URI template is only known once the request has been mapped to a controller
+            MDC.put(ROUTE, request.getMethod() + " " + MetricsConfig.uriPattern(request));
+            MDC.put(STATUS, Integer.toString(response.getStatus()));
+            MDC.put(LATENCY_MS, Long.toString(latencyMs));
+            LOGGER.info("Completed {} {} with {} in {} ms",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), latencyMs);
+            MDC.remove(ROUTE);
+            MDC.remove(USER_ID);
+            MDC.remove(STATUS);
+            MDC.remove(LATENCY_MS);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.demo.Program;
 
+import com.example.demo.CacheConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -15,10 +19,15 @@ public class ProgramController {
     @Autowired
     private ProgramRepository programRepo;
 
-    // Get all Programs
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Get all Programs. Cached as a JSON tree for the same reason as levels: the embedded
+    // groups carry lazy student collections that can't be serialized after detaching.
     @GetMapping
-    public List<Program> getAllPrograms() {
-        return programRepo.findAll();
+    @Cacheable(cacheNames = CacheConfig.PROGRAMS, sync = true)
+    public JsonNode getAllPrograms() {
+        return objectMapper.valueToTree(programRepo.findAll());
     }
 
     // Get Program by ID
@@ -30,6 +39,7 @@ public class ProgramController {
 
     // Create a new Program
     @PostMapping
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
     public ResponseEntity<Program> createProgram(@RequestBody Program program) {
         Program savedProgram = programRepo.save(program);
         return new ResponseEntity<>(savedProgram, HttpStatus.CREATED);
@@ -37,6 +47,7 @@ public class ProgramController {
 
     // Update a Program
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
     public ResponseEntity<Program> updateProgram(@PathVariable Long id, @RequestBody Program program) {
         if (!programRepo.existsById(id)) {
             return ResponseEntity.notFound().build();
@@ -49,6 +60,7 @@ public class ProgramController {
 
     // Delete a Program
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
     public ResponseEntity<Void> deleteProgram(@PathVariable Long id) {
         if (!programRepo.existsById(id)) {
             return ResponseEntity.notFound().build();
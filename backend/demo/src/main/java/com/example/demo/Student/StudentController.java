@@ -1,11 +1,21 @@
 package com.example.demo.Student;
 
+import com.example.demo.Authentication.AuthenticatedUser;
+import com.example.demo.Authentication.LoginService;
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.CacheConfig;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.SubmissionState.SubmissionStateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.demo.Group.*;
 import com.example.demo.Level.*;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.Map;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +32,21 @@ public class StudentController {
     @Autowired
     private LevelRepository levelRepository;
 
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private SubmissionStateService submissionStates;
+
+    @Autowired
+    private GroupDashboardService dashboards;
+
     // Get all students
     @GetMapping
     public List<Student> getAllStudents() {
@@ -44,8 +69,9 @@ public class StudentController {
                               .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // Create new student
+    // Create new student. Level and program JSON list group members, so student writes evict them.
     @PostMapping
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Student> createStudent(@RequestBody StudentDTO dto) {
         Optional<Group> groupOpt = groupRepository.findById(dto.groupId);
         Optional<Level> levelOpt = levelRepository.findById(dto.levelId);
@@ -56,7 +82,7 @@ public class StudentController {
 
         Student student = new Student(
             dto.email,
-            dto.password,
+            passwordHasher.encode(dto.password),
             dto.firstname,
             dto.lastname,
             levelOpt.get(),
@@ -64,18 +90,51 @@ public class StudentController {
         );
 
         Student savedStudent = studentRepository.save(student);
+        loginService.evict(savedStudent.getEmail());
+        submissionStates.studentJoinedGroup(savedStudent.getId(), groupOpt.get().getId());
         return ResponseEntity.ok(savedStudent);
     }
 
+    // Bulk import for admins: the body is a CSV file (text/csv) or a JSON array (application/json).
+    // Returns how many rows were imported and why the others were rejected. Unlike the single-student
+    // endpoints it requires an admin session token, since one request can create thousands of accounts.
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.PROGRAMS}, allEntries = true)
+    public ResponseEntity<?> importStudents(HttpServletRequest request) {
+        Object caller = request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        if (!(caller instanceof AuthenticatedUser)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Sign in as an admin to import students"));
+        }
+        if (!((AuthenticatedUser) caller).isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "Only admins can import students"));
+        }
+        try {
+            StudentImportReport report = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                    ? importService.importJson(request.getInputStream())
+                    : importService.importCsv(request.getInputStream());
+            loginService.evictAll();
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Failed to read upload: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Student> updateStudent(@PathVariable Long id, @RequestBody StudentDTO dto) {
         Optional<Student> optionalStudent = studentRepository.findById(id);
         if (optionalStudent.isPresent()) {
             Student student = optionalStudent.get();
+            loginService.evict(student.getEmail());
             student.setEmail(dto.email);
-            student.setPassword(dto.password);
+            student.setPassword(passwordHasher.encodeIfChanged(dto.password, student.getPassword()));
             student.setFirstname(dto.firstname);
             student.setLastname(dto.lastname);
+            Long previousGroupId = student.getGroup() != null ? student.getGroup().getId() : null;
 
             // Get and set Group
             groupRepository.findById(dto.groupId).ifPresent(student::setGroup);
@@ -83,7 +142,14 @@ public class StudentController {
             // Get and set Level
             levelRepository.findById(dto.levelId).ifPresent(student::setLevel);
 
-            return ResponseEntity.ok(studentRepository.save(student));
+            Student saved = studentRepository.save(student);
+            loginService.evict(saved.getEmail());
+            Long groupId = saved.getGroup() != null ? saved.getGroup().getId() : null;
+            if (groupId != null && !groupId.equals(previousGroupId)) {
+                submissionStates.studentLeftGroup(saved.getId(), previousGroupId);
+                submissionStates.studentJoinedGroup(saved.getId(), groupId);
+            }
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -91,10 +157,19 @@ public class StudentController {
 
     // Delete student
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         Optional<Student> optionalStudent = studentRepository.findById(id);
         if (optionalStudent.isPresent()) {
+            // The student's rows go with them (on delete cascade); the group's counters are recounted
+            Group group = optionalStudent.get().getGroup();
+            List<Long> submissionGroupIds = dashboards.groupsWithWorkReturnsOf(id);
             studentRepository.delete(optionalStudent.get());
+            dashboards.groupsChanged(submissionGroupIds);
+            loginService.evict(optionalStudent.get().getEmail());
+            if (group != null) {
+                submissionStates.studentLeftGroup(id, group.getId());
+            }
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
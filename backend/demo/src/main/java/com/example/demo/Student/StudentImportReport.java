@@ -0,0 +1,81 @@
+package com.example.demo.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk import; rows are numbered from 1, not counting a CSV header
+public class StudentImportReport {
+
+    public static class RowError {
+        private final long row;
+        private final String email;
+        private final String message;
+
+        public RowError(long row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final int maxErrors;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public StudentImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        totalRows++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    // Only the first maxErrors errors are kept so a bad file can't grow the report without bound
+    void fail(long row, String email, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(row, email, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.Student;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// One student in a bulk import; group and level are given by name
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StudentImportRow {
+    public String email;
+    public String password;
+    public String firstname;
+    public String lastname;
+    public String group;
+    public String level;
+}
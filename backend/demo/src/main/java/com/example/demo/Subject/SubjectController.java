@@ -1,11 +1,13 @@
 package com.example.demo.Subject;
 
+import com.example.demo.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +48,7 @@ public class SubjectController {
 
     // Create a new Subject
     @PostMapping
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.SUBJECTS}, allEntries = true)
     public ResponseEntity<Subject> createSubject(@RequestBody SubjectInputDTO input) {
         try {
             Subject subject = new Subject();
@@ -62,20 +65,12 @@ public class SubjectController {
         }
     }
 
-    private SubjectDTO convertToDTO(Subject subject) {
-        String levelName = subject.getLevel() != null ? subject.getLevel().getName() : "N/A";
-        return new SubjectDTO(subject.getId(), subject.getName(), levelName);
-    }
-
     // Get all Subjects
     @GetMapping
+    @Cacheable(cacheNames = CacheConfig.SUBJECTS, sync = true)
     public List<SubjectDTO> getAllSubjects() {
-        List<Subject> subjects = subjectRepository.findAll();
-        List<SubjectDTO> subjectDTOs = new ArrayList<>();
-        for (Subject subject : subjects) {
-            subjectDTOs.add(convertToDTO(subject));
-        }
-        return subjectDTOs;
+        // One joined query; reading subject.getLevel() per row would load each level separately
+        return subjectRepository.findAllAsDTO();
     }
 
     // Get Subject by ID
@@ -91,6 +86,7 @@ public class SubjectController {
 
     // Update Subject by ID
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.SUBJECTS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Subject> updateSubject(@PathVariable Long id, @RequestBody SubjectInputDTO input) {
         try {
             Optional<Subject> subjectOpt = subjectRepository.findById(id);
@@ -116,6 +112,7 @@ public class SubjectController {
 
     // Delete Subject by ID
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = {CacheConfig.LEVELS, CacheConfig.SUBJECTS, CacheConfig.PROGRAMS}, allEntries = true)
     public ResponseEntity<Void> deleteSubject(@PathVariable Long id) {
         Optional<Subject> subject = subjectRepository.findById(id);
         if (subject.isPresent()) {
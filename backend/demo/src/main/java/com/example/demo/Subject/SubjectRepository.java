@@ -1,9 +1,15 @@
 package com.example.demo.Subject;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
-    // You can add custom query methods if 
+    // Builds the listing DTOs in a single joined query instead of loading each level separately
+    @Query("SELECT new com.example.demo.Subject.SubjectDTO(s.id, s.name, COALESCE(l.name, 'N/A')) " +
+           "FROM Subject s LEFT JOIN s.level l ORDER BY s.id")
+    List<SubjectDTO> findAllAsDTO();
 }
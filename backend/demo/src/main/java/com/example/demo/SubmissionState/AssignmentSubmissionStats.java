@@ -0,0 +1,51 @@
+package com.example.demo.SubmissionState;
+
+import com.example.demo.Assignment.Assignment;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+// Per-assignment totals over submission_states, kept current by SubmissionStateService so a
+// summary is one primary-key read. "submitted" counts every student who handed something in,
+// graded ones included.
+@Table(name = "assignment_submission_stats")
+public class AssignmentSubmissionStats {
+
+    @Id
+    @Column(name = "assignment_id")
+    private Long assignmentId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "assignment_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Assignment assignment;
+
+    @Column(name = "submitted", nullable = false)
+    private int submitted;
+
+    @Column(name = "graded", nullable = false)
+    private int graded;
+
+    @Column(name = "missing", nullable = false)
+    private int missing;
+
+    public AssignmentSubmissionStats() {}
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    public int getGraded() {
+        return graded;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+}
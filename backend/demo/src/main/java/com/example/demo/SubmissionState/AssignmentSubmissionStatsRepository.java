@@ -0,0 +1,55 @@
+package com.example.demo.SubmissionState;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface AssignmentSubmissionStatsRepository extends JpaRepository<AssignmentSubmissionStats, Long> {
+
+    // Increments in place: no read, and the row lock lasts one statement
+    @Modifying
+    @Query("UPDATE AssignmentSubmissionStats x SET x.submitted = x.submitted + :submitted, " +
+           "x.graded = x.graded + :graded, x.missing = x.missing + :missing " +
+           "WHERE x.assignmentId = :assignmentId")
+    int add(@Param("assignmentId") Long assignmentId,
+            @Param("submitted") int submitted,
+            @Param("graded") int graded,
+            @Param("missing") int missing);
+
+    @Modifying
+    @Query(value = "INSERT INTO assignment_submission_stats (assignment_id, submitted, graded, missing) " +
+            "SELECT a.id, 0, 0, 0 FROM assignments a WHERE a.id = :assignmentId " +
+            "AND NOT EXISTS (SELECT 1 FROM assignment_submission_stats x WHERE x.assignment_id = a.id)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("assignmentId") Long assignmentId);
+
+    @Modifying
+    @Query(value = "INSERT INTO assignment_submission_stats (assignment_id, submitted, graded, missing) " +
+            "SELECT a.id, 0, 0, 0 FROM assignments a WHERE a.group_id = :groupId " +
+            "AND NOT EXISTS (SELECT 1 FROM assignment_submission_stats x WHERE x.assignment_id = a.id)",
+            nativeQuery = true)
+    int insertIfAbsentForGroup(@Param("groupId") Long groupId);
+
+    // Full recount from submission_states, for the rare changes that move many rows at once
+    String RECOUNT = "UPDATE assignment_submission_stats SET " +
+            "submitted = (SELECT COUNT(*) FROM submission_states st " +
+            "WHERE st.assignment_id = assignment_submission_stats.assignment_id AND st.status <> 'MISSING'), " +
+            "graded = (SELECT COUNT(*) FROM submission_states st " +
+            "WHERE st.assignment_id = assignment_submission_stats.assignment_id AND st.status = 'GRADED'), " +
+            "missing = (SELECT COUNT(*) FROM submission_states st " +
+            "WHERE st.assignment_id = assignment_submission_stats.assignment_id AND st.status = 'MISSING') ";
+
+    @Modifying
+    @Query(value = RECOUNT + "WHERE assignment_id IN (:assignmentIds)", nativeQuery = true)
+    int recount(@Param("assignmentIds") Collection<Long> assignmentIds);
+
+    @Modifying
+    @Query(value = RECOUNT + "WHERE assignment_id IN (SELECT a.id FROM assignments a WHERE a.group_id = :groupId)",
+            nativeQuery = true)
+    int recountGroup(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,77 @@
+package com.example.demo.SubmissionState;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Student.Student;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Entity
+// One row per (assignment, student), so an upload or a grade only touches its own student's row.
+// Derived data: removed by the database together with the assignment or the student.
+@Table(name = "submission_states",
+       uniqueConstraints = @UniqueConstraint(name = "uk_submission_states_assignment_student",
+               columnNames = {"assignment_id", "student_id"}),
+       indexes = @Index(name = "idx_submission_states_student", columnList = "student_id"))
+public class SubmissionState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "assignment_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Assignment assignment;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private SubmissionStatus status;
+
+    // Processed uploads, resubmissions included
+    @Column(name = "submissions", nullable = false)
+    private int submissions;
+
+    @Column(name = "last_work_return_id")
+    private Long lastWorkReturnId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public SubmissionState() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Assignment getAssignment() {
+        return assignment;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public SubmissionStatus getStatus() {
+        return status;
+    }
+
+    public int getSubmissions() {
+        return submissions;
+    }
+
+    public Long getLastWorkReturnId() {
+        return lastWorkReturnId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.SubmissionState;
+
+import java.time.LocalDateTime;
+
+// One student's line in an assignment's submission table
+public class SubmissionStateDTO {
+    private final Long studentId;
+    private final String firstname;
+    private final String lastname;
+    private final SubmissionStatus status;
+    private final int submissions;
+    private final Long lastWorkReturnId;
+    private final LocalDateTime updatedAt;
+
+    public SubmissionStateDTO(Long studentId, String firstname, String lastname, SubmissionStatus status,
+                              int submissions, Long lastWorkReturnId, LocalDateTime updatedAt) {
+        this.studentId = studentId;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.status = status;
+        this.submissions = submissions;
+        this.lastWorkReturnId = lastWorkReturnId;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getFirstname() {
+        return firstname;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public SubmissionStatus getStatus() {
+        return status;
+    }
+
+    public int getSubmissions() {
+        return submissions;
+    }
+
+    public Long getLastWorkReturnId() {
+        return lastWorkReturnId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
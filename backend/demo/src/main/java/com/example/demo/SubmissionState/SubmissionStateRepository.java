@@ -0,0 +1,152 @@
+package com.example.demo.SubmissionState;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SubmissionStateRepository extends JpaRepository<SubmissionState, Long> {
+
+    @Query("SELECT new com.example.demo.SubmissionState.SubmissionStateDTO(" +
+           "s.id, s.firstname, s.lastname, st.status, st.submissions, st.lastWorkReturnId, st.updatedAt) " +
+           "FROM SubmissionState st JOIN st.student s " +
+           "WHERE st.assignment.id = :assignmentId AND (:status IS NULL OR st.status = :status) " +
+           "ORDER BY s.lastname, s.firstname, s.id")
+    List<SubmissionStateDTO> findTableByAssignmentId(@Param("assignmentId") Long assignmentId,
+                                                     @Param("status") SubmissionStatus status);
+
+    // One student's status on each of these assignments, as (assignment id, status) rows
+    @Query("SELECT st.assignment.id, st.status FROM SubmissionState st " +
+           "WHERE st.student.id = :studentId AND st.assignment.id IN :assignmentIds")
+    List<Object[]> findStatusesForStudent(@Param("studentId") Long studentId,
+                                          @Param("assignmentIds") Collection<Long> assignmentIds);
+
+    // Counter bookkeeping (SubmissionStateService). A status change is a conditional update, so
+    // the caller whose update matched is the one that applies the counter change.
+
+    @Modifying
+    @Query("UPDATE SubmissionState st SET st.status = :to, st.updatedAt = LOCAL DATETIME " +
+           "WHERE st.assignment.id = :assignmentId AND st.student.id = :studentId AND st.status = :from")
+    int changeStatus(@Param("assignmentId") Long assignmentId,
+                     @Param("studentId") Long studentId,
+                     @Param("from") SubmissionStatus from,
+                     @Param("to") SubmissionStatus to);
+
+    @Modifying
+    @Query("UPDATE SubmissionState st SET st.submissions = st.submissions + 1, " +
+           "st.lastWorkReturnId = :workReturnId, st.updatedAt = LOCAL DATETIME " +
+           "WHERE st.assignment.id = :assignmentId AND st.student.id = :studentId")
+    int recordUpload(@Param("assignmentId") Long assignmentId,
+                     @Param("studentId") Long studentId,
+                     @Param("workReturnId") Long workReturnId);
+
+    // Rows are inserted only while holding the lock on their assignment's row. The inserts check
+    // NOT EXISTS, which does not stop two transactions from inserting the same key at once; under
+    // the lock, the second one waits and then sees the committed row. Ids in order, so writers
+    // locking several assignments can't deadlock each other.
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Assignment a WHERE a.id IN :assignmentIds ORDER BY a.id")
+    List<Long> lockAssignments(@Param("assignmentIds") Collection<Long> assignmentIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM Assignment a WHERE a.group.id = :groupId ORDER BY a.id")
+    List<Long> lockGroupAssignments(@Param("groupId") Long groupId);
+
+    // A student with no row yet (outside the assignment's group); 0 when the row already exists
+    @Modifying
+    @Query(value = "INSERT INTO submission_states " +
+            "(assignment_id, student_id, status, submissions, last_work_return_id, updated_at) " +
+            "SELECT CAST(:assignmentId AS bigint), CAST(:studentId AS bigint), CAST(:status AS varchar(20)), " +
+            "CAST(:submissions AS int), CAST(:workReturnId AS bigint), CURRENT_TIMESTAMP " +
+            "WHERE NOT EXISTS (SELECT 1 FROM submission_states " +
+            "WHERE assignment_id = :assignmentId AND student_id = :studentId)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("assignmentId") Long assignmentId,
+                       @Param("studentId") Long studentId,
+                       @Param("status") String status,
+                       @Param("submissions") int submissions,
+                       @Param("workReturnId") Long workReturnId);
+
+    // Students who already handed something in, for assignments synced after the fact
+    @Modifying
+    @Query(value = "INSERT INTO submission_states " +
+            "(assignment_id, student_id, status, submissions, last_work_return_id, updated_at) " +
+            "SELECT wr.assignment_id, wr.student_id, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM grades g WHERE g.assignment_id = wr.assignment_id " +
+            "AND g.student_id = wr.student_id AND g.score IS NOT NULL) THEN 'GRADED' ELSE 'SUBMITTED' END, " +
+            "COUNT(*), MAX(wr.id), MAX(wr.created_at) FROM work_return wr " +
+            "WHERE wr.assignment_id = :assignmentId AND wr.student_id IS NOT NULL " +
+            "AND (wr.processing_status IS NULL OR wr.processing_status = 'READY') " +
+            "AND NOT EXISTS (SELECT 1 FROM submission_states st " +
+            "WHERE st.assignment_id = wr.assignment_id AND st.student_id = wr.student_id) " +
+            "GROUP BY wr.assignment_id, wr.student_id",
+            nativeQuery = true)
+    int insertFromWorkReturns(@Param("assignmentId") Long assignmentId);
+
+    // Membership: every student of an assignment's group gets a MISSING row until they submit.
+    // These run when groups, students or assignments change, not on the upload path.
+
+    String INSERT_MISSING = "INSERT INTO submission_states (assignment_id, student_id, status, submissions, updated_at) " +
+            "SELECT a.id, s.id, 'MISSING', 0, CURRENT_TIMESTAMP " +
+            "FROM assignments a JOIN students s ON s.group_id = a.group_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM submission_states st WHERE st.assignment_id = a.id AND st.student_id = s.id) ";
+
+    @Modifying
+    @Query(value = INSERT_MISSING + "AND a.group_id = :groupId", nativeQuery = true)
+    int insertMissingForGroup(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = INSERT_MISSING + "AND a.id = :assignmentId", nativeQuery = true)
+    int insertMissingForAssignment(@Param("assignmentId") Long assignmentId);
+
+    @Modifying
+    @Query(value = INSERT_MISSING + "AND s.id = :studentId", nativeQuery = true)
+    int insertMissingForStudent(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM submission_states WHERE student_id = :studentId AND status = 'MISSING' " +
+            "AND assignment_id IN (SELECT a.id FROM assignments a WHERE a.group_id = :groupId)",
+            nativeQuery = true)
+    int deleteMissingForStudentInGroup(@Param("studentId") Long studentId, @Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "DELETE FROM submission_states WHERE assignment_id = :assignmentId AND status = 'MISSING' " +
+            "AND student_id NOT IN (SELECT s.id FROM students s WHERE s.group_id = :groupId)",
+            nativeQuery = true)
+    int deleteMissingOutsideGroup(@Param("assignmentId") Long assignmentId, @Param("groupId") Long groupId);
+
+    // Bulk grading: statuses are realigned with the grades table for whole assignments, then the
+    // assignments are recounted, instead of one conditional update per graded student
+
+    String SCORED_GRADE = "EXISTS (SELECT 1 FROM grades g WHERE g.assignment_id = submission_states.assignment_id " +
+            "AND g.student_id = submission_states.student_id AND g.score IS NOT NULL)";
+
+    @Modifying
+    @Query(value = "UPDATE submission_states SET status = 'GRADED', updated_at = CURRENT_TIMESTAMP " +
+            "WHERE assignment_id IN (:assignmentIds) AND status <> 'GRADED' AND " + SCORED_GRADE,
+            nativeQuery = true)
+    int markGradedFromGrades(@Param("assignmentIds") Collection<Long> assignmentIds);
+
+    @Modifying
+    @Query(value = "UPDATE submission_states SET status = 'SUBMITTED', updated_at = CURRENT_TIMESTAMP " +
+            "WHERE assignment_id IN (:assignmentIds) AND status = 'GRADED' AND NOT " + SCORED_GRADE,
+            nativeQuery = true)
+    int markUngradedFromGrades(@Param("assignmentIds") Collection<Long> assignmentIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO submission_states (assignment_id, student_id, status, submissions, updated_at) " +
+            "SELECT g.assignment_id, g.student_id, 'GRADED', 0, CURRENT_TIMESTAMP FROM grades g " +
+            "WHERE g.assignment_id IN (:assignmentIds) AND g.student_id IS NOT NULL AND g.score IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM submission_states st " +
+            "WHERE st.assignment_id = g.assignment_id AND st.student_id = g.student_id)",
+            nativeQuery = true)
+    int insertGradedFromGrades(@Param("assignmentIds") Collection<Long> assignmentIds);
+}
@@ -0,0 +1,215 @@
+package com.example.demo.SubmissionState;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps submission_states (one row per assignment and student) and the per-assignment counters in
+ * assignment_submission_stats in step.
+ *
+ * Uploads and grades change one student's row with a conditional update and adjust the counters
+ * by the matching delta, so the hot path never counts rows and never rewrites the assignment.
+ * Only inserting a first row takes a lock, on the assignment's row, so that concurrent first
+ * writers queue up instead of colliding on the unique key.
+ * Membership changes (students joining or leaving a group, assignments created or moved) are
+ * rare and recount the affected assignments instead.
+ */
+@Service
+public class SubmissionStateService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubmissionStateService.class);
+
+    @Autowired
+    private SubmissionStateRepository stateRepository;
+
+    @Autowired
+    private AssignmentSubmissionStatsRepository statsRepository;
+
+    /** A processed upload: MISSING becomes SUBMITTED; later uploads only bump the submission count. */
+    @Transactional
+    public void recordSubmission(Long assignmentId, Long studentId, Long workReturnId) {
+        if (stateRepository.recordUpload(assignmentId, studentId, workReturnId) == 0) {
+            // First row for the student: under the assignment's lock, see rows committed meanwhile
+            stateRepository.lockAssignments(List.of(assignmentId));
+            if (stateRepository.insertIfAbsent(assignmentId, studentId, SubmissionStatus.SUBMITTED.name(), 1, workReturnId) == 1) {
+                addToCounters(assignmentId, 1, 0, 0);
+                return;
+            }
+            // Inserted by a concurrent call that committed while this one waited for the lock
+            stateRepository.recordUpload(assignmentId, studentId, workReturnId);
+        }
+        if (stateRepository.changeStatus(assignmentId, studentId, SubmissionStatus.MISSING, SubmissionStatus.SUBMITTED) == 1) {
+            addToCounters(assignmentId, 1, 0, -1);
+        }
+    }
+
+    /**
+     * A grade was set (graded = true) or cleared for the student. Grading can overtake the upload
+     * pipeline, so a MISSING student, or one without a row, goes straight to GRADED.
+     */
+    @Transactional
+    public void recordGrade(Long assignmentId, Long studentId, boolean graded) {
+        if (!graded) {
+            if (stateRepository.changeStatus(assignmentId, studentId, SubmissionStatus.GRADED, SubmissionStatus.SUBMITTED) == 1) {
+                addToCounters(assignmentId, 0, -1, 0);
+            }
+            return;
+        }
+        if (markGraded(assignmentId, studentId)) {
+            return;
+        }
+        stateRepository.lockAssignments(List.of(assignmentId));
+        if (stateRepository.insertIfAbsent(assignmentId, studentId, SubmissionStatus.GRADED.name(), 0, null) == 1) {
+            addToCounters(assignmentId, 1, 1, 0);
+        } else {
+            // Inserted by a concurrent call that committed while this one waited for the lock
+            markGraded(assignmentId, studentId);
+        }
+    }
+
+    // False when the student has no row, or is already GRADED
+    private boolean markGraded(Long assignmentId, Long studentId) {
+        if (stateRepository.changeStatus(assignmentId, studentId, SubmissionStatus.SUBMITTED, SubmissionStatus.GRADED) == 1) {
+            addToCounters(assignmentId, 0, 1, 0);
+            return true;
+        }
+        if (stateRepository.changeStatus(assignmentId, studentId, SubmissionStatus.MISSING, SubmissionStatus.GRADED) == 1) {
+            addToCounters(assignmentId, 1, 1, -1);
+            return true;
+        }
+        return false;
+    }
+
+    /** After bulk grading: realigns the statuses of these assignments with their grades and recounts them. */
+    @Transactional
+    public void refreshGrades(Collection<Long> assignmentIds) {
+        if (assignmentIds.isEmpty()) {
+            return;
+        }
+        stateRepository.lockAssignments(assignmentIds);
+        stateRepository.markGradedFromGrades(assignmentIds);
+        stateRepository.markUngradedFromGrades(assignmentIds);
+        stateRepository.insertGradedFromGrades(assignmentIds);
+        assignmentIds.forEach(statsRepository::insertIfAbsent);
+        statsRepository.recount(assignmentIds);
+    }
+
+    /**
+     * A new or regrouped assignment: one MISSING row per student of its group who has not handed
+     * anything in, and none for students outside it.
+     */
+    @Transactional
+    public void syncAssignment(Long assignmentId, Long groupId) {
+        stateRepository.deleteMissingOutsideGroup(assignmentId, groupId);
+        initialize(assignmentId);
+    }
+
+    /** A student joined a group (created, imported or moved): MISSING rows for the group's assignments. */
+    @Transactional
+    public void studentJoinedGroup(Long studentId, Long groupId) {
+        if (groupId == null) {
+            return;
+        }
+        stateRepository.lockGroupAssignments(groupId);
+        stateRepository.insertMissingForStudent(studentId);
+        statsRepository.insertIfAbsentForGroup(groupId);
+        statsRepository.recountGroup(groupId);
+    }
+
+    /** A student left a group (moved or deleted): drops what they had not handed in there. */
+    @Transactional
+    public void studentLeftGroup(Long studentId, Long groupId) {
+        if (groupId == null) {
+            return;
+        }
+        stateRepository.deleteMissingForStudentInGroup(studentId, groupId);
+        statsRepository.recountGroup(groupId);
+    }
+
+    /** Many students joined a group at once (import). */
+    @Transactional
+    public void syncGroup(Long groupId) {
+        stateRepository.lockGroupAssignments(groupId);
+        stateRepository.insertMissingForGroup(groupId);
+        statsRepository.insertIfAbsentForGroup(groupId);
+        statsRepository.recountGroup(groupId);
+    }
+
+    /**
+     * Counters for one assignment. Assignments created before the table existed, or outside the
+     * controllers (seed data), are initialized on first read.
+     */
+    @Transactional
+    public Optional<AssignmentSubmissionStats> getStats(Long assignmentId) {
+        Optional<AssignmentSubmissionStats> stats = statsRepository.findById(assignmentId);
+        if (stats.isPresent()) {
+            return stats;
+        }
+        initialize(assignmentId);
+        return statsRepository.findById(assignmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubmissionStateDTO> getTable(Long assignmentId, SubmissionStatus status) {
+        return stateRepository.findTableByAssignmentId(assignmentId, status);
+    }
+
+    /**
+     * Where one student stands on each of these assignments, for the student's own listing.
+     * Assignments never initialized (seed data) are initialized first, as in {@link #getStats};
+     * an assignment without a row for the student reads as MISSING.
+     */
+    @Transactional
+    public Map<Long, SubmissionStatus> getStudentStatuses(Long studentId, Collection<Long> assignmentIds) {
+        if (assignmentIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, SubmissionStatus> statuses = findStatuses(studentId, assignmentIds);
+        List<Long> uninitialized = assignmentIds.stream()
+                .filter(id -> !statuses.containsKey(id) && !statsRepository.existsById(id))
+                .toList();
+        if (!uninitialized.isEmpty()) {
+            uninitialized.forEach(this::initialize);
+            statuses.putAll(findStatuses(studentId, uninitialized));
+        }
+        for (Long assignmentId : assignmentIds) {
+            statuses.putIfAbsent(assignmentId, SubmissionStatus.MISSING);
+        }
+        return statuses;
+    }
+
+    private Map<Long, SubmissionStatus> findStatuses(Long studentId, Collection<Long> assignmentIds) {
+        Map<Long, SubmissionStatus> statuses = new HashMap<>();
+        for (Object[] row : stateRepository.findStatusesForStudent(studentId, assignmentIds)) {
+            statuses.put((Long) row[0], (SubmissionStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    private void addToCounters(Long assignmentId, int submitted, int graded, int missing) {
+        if (statsRepository.add(assignmentId, submitted, graded, missing) == 0) {
+            // No counter row yet: build everything from the existing rows, which include this change
+            initialize(assignmentId);
+            LOGGER.debug("Initialized submission counters for assignment {}", assignmentId);
+        }
+    }
+
+    // Rows for earlier submissions and for the group's other students, then counters from those rows.
+    // Concurrent first reads queue on the assignment's lock; the later ones find nothing to insert.
+    private void initialize(Long assignmentId) {
+        stateRepository.lockAssignments(List.of(assignmentId));
+        stateRepository.insertFromWorkReturns(assignmentId);
+        stateRepository.insertMissingForAssignment(assignmentId);
+        statsRepository.insertIfAbsent(assignmentId);
+        statsRepository.recount(List.of(assignmentId));
+    }
+}
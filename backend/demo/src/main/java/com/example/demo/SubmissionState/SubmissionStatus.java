@@ -0,0 +1,11 @@
+package com.example.demo.SubmissionState;
+
+// Where one student stands on one assignment
+public enum SubmissionStatus {
+    // In the assignment's group, nothing handed in yet
+    MISSING,
+    // At least one submission processed, no grade yet
+    SUBMITTED,
+    // Has a grade for the assignment
+    GRADED
+}
@@ -1,6 +1,10 @@
 package com.example.demo.Teacher;
 
+import com.example.demo.Authentication.LoginService;
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +18,12 @@ public class TeacherController {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginService loginService;
+
     // Get all teachers
     @GetMapping
     public List<Teacher> getAllTeachers() {
@@ -31,20 +41,27 @@ public class TeacherController {
     // Create a new teacher
     @PostMapping
     public Teacher createTeacher(@RequestBody Teacher teacher) {
+        teacher.setPassword(passwordHasher.encode(teacher.getPassword()));
+        loginService.evict(teacher.getEmail());
         return teacherRepository.save(teacher);
     }
 
+    // Programs embed their teacher
     @PutMapping("/{id}")
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
 public ResponseEntity<Teacher> updateTeacher(@PathVariable Long id, @RequestBody Teacher teacherDetails) {
     Optional<Teacher> optionalTeacher = teacherRepository.findById(id);
     if (optionalTeacher.isPresent()) {
         Teacher teacher = optionalTeacher.get();
+        loginService.evict(teacher.getEmail());
         teacher.setEmail(teacherDetails.getEmail());
-        teacher.setPassword(teacherDetails.getPassword());
+        teacher.setPassword(passwordHasher.encodeIfChanged(teacherDetails.getPassword(), teacher.getPassword()));
         teacher.setFirstname(teacherDetails.getFirstname());
         teacher.setLastname(teacherDetails.getLastname());
         // DO NOT set teacher.setPrograms(...) here
-        return ResponseEntity.ok(teacherRepository.save(teacher));
+        Teacher saved = teacherRepository.save(teacher);
+        loginService.evict(saved.getEmail());
+        return ResponseEntity.ok(saved);
     } else {
         return ResponseEntity.notFound().build();
     }
@@ -53,10 +70,12 @@ public ResponseEntity<Teacher> updateTeacher(@PathVariable Long id, @RequestBody
 
     // Delete a teacher
     @DeleteMapping("/{id}")
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
     public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
         Optional<Teacher> optionalTeacher = teacherRepository.findById(id);
         if (optionalTeacher.isPresent()) {
             teacherRepository.delete(optionalTeacher.get());
+            loginService.evict(optionalTeacher.get().getEmail());
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,35 @@
+package com.example.demo;
+
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Request and {@code @Async} threads. With spring.threads.virtual.enabled, Tomcat serves each
+ * request and the application task executor runs each task on a new virtual thread, instead of
+ * the platform thread pools.
+ *
+ * A virtual thread that blocks while holding a monitor pins its carrier thread, and with one or
+ * two carriers on a small container that stalls every other request. Blocking paths therefore
+ * use {@link java.util.concurrent.locks.ReentrantLock} rather than {@code synchronized}, and
+ * pinning that still happens is exported as a metric.
+ *
+ * Work with its own concurrency limit, such as the submission pipeline, keeps a dedicated
+ * bounded pool instead of relying on these executors; scheduling drives its sweep.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ThreadingConfig {
+
+    // jvm.threads.virtual.pinned (a timer fed by JFR), so a pinning regression shows on the dashboard
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadMetrics virtualThreadMetrics() {
+        return new VirtualThreadMetrics();
+    }
+}
@@ -17,6 +17,7 @@ public class WebConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "Upload-Offset", "ETag", "Content-Range", "Accept-Ranges")
                 .allowCredentials(true);
     }
 
@@ -0,0 +1,142 @@
+package com.example.demo.WorkReturn;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores each distinct file once, named by its SHA-256 under {@code objects/ab/cd/<hash>}. The
+ * two-level prefix keeps every directory small however many submissions accumulate.
+ *
+ * A {@link SubmissionBlob} row counts the WorkReturns pointing at each file. Commit and release run
+ * in the transaction that saves or deletes the WorkReturn and change the count with a single
+ * UPDATE, whose row lock is held until that transaction ends. The file is placed or removed only
+ * while holding it, so a new upload can't reuse a file that a concurrent delete is removing, on
+ * this instance or any other. A removed file is parked in the staging directory until the delete
+ * commits, and put back if it rolls back.
+ *
+ * Files written by the older UUID layout still resolve, and are deleted outright on release since
+ * nothing else can reference them.
+ */
+@Service
+@ConditionalOnProperty(name = "file.storage", havingValue = "content-addressed", matchIfMissing = true)
+public class ContentAddressedSubmissionStorage extends LocalSubmissionStorage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentAddressedSubmissionStorage.class);
+
+    static final String OBJECTS_DIR = "objects";
+    private static final String OBJECTS_PREFIX = FILE_PATH_PREFIX + OBJECTS_DIR + "/";
+    private static final String RELEASED_SUFFIX = ".released";
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    @Autowired
+    private SubmissionBlobRepository blobRepository;
+
+    @Override
+    public String commit(Path stagedFile, String sha256, long size, String originalName) throws IOException {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid SHA-256 digest: " + sha256);
+        }
+        // Take the reference first: from here on a delete of the same file waits for this transaction
+        if (blobRepository.addReference(sha256) == 0
+                && blobRepository.insertFirstReference(sha256, size) == 0) {
+            blobRepository.addReference(sha256);
+        }
+
+        Path target = objectPath(sha256);
+        if (Files.isRegularFile(target)) {
+            // Same bytes are already stored; the staged copy is redundant
+            Files.delete(stagedFile);
+            LOGGER.debug("Deduplicated upload {} onto {}", originalName, sha256);
+        } else {
+            Files.createDirectories(target.getParent());
+            Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return filePathFor(target);
+    }
+
+    @Override
+    public void release(String filePath) throws IOException {
+        String hash = hashOf(filePath);
+        if (hash == null) {
+            Optional<Path> legacy = resolve(filePath);
+            if (legacy.isPresent()) {
+                Files.deleteIfExists(legacy.get());
+            }
+            return;
+        }
+
+        if (blobRepository.removeReference(hash) == 0) {
+            // Without a count we can't tell who else uses the file, so keep it
+            LOGGER.warn("No reference count for {}, leaving file in place", hash);
+            return;
+        }
+        if (blobRepository.deleteIfUnreferenced(hash) == 0) {
+            return;
+        }
+
+        Path target = objectPath(hash);
+        if (!Files.isRegularFile(target)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Files.delete(target);
+            LOGGER.debug("Deleted unreferenced submission file {}", hash);
+            return;
+        }
+        Path parked = stagingDirectory().resolve(hash + "." + UUID.randomUUID() + RELEASED_SUFFIX);
+        Files.move(target, parked, StandardCopyOption.ATOMIC_MOVE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                finishRelease(hash, target, parked, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    Path objectPath(String hash) {
+        return root().resolve(OBJECTS_DIR)
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    private void finishRelease(String hash, Path target, Path parked, boolean committed) {
+        try {
+            if (committed) {
+                Files.delete(parked);
+                LOGGER.debug("Deleted unreferenced submission file {}", hash);
+                return;
+            }
+            try {
+                Files.move(parked, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // An upload of the same bytes put the file back in the meantime
+                Files.delete(parked);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not finish releasing submission file {}", hash, e);
+        }
+    }
+
+    private static String hashOf(String filePath) {
+        if (filePath == null || !filePath.startsWith(OBJECTS_PREFIX)) {
+            return null;
+        }
+        String hash = filePath.substring(filePath.lastIndexOf('/') + 1);
+        return SHA256_HEX.matcher(hash).matches() ? hash : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.WorkReturn;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Shared parts of the storages that keep files under {@code file.upload-dir}. Recorded paths look
+ * like {@code /uploads/<relative path>}, which is also how {@code WebConfig} serves them.
+ */
+public abstract class LocalSubmissionStorage implements SubmissionStorage {
+
+    static final String FILE_PATH_PREFIX = "/uploads/";
+    static final String STAGING_DIR = ".staging";
+
+    @Value("${file.upload-dir:D:/AzureDevopsScholarhub/ScholarHub/backend/uploads/}")
+    protected String uploadDir;
+
+    @Override
+    public Path stagingDirectory() throws IOException {
+        Path dir = root().resolve(STAGING_DIR);
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    @Override
+    public Optional<Path> resolve(String filePath) {
+        if (filePath == null || !filePath.startsWith(FILE_PATH_PREFIX)) {
+            return Optional.empty();
+        }
+        Path dir = root();
+        Path path = dir.resolve(filePath.substring(FILE_PATH_PREFIX.length())).normalize();
+        // Never follow a recorded path out of the upload directory
+        if (!path.startsWith(dir) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(path);
+    }
+
+    protected Path root() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    protected String filePathFor(Path file) {
+        return FILE_PATH_PREFIX + root().relativize(file).toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.WorkReturn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Best-effort page counts for submitted files, without a document library. PDFs are scanned for
+ * page objects ("/Type /Page"), DOCX files report the count Word saved in docProps/app.xml.
+ * Returns null whenever the count cannot be read: legacy .doc files, and PDFs that keep their
+ * page objects inside compressed object streams.
+ */
+final class PageCounter {
+
+    private static final byte[] TYPE = "/Type".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PAGE = "/Page".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern DOCX_PAGES = Pattern.compile("<Pages>(\\d+)</Pages>");
+    private static final int MAX_APP_XML = 64 * 1024;
+
+    private PageCounter() {}
+
+    static Integer count(Path file, String fileName) throws IOException {
+        String lower = fileName != null ? fileName.toLowerCase() : "";
+        if (lower.endsWith(".pdf")) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return countPdfPages(in);
+            }
+        }
+        if (lower.endsWith(".docx")) {
+            return countDocxPages(file);
+        }
+        return null;
+    }
+
+    // A small state machine over the raw bytes, so a 100 MB file costs one buffer: "/Type",
+    // optional whitespace, "/Page", then anything but a name character ("/Pages" is the tree node)
+    static Integer countPdfPages(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int count = 0;
+        int matched = 0;       // bytes of TYPE, then of PAGE, matched so far
+        boolean inPage = false; // past "/Type", now on "/Page"
+        boolean pending = false; // "/Type /Page" seen, waiting for the byte after it
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (pending) {
+                    pending = false;
+                    if (!isNameChar(b)) {
+                        count++;
+                    }
+                }
+                if (!inPage) {
+                    if (b == TYPE[matched]) {
+                        if (++matched == TYPE.length) {
+                            inPage = true;
+                            matched = 0;
+                        }
+                    } else {
+                        matched = b == '/' ? 1 : 0;
+                    }
+                } else if (matched == 0 && isWhitespace(b)) {
+                    // between "/Type" and "/Page"
+                } else if (b == PAGE[matched]) {
+                    if (++matched == PAGE.length) {
+                        pending = true;
+                        inPage = false;
+                        matched = 0;
+                    }
+                } else {
+                    inPage = false;
+                    matched = b == '/' ? 1 : 0;
+                }
+            }
+        }
+        if (pending) {
+            count++;
+        }
+        return count > 0 ? count : null;
+    }
+
+    static Integer countDocxPages(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("docProps/app.xml");
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                String xml = new String(in.readNBytes(MAX_APP_XML), StandardCharsets.UTF_8);
+                Matcher matcher = DOCX_PAGES.matcher(xml);
+                return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+            }
+        } catch (ZipException | NumberFormatException e) {
+            // Not a valid DOCX after all
+            return null;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0;
+    }
+
+    private static boolean isNameChar(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9');
+    }
+}
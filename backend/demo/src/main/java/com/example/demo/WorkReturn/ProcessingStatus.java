@@ -0,0 +1,11 @@
+package com.example.demo.WorkReturn;
+
+// Where a submission is in the post-upload pipeline (SubmissionPipeline)
+public enum ProcessingStatus {
+    // Stored and recorded, waiting for the scan and metadata workers
+    PENDING,
+    // Scanned clean; page count filled in when the format allows
+    READY,
+    // Refused by the scanner; the file is no longer served
+    REJECTED
+}
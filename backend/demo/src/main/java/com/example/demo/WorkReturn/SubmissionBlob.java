@@ -0,0 +1,68 @@
+package com.example.demo.WorkReturn;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One stored file in the content-addressed store, shared by every WorkReturn with the same hash
+@Entity
+@Table(name = "submission_blobs")
+public class SubmissionBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size")
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public SubmissionBlob() {}
+
+    public SubmissionBlob(String contentHash, Long size) {
+        this.contentHash = contentHash;
+        this.size = size;
+        this.refCount = 0;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
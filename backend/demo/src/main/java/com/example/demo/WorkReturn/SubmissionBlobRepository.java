@@ -0,0 +1,39 @@
+package com.example.demo.WorkReturn;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// Reference counts only ever change in single statements, so the row lock each one takes is what
+// serializes uploads and deletes of the same file, across every instance sharing the database
+@Repository
+public interface SubmissionBlobRepository extends JpaRepository<SubmissionBlob, String> {
+
+    // 0 when no row exists yet for the hash
+    @Modifying
+    @Query(value = "UPDATE submission_blobs SET ref_count = ref_count + 1 WHERE content_hash = :hash",
+            nativeQuery = true)
+    int addReference(@Param("hash") String hash);
+
+    // First reference to a file; 0 when a concurrent upload inserted the row first
+    @Modifying
+    @Query(value = "INSERT INTO submission_blobs (content_hash, size, ref_count, created_at) " +
+            "SELECT CAST(:hash AS varchar(64)), CAST(:size AS bigint), 1, CURRENT_TIMESTAMP " +
+            "WHERE NOT EXISTS (SELECT 1 FROM submission_blobs WHERE content_hash = :hash)",
+            nativeQuery = true)
+    int insertFirstReference(@Param("hash") String hash, @Param("size") long size);
+
+    // 0 when the hash has no row, i.e. nothing is counting its references
+    @Modifying
+    @Query(value = "UPDATE submission_blobs SET ref_count = ref_count - 1 WHERE content_hash = :hash",
+            nativeQuery = true)
+    int removeReference(@Param("hash") String hash);
+
+    // 1 when the file lost its last reference and may be deleted
+    @Modifying
+    @Query(value = "DELETE FROM submission_blobs WHERE content_hash = :hash AND ref_count <= 0",
+            nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,313 @@
+package com.example.demo.WorkReturn;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Serves submission files with HTTP caching and range support.
+ *
+ * File metadata (path, size, ETag, Last-Modified) is cached per WorkReturn id, so a repeat
+ * download skips the database. Bytes go out through Tomcat's sendfile when the connector
+ * supports it. Otherwise they are read from a {@link FileChannel} into a 64 KB heap buffer and
+ * written from its array. That costs a copy, but Channels.newChannel and transferTo write under a
+ * monitor, and a virtual thread blocked there on a slow client would pin its carrier thread.
+ */
+@Service
+public class SubmissionDownloadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private WorkReturnRepository workReturnRepository;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    private final Cache<Long, FileMetadata> metadataCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    /** Everything needed to answer a download request without touching the database. */
+    public static class FileMetadata {
+        private final Path path;
+        private final String fileName;
+        private final String contentType;
+        private final long size;
+        private final long lastModified;
+        private final String etag;
+
+        FileMetadata(Path path, String fileName, String contentType, long size, long lastModified, String etag) {
+            this.path = path;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.etag = etag;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    /**
+     * Resolves the file behind a WorkReturn, from the cache when possible. Returns empty when the
+     * WorkReturn, its path or the file itself is missing, and while the submission has not passed
+     * the pipeline's scan (pending or rejected).
+     */
+    public Optional<FileMetadata> lookup(Long workReturnId) throws IOException {
+        FileMetadata cached = metadataCache.getIfPresent(workReturnId);
+        if (cached != null && Files.exists(cached.getPath())) {
+            return Optional.of(cached);
+        }
+
+        Optional<WorkReturn> workReturnOpt = workReturnRepository.findById(workReturnId);
+        if (!workReturnOpt.isPresent()) {
+            return Optional.empty();
+        }
+        WorkReturn workReturn = workReturnOpt.get();
+        if (workReturn.getProcessingStatus() != null && workReturn.getProcessingStatus() != ProcessingStatus.READY) {
+            return Optional.empty();
+        }
+        Optional<Path> pathOpt = storage.resolve(workReturn.getFilePath());
+        if (!pathOpt.isPresent()) {
+            return Optional.empty();
+        }
+        Path path = pathOpt.get();
+        // Content-addressed files are named by hash, so prefer the name the student uploaded
+        String fileName = workReturn.getOriginalFileName() != null
+                ? workReturn.getOriginalFileName()
+                : path.getFileName().toString();
+
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        // The content hash gives a strong validator; older rows without one get a weak one
+        String etag = workReturn.getContentHash() != null
+                ? "\"" + workReturn.getContentHash() + "\""
+                : "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        FileMetadata metadata = new FileMetadata(path, fileName, contentTypeFor(fileName), size, lastModified, etag);
+        metadataCache.put(workReturnId, metadata);
+        return Optional.of(metadata);
+    }
+
+    public void evict(Long workReturnId) {
+        metadataCache.invalidate(workReturnId);
+    }
+
+    /**
+     * Writes the file, honouring If-None-Match / If-Modified-Since (304), If-Range and a single
+     * byte range (206). Multi-range requests get the whole file, which RFC 9110 allows.
+     */
+    public void send(FileMetadata file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, file.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.getLastModified());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (isNotModified(file, request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = file.getSize();
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(file, request)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(file.getContentType());
+        // The name comes from the student: quotes are escaped, non-ASCII goes in filename* (RFC 6266)
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(length);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file itself with sendfile once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        // Written from the buffer's array rather than through Channels.newChannel, whose write
+        // holds a monitor: a virtual thread waiting on a slow client there would pin its carrier
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, length));
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                out.write(buffer.array(), 0, read);
+                position += read;
+                remaining -= read;
+            }
+        }
+    }
+
+    private boolean isNotModified(FileMetadata file, HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence and uses the weak comparison
+            String current = opaqueTag(file.getEtag());
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || opaqueTag(tag).equals(current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && file.getLastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private boolean ifRangeMatches(FileMetadata file, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Strong comparison only: a weak tag never satisfies If-Range
+            return !file.getEtag().startsWith("W/") && ifRange.equals(file.getEtag());
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && file.getLastModified() / 1000 <= date / 1000;
+    }
+
+    /**
+     * Returns {start, end} for a single satisfiable range, an empty array when the header should
+     * be ignored (malformed or multiple ranges), or null when the range cannot be satisfied.
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                if (start >= size) {
+                    return null;
+                }
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                if (end < start) {
+                    return new long[0];
+                }
+            }
+            if (size == 0) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String contentTypeFor(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".pdf")) {
+            return "application/pdf";
+        }
+        if (lower.endsWith(".docx")) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        if (lower.endsWith(".doc")) {
+            return "application/msword";
+        }
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post-upload work for new submissions, off the request path: the virus-scan hook
+ * ({@link SubmissionScanner}), page count extraction and the student's SUBMITTED state.
+ * Upload requests only record the WorkReturn as PENDING, queue its id and answer 202.
+ *
+ * A fixed pool of platform workers drains a bounded queue, so a burst of uploads cannot start
+ * unbounded scans (with virtual threads the application task executor has no bound at all).
+ * When the queue is full the id is dropped and the submission stays PENDING; the periodic sweep
+ * queues it again, which also picks up whatever a restart interrupted.
+ */
+@Service
+public class SubmissionPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubmissionPipeline.class);
+
+    @Autowired
+    private WorkReturnRepository workReturnRepository;
+
+    @Autowired
+    private SubmissionStateService submissionStates;
+
+    @Autowired
+    private GroupDashboardService dashboards;
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private SubmissionScanner scanner;
+
+    @Autowired
+    private SubmissionDownloadService downloadService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${file.processing.workers:2}")
+    private int workerCount;
+
+    @Value("${file.processing.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${file.processing.sweep-after:PT1M}")
+    private Duration sweepAfter;
+
+    private ThreadPoolExecutor executor;
+    private ExecutorService workers;
+    private TransactionTemplate transactionTemplate;
+
+    // Ids queued or being processed, so a sweep does not queue them a second time
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("submission-pipeline-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.* metrics (queued, active, completed, idle/busy time) tagged name=submission.pipeline
+        workers = ExecutorServiceMetrics.monitor(meterRegistry, executor, "submission.pipeline");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Whatever is still queued stays PENDING and is swept after the next start
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** Queues a stored submission. Returns false when the queue is full; the sweep retries it later. */
+    public boolean submit(Long workReturnId) {
+        if (!inFlight.add(workReturnId)) {
+            return true;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(workReturnId);
+                } finally {
+                    inFlight.remove(workReturnId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(workReturnId);
+            LOGGER.warn("Pipeline queue full, WorkReturn {} left for the sweep", workReturnId);
+            return false;
+        }
+    }
+
+    // Submissions still PENDING a while after upload: dropped by a full queue or cut off by a restart
+    @Scheduled(fixedDelayString = "${file.processing.sweep-interval:PT1M}",
+            initialDelayString = "${file.processing.sweep-interval:PT1M}")
+    public void sweep() {
+        List<Long> pending = workReturnRepository.findPendingIds(LocalDateTime.now().minus(sweepAfter),
+                PageRequest.of(0, queueCapacity));
+        int queued = 0;
+        for (Long id : pending) {
+            if (!submit(id)) {
+                break;
+            }
+            queued++;
+        }
+        if (!pending.isEmpty()) {
+            LOGGER.debug("Sweep queued {} of {} pending submissions", queued, pending.size());
+        }
+    }
+
+    /**
+     * Runs every stage for one submission and records the outcome. Only a PENDING submission is
+     * processed, and the outcome is written only while it is still PENDING, so running the same
+     * id twice does nothing the second time. An IOException, a transient database error or a
+     * constraint violation (a concurrent write to the same rows) rolls the outcome back and leaves
+     * it PENDING for the sweep; any other failure would recur on every sweep, so the submission is
+     * rejected instead.
+     */
+    void process(Long workReturnId) {
+        try {
+            Optional<WorkReturnProcessingState> stateOpt = workReturnRepository.findProcessingState(workReturnId);
+            if (!stateOpt.isPresent() || stateOpt.get().getStatus() != ProcessingStatus.PENDING) {
+                return;
+            }
+            WorkReturnProcessingState state = stateOpt.get();
+
+            Optional<Path> file = storage.resolve(state.getFilePath());
+            Optional<String> rejection = file.isPresent()
+                    ? scanner.scan(file.get(), state.getOriginalFileName())
+                    : Optional.of("file missing");
+            ProcessingStatus status = rejection.isPresent() ? ProcessingStatus.REJECTED : ProcessingStatus.READY;
+            Integer pageCount = rejection.isPresent() ? null : PageCounter.count(file.get(), state.getOriginalFileName());
+
+            Boolean completed = transactionTemplate.execute(tx -> {
+                if (workReturnRepository.completeProcessing(workReturnId, status, pageCount) == 0) {
+                    return false;
+                }
+                if (status == ProcessingStatus.READY && state.getAssignmentId() != null && state.getStudentId() != null) {
+                    submissionStates.recordSubmission(state.getAssignmentId(), state.getStudentId(), workReturnId);
+                }
+                if (status == ProcessingStatus.READY) {
+                    dashboards.workReturnProcessed(workReturnId);
+                }
+                return true;
+            });
+            if (!Boolean.TRUE.equals(completed)) {
+                return;
+            }
+            if (status == ProcessingStatus.REJECTED) {
+                downloadService.evict(workReturnId);
+                LOGGER.warn("Rejected WorkReturn {}: {}", workReturnId, rejection.get());
+            } else {
+                LOGGER.debug("Processed WorkReturn {} ({} pages)", workReturnId, pageCount);
+            }
+        } catch (IOException | TransientDataAccessException | DataIntegrityViolationException e) {
+            LOGGER.warn("Processing WorkReturn {} failed, left pending", workReturnId, e);
+        } catch (RuntimeException e) {
+            LOGGER.error("Processing WorkReturn {} failed, rejecting it", workReturnId, e);
+            reject(workReturnId);
+        }
+    }
+
+    private void reject(Long workReturnId) {
+        try {
+            Boolean rejected = transactionTemplate.execute(tx ->
+                    workReturnRepository.completeProcessing(workReturnId, ProcessingStatus.REJECTED, null) > 0);
+            if (Boolean.TRUE.equals(rejected)) {
+                downloadService.evict(workReturnId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not reject WorkReturn {}, left pending", workReturnId, e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.WorkReturn.SubmissionUploadService.StoredFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+
+/**
+ * Writes and deletes WorkReturn rows together with the storage reference to their file, in one
+ * transaction, so a file's reference count never disagrees with the rows that point at it.
+ */
+@Service
+public class SubmissionRecordService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubmissionRecordService.class);
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    @Autowired
+    private WorkReturnRepository workReturnRepository;
+
+    /** Commits the staged file to storage and saves the WorkReturn pointing at it. */
+    @Transactional(rollbackFor = IOException.class)
+    public WorkReturn record(WorkReturn workReturn, StoredFile stored) throws IOException {
+        workReturn.setFilePath(storage.commit(stored.getStagedFile(), stored.getSha256(), stored.getSize(),
+                stored.getOriginalName()));
+        workReturn.setOriginalFileName(stored.getOriginalName());
+        workReturn.setContentHash(stored.getSha256());
+        workReturn.setFileSize(stored.getSize());
+        return workReturnRepository.save(workReturn);
+    }
+
+    /**
+     * Deletes the WorkReturn and drops its reference to the stored file. A file that can't be
+     * removed only costs disk space, so that is logged rather than undoing the delete.
+     */
+    @Transactional
+    public void delete(WorkReturn workReturn) {
+        workReturnRepository.delete(workReturn);
+        try {
+            storage.release(workReturn.getFilePath());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to release file {}", workReturn.getFilePath(), e);
+        }
+    }
+}
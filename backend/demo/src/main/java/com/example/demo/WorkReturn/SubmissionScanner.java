@@ -0,0 +1,19 @@
+package com.example.demo.WorkReturn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Virus-scan hook, run by {@link SubmissionPipeline} on every new submission after the upload
+ * request has returned. Implementations may be slow (a call to a scanning daemon or service);
+ * they run on the pipeline's workers, never on a request thread.
+ */
+public interface SubmissionScanner {
+
+    /**
+     * Returns why the file must be rejected, or empty when it is clean. An IOException leaves
+     * the submission pending, to be retried by the next sweep.
+     */
+    Optional<String> scan(Path file, String originalName) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.example.demo.WorkReturn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where submission files live. The value returned by {@link #commit} is what gets stored in
+ * {@code WorkReturn.filePath}; the other methods take that same value back.
+ *
+ * Uploads are first written to {@link #stagingDirectory()} and then handed over with
+ * {@link #commit}, so implementations can place (or deduplicate) a file once its hash is known.
+ * Commit and release are called inside the transaction that saves or deletes the WorkReturn, so any
+ * bookkeeping an implementation keeps in the database commits or rolls back with that row.
+ */
+public interface SubmissionStorage {
+
+    /** Directory for in-progress uploads, on the same file system as the final location. */
+    Path stagingDirectory() throws IOException;
+
+    /**
+     * Takes ownership of a fully written staged file and returns the file path to record on the
+     * WorkReturn. The staged file is moved or deleted.
+     */
+    String commit(Path stagedFile, String sha256, long size, String originalName) throws IOException;
+
+    /** Resolves a recorded file path to a readable regular file. */
+    Optional<Path> resolve(String filePath);
+
+    /** Drops one reference to the file behind a WorkReturn, deleting it when nothing else uses it. */
+    void release(String filePath) throws IOException;
+}
@@ -0,0 +1,408 @@
+package com.example.demo.WorkReturn;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes submission bytes straight from the request stream to the storage's staging directory
+ * through a {@link FileChannel}, hashing them with SHA-256 on the way. The finished file stays
+ * staged until {@link SubmissionRecordService} commits it together with its WorkReturn. Memory per
+ * upload is one fixed buffer, whatever the file size.
+ *
+ * Large files can also be sent as a resumable sequence of chunks: a session remembers how many
+ * bytes it has received and the running digest, and the client resumes from that offset.
+ *
+ * A session is guarded by a {@link ReentrantLock}, not a monitor: the lock is held while the
+ * chunk is read from the network, and a virtual thread blocked inside {@code synchronized} would
+ * pin its carrier thread for that long.
+ *
+ * Tomcat itself still waits for request bytes inside a monitor ({@code Object.wait} in its NIO
+ * socket wrapper), which pins the carrier on JDK 21 whatever this class does. The number of bodies
+ * read at once is therefore capped below the virtual thread scheduler's carrier limit; uploads
+ * over the cap wait for a permit, which does not pin, and are refused if none frees up in time.
+ */
+@Service
+public class SubmissionUploadService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubmissionUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    @Autowired
+    private SubmissionStorage storage;
+
+    // Defaults to the global registry so the service also works when built by hand in tests
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Value("${file.max-upload-size:104857600}")
+    private long maxUploadSize;
+
+    @Value("${file.upload-session-ttl:PT24H}")
+    private Duration sessionTtl;
+
+    @Value("${file.body-read-wait:PT30S}")
+    private Duration bodyReadWait = Duration.ofSeconds(30);
+
+    private Semaphore bodyReads = new Semaphore(128);
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    /** Result of a completed upload: the staged file, the client's file name, size and SHA-256 hex digest. */
+    public static class StoredFile {
+        private final Path stagedFile;
+        private final String originalName;
+        private final long size;
+        private final String sha256;
+
+        public StoredFile(Path stagedFile, String originalName, long size, String sha256) {
+            this.stagedFile = stagedFile;
+            this.originalName = originalName;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public Path getStagedFile() {
+            return stagedFile;
+        }
+
+        public String getOriginalName() {
+            return originalName;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    /** State of a resumable upload between chunks. */
+    public static class UploadSession {
+        private final String uploadId;
+        private final Long assignmentId;
+        private final Long studentId;
+        private final String originalName;
+        private final long totalSize;
+        private final Path partialFile;
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        // Written with the lock held; volatile so status reads need not wait for a chunk in flight
+        private volatile long offset;
+        private Instant lastTouched;
+
+        UploadSession(String uploadId, Long assignmentId, Long studentId, String originalName,
+                      long totalSize, Path partialFile, MessageDigest digest) {
+            this.uploadId = uploadId;
+            this.assignmentId = assignmentId;
+            this.studentId = studentId;
+            this.originalName = originalName;
+            this.totalSize = totalSize;
+            this.partialFile = partialFile;
+            this.digest = digest;
+            this.lastTouched = Instant.now();
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public Long getAssignmentId() {
+            return assignmentId;
+        }
+
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        public String getOriginalName() {
+            return originalName;
+        }
+
+        public long getTotalSize() {
+            return totalSize;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public boolean isComplete() {
+            return offset == totalSize;
+        }
+    }
+
+    /** Thrown when a chunk does not start where the session left off. */
+    public static class OffsetMismatchException extends IllegalStateException {
+        private final long expectedOffset;
+
+        public OffsetMismatchException(long expectedOffset) {
+            super("Upload offset mismatch, expected " + expectedOffset);
+            this.expectedOffset = expectedOffset;
+        }
+
+        public long getExpectedOffset() {
+            return expectedOffset;
+        }
+    }
+
+    /** Thrown when another request already completed the session, e.g. a retried final chunk. */
+    public static class UploadCompletedException extends IllegalStateException {
+        public UploadCompletedException(String uploadId) {
+            super("Upload " + uploadId + " was already completed");
+        }
+    }
+
+    /** Thrown when too many uploads are already being read and none finished within the wait. */
+    public static class UploadsBusyException extends IllegalStateException {
+        private final Duration retryAfter;
+
+        public UploadsBusyException(Duration retryAfter) {
+            super("Too many uploads in progress, retry later");
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+
+    @Value("${file.max-concurrent-body-reads:128}")
+    void setMaxConcurrentBodyReads(int maxConcurrentBodyReads) {
+        this.bodyReads = new Semaphore(maxConcurrentBodyReads);
+    }
+
+    /**
+     * Streams the whole body into a new file in one pass. The bytes go to a staged ".part" file,
+     * which is only committed to storage once they are all written, so a dropped connection never
+     * leaves a half-written submission under its final name.
+     */
+    public StoredFile store(InputStream in, String originalName) throws IOException {
+        Path partial = storage.stagingDirectory().resolve(UUID.randomUUID() + PARTIAL_SUFFIX);
+        MessageDigest digest = newDigest();
+
+        long written;
+        try (InputStream source = in;
+             FileChannel target = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            written = copyWithPermit(source, target, digest, maxUploadSize, "stream");
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        return new StoredFile(partial, originalName, written, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public UploadSession startSession(Long assignmentId, Long studentId, String originalName, long totalSize)
+            throws IOException {
+        if (totalSize <= 0 || totalSize > maxUploadSize) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxUploadSize + " bytes");
+        }
+        purgeExpiredSessions();
+
+        String uploadId = UUID.randomUUID().toString();
+        Path partial = storage.stagingDirectory().resolve(uploadId + PARTIAL_SUFFIX);
+        Files.createFile(partial);
+
+        UploadSession session = new UploadSession(uploadId, assignmentId, studentId, originalName,
+                totalSize, partial, newDigest());
+        sessions.put(uploadId, session);
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId) {
+        return sessions.get(uploadId);
+    }
+
+    /**
+     * Appends one chunk at {@code offset}, which must equal the bytes received so far. Chunks are
+     * written in order so the running digest stays valid without re-reading the file.
+     */
+    public UploadSession appendChunk(UploadSession session, long offset, InputStream in) throws IOException {
+        session.lock.lock();
+        try {
+            if (offset != session.offset) {
+                throw new OffsetMismatchException(session.offset);
+            }
+            long remaining = session.totalSize - session.offset;
+            // Hash into a copy so a chunk that fails halfway leaves the session as it was
+            MessageDigest chunkDigest = cloneDigest(session.digest);
+            try (InputStream source = in;
+                 FileChannel target = FileChannel.open(session.partialFile, StandardOpenOption.WRITE)) {
+                target.position(session.offset);
+                try {
+                    session.offset += copyWithPermit(source, target, chunkDigest, remaining, "chunk");
+                } catch (IOException | RuntimeException e) {
+                    target.truncate(session.offset);
+                    throw e;
+                }
+            }
+            session.digest = chunkDigest;
+            session.lastTouched = Instant.now();
+            return session;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Hands over a complete session's staged file and forgets the session. Only the first caller
+     * gets the file; a concurrent or retried completion gets an {@link UploadCompletedException}.
+     */
+    public StoredFile completeSession(UploadSession session) {
+        session.lock.lock();
+        try {
+            if (!session.isComplete()) {
+                throw new OffsetMismatchException(session.offset);
+            }
+            if (sessions.remove(session.uploadId) == null) {
+                throw new UploadCompletedException(session.uploadId);
+            }
+            return new StoredFile(session.partialFile, session.originalName, session.totalSize,
+                    HexFormat.of().formatHex(session.digest.digest()));
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /** Deletes a staged file that won't be committed, e.g. because the upload was refused. */
+    public void discard(StoredFile stored) {
+        try {
+            Files.deleteIfExists(stored.getStagedFile());
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete staged upload {}", stored.getStagedFile(), e);
+        }
+    }
+
+    private long copyWithPermit(InputStream source, FileChannel target, MessageDigest digest, long limit, String mode)
+            throws IOException {
+        try {
+            if (!bodyReads.tryAcquire(bodyReadWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new UploadsBusyException(bodyReadWait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to read the upload");
+        }
+        try {
+            return copy(source, target, digest, limit, mode);
+        } finally {
+            bodyReads.release();
+        }
+    }
+
+    // Reads the stream into the buffer's array rather than through Channels.newChannel, whose
+    // read holds a monitor: a virtual thread waiting on a slow client there would pin its carrier
+    private long copy(InputStream source, FileChannel target, MessageDigest digest, long limit, String mode)
+            throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long total = 0;
+        int read;
+        while ((read = source.read(buffer.array(), 0, BUFFER_SIZE)) != -1) {
+            total += read;
+            if (total > limit) {
+                throw new IllegalArgumentException("Upload exceeds the allowed size of " + limit + " bytes");
+            }
+            buffer.limit(read);
+            digest.update(buffer.array(), 0, read);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+        }
+        recordThroughput(mode, total, System.nanoTime() - start);
+        return total;
+    }
+
+    // Bytes written feed rate() for overall throughput; the per-upload summary shows how fast
+    // individual clients manage to send, which is what slow-network complaints are about
+    private void recordThroughput(String mode, long bytes, long elapsedNanos) {
+        Counter.builder("submission.upload.bytes")
+                .description("Submission bytes written to storage")
+                .baseUnit("bytes")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(bytes);
+        if (bytes > 0 && elapsedNanos > 0) {
+            DistributionSummary.builder("submission.upload.throughput")
+                    .description("Transfer rate of each upload or chunk")
+                    .baseUnit("bytes.per.second")
+                    .tag("mode", mode)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1024.0)
+                    .maximumExpectedValue(1024.0 * 1024 * 1024)
+                    .register(meterRegistry)
+                    .record(bytes * 1_000_000_000.0 / elapsedNanos);
+        }
+    }
+
+    private void purgeExpiredSessions() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        sessions.values().removeIf(session -> {
+            // A session busy with a chunk is in use, not expired
+            if (!session.lock.tryLock()) {
+                return false;
+            }
+            try {
+                if (session.lastTouched.isAfter(cutoff)) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(session.partialFile);
+                } catch (IOException e) {
+                    LOGGER.warn("Could not delete expired upload {}", session.partialFile, e);
+                }
+                return true;
+            } finally {
+                session.lock.unlock();
+            }
+        });
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.WorkReturn;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The original layout: one file per submission, named {@code <uuid>_<original name>} directly in
+ * the upload directory. Identical uploads are stored twice. Enabled with {@code file.storage=uuid}.
+ */
+@Service
+@ConditionalOnProperty(name = "file.storage", havingValue = "uuid")
+public class UuidSubmissionStorage extends LocalSubmissionStorage {
+
+    @Override
+    public String commit(Path stagedFile, String sha256, long size, String originalName) throws IOException {
+        Path target = root().resolve(UUID.randomUUID() + "_" + originalName);
+        Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+        return filePathFor(target);
+    }
+
+    @Override
+    public void release(String filePath) throws IOException {
+        // Each file belongs to exactly one WorkReturn
+        Optional<Path> path = resolve(filePath);
+        if (path.isPresent()) {
+            Files.deleteIfExists(path.get());
+        }
+    }
+}
@@ -7,7 +7,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "work_return")
+// Keyset pages filter on student or assignment and walk id order
+@Table(name = "work_return", indexes = {
+    @Index(name = "idx_work_return_student", columnList = "student_id, id"),
+    @Index(name = "idx_work_return_assignment", columnList = "assignment_id, id"),
+    // SubmissionPipeline's sweep for submissions still waiting to be processed
+    @Index(name = "idx_work_return_processing", columnList = "processing_status, id")
+})
 public class WorkReturn {
 
     @Id
@@ -20,9 +26,32 @@ public class WorkReturn {
     @Column(name = "grade")
     private Integer grade;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "original_file_name")
+    private String originalFileName;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Uploads start PENDING and SubmissionPipeline settles them after the request has returned;
+    // rows created any other way need no processing
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 20)
+    private ProcessingStatus processingStatus = ProcessingStatus.READY;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    // Bumped on every grade change; PUT /{id} can send it back to refuse stale writes
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "student_id")
     private Student student;
@@ -61,6 +90,30 @@ public class WorkReturn {
         this.grade = grade;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -69,6 +122,30 @@ public class WorkReturn {
         this.createdAt = createdAt;
     }
 
+    public ProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public void setProcessingStatus(ProcessingStatus processingStatus) {
+        this.processingStatus = processingStatus;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Student getStudent() {
         return student;
     }
@@ -1,40 +1,51 @@
 package com.example.demo.WorkReturn;
 
+import com.example.demo.Dashboard.GroupDashboardService;
 import com.example.demo.Student.Student;
 import com.example.demo.Student.StudentRepository;
 import com.example.demo.Assignment.Assignment;
 import com.example.demo.Assignment.AssignmentRepository;
-import com.example.demo.Grade.Grade;
-import com.example.demo.Grade.GradeRepository;
+import com.example.demo.WorkReturn.SubmissionDownloadService.FileMetadata;
+import com.example.demo.WorkReturn.SubmissionUploadService.OffsetMismatchException;
+import com.example.demo.WorkReturn.SubmissionUploadService.StoredFile;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadCompletedException;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadSession;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadsBusyException;
+import com.example.demo.WorkReturn.WorkReturnGradingService.GradeConflictException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/workreturns")
 public class WorkReturnController {
 
-    private static final Logger LOGGER = Logger.getLogger(WorkReturnController.class.getName());
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkReturnController.class);
 
-    @Value("${file.upload-dir:D:/AzureDevopsScholarhub/ScholarHub/backend/uploads/}")
-    private String UPLOAD_DIR;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
 
     @Autowired
     private WorkReturnRepository workReturnRepository;
@@ -46,7 +57,22 @@ public class WorkReturnController {
     private AssignmentRepository assignmentRepository;
 
     @Autowired
-    private GradeRepository gradeRepository;
+    private SubmissionUploadService uploadService;
+
+    @Autowired
+    private SubmissionDownloadService downloadService;
+
+    @Autowired
+    private SubmissionRecordService records;
+
+    @Autowired
+    private WorkReturnGradingService gradingService;
+
+    @Autowired
+    private SubmissionPipeline pipeline;
+
+    @Autowired
+    private GroupDashboardService dashboards;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> createWorkReturn(
@@ -55,244 +81,448 @@ public class WorkReturnController {
             @RequestParam("file") MultipartFile file) {
         try {
             if (assignmentId == null || studentId == null) {
-                LOGGER.warning("[DEBUG] POST /api/workreturns - Missing assignmentId or studentId");
+                LOGGER.warn("Missing assignmentId or studentId");
                 return ResponseEntity.badRequest().body(createErrorResponse("Assignment ID and Student ID are required"));
             }
 
             if (file == null || file.isEmpty()) {
-                LOGGER.warning("[DEBUG] POST /api/workreturns - Empty file uploaded");
+                LOGGER.warn("Empty file uploaded");
                 return ResponseEntity.badRequest().body(createErrorResponse("File is empty or missing"));
             }
 
             String fileName = file.getOriginalFilename();
-            if (fileName == null || !(fileName.toLowerCase().endsWith(".pdf") || 
-                                      fileName.toLowerCase().endsWith(".doc") || 
-                                      fileName.toLowerCase().endsWith(".docx"))) {
-                LOGGER.warning("[DEBUG] POST /api/workreturns - Invalid file type: " + fileName);
+            if (!isAllowedFileName(fileName)) {
+                LOGGER.warn("Invalid file type: {}", fileName);
                 return ResponseEntity.badRequest().body(createErrorResponse("Only PDF, DOC, DOCX files are allowed"));
             }
 
             Optional<Student> studentOpt = studentRepository.findById(studentId);
             if (!studentOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] POST /api/workreturns - Student not found: " + studentId);
+                LOGGER.warn("Student not found: {}", studentId);
                 return ResponseEntity.badRequest().body(createErrorResponse("Student not found"));
             }
-            Student student = studentOpt.get();
 
             Optional<Assignment> assignmentOpt = assignmentRepository.findById(assignmentId);
             if (!assignmentOpt.isPresent()) {
-                LOGGER.warning("[DEBUG] POST /api/workreturns - Assignment not found: " + assignmentId);
+                LOGGER.warn("Assignment not found: {}", assignmentId);
                 return ResponseEntity.badRequest().body(createErrorResponse("Assignment not found"));
             }
-            Assignment assignment = assignmentOpt.get();
-
-            String uniqueFileName = UUID.randomUUID() + "_" + fileName;
-            File dest = new File(UPLOAD_DIR, uniqueFileName);
-            try {
-                dest.getParentFile().mkdirs();
-                LOGGER.info("[DEBUG] POST /api/workreturns - Saving file to: " + dest.getAbsolutePath());
-                file.transferTo(dest);
+
+            StoredFile stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = uploadService.store(in, fileName);
+                LOGGER.debug("Received {} bytes for {}", stored.getSize(), fileName);
+            } catch (UploadsBusyException e) {
+                return uploadsBusy(e);
             } catch (IOException e) {
-                LOGGER.severe("[DEBUG] POST /api/workreturns - Failed to save file: " + e.getMessage());
+                LOGGER.error("Failed to save file", e);
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(createErrorResponse("Failed to save file: " + e.getMessage()));
             }
 
-            WorkReturn workReturn = new WorkReturn();
-            workReturn.setFilePath("/uploads/" + uniqueFileName);
-            workReturn.setStudent(student);
-            workReturn.setAssignment(assignment);
-
-            LOGGER.info("[DEBUG] POST /api/workreturns - Saving WorkReturn for assignmentId: " + assignmentId);
-            WorkReturn savedWorkReturn;
-            try {
-                savedWorkReturn = workReturnRepository.save(workReturn);
-                LOGGER.info("[DEBUG] POST /api/workreturns - Saved WorkReturn: " + savedWorkReturn.getId());
-            } catch (Exception e) {
-                LOGGER.severe("[DEBUG] POST /api/workreturns - Database save failed: " + e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse("Failed to save WorkReturn to database: " + e.getMessage()));
-            }
-
-            assignment.setStatus("SUBMITTED");
-            try {
-                assignmentRepository.save(assignment);
-                LOGGER.info("[DEBUG] POST /api/workreturns - Updated assignment status to SUBMITTED: " + assignmentId);
-            } catch (Exception e) {
-                LOGGER.severe("[DEBUG] POST /api/workreturns - Failed to update assignment status: " + e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse("Failed to update assignment status: " + e.getMessage()));
-            }
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", savedWorkReturn.getId());
-            response.put("fileUrl", savedWorkReturn.getFilePath());
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return saveSubmission(studentOpt.get(), assignmentOpt.get(), stored);
         } catch (Exception e) {
-            LOGGER.severe("[DEBUG] POST /api/workreturns - Unexpected error: " + e.getMessage());
+            LOGGER.error("Unexpected error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Unexpected error processing WorkReturn: " + e.getMessage()));
         }
     }
 
+    // Raw-body upload: the request stream goes straight to disk, without multipart spooling
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> streamWorkReturn(
+            @RequestParam("assignmentId") Long assignmentId,
+            @RequestParam("studentId") Long studentId,
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request) {
+        if (!isAllowedFileName(fileName)) {
+            LOGGER.warn("Invalid file type: {}", fileName);
+            return ResponseEntity.badRequest().body(createErrorResponse("Only PDF, DOC, DOCX files are allowed"));
+        }
+
+        // The body is read before any query: with open-in-view, the first query keeps its pooled
+        // connection until the request ends, and a slow client would hold it for the whole upload
+        StoredFile stored;
+        try {
+            stored = uploadService.store(request.getInputStream(), fileName);
+        } catch (UploadsBusyException e) {
+            return uploadsBusy(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(createErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            LOGGER.error("Failed to save file", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to save file: " + e.getMessage()));
+        }
+        if (stored.getSize() == 0) {
+            uploadService.discard(stored);
+            return ResponseEntity.badRequest().body(createErrorResponse("File is empty or missing"));
+        }
+
+        Optional<Student> studentOpt = studentRepository.findById(studentId);
+        if (!studentOpt.isPresent()) {
+            uploadService.discard(stored);
+            return ResponseEntity.badRequest().body(createErrorResponse("Student not found"));
+        }
+        Optional<Assignment> assignmentOpt = assignmentRepository.findById(assignmentId);
+        if (!assignmentOpt.isPresent()) {
+            uploadService.discard(stored);
+            return ResponseEntity.badRequest().body(createErrorResponse("Assignment not found"));
+        }
+        return saveSubmission(studentOpt.get(), assignmentOpt.get(), stored);
+    }
+
+    // Resumable upload, step 1: declare the file and get an upload id
+    @PostMapping(value = "/uploads", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> startUpload(@RequestBody Map<String, Object> request) {
+        Long assignmentId = toLong(request.get("assignmentId"));
+        Long studentId = toLong(request.get("studentId"));
+        Long size = toLong(request.get("size"));
+        String fileName = request.get("fileName") != null ? request.get("fileName").toString() : null;
+        if (assignmentId == null || studentId == null || size == null) {
+            return ResponseEntity.badRequest().body(createErrorResponse("assignmentId, studentId, fileName and size are required"));
+        }
+        if (!isAllowedFileName(fileName)) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Only PDF, DOC, DOCX files are allowed"));
+        }
+        if (!studentRepository.existsById(studentId)) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Student not found"));
+        }
+        if (!assignmentRepository.existsById(assignmentId)) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Assignment not found"));
+        }
+
+        try {
+            UploadSession session = uploadService.startSession(assignmentId, studentId, fileName, size);
+            LOGGER.debug("Started upload {} ({} bytes)", session.getUploadId(), size);
+            return new ResponseEntity<>(uploadStatus(session), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(createErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to start upload: " + e.getMessage()));
+        }
+    }
+
+    // Resumable upload: how many bytes the server already has
+    @GetMapping(value = "/uploads/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getUploadStatus(@PathVariable String uploadId) {
+        UploadSession session = uploadService.getSession(uploadId);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Upload not found"));
+        }
+        return ResponseEntity.ok(uploadStatus(session));
+    }
+
+    // Resumable upload, step 2..n: send the next chunk starting at Upload-Offset
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestHeader(UPLOAD_OFFSET_HEADER) long offset,
+                                         HttpServletRequest request) {
+        UploadSession session = uploadService.getSession(uploadId);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Upload not found"));
+        }
+
+        try {
+            uploadService.appendChunk(session, offset, request.getInputStream());
+        } catch (OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(e.getExpectedOffset()))
+                    .body(uploadStatus(session));
+        } catch (UploadsBusyException e) {
+            return uploadsBusy(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(createErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            // The session rolled back to its last good offset; the client can retry from there
+            LOGGER.warn("Upload {}: chunk failed: {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(createErrorResponse("Chunk upload interrupted: " + e.getMessage()));
+        }
+
+        if (!session.isComplete()) {
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(uploadStatus(session));
+        }
+
+        Optional<Student> studentOpt = studentRepository.findById(session.getStudentId());
+        Optional<Assignment> assignmentOpt = assignmentRepository.findById(session.getAssignmentId());
+        if (!studentOpt.isPresent() || !assignmentOpt.isPresent()) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Student or assignment no longer exists"));
+        }
+        StoredFile stored;
+        try {
+            stored = uploadService.completeSession(session);
+        } catch (UploadCompletedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        }
+        LOGGER.debug("Upload {} complete: {} bytes", uploadId, stored.getSize());
+        return saveSubmission(studentOpt.get(), assignmentOpt.get(), stored);
+    }
+
+    // At most one of studentId, assignmentId and groupId. Always one page (limit, or
+    // DEFAULT_PAGE_SIZE), with X-Next-Cursor when there may be more; clients pass it back as after.
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<WorkReturn>> getAllWorkReturns(
+    public ResponseEntity<?> getAllWorkReturns(
             @RequestParam(value = "groupId", required = false) Long groupId,
-            @RequestParam(value = "studentId", required = false) Long studentId) {
-        LOGGER.info("[DEBUG] GET /api/workreturns - Fetching WorkReturns, groupId: " + groupId + ", studentId: " + studentId);
-        List<WorkReturn> workReturns = workReturnRepository.findAll();
-        LOGGER.info("[DEBUG] GET /api/workreturns - Total WorkReturns before filtering: " + workReturns.size());
+            @RequestParam(value = "studentId", required = false) Long studentId,
+            @RequestParam(value = "assignmentId", required = false) Long assignmentId,
+            @RequestParam(value = "graded", required = false) Boolean graded,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        LOGGER.debug("Fetching WorkReturns, groupId: {}, studentId: {}, assignmentId: {}, graded: {}, after: {}, limit: {}",
+                groupId, studentId, assignmentId, graded, after, limit);
+
+        int filters = (groupId != null ? 1 : 0) + (studentId != null ? 1 : 0) + (assignmentId != null ? 1 : 0);
+        if (filters > 1) {
+            LOGGER.warn("Rejected WorkReturn listing with several filters");
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Filter by only one of studentId, assignmentId and groupId"));
+        }
 
-        // Filter out WorkReturns with null student
-        workReturns = workReturns.stream()
-                .filter(wr -> wr.getStudent() != null)
-                .collect(Collectors.toList());
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = after == null ? 0L : after;
+        Pageable page = PageRequest.of(0, pageSize);
 
+        // Filtering and paging happen in the database; each branch hits a single indexed column.
+        List<WorkReturnListItemDTO> workReturns;
         if (studentId != null) {
-            workReturns = workReturns.stream()
-                    .filter(wr -> wr.getStudent().getId().equals(studentId))
-                    .collect(Collectors.toList());
-            LOGGER.info("[DEBUG] GET /api/workreturns - Filtered by studentId: " + studentId + ", found: " + workReturns.size());
+            workReturns = workReturnRepository.findPageByStudent(studentId, graded, afterId, page);
+        } else if (assignmentId != null) {
+            workReturns = workReturnRepository.findPageByAssignment(assignmentId, graded, afterId, page);
         } else if (groupId != null) {
-            workReturns = workReturns.stream()
-                    .filter(wr -> wr.getAssignment() != null &&
-                            wr.getAssignment().getGroup() != null &&
-                            wr.getAssignment().getGroup().getId().equals(groupId))
-                    .collect(Collectors.toList());
-            LOGGER.info("[DEBUG] GET /api/workreturns - Filtered by groupId: " + groupId + ", found: " + workReturns.size());
+            workReturns = workReturnRepository.findPageByGroup(groupId, graded, afterId, page);
+        } else {
+            workReturns = workReturnRepository.findPage(graded, afterId, page);
         }
 
-        LOGGER.info("[DEBUG] GET /api/workreturns - Found " + workReturns.size() + " WorkReturns after filtering");
-        return new ResponseEntity<>(workReturns, HttpStatus.OK);
+        LOGGER.debug("Found {} WorkReturns", workReturns.size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (workReturns.size() == pageSize) {
+            // A full page means there may be more rows; the client passes this back as ?after=
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(workReturns.get(workReturns.size() - 1).getId()));
+        }
+        return response.body(workReturns);
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> getWorkReturnById(@PathVariable Long id) {
-        LOGGER.info("[DEBUG] GET /api/workreturns/" + id + " - Fetching WorkReturn");
+        LOGGER.debug("Fetching WorkReturn {}", id);
         Optional<WorkReturn> workReturn = workReturnRepository.findById(id);
         if (workReturn.isPresent()) {
-            LOGGER.info("[DEBUG] GET /api/workreturns/" + id + " - Found WorkReturn");
+            LOGGER.debug("Found WorkReturn {}", id);
             return new ResponseEntity<>(workReturn.get(), HttpStatus.OK);
         } else {
-            LOGGER.warning("[DEBUG] GET /api/workreturns/" + id + " - WorkReturn not found");
+            LOGGER.warn("WorkReturn {} not found", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
         }
     }
 
     @GetMapping(value = "/{id}/download")
-    public ResponseEntity<Resource> downloadWorkReturnFile(@PathVariable Long id) {
-        LOGGER.info("[DEBUG] GET /api/workreturns/" + id + "/download - Downloading file");
-        Optional<WorkReturn> workReturnOpt = workReturnRepository.findById(id);
-        if (!workReturnOpt.isPresent()) {
-            LOGGER.warning("[DEBUG] GET /api/workreturns/" + id + "/download - WorkReturn not found");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        }
-
-        WorkReturn workReturn = workReturnOpt.get();
-        String filePath = workReturn.getFilePath();
-        if (filePath == null || !filePath.startsWith("/uploads/")) {
-            LOGGER.warning("[DEBUG] GET /api/workreturns/" + id + "/download - Invalid file path: " + filePath);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    public void downloadWorkReturnFile(@PathVariable Long id, HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        Optional<FileMetadata> file = downloadService.lookup(id);
+        if (!file.isPresent()) {
+            LOGGER.warn("WorkReturn {} or its file not found", id);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        downloadService.send(file.get(), request, response);
+    }
 
-        String fileName = filePath.substring("/uploads/".length());
-        File file = new File(UPLOAD_DIR, fileName);
-        if (!file.exists()) {
-            LOGGER.warning("[DEBUG] GET /api/workreturns/" + id + "/download - File not found: " + file.getAbsolutePath());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+    // Where a new submission is in the post-upload pipeline: PENDING, READY or REJECTED
+    @GetMapping(value = "/{id}/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> getProcessingStatus(@PathVariable Long id) {
+        Optional<WorkReturnProcessingState> state = workReturnRepository.findProcessingState(id);
+        if (!state.isPresent()) {
+            LOGGER.warn("WorkReturn {} not found", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
         }
-
-        Resource resource = new FileSystemResource(file);
-        String contentType = fileName.toLowerCase().endsWith(".pdf") ? "application/pdf" :
-                            fileName.toLowerCase().endsWith(".doc") || fileName.toLowerCase().endsWith(".docx") ?
-                            "application/vnd.openxmlformats-officedocument.wordprocessingml.document" : "application/octet-stream";
-
-        LOGGER.info("[DEBUG] GET /api/workreturns/" + id + "/download - Serving file: " + file.getAbsolutePath());
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .body(resource);
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", id);
+        response.put("status", state.get().getStatus());
+        response.put("pageCount", state.get().getPageCount());
+        response.put("fileUrl", state.get().getFilePath());
+        return ResponseEntity.ok(response);
     }
 
+    // Body: {"grade": 15} or {"grade": null}; add "version" (from the last read) to refuse the
+    // write with 409 if someone else graded the submission in between
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> updateWorkReturn(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
-        LOGGER.info("[DEBUG] PUT /api/workreturns/" + id + " - Updating WorkReturn");
-        Optional<WorkReturn> workReturnOpt = workReturnRepository.findById(id);
-        if (!workReturnOpt.isPresent()) {
-            LOGGER.warning("[DEBUG] PUT /api/workreturns/" + id + " - WorkReturn not found");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
-        }
-
-        WorkReturn workReturn = workReturnOpt.get();
+        LOGGER.debug("Updating WorkReturn {}", id);
         try {
-            if (updates.containsKey("grade")) {
-                Object gradeObj = updates.get("grade");
-                Integer grade = gradeObj instanceof Integer ? (Integer) gradeObj : null;
-                if (gradeObj != null && grade == null) {
-                    try {
-                        grade = Integer.parseInt(gradeObj.toString());
-                    } catch (NumberFormatException e) {
-                        LOGGER.warning("[DEBUG] PUT /api/workreturns/" + id + " - Invalid grade format: " + gradeObj);
-                        return ResponseEntity.badRequest().body(createErrorResponse("Invalid grade format"));
-                    }
-                }
-                if (grade != null && (grade < 0 || grade > 100)) {
-                    LOGGER.warning("[DEBUG] PUT /api/workreturns/" + id + " - Grade out of range: " + grade);
-                    return ResponseEntity.badRequest().body(createErrorResponse("Grade must be between 0 and 100"));
-                }
-                workReturn.setGrade(grade);
-                LOGGER.info("[DEBUG] PUT /api/workreturns/" + id + " - Set grade to: " + grade);
-
-                // Create or update the corresponding Grade entry
-                Student student = workReturn.getStudent();
-                Assignment assignment = workReturn.getAssignment();
-                if (student == null || assignment == null) {
-                    LOGGER.warning("[DEBUG] PUT /api/workreturns/" + id + " - Missing student or assignment");
-                    return ResponseEntity.badRequest().body(createErrorResponse("Student or assignment missing"));
+            if (!updates.containsKey("grade")) {
+                // Nothing else is editable here: report the current state
+                Optional<WorkReturnGradeState> state = workReturnRepository.findGradeState(id);
+                if (!state.isPresent()) {
+                    LOGGER.warn("WorkReturn {} not found", id);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
                 }
+                Map<String, Object> response = new HashMap<>();
+                response.put("id", state.get().getId());
+                response.put("fileUrl", state.get().getFilePath());
+                response.put("grade", state.get().getGrade());
+                response.put("version", state.get().getVersion());
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            }
 
-                // Convert Integer grade to Double
-                Double gradeDouble = grade != null ? grade.doubleValue() : null;
-
-                // Find existing Grade for this student and assignment
-                Optional<Grade> existingGrade = gradeRepository.findByStudentAndAssignment(student, assignment);
-                Grade gradeEntity;
-                if (existingGrade.isPresent()) {
-                    gradeEntity = existingGrade.get();
-                    gradeEntity.setScore(gradeDouble);
-                } else {
-                    gradeEntity = new Grade(gradeDouble, student, assignment); // Use constructor
+            Object gradeObj = updates.get("grade");
+            Integer grade = gradeObj instanceof Integer ? (Integer) gradeObj : null;
+            if (gradeObj != null && grade == null) {
+                try {
+                    grade = Integer.parseInt(gradeObj.toString());
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("WorkReturn {}: invalid grade format: {}", id, gradeObj);
+                    return ResponseEntity.badRequest().body(createErrorResponse("Invalid grade format"));
                 }
-
-                gradeRepository.save(gradeEntity);
-                LOGGER.info("[DEBUG] PUT /api/workreturns/" + id + " - Saved Grade for student: " + student.getId());
+            }
+            Long version = toLong(updates.get("version"));
+            if (updates.get("version") != null && version == null) {
+                LOGGER.warn("WorkReturn {}: invalid version: {}", id, updates.get("version"));
+                return ResponseEntity.badRequest().body(createErrorResponse("Invalid version"));
             }
 
-            WorkReturn updatedWorkReturn = workReturnRepository.save(workReturn);
-            LOGGER.info("[DEBUG] PUT /api/workreturns/" + id + " - Updated WorkReturn");
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", updatedWorkReturn.getId());
-            response.put("fileUrl", updatedWorkReturn.getFilePath());
-            response.put("grade", updatedWorkReturn.getGrade());
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            Optional<Map<String, Object>> result = gradingService.applyGrade(id, grade, version);
+            if (!result.isPresent()) {
+                LOGGER.warn("WorkReturn {} not found", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
+            }
+            LOGGER.debug("WorkReturn {}: set grade to {}", id, grade);
+            return new ResponseEntity<>(result.get(), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("WorkReturn {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (GradeConflictException e) {
+            LOGGER.warn("WorkReturn {}: {}", id, e.getMessage());
+            Map<String, Object> conflict = new HashMap<>(createErrorResponse(e.getMessage()));
+            conflict.put("version", e.getCurrentVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(conflict);
+        } catch (DataIntegrityViolationException e) {
+            // Two first grades for the same student and assignment raced on the unique key
+            LOGGER.warn("WorkReturn {}: concurrent grade insert", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("WorkReturn was graded concurrently, retry"));
         } catch (Exception e) {
-            LOGGER.severe("[DEBUG] PUT /api/workreturns/" + id + " - Failed to update WorkReturn: " + e.getMessage());
+            LOGGER.error("Failed to update WorkReturn {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to update WorkReturn: " + e.getMessage()));
         }
     }
 
+    // Grades many submissions in one transaction: [{"workReturnId": 1, "grade": 15}, ...]
+    @PutMapping(value = "/grades", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> gradeWorkReturns(@RequestBody List<WorkReturnGradeUpdate> updates) {
+        LOGGER.debug("Grading {} WorkReturns", updates == null ? 0 : updates.size());
+        try {
+            List<Map<String, Object>> results = gradingService.applyGrades(updates);
+            LOGGER.debug("Graded {} WorkReturns", results.size());
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            LOGGER.warn("Bulk grading conflicted with a concurrent write: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("WorkReturns were graded concurrently, retry"));
+        } catch (Exception e) {
+            LOGGER.error("Failed to grade WorkReturns", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to grade WorkReturns: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> deleteWorkReturn(@PathVariable Long id) {
-        LOGGER.info("[DEBUG] DELETE /api/workreturns/" + id + " - Deleting WorkReturn");
-        if (workReturnRepository.existsById(id)) {
-            workReturnRepository.deleteById(id);
-            LOGGER.info("[DEBUG] DELETE /api/workreturns/" + id + " - Deleted WorkReturn");
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } else {
-            LOGGER.warning("[DEBUG] DELETE /api/workreturns/" + id + " - WorkReturn not found");
+        LOGGER.debug("Deleting WorkReturn {}", id);
+        Optional<WorkReturn> workReturnOpt = workReturnRepository.findById(id);
+        if (!workReturnOpt.isPresent()) {
+            LOGGER.warn("WorkReturn {} not found", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("WorkReturn not found"));
         }
+
+        // The row and the file's reference count go in one transaction
+        records.delete(workReturnOpt.get());
+        Assignment assignment = workReturnOpt.get().getAssignment();
+        if (assignment != null && assignment.getGroup() != null) {
+            dashboards.groupsChanged(List.of(assignment.getGroup().getId()));
+        }
+        downloadService.evict(id);
+        LOGGER.debug("Deleted WorkReturn {}", id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    private ResponseEntity<?> saveSubmission(Student student, Assignment assignment, StoredFile stored) {
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setStudent(student);
+        workReturn.setAssignment(assignment);
+        workReturn.setProcessingStatus(ProcessingStatus.PENDING);
+
+        LOGGER.debug("Saving WorkReturn for assignmentId: {}", assignment.getId());
+        WorkReturn savedWorkReturn;
+        try {
+            // Storage takes its reference to the file in the same transaction as the row
+            savedWorkReturn = records.record(workReturn, stored);
+            LOGGER.debug("Saved WorkReturn: {}", savedWorkReturn.getId());
+        } catch (Exception e) {
+            LOGGER.error("Database save failed", e);
+            // Left behind only when the commit failed before the staged file was moved
+            uploadService.discard(stored);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to save WorkReturn to database: " + e.getMessage()));
+        }
+
+        // Scan, page count and assignment status happen in the pipeline; a full queue only
+        // delays them until the next sweep
+        pipeline.submit(savedWorkReturn.getId());
+
+        String statusUrl = "/api/workreturns/" + savedWorkReturn.getId() + "/status";
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", savedWorkReturn.getId());
+        response.put("fileUrl", savedWorkReturn.getFilePath());
+        response.put("originalFileName", savedWorkReturn.getOriginalFileName());
+        response.put("sha256", savedWorkReturn.getContentHash());
+        response.put("size", savedWorkReturn.getFileSize());
+        response.put("status", ProcessingStatus.PENDING);
+        response.put("statusUrl", statusUrl);
+        return ResponseEntity.accepted().location(URI.create(statusUrl)).body(response);
+    }
+
+    private ResponseEntity<?> uploadsBusy(UploadsBusyException e) {
+        LOGGER.warn("Upload refused: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(createErrorResponse(e.getMessage()));
+    }
+
+    private Map<String, Object> uploadStatus(UploadSession session) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("uploadId", session.getUploadId());
+        status.put("offset", session.getOffset());
+        status.put("size", session.getTotalSize());
+        return status;
+    }
+
+    private static boolean isAllowedFileName(String fileName) {
+        if (fileName == null || fileName.contains("/") || fileName.contains("\\")) {
+            return false;
+        }
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".pdf") || lower.endsWith(".doc") || lower.endsWith(".docx");
+    }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     private Map<String, String> createErrorResponse(String message) {
@@ -0,0 +1,44 @@
+package com.example.demo.WorkReturn;
+
+// Grading columns of one WorkReturn, read without loading the entity or its relations
+public class WorkReturnGradeState {
+    private final Long id;
+    private final String filePath;
+    private final Integer grade;
+    private final Long version;
+    private final Long studentId;
+    private final Long assignmentId;
+
+    public WorkReturnGradeState(Long id, String filePath, Integer grade, Long version, Long studentId, Long assignmentId) {
+        this.id = id;
+        this.filePath = filePath;
+        this.grade = grade;
+        this.version = version;
+        this.studentId = studentId;
+        this.assignmentId = assignmentId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public Integer getGrade() {
+        return grade;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+}
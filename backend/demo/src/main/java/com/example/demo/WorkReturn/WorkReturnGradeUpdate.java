@@ -0,0 +1,30 @@
+package com.example.demo.WorkReturn;
+
+// One entry of a bulk grading request: PUT /api/workreturns/grades
+public class WorkReturnGradeUpdate {
+    private Long workReturnId;
+    private Integer grade;
+
+    public WorkReturnGradeUpdate() {}
+
+    public WorkReturnGradeUpdate(Long workReturnId, Integer grade) {
+        this.workReturnId = workReturnId;
+        this.grade = grade;
+    }
+
+    public Long getWorkReturnId() {
+        return workReturnId;
+    }
+
+    public void setWorkReturnId(Long workReturnId) {
+        this.workReturnId = workReturnId;
+    }
+
+    public Integer getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Integer grade) {
+        this.grade = grade;
+    }
+}
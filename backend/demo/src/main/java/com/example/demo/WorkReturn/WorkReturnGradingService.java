@@ -0,0 +1,209 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.Group.Group;
+import com.example.demo.Student.Student;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Grades WorkReturns and keeps their Grade rows in step. A single grade is written with two
+ * statements and no entity loads (see applyGrade). In bulk, all WorkReturns are loaded with one
+ * IN query and their existing Grade rows with a second, then the changes are flushed together so
+ * Hibernate can send them as JDBC batches (see hibernate.jdbc.batch_size).
+ */
+@Service
+public class WorkReturnGradingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkReturnGradingService.class);
+
+    static final int MAX_BULK_GRADES = 500;
+
+    @Autowired
+    private WorkReturnRepository workReturnRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private SubmissionStateService submissionStates;
+
+    @Autowired
+    private GradebookService gradebook;
+
+    @Autowired
+    private GroupDashboardService dashboards;
+
+    /**
+     * Thrown when the WorkReturn was graded since the version the client read. Carries the current
+     * version so the client can reload and retry.
+     */
+    public static class GradeConflictException extends IllegalStateException {
+        private final long currentVersion;
+
+        public GradeConflictException(long currentVersion) {
+            super("WorkReturn was modified concurrently (current version " + currentVersion + ")");
+            this.currentVersion = currentVersion;
+        }
+
+        public long getCurrentVersion() {
+            return currentVersion;
+        }
+    }
+
+    /**
+     * Sets the grade of one WorkReturn and creates or updates the matching Grade, in one
+     * transaction: a read of the grading columns, a conditional UPDATE on the version just read
+     * that also bumps it, then a MERGE on (student, assignment), so concurrent graders cannot
+     * create duplicate Grades and the previous grade is known exactly. A null expectedVersion
+     * grades whatever the current version is, reading again if another grader got in between.
+     * Returns empty when the WorkReturn does not exist; throws IllegalArgumentException when the
+     * grade is outside 0..100 or the WorkReturn has no student or assignment, and
+     * GradeConflictException when expectedVersion is stale.
+     */
+    @Transactional
+    public Optional<Map<String, Object>> applyGrade(Long workReturnId, Integer grade, Long expectedVersion) {
+        if (grade != null && (grade < 0 || grade > 100)) {
+            throw new IllegalArgumentException("Grade must be between 0 and 100");
+        }
+
+        WorkReturnGradeState state;
+        do {
+            Optional<WorkReturnGradeState> current = workReturnRepository.findGradeState(workReturnId);
+            if (!current.isPresent()) {
+                return Optional.empty();
+            }
+            state = current.get();
+            if (state.getStudentId() == null || state.getAssignmentId() == null) {
+                throw new IllegalArgumentException("Student or assignment missing");
+            }
+            if (expectedVersion != null && !expectedVersion.equals(state.getVersion())) {
+                throw new GradeConflictException(state.getVersion());
+            }
+        } while (workReturnRepository.updateGrade(workReturnId, grade, state.getVersion()) == 0);
+        gradeRepository.upsertForWorkReturn(workReturnId, grade != null ? grade.doubleValue() : null);
+
+        long version = state.getVersion() + 1;
+        submissionStates.recordGrade(state.getAssignmentId(), state.getStudentId(), grade != null);
+        gradebook.gradesChanged(List.of(state.getStudentId()));
+        dashboards.workReturnGraded(workReturnId, state.getGrade() != null, grade != null);
+        LOGGER.debug("Graded WorkReturn {} with {}, now at version {}", workReturnId, grade, version);
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", state.getId());
+        result.put("fileUrl", state.getFilePath());
+        result.put("grade", grade);
+        result.put("version", version);
+        return Optional.of(result);
+    }
+
+    /**
+     * Applies every update or none. Throws IllegalArgumentException when the request is empty,
+     * too large, has a grade outside 0..100 or names a WorkReturn that does not exist or has no
+     * student or assignment. A later entry for the same WorkReturn overrides an earlier one.
+     */
+    @Transactional
+    public List<Map<String, Object>> applyGrades(List<WorkReturnGradeUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("No grades provided");
+        }
+        if (updates.size() > MAX_BULK_GRADES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_GRADES + " grades per request");
+        }
+
+        Map<Long, Integer> gradesById = new LinkedHashMap<>();
+        for (WorkReturnGradeUpdate update : updates) {
+            if (update == null || update.getWorkReturnId() == null) {
+                throw new IllegalArgumentException("workReturnId is required");
+            }
+            Integer grade = update.getGrade();
+            if (grade != null && (grade < 0 || grade > 100)) {
+                throw new IllegalArgumentException("Grade must be between 0 and 100 (workReturnId " + update.getWorkReturnId() + ")");
+            }
+            gradesById.put(update.getWorkReturnId(), grade);
+        }
+
+        List<WorkReturn> workReturns = workReturnRepository.findAllWithStudentAndAssignmentByIdIn(gradesById.keySet());
+        if (workReturns.size() != gradesById.size()) {
+            Set<Long> missing = new HashSet<>(gradesById.keySet());
+            workReturns.forEach(wr -> missing.remove(wr.getId()));
+            throw new IllegalArgumentException("WorkReturns not found: " + missing);
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> assignmentIds = new HashSet<>();
+        Map<Long, Integer> ungradedByGroupId = new HashMap<>();
+        for (WorkReturn workReturn : workReturns) {
+            if (workReturn.getStudent() == null || workReturn.getAssignment() == null) {
+                throw new IllegalArgumentException("Student or assignment missing (workReturnId " + workReturn.getId() + ")");
+            }
+            studentIds.add(workReturn.getStudent().getId());
+            assignmentIds.add(workReturn.getAssignment().getId());
+        }
+
+        // The IN lists can over-match (student A x assignment B); the key lookup below keeps only exact pairs
+        Map<String, Grade> existingGrades = new HashMap<>();
+        for (Grade grade : gradeRepository.findByStudentIdsAndAssignmentIds(studentIds, assignmentIds)) {
+            existingGrades.putIfAbsent(gradeKey(grade.getStudent(), grade.getAssignment()), grade);
+        }
+
+        List<Grade> newGrades = new ArrayList<>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (WorkReturn workReturn : workReturns) {
+            Integer grade = gradesById.get(workReturn.getId());
+            Double score = grade != null ? grade.doubleValue() : null;
+            // Dashboard: processed submissions count as ungraded while their grade is null
+            Group group = workReturn.getAssignment().getGroup();
+            if (workReturn.getProcessingStatus() == ProcessingStatus.READY && group != null
+                    && (workReturn.getGrade() == null) != (grade == null)) {
+                ungradedByGroupId.merge(group.getId(), grade == null ? 1 : -1, Integer::sum);
+            }
+            workReturn.setGrade(grade);
+
+            String key = gradeKey(workReturn.getStudent(), workReturn.getAssignment());
+            Grade gradeEntity = existingGrades.get(key);
+            if (gradeEntity != null) {
+                gradeEntity.setScore(score);
+            } else {
+                gradeEntity = new Grade(score, workReturn.getStudent(), workReturn.getAssignment());
+                existingGrades.put(key, gradeEntity);
+                newGrades.add(gradeEntity);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("id", workReturn.getId());
+            result.put("grade", grade);
+            results.add(result);
+        }
+
+        // Loaded entities are flushed by dirty checking on commit; only new Grades need persisting
+        gradeRepository.saveAll(newGrades);
+        // The submission states and grade summaries are realigned with SQL over the grades table, so it must see them
+        gradeRepository.flush();
+        submissionStates.refreshGrades(assignmentIds);
+        gradebook.gradesChanged(studentIds);
+        dashboards.ungradedChanged(ungradedByGroupId);
+        LOGGER.debug("Bulk graded {} WorkReturns, {} new Grades", workReturns.size(), newGrades.size());
+        return results;
+    }
+
+    private static String gradeKey(Student student, Assignment assignment) {
+        return student.getId() + ":" + assignment.getId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.WorkReturn;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// One row of GET /api/workreturns: the submission's own columns plus the names clients display,
+// built by a JPQL constructor expression so no entity graph is serialized
+public class WorkReturnListItemDTO {
+    private final Long id;
+    private final String filePath;
+    private final String originalFileName;
+    private final Integer grade;
+    private final Long version;
+    private final ProcessingStatus processingStatus;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime createdAt;
+    private final Long studentId;
+    private final String studentName;
+    private final Long assignmentId;
+    private final String assignmentTitle;
+    private final String assignmentStatus;
+    private final String subjectName;
+
+    public WorkReturnListItemDTO(Long id, String filePath, String originalFileName, Integer grade, Long version,
+                                 ProcessingStatus processingStatus, LocalDateTime createdAt, Long studentId,
+                                 String firstname, String lastname, Long assignmentId, String assignmentTitle,
+                                 String assignmentStatus, String subjectName) {
+        this.id = id;
+        this.filePath = filePath;
+        this.originalFileName = originalFileName;
+        this.grade = grade;
+        this.version = version;
+        this.processingStatus = processingStatus;
+        this.createdAt = createdAt;
+        this.studentId = studentId;
+        this.studentName = studentId == null ? null : firstname + " " + lastname;
+        this.assignmentId = assignmentId;
+        this.assignmentTitle = assignmentTitle;
+        this.assignmentStatus = assignmentStatus;
+        this.subjectName = subjectName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public Integer getGrade() {
+        return grade;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public ProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public String getAssignmentTitle() {
+        return assignmentTitle;
+    }
+
+    public String getAssignmentStatus() {
+        return assignmentStatus;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.WorkReturn;
+
+// Pipeline columns of one WorkReturn, read without loading the entity or its relations
+public class WorkReturnProcessingState {
+    private final Long id;
+    private final String filePath;
+    private final String originalFileName;
+    private final ProcessingStatus status;
+    private final Integer pageCount;
+    private final Long assignmentId;
+    private final Long studentId;
+
+    public WorkReturnProcessingState(Long id, String filePath, String originalFileName, ProcessingStatus status,
+                                     Integer pageCount, Long assignmentId, Long studentId) {
+        this.id = id;
+        this.filePath = filePath;
+        this.originalFileName = originalFileName;
+        this.status = status;
+        this.pageCount = pageCount;
+        this.assignmentId = assignmentId;
+        this.studentId = studentId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    // Rows written before the pipeline existed have no status and count as processed
+    public ProcessingStatus getStatus() {
+        return status != null ? status : ProcessingStatus.READY;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+}
@@ -1,9 +1,96 @@
 package com.example.demo.WorkReturn;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface WorkReturnRepository extends JpaRepository<WorkReturn, Long> {
-    // You can add custom query methods if needed
+
+    // Keyset pages of listing DTOs: every query returns rows with id > afterId in id order, so
+    // the last id of a page is the cursor for the next one.
+    // "graded" is optional (null = any, true = grade set, false = not graded yet). Student and
+    // assignment are joined on their ids so that wr.student.id and wr.assignment.id stay
+    // work_return columns and the filters seek on its indexes.
+
+    String SELECT_LIST_ITEM = "SELECT new com.example.demo.WorkReturn.WorkReturnListItemDTO(wr.id, wr.filePath, " +
+            "wr.originalFileName, wr.grade, wr.version, wr.processingStatus, wr.createdAt, st.id, st.firstname, " +
+            "st.lastname, a.id, a.title, a.status, sub.name) FROM WorkReturn wr " +
+            "JOIN Student st ON st.id = wr.student.id LEFT JOIN Assignment a ON a.id = wr.assignment.id " +
+            "LEFT JOIN a.subject sub ";
+
+    String AFTER_AND_GRADED = "wr.id > :afterId " +
+            "AND (:graded IS NULL OR (:graded = TRUE AND wr.grade IS NOT NULL) OR (:graded = FALSE AND wr.grade IS NULL)) " +
+            "ORDER BY wr.id";
+
+    @Query(SELECT_LIST_ITEM + "WHERE wr.student.id = :studentId AND " + AFTER_AND_GRADED)
+    List<WorkReturnListItemDTO> findPageByStudent(@Param("studentId") Long studentId,
+                                                  @Param("graded") Boolean graded,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    @Query(SELECT_LIST_ITEM + "WHERE wr.assignment.id = :assignmentId AND " + AFTER_AND_GRADED)
+    List<WorkReturnListItemDTO> findPageByAssignment(@Param("assignmentId") Long assignmentId,
+                                                     @Param("graded") Boolean graded,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query(SELECT_LIST_ITEM + "WHERE a.group.id = :groupId AND " + AFTER_AND_GRADED)
+    List<WorkReturnListItemDTO> findPageByGroup(@Param("groupId") Long groupId,
+                                                @Param("graded") Boolean graded,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    @Query(SELECT_LIST_ITEM + "WHERE " + AFTER_AND_GRADED)
+    List<WorkReturnListItemDTO> findPage(@Param("graded") Boolean graded,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Query("SELECT wr FROM WorkReturn wr " +
+           "LEFT JOIN FETCH wr.student LEFT JOIN FETCH wr.assignment " +
+           "WHERE wr.id IN :ids")
+    List<WorkReturn> findAllWithStudentAndAssignmentByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Grading (WorkReturnGradingService.applyGrade): a conditional update instead of load + save.
+    // Only submissions with a student and an assignment can be graded; a non-null version must
+    // still match, so 0 rows updated means missing, ungradable or stale.
+
+    @Modifying
+    @Query("UPDATE WorkReturn wr SET wr.grade = :grade, wr.version = wr.version + 1 " +
+           "WHERE wr.id = :id AND wr.student IS NOT NULL AND wr.assignment IS NOT NULL " +
+           "AND (:version IS NULL OR wr.version = :version)")
+    int updateGrade(@Param("id") Long id, @Param("grade") Integer grade, @Param("version") Long version);
+
+    @Query("SELECT new com.example.demo.WorkReturn.WorkReturnGradeState(" +
+           "wr.id, wr.filePath, wr.grade, wr.version, s.id, a.id) " +
+           "FROM WorkReturn wr LEFT JOIN wr.student s LEFT JOIN wr.assignment a WHERE wr.id = :id")
+    Optional<WorkReturnGradeState> findGradeState(@Param("id") Long id);
+
+    // Post-upload pipeline (SubmissionPipeline). The PENDING guard makes completion happen once,
+    // even if a sweep queued the same submission twice.
+
+    @Query("SELECT new com.example.demo.WorkReturn.WorkReturnProcessingState(" +
+           "wr.id, wr.filePath, wr.originalFileName, wr.processingStatus, wr.pageCount, a.id, s.id) " +
+           "FROM WorkReturn wr LEFT JOIN wr.assignment a LEFT JOIN wr.student s WHERE wr.id = :id")
+    Optional<WorkReturnProcessingState> findProcessingState(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE WorkReturn wr SET wr.processingStatus = :status, wr.pageCount = :pageCount " +
+           "WHERE wr.id = :id AND wr.processingStatus = com.example.demo.WorkReturn.ProcessingStatus.PENDING")
+    int completeProcessing(@Param("id") Long id,
+                           @Param("status") ProcessingStatus status,
+                           @Param("pageCount") Integer pageCount);
+
+    @Query("SELECT wr.id FROM WorkReturn wr " +
+           "WHERE wr.processingStatus = com.example.demo.WorkReturn.ProcessingStatus.PENDING " +
+           "AND wr.createdAt < :createdBefore ORDER BY wr.id")
+    List<Long> findPendingIds(@Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
 }
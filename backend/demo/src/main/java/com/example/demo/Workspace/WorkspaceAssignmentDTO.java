@@ -0,0 +1,56 @@
+package com.example.demo.Workspace;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// An assignment of one of the teacher's groups, with its subject's name
+public class WorkspaceAssignmentDTO {
+    private final Long id;
+    private final String title;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime delay;
+    private final String status;
+    private final Long groupId;
+    private final Long subjectId;
+    private final String subjectName;
+
+    public WorkspaceAssignmentDTO(Long id, String title, LocalDateTime delay, String status, Long groupId,
+                                  Long subjectId, String subjectName) {
+        this.id = id;
+        this.title = title;
+        this.delay = delay;
+        this.status = status;
+        this.groupId = groupId;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getDelay() {
+        return delay;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.Workspace;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Composite reads for client start-up screens, replacing a request per list and per group
+@RestController
+@RequestMapping("/api/workspace")
+public class WorkspaceController {
+
+    @Autowired
+    private WorkspaceService workspaceService;
+
+    // Programs, groups, assignments and submissions of one teacher, in one response
+    @GetMapping(value = "/teachers/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getTeacherWorkspace(@PathVariable Long id) {
+        return workspaceService.getTeacherWorkspace(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound("Teacher not found"));
+    }
+
+    private static ResponseEntity<?> notFound(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.Workspace;
+
+// A group the teacher has a program in, with its level's name
+public class WorkspaceGroupDTO {
+    private final Long id;
+    private final String name;
+    private final String levelName;
+
+    public WorkspaceGroupDTO(Long id, String name, String levelName) {
+        this.id = id;
+        this.name = name;
+        this.levelName = levelName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+}
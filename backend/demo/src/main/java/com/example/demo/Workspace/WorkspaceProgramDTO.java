@@ -0,0 +1,38 @@
+package com.example.demo.Workspace;
+
+// One of the teacher's programs: the subject they teach to a group
+public class WorkspaceProgramDTO {
+    private final Long id;
+    private final Long groupId;
+    private final String groupName;
+    private final Long subjectId;
+    private final String subjectName;
+
+    public WorkspaceProgramDTO(Long id, Long groupId, String groupName, Long subjectId, String subjectName) {
+        this.id = id;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+}
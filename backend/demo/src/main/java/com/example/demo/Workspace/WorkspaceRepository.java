@@ -0,0 +1,37 @@
+package com.example.demo.Workspace;
+
+import com.example.demo.Program.Program;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// A teacher's workspace, one joined query per section; names come with the rows, nothing is loaded as entities
+public interface WorkspaceRepository extends Repository<Program, Long> {
+
+    // Groups the teacher has a program in
+    String TEACHER_GROUPS = "(SELECT p.group.id FROM Program p WHERE p.teacher.id = :teacherId)";
+
+    @Query("SELECT new com.example.demo.Workspace.WorkspaceProgramDTO(p.id, g.id, g.name, s.id, s.name) " +
+           "FROM Program p JOIN p.group g JOIN p.subject s WHERE p.teacher.id = :teacherId " +
+           "ORDER BY g.name, s.name, p.id")
+    List<WorkspaceProgramDTO> findPrograms(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT new com.example.demo.Workspace.WorkspaceGroupDTO(g.id, g.name, l.name) " +
+           "FROM Group g LEFT JOIN g.level l WHERE g.id IN " + TEACHER_GROUPS + " ORDER BY g.name, g.id")
+    List<WorkspaceGroupDTO> findGroups(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT new com.example.demo.Workspace.WorkspaceAssignmentDTO(a.id, a.title, a.delay, a.status, g.id, " +
+           "s.id, s.name) FROM Assignment a JOIN a.group g LEFT JOIN a.subject s " +
+           "WHERE g.id IN " + TEACHER_GROUPS + " ORDER BY a.id")
+    List<WorkspaceAssignmentDTO> findAssignments(@Param("teacherId") Long teacherId);
+
+    // Same rows as the per-group listing (submissions with a student), for all the groups at once
+    @Query("SELECT new com.example.demo.Workspace.WorkspaceWorkReturnDTO(wr.id, wr.filePath, " +
+           "wr.originalFileName, wr.grade, wr.processingStatus, wr.createdAt, st.id, st.firstname, st.lastname, " +
+           "a.id, a.title, g.id, s.name) " +
+           "FROM WorkReturn wr JOIN wr.student st JOIN wr.assignment a JOIN a.group g LEFT JOIN a.subject s " +
+           "WHERE g.id IN " + TEACHER_GROUPS + " ORDER BY wr.id")
+    List<WorkspaceWorkReturnDTO> findWorkReturns(@Param("teacherId") Long teacherId);
+}
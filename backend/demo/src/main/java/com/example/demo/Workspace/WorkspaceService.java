@@ -0,0 +1,52 @@
+package com.example.demo.Workspace;
+
+import com.example.demo.Teacher.TeacherRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Everything a teacher's start-up screen needs in one response: their programs, the groups those
+ * programs cover, the groups' assignments and the submissions to them, with the student,
+ * assignment and subject names already joined.
+ *
+ * At most five statements whatever the number of groups: the teacher check and one query per
+ * section.
+ */
+@Service
+public class WorkspaceService {
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    /** The teacher's workspace; empty if the teacher does not exist. */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getTeacherWorkspace(Long teacherId) {
+        if (!teacherRepository.existsById(teacherId)) {
+            return Optional.empty();
+        }
+        List<WorkspaceProgramDTO> programs = workspaceRepository.findPrograms(teacherId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("teacherId", teacherId);
+        result.put("programs", programs);
+        if (programs.isEmpty()) {
+            // No groups, so nothing else to look up
+            result.put("groups", List.of());
+            result.put("assignments", List.of());
+            result.put("workReturns", List.of());
+            return Optional.of(result);
+        }
+        result.put("groups", workspaceRepository.findGroups(teacherId));
+        result.put("assignments", workspaceRepository.findAssignments(teacherId));
+        result.put("workReturns", workspaceRepository.findWorkReturns(teacherId));
+        return Optional.of(result);
+    }
+}
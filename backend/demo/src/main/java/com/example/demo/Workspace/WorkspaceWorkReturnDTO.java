@@ -0,0 +1,88 @@
+package com.example.demo.Workspace;
+
+import com.example.demo.WorkReturn.ProcessingStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// A submission to one of the teacher's groups, with the student, assignment and subject names joined in
+public class WorkspaceWorkReturnDTO {
+    private final Long id;
+    private final String filePath;
+    private final String originalFileName;
+    private final Integer grade;
+    private final ProcessingStatus processingStatus;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime createdAt;
+    private final Long studentId;
+    private final String studentName;
+    private final Long assignmentId;
+    private final String assignmentTitle;
+    private final Long groupId;
+    private final String subjectName;
+
+    public WorkspaceWorkReturnDTO(Long id, String filePath, String originalFileName, Integer grade,
+                                  ProcessingStatus processingStatus, LocalDateTime createdAt, Long studentId, String firstname, String lastname,
+                                  Long assignmentId, String assignmentTitle, Long groupId, String subjectName) {
+        this.id = id;
+        this.filePath = filePath;
+        this.originalFileName = originalFileName;
+        this.grade = grade;
+        this.processingStatus = processingStatus;
+        this.createdAt = createdAt;
+        this.studentId = studentId;
+        this.studentName = firstname + " " + lastname;
+        this.assignmentId = assignmentId;
+        this.assignmentTitle = assignmentTitle;
+        this.groupId = groupId;
+        this.subjectName = subjectName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public Integer getGrade() {
+        return grade;
+    }
+
+    public ProcessingStatus getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+
+    public String getAssignmentTitle() {
+        return assignmentTitle;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public String getSubjectName() {
+        return subjectName;
+    }
+}
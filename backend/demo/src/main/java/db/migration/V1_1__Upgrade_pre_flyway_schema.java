@@ -0,0 +1,154 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings a database created by the old ddl-auto=create setup up to the V1 schema. Such a database
+ * is baselined at version 1 (spring.flyway.baseline-on-migrate), so V1 itself never runs on it.
+ *
+ * Every step checks the current schema first, so on a database built by V1 this does nothing.
+ * The old schema lacks the upload columns of work_return and the submission_blobs table, and gave
+ * students and grades identity ids where the entities now draw them from sequences. An identity
+ * can't be dropped in place on SQL Server, so those two tables are copied out, recreated as in V1
+ * and copied back, with their sequences starting above the ids already in use.
+ *
+ * A Java migration rather than SQL because the checks need the JDBC metadata: SQL Server's IF
+ * OBJECT_ID(...) guards don't run on the H2 database the tests use.
+ */
+public class V1_1__Upgrade_pre_flyway_schema extends BaseJavaMigration {
+
+    private static final String STUDENTS_COLUMNS = "id, email, password, firstname, lastname, level_id, group_id";
+    private static final String STUDENTS_DEFINITION = "id bigint not null, email varchar(255) not null, "
+            + "password varchar(255) not null, firstname varchar(255), lastname varchar(255), "
+            + "level_id bigint, group_id bigint, primary key (id)";
+    private static final String GRADES_COLUMNS = "id, score, student_id, assignment_id, subject_id";
+    private static final String GRADES_DEFINITION = "id bigint not null, score float(53), student_id bigint, "
+            + "assignment_id bigint, subject_id bigint, primary key (id)";
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            addColumnIfMissing(connection, statement, "work_return", "original_file_name", "varchar(255)");
+            addColumnIfMissing(connection, statement, "work_return", "content_hash", "varchar(64)");
+            addColumnIfMissing(connection, statement, "work_return", "file_size", "bigint");
+
+            if (!hasTable(connection, "submission_blobs")) {
+                statement.execute("create table submission_blobs (content_hash varchar(64) not null, size bigint, "
+                        + "ref_count int not null, created_at datetime2(6), primary key (content_hash))");
+            }
+
+            // Grades first: rebuilding students re-points the grades foreign key at the new table
+            if (hasIdentityId(connection, "grades")) {
+                rebuild(connection, statement, "grades", GRADES_DEFINITION, GRADES_COLUMNS, List.of(
+                        "alter table grades add constraint fk_grades_student foreign key (student_id) references students",
+                        "alter table grades add constraint fk_grades_assignment foreign key (assignment_id) references assignments",
+                        "alter table grades add constraint fk_grades_subject foreign key (subject_id) references subjects",
+                        "create index idx_grades_student on grades (student_id)",
+                        "create index idx_grades_assignment on grades (assignment_id)",
+                        "create index idx_grades_subject on grades (subject_id)"));
+            }
+            if (hasIdentityId(connection, "students")) {
+                rebuild(connection, statement, "students", STUDENTS_DEFINITION, STUDENTS_COLUMNS, List.of(
+                        "alter table students add constraint uk_students_email unique (email)",
+                        "alter table students add constraint fk_students_level foreign key (level_id) references levels",
+                        "alter table students add constraint fk_students_group foreign key (group_id) references groups"));
+            }
+
+            createSequenceIfMissing(connection, statement, "grades_seq", "grades");
+            createSequenceIfMissing(connection, statement, "students_seq", "students");
+        }
+    }
+
+    // Copies the rows out, recreates the table without the identity and copies them back. Foreign
+    // keys from other tables are dropped for the swap and added again under V1's naming scheme.
+    private static void rebuild(Connection connection, Statement statement, String table, String definition,
+                                String columns, List<String> constraints) throws SQLException {
+        List<String[]> references = new ArrayList<>();
+        try (ResultSet keys = connection.getMetaData().getExportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            while (keys.next()) {
+                references.add(new String[] {keys.getString("FKTABLE_NAME"), keys.getString("FK_NAME"),
+                        keys.getString("FKCOLUMN_NAME")});
+            }
+        }
+        for (String[] reference : references) {
+            statement.execute("alter table " + reference[0] + " drop constraint " + reference[1]);
+        }
+
+        String copy = table + "_upgrade";
+        statement.execute("create table " + copy + " (" + definition + ")");
+        statement.execute("insert into " + copy + " (" + columns + ") select " + columns + " from " + table);
+        statement.execute("drop table " + table);
+        statement.execute("create table " + table + " (" + definition + ")");
+        statement.execute("insert into " + table + " (" + columns + ") select " + columns + " from " + copy);
+        statement.execute("drop table " + copy);
+
+        for (String constraint : constraints) {
+            statement.execute(constraint);
+        }
+        for (String[] reference : references) {
+            String column = reference[2];
+            String name = "fk_" + reference[0] + "_" + (column.endsWith("_id") ? column.substring(0, column.length() - 3) : column);
+            statement.execute("alter table " + reference[0] + " add constraint " + name
+                    + " foreign key (" + column + ") references " + table);
+        }
+    }
+
+    // Hibernate's pooled optimizer hands out the block of ids just below each value it reads, so
+    // the first value leaves a whole block above the highest existing id
+    private static void createSequenceIfMissing(Connection connection, Statement statement, String sequence,
+                                                String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "select count(*) from information_schema.sequences where lower(sequence_name) = ?")) {
+            query.setString(1, sequence);
+            try (ResultSet rs = query.executeQuery()) {
+                rs.next();
+                if (rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+        }
+        long maxId;
+        try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        statement.execute("create sequence " + sequence + " start with " + (maxId + ID_ALLOCATION_SIZE + 1)
+                + " increment by " + ID_ALLOCATION_SIZE);
+    }
+
+    private static void addColumnIfMissing(Connection connection, Statement statement, String table, String column,
+                                           String type) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        statement.execute("alter table " + table + " add " + column + " " + type);
+    }
+
+    private static boolean hasTable(Connection connection, String table) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(), table,
+                new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private static boolean hasIdentityId(Connection connection, String table) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), table, "id")) {
+            return rs.next() && "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+}
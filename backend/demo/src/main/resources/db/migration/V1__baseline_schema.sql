@@ -0,0 +1,129 @@
+-- Schema as Hibernate created it with ddl-auto=create (SQL Server). Databases that already have
+-- these tables are baselined at this version instead (spring.flyway.baseline-on-migrate).
+
+create sequence grades_seq start with 1 increment by 50;
+create sequence students_seq start with 1 increment by 50;
+
+create table levels (
+    id bigint identity not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table subjects (
+    id bigint identity not null,
+    name varchar(255),
+    level_id bigint,
+    primary key (id)
+);
+
+create table groups (
+    id bigint identity not null,
+    name varchar(255),
+    level_id bigint,
+    primary key (id)
+);
+
+create table teachers (
+    id bigint identity not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    primary key (id)
+);
+
+create table admins (
+    id bigint identity not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    institution_name varchar(255),
+    primary key (id)
+);
+
+create table students (
+    id bigint not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    level_id bigint,
+    group_id bigint,
+    primary key (id)
+);
+
+create table programs (
+    id bigint identity not null,
+    teacher_id bigint not null,
+    group_id bigint not null,
+    subject_id bigint not null,
+    primary key (id)
+);
+
+create table assignments (
+    id bigint identity not null,
+    title varchar(255),
+    description varchar(5000),
+    delay datetime2(6),
+    status varchar(50) default 'Not Started' not null,
+    subject_id bigint,
+    group_id bigint,
+    program_id bigint,
+    primary key (id)
+);
+
+create table grades (
+    id bigint not null,
+    score float(53),
+    student_id bigint,
+    assignment_id bigint,
+    subject_id bigint,
+    primary key (id)
+);
+
+create table work_return (
+    id bigint identity not null,
+    file_path varchar(255),
+    original_file_name varchar(255),
+    content_hash varchar(64),
+    file_size bigint,
+    created_at datetime2(6),
+    grade int,
+    student_id bigint,
+    assignment_id bigint,
+    primary key (id)
+);
+
+create table submission_blobs (
+    content_hash varchar(64) not null,
+    size bigint,
+    ref_count int not null,
+    created_at datetime2(6),
+    primary key (content_hash)
+);
+
+alter table admins add constraint uk_admins_email unique (email);
+alter table teachers add constraint uk_teachers_email unique (email);
+alter table students add constraint uk_students_email unique (email);
+
+create index idx_grades_student on grades (student_id);
+create index idx_grades_assignment on grades (assignment_id);
+create index idx_grades_subject on grades (subject_id);
+
+alter table subjects add constraint fk_subjects_level foreign key (level_id) references levels;
+alter table groups add constraint fk_groups_level foreign key (level_id) references levels;
+alter table students add constraint fk_students_level foreign key (level_id) references levels;
+alter table students add constraint fk_students_group foreign key (group_id) references groups;
+alter table programs add constraint fk_programs_teacher foreign key (teacher_id) references teachers;
+alter table programs add constraint fk_programs_group foreign key (group_id) references groups;
+alter table programs add constraint fk_programs_subject foreign key (subject_id) references subjects;
+alter table assignments add constraint fk_assignments_subject foreign key (subject_id) references subjects;
+alter table assignments add constraint fk_assignments_group foreign key (group_id) references groups;
+alter table assignments add constraint fk_assignments_program foreign key (program_id) references programs;
+alter table grades add constraint fk_grades_student foreign key (student_id) references students;
+alter table grades add constraint fk_grades_assignment foreign key (assignment_id) references assignments;
+alter table grades add constraint fk_grades_subject foreign key (subject_id) references subjects;
+alter table work_return add constraint fk_work_return_student foreign key (student_id) references students;
+alter table work_return add constraint fk_work_return_assignment foreign key (assignment_id) references assignments;
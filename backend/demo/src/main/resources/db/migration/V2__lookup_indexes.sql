@@ -0,0 +1,18 @@
+-- Indexes for the hot lookups: grades by student and assignment, assignments and students by
+-- group, work returns by student or assignment in keyset (id) order. Emails are already covered
+-- by their unique constraints.
+
+-- Keep only the latest grade of each (student, assignment) pair so the pair can be unique
+delete from grades
+where student_id is not null and assignment_id is not null
+  and exists (select 1 from grades newer
+              where newer.student_id = grades.student_id
+                and newer.assignment_id = grades.assignment_id
+                and newer.id > grades.id);
+
+alter table grades add constraint uk_grades_student_assignment unique (student_id, assignment_id);
+
+create index idx_assignments_group on assignments (group_id, id);
+create index idx_students_group on students (group_id);
+create index idx_work_return_student on work_return (student_id, id);
+create index idx_work_return_assignment on work_return (assignment_id, id);
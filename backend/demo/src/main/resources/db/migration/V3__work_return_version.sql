@@ -0,0 +1,2 @@
+-- Optimistic lock for grading (WorkReturn.version); existing submissions start at 0
+alter table work_return add version bigint default 0 not null;
@@ -0,0 +1,6 @@
+-- Post-upload pipeline state (WorkReturn.processingStatus, pageCount). Submissions that predate
+-- the pipeline count as processed.
+alter table work_return add processing_status varchar(20) default 'READY' not null;
+alter table work_return add page_count int;
+
+create index idx_work_return_processing on work_return (processing_status, id);
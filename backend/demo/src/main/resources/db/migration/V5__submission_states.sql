@@ -0,0 +1,52 @@
+-- Per-student submission status (SubmissionState) and per-assignment counters
+-- (AssignmentSubmissionStats), replacing the assignment-wide status that every upload rewrote.
+-- Both are derived data and go away with their assignment or student.
+create table submission_states (
+    id bigint identity not null,
+    assignment_id bigint not null,
+    student_id bigint not null,
+    status varchar(20) not null,
+    submissions int not null,
+    last_work_return_id bigint,
+    updated_at datetime2(6),
+    primary key (id)
+);
+
+create table assignment_submission_stats (
+    assignment_id bigint not null,
+    submitted int not null,
+    graded int not null,
+    missing int not null,
+    primary key (assignment_id)
+);
+
+alter table submission_states add constraint uk_submission_states_assignment_student unique (assignment_id, student_id);
+create index idx_submission_states_student on submission_states (student_id);
+
+alter table submission_states add constraint fk_submission_states_assignment foreign key (assignment_id) references assignments on delete cascade;
+alter table submission_states add constraint fk_submission_states_student foreign key (student_id) references students on delete cascade;
+alter table assignment_submission_stats add constraint fk_assignment_submission_stats_assignment foreign key (assignment_id) references assignments on delete cascade;
+
+-- Backfill: students who handed something in, then MISSING for the rest of each group
+insert into submission_states (assignment_id, student_id, status, submissions, last_work_return_id, updated_at)
+select wr.assignment_id, wr.student_id,
+       case when exists (select 1 from grades g
+                         where g.assignment_id = wr.assignment_id and g.student_id = wr.student_id
+                           and g.score is not null)
+            then 'GRADED' else 'SUBMITTED' end,
+       count(*), max(wr.id), max(wr.created_at)
+from work_return wr
+where wr.assignment_id is not null and wr.student_id is not null and wr.processing_status = 'READY'
+group by wr.assignment_id, wr.student_id;
+
+insert into submission_states (assignment_id, student_id, status, submissions, updated_at)
+select a.id, s.id, 'MISSING', 0, current_timestamp
+from assignments a join students s on s.group_id = a.group_id
+where not exists (select 1 from submission_states st where st.assignment_id = a.id and st.student_id = s.id);
+
+insert into assignment_submission_stats (assignment_id, submitted, graded, missing)
+select a.id,
+       (select count(*) from submission_states st where st.assignment_id = a.id and st.status <> 'MISSING'),
+       (select count(*) from submission_states st where st.assignment_id = a.id and st.status = 'GRADED'),
+       (select count(*) from submission_states st where st.assignment_id = a.id and st.status = 'MISSING')
+from assignments a;
@@ -0,0 +1,25 @@
+-- Per-student, per-subject grade totals (GradeSummary) behind /api/gradebook: count, sum, min
+-- and max of the scored grades, so averages over a group or a level add up a few rows per
+-- student instead of every grade. Derived data, removed with its student or subject.
+create table grade_summaries (
+    id bigint identity not null,
+    student_id bigint not null,
+    subject_id bigint not null,
+    grade_count int not null,
+    score_total float(53) not null,
+    min_score float(53) not null,
+    max_score float(53) not null,
+    primary key (id)
+);
+
+alter table grade_summaries add constraint uk_grade_summaries_student_subject unique (student_id, subject_id);
+create index idx_grade_summaries_subject on grade_summaries (subject_id);
+
+alter table grade_summaries add constraint fk_grade_summaries_student foreign key (student_id) references students on delete cascade;
+alter table grade_summaries add constraint fk_grade_summaries_subject foreign key (subject_id) references subjects on delete cascade;
+
+insert into grade_summaries (student_id, subject_id, grade_count, score_total, min_score, max_score)
+select g.student_id, g.subject_id, count(*), sum(g.score), min(g.score), max(g.score)
+from grades g
+where g.student_id is not null and g.subject_id is not null and g.score is not null
+group by g.student_id, g.subject_id;
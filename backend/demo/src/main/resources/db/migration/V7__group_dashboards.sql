@@ -0,0 +1,24 @@
+-- Per-group dashboard counters (GroupDashboard): assignments, processed submissions, submissions
+-- without a grade and submissions received after the due date. Derived data, removed with the
+-- group; rows are created with their group, and counted here for the groups that exist.
+create table group_dashboards (
+    group_id bigint not null,
+    assignments int not null,
+    submissions int not null,
+    ungraded int not null,
+    late int not null,
+    primary key (group_id)
+);
+
+alter table group_dashboards add constraint fk_group_dashboards_group foreign key (group_id) references groups on delete cascade;
+
+insert into group_dashboards (group_id, assignments, submissions, ungraded, late)
+select g.id,
+    (select count(*) from assignments a where a.group_id = g.id),
+    (select count(*) from work_return wr join assignments a on a.id = wr.assignment_id
+        where a.group_id = g.id and wr.processing_status = 'READY'),
+    (select count(*) from work_return wr join assignments a on a.id = wr.assignment_id
+        where a.group_id = g.id and wr.processing_status = 'READY' and wr.grade is null),
+    (select count(*) from work_return wr join assignments a on a.id = wr.assignment_id
+        where a.group_id = g.id and wr.processing_status = 'READY' and a.delay is not null and wr.created_at > a.delay)
+from groups g;
@@ -1,6 +1,8 @@
 package com.example.demo.Admin;
 
 import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Authentication.LoginService;
+import com.example.demo.Authentication.PasswordHasher;
 import com.example.demo.Grade.GradeRepository;
 import com.example.demo.Group.GroupRepository;
 import com.example.demo.Level.LevelRepository;
@@ -40,6 +42,12 @@ public class AdminControllerTest {
     @MockBean
     private AdminRepository adminRepository;
 
+    @MockBean
+    private PasswordHasher passwordHasher;
+
+    @MockBean
+    private LoginService loginService;
+
     // Mock all repositories required by Application.testEverything
     @MockBean
     private LevelRepository levelRepository;
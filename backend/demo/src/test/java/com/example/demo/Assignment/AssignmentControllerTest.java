@@ -1,6 +1,8 @@
 package com.example.demo.Assignment;
 
 import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Authentication.AuthenticatedUser;
+import com.example.demo.Dashboard.GroupDashboardService;
 import com.example.demo.Group.Group;
 import com.example.demo.Group.GroupRepository;
 import com.example.demo.Level.LevelRepository;
@@ -10,6 +12,9 @@ import com.example.demo.Program.ProgramRepository;
 import com.example.demo.Student.StudentRepository;
 import com.example.demo.Subject.Subject;
 import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.SubmissionState.AssignmentSubmissionStats;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import com.example.demo.SubmissionState.SubmissionStatus;
 import com.example.demo.Teacher.TeacherRepository;
 import com.example.demo.WorkReturn.WorkReturnRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,15 +23,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -52,6 +66,12 @@ public class AssignmentControllerTest {
     @MockBean
     private ProgramRepository programRepository;
 
+    @MockBean
+    private SubmissionStateService submissionStates;
+
+    @MockBean
+    private GroupDashboardService dashboards;
+
     // Mock all repositories required by Application.testEverything
     @MockBean
     private LevelRepository levelRepository;
@@ -92,6 +112,8 @@ public class AssignmentControllerTest {
         assignment.setTitle("Math Assignment");
         assignment.setDescription("Solve problems");
         assignment.setProgram(program); // Matches Application.java constructor
+        assignment.setSubject(subject);
+        assignment.setGroup(group);
         // No delay field in Application.java; assuming LocalDateTime if present
         // Comment out or adjust based on Assignment.java
         // assignment.setDelay(LocalDateTime.now().plusDays(7));
@@ -176,15 +198,69 @@ public class AssignmentControllerTest {
 
     @Test
     void testGetAllAssignments() throws Exception {
-        when(assignmentRepository.findAll()).thenReturn(Arrays.asList(assignment));
+        // No limit and no cursor: the whole list, unpaged, as the web pages expect
+        when(assignmentRepository.findListingPage(isNull(), eq(0L), eq(Pageable.unpaged())))
+                .thenReturn(Arrays.asList(listing()));
 
         mockMvc.perform(get("/api/assignments")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Math Assignment"));
+                .andExpect(jsonPath("$[0].title").value("Math Assignment"))
+                .andExpect(jsonPath("$[0].subjectName").value("Math"))
+                .andExpect(jsonPath("$[0].groupName").value("Group A"))
+                .andExpect(jsonPath("$[0].subject").doesNotExist())
+                .andExpect(jsonPath("$[0].submissionStatus").doesNotExist())
+                .andExpect(header().doesNotExist(AssignmentController.NEXT_CURSOR_HEADER));
+
+        verify(submissionStates, never()).getStudentStatuses(any(), any());
+    }
 
-        assertFalse(assignmentRepository.findAll().isEmpty());
+    @Test
+    void testGetAllAssignments_StudentSeesOwnSubmissionStatus() throws Exception {
+        when(assignmentRepository.findListingPage(eq(1L), eq(0L), eq(Pageable.unpaged())))
+                .thenReturn(Arrays.asList(listing()));
+        when(submissionStates.getStudentStatuses(9L, List.of(1L)))
+                .thenReturn(Map.of(1L, SubmissionStatus.GRADED));
+
+        // A signed-in student gets their own statuses, whatever ?studentId= says
+        mockMvc.perform(get("/api/assignments")
+                        .param("groupId", "1")
+                        .param("studentId", "4")
+                        .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, new AuthenticatedUser(
+                                AuthenticatedUser.STUDENT_ROLE, 9L, "ada@school.com", 1L, Instant.now().plusSeconds(60)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].submissionStatus").value("GRADED"));
+    }
+
+    @Test
+    void testGetAllAssignments_IncludeExpandsNestedObjects() throws Exception {
+        when(assignmentRepository.findListingPage(eq(1L), eq(5L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(listing()));
+
+        mockMvc.perform(get("/api/assignments")
+                        .param("groupId", "1")
+                        .param("after", "5")
+                        .param("limit", "1")
+                        .param("include", "subject,program")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].subject.name").value("Math"))
+                .andExpect(jsonPath("$[0].subject.levelName").value("Level 1"))
+                .andExpect(jsonPath("$[0].program.name").value("Ada Lovelace"))
+                .andExpect(jsonPath("$[0].group").doesNotExist())
+                .andExpect(header().string(AssignmentController.NEXT_CURSOR_HEADER, "1"));
+    }
+
+    @Test
+    void testGetAllAssignments_UnknownInclude() throws Exception {
+        mockMvc.perform(get("/api/assignments")
+                        .param("include", "workReturns")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(assignmentRepository, never()).findListingPage(any(), any(), any());
     }
 
     @Test
@@ -212,35 +288,75 @@ public class AssignmentControllerTest {
 
     @Test
     void testGetAssignmentsByGroup() throws Exception {
-        when(assignmentRepository.findByGroupId(1L)).thenReturn(Arrays.asList(assignment));
+        when(assignmentRepository.findListingPage(eq(1L), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(listing()));
 
         mockMvc.perform(get("/api/assignments/group/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].title").value("Math Assignment"));
+    }
 
-        assertEquals(1, assignmentRepository.findByGroupId(1L).size());
+    private AssignmentDTO listing() {
+        return new AssignmentDTO(1L, "Math Assignment", "Solve problems", null, "Not Started",
+                1L, "Math", "Level 1", 1L, "Group A", "Level 1", 1L, "Ada", "Lovelace");
     }
 
     @Test
     void testDeleteAssignment_Success() throws Exception {
-        when(assignmentRepository.existsById(1L)).thenReturn(true);
+        assignment.setGroup(group);
+        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
 
         mockMvc.perform(delete("/api/assignments/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        assertTrue(assignmentRepository.existsById(1L));
+        verify(assignmentRepository).deleteById(1L);
+        verify(dashboards).groupsChanged(List.of(group.getId()));
     }
 
     @Test
     void testDeleteAssignment_NotFound() throws Exception {
-        when(assignmentRepository.existsById(1L)).thenReturn(false);
+        when(assignmentRepository.findById(1L)).thenReturn(Optional.empty());
 
         mockMvc.perform(delete("/api/assignments/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Assignment not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetSubmissionSummary() throws Exception {
+        AssignmentSubmissionStats stats = mock(AssignmentSubmissionStats.class);
+        when(stats.getSubmitted()).thenReturn(12);
+        when(stats.getGraded()).thenReturn(5);
+        when(stats.getMissing()).thenReturn(3);
+        when(submissionStates.getStats(1L)).thenReturn(Optional.of(stats));
+
+        mockMvc.perform(get("/api/assignments/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignmentId").value(1))
+                .andExpect(jsonPath("$.submitted").value(12))
+                .andExpect(jsonPath("$.graded").value(5))
+                .andExpect(jsonPath("$.missing").value(3));
+
+        // Served from the counter row alone
+        verify(assignmentRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetSubmissionSummary_NotFound() throws Exception {
+        when(submissionStates.getStats(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/assignments/1/summary"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Assignment not found"));
+    }
+
+    @Test
+    void testGetSubmissionTable_UnknownStatus() throws Exception {
+        mockMvc.perform(get("/api/assignments/1/submissions").param("status", "LATE"))
+                .andExpect(status().isBadRequest());
+    }
+}
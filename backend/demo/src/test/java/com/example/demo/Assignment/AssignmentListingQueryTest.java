@@ -0,0 +1,114 @@
+package com.example.demo.Assignment;
+
+import com.example.demo.Group.Group;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.Level;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Program.Program;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Subject.Subject;
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.Teacher;
+import com.example.demo.Teacher.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The assignment listing must stay one SQL statement per page, whatever the number of
+// distinct subjects, groups and programs behind it.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:assignment-listing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class AssignmentListingQueryTest {
+
+    private static final int ROWS = 6;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long firstGroupId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Level level = levelRepository.save(new Level("Level " + i));
+            Subject subject = subjectRepository.save(new Subject("Subject " + i, level));
+            Group group = groupRepository.save(new Group("Group " + i, level));
+            Teacher teacher = teacherRepository.save(new Teacher("t" + i + "@school.com", "pw", "Teacher", "No" + i));
+            Program program = programRepository.save(new Program(teacher, group, subject));
+            Assignment assignment = new Assignment("Assignment " + i, "Description", group, subject);
+            assignment.setProgram(program);
+            assignmentRepository.save(assignment);
+            if (i == 0) {
+                firstGroupId = group.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindListingPage_SingleStatementWithNames() {
+        List<AssignmentDTO> page = assignmentRepository.findListingPage(null, 0L, PageRequest.of(0, 4));
+
+        assertEquals(4, page.size());
+        AssignmentDTO first = page.get(0);
+        assertEquals("Subject 0", first.getSubjectName());
+        assertEquals("Group 0", first.getGroupName());
+        assertEquals("Teacher No0", first.getTeacherName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // The next page starts after the last id of this one
+        List<AssignmentDTO> next = assignmentRepository.findListingPage(null, page.get(3).getId(), PageRequest.of(0, 4));
+        assertEquals(ROWS - 4, next.size());
+    }
+
+    @Test
+    void testFindListingPage_FilteredByGroup() {
+        List<AssignmentDTO> page = assignmentRepository.findListingPage(firstGroupId, 0L, PageRequest.of(0, 10));
+
+        assertEquals(1, page.size());
+        assertEquals(firstGroupId, page.get(0).getGroupId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.Authentication;
+
+import com.example.demo.Admin.Admin;
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Student.Student;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Teacher.Teacher;
+import com.example.demo.Teacher.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:login;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "auth.bcrypt-strength=4"
+})
+@ActiveProfiles("test")
+@Import({LoginService.class, PasswordHasher.class, CredentialRepository.class})
+public class LoginServiceTest {
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        loginService.evictAll();
+        // A legacy plaintext row and a hashed one
+        studentRepository.saveAndFlush(new Student("student@school.com", "studpass", "Jane", "Smith"));
+        teacher = teacherRepository.saveAndFlush(
+                new Teacher("teacher@school.com", passwordHasher.encode("teachpass"), "John", "Doe"));
+        adminRepository.saveAndFlush(new Admin("teacher@school.com", "adminpass", "Alice", "Admin", "School"));
+    }
+
+    @Test
+    void testAuthenticate_FindsRoleAcrossTables() {
+        Optional<LoginResponse> asTeacher = loginService.authenticate("teacher@school.com", "teachpass");
+        assertTrue(asTeacher.isPresent());
+        assertEquals("teacher", asTeacher.get().getRole());
+        assertEquals(teacher.getId(), asTeacher.get().getId());
+
+        // Same email, the admin's password selects the admin account
+        assertEquals("admin", loginService.authenticate("teacher@school.com", "adminpass").get().getRole());
+
+        assertFalse(loginService.authenticate("teacher@school.com", "wrong").isPresent());
+        assertFalse(loginService.authenticate("nobody@school.com", "teachpass").isPresent());
+    }
+
+    @Test
+    void testAuthenticate_UpgradesPlaintextPasswordAndCaches() {
+        assertTrue(loginService.authenticate("student@school.com", "studpass").isPresent());
+
+        String stored = jdbcTemplate.queryForObject(
+                "SELECT password FROM students WHERE email = ?", String.class, "student@school.com");
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertFalse(passwordHasher.needsRehash(stored));
+        assertTrue(loginService.cachedCredentials("student@school.com").isPresent());
+
+        // The upgraded hash still accepts the same password, from the cache and from the database
+        assertTrue(loginService.authenticate("student@school.com", "studpass").isPresent());
+        loginService.evict("student@school.com");
+        assertTrue(loginService.authenticate("student@school.com", "studpass").isPresent());
+    }
+
+    @Test
+    void testAuthenticate_StaleCacheFallsBackToDatabase() {
+        assertTrue(loginService.authenticate("teacher@school.com", "teachpass").isPresent());
+
+        // Password changed directly in the database while the lookup is cached
+        jdbcTemplate.update("UPDATE teachers SET password = ? WHERE id = ?",
+                passwordHasher.encode("newpass"), teacher.getId());
+
+        assertTrue(loginService.authenticate("teacher@school.com", "newpass").isPresent());
+    }
+
+    @Test
+    void testEncodeIfChanged_KeepsCurrentPasswordWhenBlankOrEchoed() {
+        String hash = passwordHasher.encode("secret");
+
+        assertEquals(hash, passwordHasher.encodeIfChanged(null, hash));
+        assertEquals(hash, passwordHasher.encodeIfChanged("", hash));
+        assertEquals(hash, passwordHasher.encodeIfChanged(hash, hash));
+        assertTrue(passwordHasher.matches("other", passwordHasher.encodeIfChanged("other", hash)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.Authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2025-01-06T08:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofHours(1), objectMapper, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testIssueAndVerify_RoundTripsClaims() {
+        String token = tokenService.issue(new LoginResponse("student", 7L, "jane@school.com", 3L));
+
+        AuthenticatedUser user = tokenService.verify(token).orElseThrow();
+        assertEquals("student", user.getRole());
+        assertEquals(7L, user.getId());
+        assertEquals("jane@school.com", user.getEmail());
+        assertEquals(3L, user.getGroupId());
+        assertEquals(NOW.plus(Duration.ofHours(1)), user.getExpiresAt());
+    }
+
+    @Test
+    void testVerify_RejectsTamperedExpiredAndForeignTokens() {
+        String token = tokenService.issue(new LoginResponse("teacher", 1L, "t@school.com"));
+
+        // Payload swapped for one claiming another user, signature unchanged
+        String forged = tokenService.issue(new LoginResponse("admin", 1L, "t@school.com")).split("\\.")[0]
+                + token.substring(token.indexOf('.'));
+        assertFalse(tokenService.verify(forged).isPresent());
+        assertFalse(tokenService.verify("not-a-token").isPresent());
+
+        TokenService later = new TokenService(SECRET, Duration.ofHours(1), objectMapper,
+                Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        assertFalse(later.verify(token).isPresent());
+
+        String otherSecret = Base64.getEncoder().encodeToString("another-secret-of-at-least-32-bytes".getBytes());
+        TokenService otherKey = new TokenService(otherSecret, Duration.ofHours(1), objectMapper,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        assertFalse(otherKey.verify(token).isPresent());
+    }
+
+    @Test
+    void testFilter_SetsUserOrRejectsInvalidToken() throws Exception {
+        TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService);
+        String token = tokenService.issue(new LoginResponse("student", 7L, "jane@school.com", 3L));
+
+        MockHttpServletRequest valid = new MockHttpServletRequest("GET", "/api/auth/me");
+        valid.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(valid, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+        AuthenticatedUser user = (AuthenticatedUser) valid.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        assertEquals(7L, user.getId());
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/groups");
+        MockFilterChain anonymousChain = new MockFilterChain();
+        filter.doFilter(anonymous, new MockHttpServletResponse(), anonymousChain);
+        assertNotNull(anonymousChain.getRequest());
+
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/api/groups");
+        invalid.addHeader("Authorization", "Bearer " + token + "x");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        filter.doFilter(invalid, rejected, rejectedChain);
+        assertEquals(401, rejected.getStatus());
+        assertNull(rejectedChain.getRequest());
+    }
+}
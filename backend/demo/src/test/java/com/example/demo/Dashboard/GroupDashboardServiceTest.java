@@ -0,0 +1,185 @@
+package com.example.demo.Dashboard;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Group.Group;
+import com.example.demo.Level.Level;
+import com.example.demo.Program.Program;
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import com.example.demo.Teacher.Teacher;
+import com.example.demo.WorkReturn.ProcessingStatus;
+import com.example.demo.WorkReturn.WorkReturn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The counters against the migrated schema (H2 in SQL Server mode): every step checks the
+// incrementally maintained rows against a recount of assignments and work_return.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import(GroupDashboardService.class)
+public class GroupDashboardServiceTest {
+
+    @Autowired
+    private GroupDashboardService service;
+
+    @Autowired
+    private GroupDashboardRepository dashboardRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Group groupA;
+    private Group groupB;
+    private Teacher teacher;
+    private Student ada;
+    private Assignment overdue;
+    private Assignment upcoming;
+
+    @BeforeEach
+    void setUp() {
+        Level level = entityManager.persist(new Level("L1"));
+        groupA = entityManager.persist(new Group("A", level));
+        groupB = entityManager.persist(new Group("B", level));
+        Subject subject = entityManager.persist(new Subject("Math", level));
+        teacher = entityManager.persist(new Teacher("turing@example.com", "secret", "Alan", "Turing"));
+        entityManager.persist(new Program(teacher, groupA, subject));
+        ada = entityManager.persist(new Student("ada@example.com", "secret", "Ada", "Lovelace", level, groupA));
+
+        overdue = assignment("Essay", groupA, LocalDateTime.now().minusDays(1));
+        upcoming = assignment("Lab", groupA, LocalDateTime.now().plusDays(1));
+        assignment("Quiz", groupB, null);
+        workReturn(overdue, ProcessingStatus.READY, null);
+        workReturn(upcoming, ProcessingStatus.READY, 14);
+        workReturn(upcoming, ProcessingStatus.PENDING, null);
+        entityManager.flush();
+        service.initializeMissing();
+    }
+
+    @Test
+    void testInitializeCountsEveryGroup() {
+        List<GroupDashboardDTO> dashboards = service.getDashboards(null).orElseThrow();
+
+        assertEquals(2, dashboards.size());
+        assertCounts(dashboards.get(0), "A", 2, 2, 1, 1);
+        assertCounts(dashboards.get(1), "B", 1, 0, 0, 0);
+
+        assertEquals(List.of(groupA.getId()), service.getDashboards(teacher.getId()).orElseThrow().stream()
+                .map(GroupDashboardDTO::getGroupId).toList());
+        assertTrue(service.getDashboards(teacher.getId() + 1000).isEmpty());
+        assertCounts(service.getDashboard(groupB.getId()).orElseThrow(), "B", 1, 0, 0, 0);
+        assertTrue(service.getDashboard(groupB.getId() + 1000).isEmpty());
+    }
+
+    @Test
+    void testCountersFollowWrites() {
+        // A late upload finishes processing; a pending one counts nothing yet
+        WorkReturn late = workReturn(overdue, ProcessingStatus.READY, null);
+        WorkReturn pending = workReturn(overdue, ProcessingStatus.PENDING, null);
+        entityManager.flush();
+        service.workReturnProcessed(late.getId());
+        service.workReturnProcessed(pending.getId());
+        assertCountsMatchRecount();
+        assertCounts(service.getDashboard(groupA.getId()).orElseThrow(), "A", 2, 3, 2, 2);
+
+        // Graded, regraded, then cleared in bulk
+        jdbcTemplate.update("UPDATE work_return SET grade = 12 WHERE id = ?", late.getId());
+        service.workReturnGraded(late.getId(), false, true);
+        assertCountsMatchRecount();
+        jdbcTemplate.update("UPDATE work_return SET grade = 16 WHERE id = ?", late.getId());
+        service.workReturnGraded(late.getId(), true, true);
+        assertCountsMatchRecount();
+        jdbcTemplate.update("UPDATE work_return SET grade = NULL WHERE id = ?", late.getId());
+        service.ungradedChanged(Map.of(groupA.getId(), 1, groupB.getId(), 0));
+        assertCountsMatchRecount();
+
+        // A later due date, an assignment moved to the other group, a deleted submission
+        jdbcTemplate.update("UPDATE assignments SET delay = ? WHERE id = ?",
+                LocalDateTime.now().plusDays(2), overdue.getId());
+        service.groupsChanged(List.of(groupA.getId()));
+        assertCountsMatchRecount();
+        jdbcTemplate.update("UPDATE assignments SET group_id = ? WHERE id = ?", groupB.getId(), upcoming.getId());
+        service.groupsChanged(Arrays.asList(groupA.getId(), groupB.getId(), null));
+        assertCountsMatchRecount();
+        assertCounts(service.getDashboard(groupB.getId()).orElseThrow(), "B", 2, 1, 0, 0);
+        jdbcTemplate.update("DELETE FROM work_return WHERE id = ?", late.getId());
+        service.groupsChanged(List.of(groupA.getId()));
+        assertCountsMatchRecount();
+
+        // A new group starts with its own row
+        Group groupC = entityManager.persist(new Group("C", groupA.getLevel()));
+        entityManager.flush();
+        service.groupCreated(groupC.getId());
+        assertCounts(service.getDashboard(groupC.getId()).orElseThrow(), "C", 0, 0, 0, 0);
+
+        assertEquals(Set.of(groupA.getId(), groupB.getId()),
+                new HashSet<>(service.groupsWithWorkReturnsOf(ada.getId())));
+    }
+
+    private void assertCountsMatchRecount() {
+        entityManager.clear();
+        List<String> maintained = lines();
+        dashboardRepository.recount(List.of(groupA.getId(), groupB.getId()));
+        entityManager.clear();
+        assertEquals(lines(), maintained);
+    }
+
+    private List<String> lines() {
+        return service.getDashboards(null).orElseThrow().stream()
+                .map(d -> d.getGroupName() + "|" + d.getAssignments() + "|" + d.getSubmissions() + "|"
+                        + d.getUngraded() + "|" + d.getLate())
+                .toList();
+    }
+
+    private Assignment assignment(String title, Group group, LocalDateTime delay) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle(title);
+        assignment.setGroup(group);
+        assignment.setDelay(delay);
+        return entityManager.persist(assignment);
+    }
+
+    private WorkReturn workReturn(Assignment assignment, ProcessingStatus status, Integer grade) {
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setFilePath("/uploads/" + assignment.getTitle() + ".pdf");
+        workReturn.setStudent(ada);
+        workReturn.setAssignment(assignment);
+        workReturn.setProcessingStatus(status);
+        workReturn.setGrade(grade);
+        return entityManager.persist(workReturn);
+    }
+
+    private static void assertCounts(GroupDashboardDTO dashboard, String name, int assignments, int submissions,
+                                     int ungraded, int late) {
+        assertEquals(name, dashboard.getGroupName());
+        assertEquals(assignments, dashboard.getAssignments());
+        assertEquals(submissions, dashboard.getSubmissions());
+        assertEquals(ungraded, dashboard.getUngraded());
+        assertEquals(late, dashboard.getLate());
+    }
+}
@@ -4,8 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest(classes = Application.class)
-@ActiveProfiles("test") // Active le profil test pour ne pas exécuter le CommandLineRunner
+// The full application context against H2 in SQL Server mode, migrated by Flyway as in prod;
+// the default datasource points at a developer's SQL Server instance.
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:context-loads;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@ActiveProfiles({"test", "prod"}) // Active le profil test pour ne pas exécuter le CommandLineRunner
 class DemoApplicationTests {
 
     @Test
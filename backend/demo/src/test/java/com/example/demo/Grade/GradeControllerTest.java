@@ -1,25 +1,36 @@
 package com.example.demo.Grade;
 
+import com.example.demo.Admin.AdminRepository;
 import com.example.demo.Assignment.Assignment;
 import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Program.ProgramRepository;
 import com.example.demo.Student.Student;
 import com.example.demo.Student.StudentRepository;
 import com.example.demo.Subject.Subject;
 import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +56,23 @@ public class GradeControllerTest {
     @MockBean
     private AssignmentRepository assignmentRepository;
 
+    @MockBean
+    private GradebookService gradebookService;
+
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private LevelRepository levelRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+
     private Grade grade;
     private GradeDTO gradeDTO;
     private Student student;
@@ -57,7 +85,7 @@ public class GradeControllerTest {
         student.setId(1L);
         // Assuming Student has firstName or similar
         try {
-            student.getClass().getMethod("setFirstName", String.class).invoke(student, "John");
+            student.getClass().getMethod("setFirstname", String.class).invoke(student, "John");
         } catch (Exception e) {
             throw new RuntimeException("Failed to set student first name", e);
         }
@@ -153,6 +181,40 @@ public class GradeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testCreateGrade_DuplicateIsConflict() throws Exception {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
+        when(gradeRepository.save(any(Grade.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_grades_student_assignment"));
+
+        mockMvc.perform(post("/api/grades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gradeDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(gradebookService, never()).gradesChanged(any());
+    }
+
+    @Test
+    void testUpdateGrade_DuplicateIsConflict() throws Exception {
+        when(gradeRepository.existsById(1L)).thenReturn(true);
+        when(gradeRepository.findById(1L)).thenReturn(Optional.of(grade));
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
+        when(gradeRepository.save(any(Grade.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_grades_student_assignment"));
+
+        mockMvc.perform(put("/api/grades/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gradeDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
     @Test
     void testGetAllGrades() throws Exception {
         when(gradeRepository.findAll()).thenReturn(Arrays.asList(grade));
@@ -166,6 +228,71 @@ public class GradeControllerTest {
         assertFalse(gradeRepository.findAll().isEmpty());
     }
 
+    @Test
+    void testGetGradesByStudent() throws Exception {
+        GradeDTO view = new GradeDTO(1L, 90.0, 1L, "John", "Doe", 1L, "Math", 1L, "Math Assignment");
+        when(gradeRepository.findViewsByStudentId(1L)).thenReturn(Arrays.asList(view));
+
+        mockMvc.perform(get("/api/grades").param("studentId", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].studentId").value(1))
+                .andExpect(jsonPath("$[0].studentName").value("John Doe"))
+                .andExpect(jsonPath("$[0].assignmentName").value("Math Assignment"));
+
+        verify(gradeRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetGradesByAssignment() throws Exception {
+        GradeDTO view = new GradeDTO(1L, 90.0, 1L, "John", "Doe", 1L, "Math", 1L, "Math Assignment");
+        when(gradeRepository.findViewsByAssignmentId(1L)).thenReturn(List.of(view));
+
+        mockMvc.perform(get("/api/grades").param("assignmentId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].assignmentId").value(1))
+                .andExpect(jsonPath("$[0].studentName").value("John Doe"));
+
+        verify(gradeRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetGradesBySubject() throws Exception {
+        GradeDTO view = new GradeDTO(1L, 90.0, 1L, "John", "Doe", 1L, "Math", 1L, "Math Assignment");
+        when(gradeRepository.findViewsBySubjectId(1L)).thenReturn(List.of(view));
+
+        mockMvc.perform(get("/api/grades").param("subjectId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].subjectId").value(1))
+                .andExpect(jsonPath("$[0].subjectName").value("Math"));
+
+        verify(gradeRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetGradesByGroup() throws Exception {
+        GradeDTO view = new GradeDTO(1L, 90.0, 1L, "John", "Doe", 1L, "Math", 1L, "Math Assignment");
+        when(gradeRepository.findViewsByGroupId(2L)).thenReturn(List.of(view));
+
+        mockMvc.perform(get("/api/grades").param("groupId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].score").value(90));
+
+        verify(gradeRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetGrades_SeveralFiltersRejected() throws Exception {
+        mockMvc.perform(get("/api/grades").param("studentId", "1").param("groupId", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(gradeRepository, never()).findViewsByStudentId(any());
+        verify(gradeRepository, never()).findViewsByGroupId(any());
+    }
+
     @Test
     void testGetGradeById_Success() throws Exception {
         when(gradeRepository.findById(1L)).thenReturn(Optional.of(grade));
@@ -190,13 +317,14 @@ public class GradeControllerTest {
 
     @Test
     void testDeleteGrade_Success() throws Exception {
-        when(gradeRepository.existsById(1L)).thenReturn(true);
+        when(gradeRepository.findById(1L)).thenReturn(Optional.of(grade));
 
         mockMvc.perform(delete("/api/grades/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        assertTrue(gradeRepository.existsById(1L));
+        verify(gradeRepository).deleteById(1L);
+        verify(gradebookService).gradesChanged(List.of(student.getId()));
     }
 
     @Test
@@ -0,0 +1,205 @@
+package com.example.demo.Gradebook;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Group.Group;
+import com.example.demo.Level.Level;
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The aggregates against the migrated schema (H2 in SQL Server mode): every answer read from
+// grade_summaries must equal the same question asked of the grades table.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import(GradebookService.class)
+public class GradebookServiceTest {
+
+    @Autowired
+    private GradebookService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Level level;
+    private Group groupA;
+    private Subject math;
+    private Subject physics;
+    private Student ada;
+    private Student alan;
+    private Student grace;
+
+    @BeforeEach
+    void setUp() {
+        level = entityManager.persist(new Level("L1"));
+        groupA = entityManager.persist(new Group("A", level));
+        Group groupB = entityManager.persist(new Group("B", level));
+        math = entityManager.persist(new Subject("Math", level));
+        physics = entityManager.persist(new Subject("Physics", level));
+        ada = entityManager.persist(new Student("ada@example.com", "secret", "Ada", "Lovelace", level, groupA));
+        alan = entityManager.persist(new Student("alan@example.com", "secret", "Alan", "Turing", level, groupA));
+        grace = entityManager.persist(new Student("grace@example.com", "secret", "Grace", "Hopper", level, groupB));
+
+        Assignment math1 = assignment("Math 1", math);
+        Assignment math2 = assignment("Math 2", math);
+        Assignment physics1 = assignment("Physics 1", physics);
+        entityManager.persist(new Grade(80.0, ada, math1));
+        entityManager.persist(new Grade(60.0, ada, math2));
+        entityManager.persist(new Grade(95.0, ada, physics1));
+        entityManager.persist(new Grade(40.0, alan, math1));
+        entityManager.persist(new Grade(null, alan, physics1));
+        entityManager.persist(new Grade(100.0, grace, physics1));
+        entityManager.flush();
+        service.gradesChanged(List.of(ada.getId(), alan.getId(), grace.getId()));
+    }
+
+    @Test
+    void testStudentStats() {
+        Map<String, Object> result = service.getStudent(ada.getId()).orElseThrow();
+
+        List<GradeStatsDTO> subjects = stats(result, "subjects");
+        assertEquals(2, subjects.size());
+        assertStats(subjects.get(0), "Math", 2, 70.0, 60.0, 80.0);
+        assertStats(subjects.get(1), "Physics", 1, 95.0, 95.0, 95.0);
+        assertStats((GradeStatsDTO) result.get("overall"), null, 3, 235.0 / 3, 60.0, 95.0);
+
+        assertTrue(service.getStudent(grace.getId() + 1000).isEmpty());
+    }
+
+    @Test
+    void testGroupAndLevelStats() {
+        Map<String, Object> group = service.getGroup(groupA.getId()).orElseThrow();
+        List<GradeStatsDTO> students = stats(group, "students");
+        assertEquals(2, students.size());
+        assertStats(students.get(0), "Ada Lovelace", 3, 235.0 / 3, 60.0, 95.0);
+        assertStats(students.get(1), "Alan Turing", 1, 40.0, 40.0, 40.0);
+        assertArrayEquals(new long[]{0, 0, 0, 0, 1, 0, 1, 0, 1, 1}, (long[]) group.get("distribution"));
+
+        Map<String, Object> result = service.getLevel(level.getId()).orElseThrow();
+        List<GradeStatsDTO> groups = stats(result, "groups");
+        assertEquals(2, groups.size());
+        assertStats(groups.get(1), "B", 1, 100.0, 100.0, 100.0);
+        assertStats((GradeStatsDTO) result.get("overall"), null, 5, 75.0, 40.0, 100.0);
+        // 100 falls past the last tenth and is counted in it
+        assertEquals(2, ((long[]) result.get("distribution"))[9]);
+
+        List<ReportCardLineDTO> cards = service.getReportCards(level.getId()).orElseThrow();
+        assertEquals(4, cards.size());
+        assertEquals("Hopper", cards.get(0).getLastname());
+        assertEquals("Physics", cards.get(0).getSubjectName());
+
+        assertTrue(service.getGroup(groupA.getId() + 1000).isEmpty());
+        assertTrue(service.getLevel(level.getId() + 1000).isEmpty());
+    }
+
+    @Test
+    void testSummariesFollowGradeWrites() {
+        assertSummariesMatchGrades();
+
+        jdbcTemplate.update("UPDATE grades SET score = 20 WHERE student_id = ? AND score = 80", ada.getId());
+        jdbcTemplate.update("UPDATE grades SET score = 70 WHERE student_id = ?", alan.getId());
+        service.gradesChanged(List.of(ada.getId(), alan.getId()));
+        assertSummariesMatchGrades();
+
+        // Moving a grade to another subject, and clearing the last score of a subject
+        jdbcTemplate.update("UPDATE grades SET subject_id = ? WHERE student_id = ? AND score = 95",
+                math.getId(), ada.getId());
+        jdbcTemplate.update("UPDATE grades SET score = NULL WHERE student_id = ?", grace.getId());
+        service.gradesChanged(List.of(ada.getId(), grace.getId()));
+        assertSummariesMatchGrades();
+        assertEquals(0, count("SELECT COUNT(*) FROM grade_summaries WHERE student_id = " + grace.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM grade_summaries WHERE student_id = " + ada.getId()));
+
+        jdbcTemplate.update("DELETE FROM grades WHERE student_id = ?", alan.getId());
+        service.gradesChanged(List.of(alan.getId()));
+        assertSummariesMatchGrades();
+
+        jdbcTemplate.update("DELETE FROM grade_summaries");
+        service.rebuildSummaries();
+        assertSummariesMatchGrades();
+    }
+
+    private Assignment assignment(String title, Subject subject) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle(title);
+        assignment.setSubject(subject);
+        return entityManager.persist(assignment);
+    }
+
+    // Same answers from both sources, for every view
+    private void assertSummariesMatchGrades() {
+        Object fromSummaries = views();
+        ReflectionTestUtils.setField(service, "summaryTables", false);
+        try {
+            assertEquals(fromSummaries, views());
+        } finally {
+            ReflectionTestUtils.setField(service, "summaryTables", true);
+        }
+    }
+
+    private List<String> views() {
+        List<String> rows = new ArrayList<>();
+        for (Student student : List.of(ada, alan, grace)) {
+            stats(service.getStudent(student.getId()).orElseThrow(), "subjects").forEach(s -> rows.add(line(s)));
+        }
+        Map<String, Object> group = service.getGroup(groupA.getId()).orElseThrow();
+        stats(group, "students").forEach(s -> rows.add(line(s)));
+        stats(group, "subjects").forEach(s -> rows.add(line(s)));
+        Map<String, Object> result = service.getLevel(level.getId()).orElseThrow();
+        stats(result, "groups").forEach(s -> rows.add(line(s)));
+        stats(result, "subjects").forEach(s -> rows.add(line(s)));
+        for (ReportCardLineDTO card : service.getReportCards(level.getId()).orElseThrow()) {
+            rows.add(card.getStudentId() + "|" + card.getSubjectName() + "|" + card.getCount() + "|"
+                    + card.getAverage() + "|" + card.getMin() + "|" + card.getMax());
+        }
+        return rows;
+    }
+
+    private static String line(GradeStatsDTO stats) {
+        return stats.getId() + "|" + stats.getName() + "|" + stats.getCount() + "|" + stats.getAverage() + "|"
+                + stats.getMin() + "|" + stats.getMax();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GradeStatsDTO> stats(Map<String, Object> result, String key) {
+        return (List<GradeStatsDTO>) result.get(key);
+    }
+
+    private static void assertStats(GradeStatsDTO stats, String name, long count, double average, double min,
+                                    double max) {
+        assertEquals(name, stats.getName());
+        assertEquals(count, stats.getCount());
+        assertEquals(average, stats.getAverage(), 1e-9);
+        assertEquals(min, stats.getMin());
+        assertEquals(max, stats.getMax());
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
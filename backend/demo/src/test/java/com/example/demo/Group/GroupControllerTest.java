@@ -1,6 +1,15 @@
 package com.example.demo.Group;
 
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
 import com.example.demo.Level.Level;
+import com.example.demo.Dashboard.GroupDashboardService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +25,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +46,27 @@ public class GroupControllerTest {
     @MockBean
     private com.example.demo.Level.LevelRepository levelRepository;
 
+    @MockBean
+    private GroupDashboardService dashboards;
+
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+    @MockBean
+    private StudentRepository studentRepository;
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+    @MockBean
+    private GradeRepository gradeRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+
     private Group group;
     private Level level;
 
@@ -85,15 +117,12 @@ public class GroupControllerTest {
 
     @Test
     void testCreateGroup_LevelNotFound() throws Exception {
-        when(levelRepository.existsById(1L)).thenReturn(false);
-
-        // Verify mocked return
-        assertFalse(levelRepository.existsById(1L), "Level should not exist");
+        when(levelRepository.findById(1L)).thenReturn(Optional.empty());
 
         String groupJson = """
                 {
                     "name": "Group A",
-                    "level": {"id": 1}
+                    "levelId": 1
                 }
                 """;
 
@@ -101,15 +130,13 @@ public class GroupControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(groupJson))
                 .andExpect(status().isBadRequest());
+
+        verify(groupRepository, never()).save(any(Group.class));
     }
 
     @Test
     void testGetAllGroups() throws Exception {
-        when(groupRepository.findAll()).thenReturn(Arrays.asList(group));
-
-        // Verify mocked return
-        assertFalse(groupRepository.findAll().isEmpty(), "Groups list should not be empty");
-        assertEquals(1, groupRepository.findAll().size(), "Groups list should have 1 item");
+        when(groupRepository.findAllAsDTO()).thenReturn(Arrays.asList(new GroupDTO(1L, "Group A", "Level 1")));
 
         MvcResult result = mockMvc.perform(get("/api/groups")
                         .contentType(MediaType.APPLICATION_JSON))
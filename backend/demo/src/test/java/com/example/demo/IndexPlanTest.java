@@ -0,0 +1,151 @@
+package com.example.demo;
+
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Authentication.CredentialRepository;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Monitoring.QueryCountInspector;
+import com.example.demo.WorkReturn.WorkReturnRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Query plans for the hot lookups, on the schema built by the Flyway migrations. Each lookup runs
+// through its repository and the statement Hibernate generated for it is captured and EXPLAINed,
+// so the plan is the one the application gets. H2 also indexes every foreign key on its own (SQL
+// Server does not), so the plans only pin down that each lookup is an index seek on its filter
+// column; the index definitions are checked separately.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:index-plans;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.IndexPlanTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+public class IndexPlanTest {
+
+    // First index condition in an H2 plan: /* public.<index>: <column> = ...
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\* public\\.(\\w+): (\\w+) ");
+
+    /** The application's statement inspector, also keeping the SQL it sees. */
+    public static class RecordingInspector extends QueryCountInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return super.inspect(sql);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private WorkReturnRepository workReturnRepository;
+
+    @BeforeEach
+    void setUp() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testMigratedSchema_HasLookupIndexes() {
+        assertIndex("grades", "uk_grades_student_assignment", "student_id", "assignment_id");
+        assertIndex("grades", "idx_grades_assignment", "assignment_id");
+        assertIndex("assignments", "idx_assignments_group", "group_id", "id");
+        assertIndex("students", "idx_students_group", "group_id");
+        assertIndex("work_return", "idx_work_return_student", "student_id", "id");
+        assertIndex("work_return", "idx_work_return_assignment", "assignment_id", "id");
+        assertIndex("work_return", "idx_work_return_processing", "processing_status", "id");
+    }
+
+    @Test
+    void testGradeLookup_UsesStudentAssignmentKey() {
+        // Bulk grading loads the existing grades of the graded pairs
+        gradeRepository.findByStudentIdsAndAssignmentIds(List.of(1L, 2L), List.of(3L));
+        String plan = explain(lastStatement(), 1L, 2L, 3L);
+        assertTrue(plan.contains("public.uk_grades_student_assignment"), plan);
+    }
+
+    @Test
+    void testHotLookups_SeekOnTheirFilterColumn() {
+        // Assignment listing for one group
+        assignmentRepository.findListingPage(1L, 0L, PageRequest.of(0, 100));
+        assertSeek(lastStatement(), "group_id", 1L, 0L, 100);
+
+        // WorkReturn keyset pages by student and by assignment
+        workReturnRepository.findPageByStudent(1L, null, 0L, PageRequest.of(0, 100));
+        assertSeek(lastStatement(), "student_id", 1L, 0L, null, null, null, 100);
+        workReturnRepository.findPageByAssignment(1L, null, 0L, PageRequest.of(0, 100));
+        assertSeek(lastStatement(), "assignment_id", 1L, 0L, null, null, null, 100);
+
+        // Grade views by assignment
+        gradeRepository.findViewsByAssignmentId(1L);
+        assertSeek(lastStatement(), "assignment_id", 1L);
+
+        // Login lookup: plain JDBC, one branch per account table, each a seek on email
+        String login = (String) ReflectionTestUtils.getField(CredentialRepository.class, "FIND_BY_EMAIL");
+        String plan = explain(login, "a@example.com", "a@example.com", "a@example.com");
+        assertFalse(plan.contains("tableScan"), plan);
+        Matcher condition = INDEX_CONDITION.matcher(plan);
+        for (int branch = 0; branch < 3; branch++) {
+            assertTrue(condition.find(), plan);
+            assertEquals("email", condition.group(2), plan);
+        }
+    }
+
+    private String lastStatement() {
+        assertFalse(RecordingInspector.STATEMENTS.isEmpty(), "no statement captured");
+        return RecordingInspector.STATEMENTS.get(RecordingInspector.STATEMENTS.size() - 1);
+    }
+
+    private void assertSeek(String sql, String column, Object... parameters) {
+        String plan = explain(sql, parameters);
+        assertFalse(plan.contains("tableScan"), plan);
+        Matcher condition = INDEX_CONDITION.matcher(plan);
+        assertTrue(condition.find(), plan);
+        assertEquals(column, condition.group(2), plan);
+    }
+
+    private void assertIndex(String table, String name, String... columns) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT index_name, column_name FROM information_schema.index_columns "
+                        + "WHERE table_name = ? ORDER BY index_name, ordinal_position",
+                rs -> {
+                    indexes.computeIfAbsent(rs.getString(1), key -> new ArrayList<>()).add(rs.getString(2));
+                }, table);
+        // Indexes backing a constraint get a generated suffix
+        assertTrue(indexes.entrySet().stream()
+                        .anyMatch(index -> index.getKey().startsWith(name) && index.getValue().equals(List.of(columns))),
+                table + " indexes: " + indexes);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
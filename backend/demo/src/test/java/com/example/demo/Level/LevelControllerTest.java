@@ -1,5 +1,14 @@
 package com.example.demo.Level;
 
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +40,26 @@ public class LevelControllerTest {
     @MockBean
     private LevelRepository levelRepository;
 
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+    @MockBean
+    private StudentRepository studentRepository;
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+    @MockBean
+    private GradeRepository gradeRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+
     private Level level;
 
     @BeforeEach
@@ -0,0 +1,119 @@
+package com.example.demo.LoadTest;
+
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A small generated school against the migrated schema (H2 in SQL Server mode)
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "auth.bcrypt-strength=4",
+        "generator.levels=2",
+        "generator.groups-per-level=2",
+        "generator.subjects-per-level=3",
+        "generator.teachers=4",
+        "generator.students=80",
+        "generator.assignments-per-program=4",
+        "generator.due-today-share=0.3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import({SchoolDataGenerator.class, SubmissionStateService.class, PasswordHasher.class, GradebookService.class,
+        GroupDashboardService.class})
+public class SchoolDataGeneratorTest {
+
+    @Autowired
+    private SchoolDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGeneratesConsistentSchool() {
+        SchoolDataGenerator.Summary summary = generator.generate();
+
+        assertEquals(80, count("SELECT COUNT(*) FROM students WHERE group_id IS NOT NULL"));
+        assertEquals(4, count("SELECT COUNT(*) FROM groups"));
+        assertEquals(12, count("SELECT COUNT(*) FROM programs"));
+        assertEquals(summary.getAssignments(), count("SELECT COUNT(*) FROM assignments"));
+        assertEquals(summary.getWorkReturns(), count("SELECT COUNT(*) FROM work_return"));
+        assertEquals(summary.getGrades(), count("SELECT COUNT(*) FROM grades"));
+        assertTrue(summary.getWorkReturns() > summary.getGrades() && summary.getGrades() > 0);
+
+        // Submissions only come from the assignment's group, and a grade sits on the latest one
+        assertEquals(0, count("SELECT COUNT(*) FROM work_return wr JOIN students s ON s.id = wr.student_id "
+                + "JOIN assignments a ON a.id = wr.assignment_id WHERE s.group_id <> a.group_id"));
+        assertEquals(summary.getGrades(), count("SELECT COUNT(*) FROM grades g JOIN work_return wr "
+                + "ON wr.assignment_id = g.assignment_id AND wr.student_id = g.student_id AND wr.grade IS NOT NULL"));
+        // The school is generated as of noon today
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grades g JOIN assignments a "
+                + "ON a.id = g.assignment_id WHERE a.delay > ? OR g.score < 0 OR g.score > 100", Integer.class,
+                Timestamp.valueOf(LocalDate.now().atTime(12, 0))));
+        assertTrue(count("SELECT COUNT(*) FROM assignments WHERE CAST(delay AS DATE) = CURRENT_DATE") > 0);
+
+        // Counters are in place for every assignment and cover its whole group
+        assertEquals(0, count("SELECT COUNT(*) FROM assignments a LEFT JOIN assignment_submission_stats st "
+                + "ON st.assignment_id = a.id WHERE st.assignment_id IS NULL OR st.submitted + st.missing <> "
+                + "(SELECT COUNT(*) FROM students s WHERE s.group_id = a.group_id)"));
+        // Gradebook summaries cover every generated grade
+        assertEquals(summary.getGrades(), count("SELECT COALESCE(SUM(grade_count), 0) FROM grade_summaries"));
+        // Every group has its dashboard row, together counting every assignment
+        assertEquals(count("SELECT COUNT(*) FROM groups"), count("SELECT COUNT(*) FROM group_dashboards"));
+        assertEquals(count("SELECT COUNT(*) FROM assignments"),
+                count("SELECT COALESCE(SUM(assignments), 0) FROM group_dashboards"));
+
+        assertThrows(IllegalStateException.class, () -> generator.generate());
+    }
+
+    @Test
+    void testSameSeedGeneratesSameSchool() {
+        generator.generate();
+        List<String> first = fingerprint();
+
+        for (String table : List.of("submission_states", "assignment_submission_stats", "grade_summaries", "group_dashboards",
+                "grades",
+                "work_return", "assignments", "programs", "students", "groups", "subjects", "teachers", "levels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        generator.generate();
+
+        assertEquals(first, fingerprint());
+    }
+
+    // Everything but ids and dates, which depend on the database and the day of the run
+    private List<String> fingerprint() {
+        List<String> rows = new ArrayList<>(jdbcTemplate.queryForList("SELECT CONCAT(s.email, '|', s.firstname, '|', "
+                + "g.name) FROM students s JOIN groups g ON g.id = s.group_id", String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT(g.name, '|', sub.name, '|', t.email) FROM programs p "
+                + "JOIN groups g ON g.id = p.group_id JOIN subjects sub ON sub.id = p.subject_id "
+                + "JOIN teachers t ON t.id = p.teacher_id", String.class));
+        rows.addAll(jdbcTemplate.queryForList("SELECT CONCAT(s.email, '|', a.description, '|', wr.file_size, '|', "
+                + "wr.page_count, '|', COALESCE(wr.grade, -1)) FROM work_return wr "
+                + "JOIN students s ON s.id = wr.student_id JOIN assignments a ON a.id = wr.assignment_id", String.class));
+        rows.sort(null);
+        return rows;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.Monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsConfigTest {
+
+    private final MetricsConfig config = new MetricsConfig();
+
+    @Test
+    void testLatencyHistogram_SloBuckets() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(config.latencyHistogramFilter());
+
+        Timer grades = Timer.builder(MetricsConfig.HTTP_SERVER_REQUESTS).tag("uri", "/api/grades/{id}").register(registry);
+        Timer levels = Timer.builder(MetricsConfig.HTTP_SERVER_REQUESTS).tag("uri", "/api/levels").register(registry);
+        grades.record(Duration.ofMillis(80));
+        levels.record(Duration.ofMillis(80));
+
+        CountAtBucket[] buckets = grades.takeSnapshot().histogramCounts();
+        assertTrue(buckets.length > 0);
+        // 80 ms falls into the 100 ms SLO bucket
+        boolean hasSloBucket = false;
+        for (CountAtBucket bucket : buckets) {
+            if (bucket.bucket() == Duration.ofMillis(100).toNanos()) {
+                hasSloBucket = true;
+                assertEquals(1, bucket.count());
+            }
+        }
+        assertTrue(hasSloBucket);
+        // Every series of the metric carries the same buckets, as Prometheus requires
+        assertEquals(buckets.length, levels.takeSnapshot().histogramCounts().length);
+
+        Timer other = Timer.builder("jvm.gc.pause").register(registry);
+        other.record(Duration.ofMillis(80));
+        assertEquals(0, other.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void testQueryCountFilter_RecordsStatementsPerRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryCountFilter filter = new QueryCountFilter(registry);
+        QueryCountInspector inspector = new QueryCountInspector();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/groups");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/groups");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            inspector.inspect("select 3");
+        });
+
+        DistributionSummary summary = registry.get(QueryCountFilter.METRIC_NAME).tag("uri", "/api/groups").summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+
+        // Statements outside a request are not counted
+        inspector.inspect("select 4");
+        assertEquals(0, QueryCountInspector.stop());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.Monitoring;
+
+import com.example.demo.Authentication.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter();
+
+    @Test
+    void testMdcHoldsRouteAndUserDuringRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workreturns/12");
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE,
+                new AuthenticatedUser("teacher", 7L, "t@school.test", null, Instant.now().plusSeconds(60)));
+        Map<String, String> seen = new HashMap<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/workreturns/{id}");
+            seen.putAll(MDC.getCopyOfContextMap());
+        });
+
+        assertEquals("GET /api/workreturns/12", seen.get(RequestLoggingFilter.ROUTE));
+        assertEquals("teacher:7", seen.get(RequestLoggingFilter.USER_ID));
+        // Nothing leaks to the next request served by this thread
+        assertNull(MDC.get(RequestLoggingFilter.ROUTE));
+        assertNull(MDC.get(RequestLoggingFilter.USER_ID));
+        assertNull(MDC.get(RequestLoggingFilter.LATENCY_MS));
+    }
+
+    @Test
+    void testAnonymousRequestHasNoUserId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        Map<String, String> seen = new HashMap<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.putAll(MDC.getCopyOfContextMap()));
+
+        assertEquals("POST /api/auth/login", seen.get(RequestLoggingFilter.ROUTE));
+        assertFalse(seen.containsKey(RequestLoggingFilter.USER_ID));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo;
+
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Student.Student;
+import com.example.demo.Student.StudentRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts the prod profile on a database left by the old ddl-auto=create setup. Flyway baselines
+// it at version 1, V1_1 brings it to the V1 schema and the later scripts run on top; Hibernate's
+// validation then has to accept the result.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:pre-flyway-upgrade;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+public class PreFlywayUpgradeTest {
+
+    @TestConfiguration
+    static class PreFlywaySchema {
+
+        @Bean
+        FlywayMigrationStrategy createOldSchemaFirst() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/pre-flyway-schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Test
+    void testOldSchema_UpgradedAndKeepsData() {
+        assertEquals("1", flyway.info().applied()[0].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+
+        assertEquals(List.of("a@school.com", "b@school.com"),
+                jdbcTemplate.queryForList("SELECT email FROM students ORDER BY id", String.class));
+        assertEquals(List.of(12.0, 15.0),
+                jdbcTemplate.queryForList("SELECT score FROM grades ORDER BY id", Double.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT original_file_name FROM work_return", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM submission_blobs", Integer.class));
+    }
+
+    @Test
+    void testOldSchema_NewIdsDoNotClash() {
+        Student student = studentRepository.saveAndFlush(new Student("c@school.com", "pw", "C", "C"));
+        Grade grade = gradeRepository.saveAndFlush(
+                new Grade(10.0, student, assignmentRepository.findAll().get(0)));
+
+        assertTrue(student.getId() > 2);
+        assertTrue(grade.getId() > 2);
+        assertEquals(3, studentRepository.count());
+        assertEquals(3, gradeRepository.count());
+    }
+}
@@ -1,5 +1,15 @@
 package com.example.demo.Program;
 
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Subject.Subject;
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,7 +19,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -31,26 +40,34 @@ public class ProgramControllerTest {
     @MockBean
     private ProgramRepository programRepository;
 
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private LevelRepository levelRepository;
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+    @MockBean
+    private StudentRepository studentRepository;
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+    @MockBean
+    private GradeRepository gradeRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+
     private Program program;
 
-  @BeforeEach
-void setUp() {
-    program = new Program();
-    program.setId(1L);
-    // Assuming Program has setProgramName(String)
-    try {
-        program.getClass().getMethod("setProgramName", String.class).invoke(program, "Program 1");
-    } catch (NoSuchMethodException e) {
-        try {
-            program.getClass().getMethod("setName", String.class).invoke(program, "Program 1");
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
-            throw new RuntimeException("Failed to set program name", ex);
-        }
-    } catch (IllegalAccessException | InvocationTargetException e) {
-        throw new RuntimeException("Failed to invoke method on program", e);
+    @BeforeEach
+    void setUp() {
+        // A program is the teacher/group/subject triple; it has no name of its own
+        program = new Program(null, null, new Subject("Mathematics", null));
+        program.setId(1L);
     }
-}
-
 
     @Test
     void testCreateProgram_Success() throws Exception {
@@ -63,7 +80,7 @@ void setUp() {
                         .content(programJson))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.programName").value("Program 1"));
+                .andExpect(jsonPath("$.subject.name").value("Mathematics"));
 
         assertNotNull(programRepository.save(program));
     }
@@ -80,9 +97,9 @@ void setUp() {
                         .content(programJson))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.programName").value("Program 1"));
+                .andExpect(jsonPath("$.subject.name").value("Mathematics"));
 
-        assertEquals("Program 1", programRepository.save(program).getClass().getMethod("getProgramName").invoke(program));
+        assertEquals("Mathematics", programRepository.save(program).getSubject().getName());
     }
 
     @Test
@@ -105,7 +122,7 @@ void setUp() {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].programName").value("Program 1"));
+                .andExpect(jsonPath("$[0].subject.name").value("Mathematics"));
 
         assertFalse(programRepository.findAll().isEmpty());
     }
@@ -118,7 +135,7 @@ void setUp() {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.programName").value("Program 1"));
+                .andExpect(jsonPath("$.subject.name").value("Mathematics"));
 
         assertTrue(programRepository.findById(1L).isPresent());
     }
@@ -0,0 +1,132 @@
+package com.example.demo;
+
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Group.Group;
+import com.example.demo.Group.GroupController;
+import com.example.demo.Group.GroupDTO;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.Level;
+import com.example.demo.Level.LevelController;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest({LevelController.class, GroupController.class})
+@Import(CacheConfig.class)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@TestPropertySource(properties = {
+        "spring.cache.cache-names=levels,groups,subjects,programs",
+        "spring.cache.caffeine.spec=recordStats"
+})
+public class ReferenceDataCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LevelRepository levelRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+    @MockBean
+    private StudentRepository studentRepository;
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+    @MockBean
+    private GradeRepository gradeRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+    @MockBean
+    private GroupDashboardService dashboards;
+
+    private Level level;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        level = new Level("Level 1");
+        level.setId(1L);
+        when(levelRepository.findAll()).thenReturn(Collections.singletonList(level));
+        when(groupRepository.findAllAsDTO()).thenReturn(Collections.singletonList(new GroupDTO(2L, "G1", "Level 1")));
+
+        // Start every test from empty caches
+        mockMvc.perform(put("/api/levels/1").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Level 1\"}"));
+    }
+
+    @Test
+    void testLevels_SecondReadIsServedFromCache() throws Exception {
+        mockMvc.perform(get("/api/levels")).andExpect(status().isOk()).andExpect(jsonPath("$[0].name").value("Level 1"));
+        mockMvc.perform(get("/api/levels")).andExpect(status().isOk()).andExpect(jsonPath("$[0].name").value("Level 1"));
+
+        verify(levelRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testCreateGroup_EvictsGroupsAndLevels() throws Exception {
+        Group created = new Group("G2", level);
+        created.setId(3L);
+        when(levelRepository.findById(1L)).thenReturn(Optional.of(level));
+        when(groupRepository.save(any(Group.class))).thenReturn(created);
+
+        mockMvc.perform(get("/api/groups")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/levels")).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/groups").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"G2\",\"levelId\":1}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/groups")).andExpect(status().isOk()).andExpect(jsonPath("$[0].levelName").value("Level 1"));
+        mockMvc.perform(get("/api/levels")).andExpect(status().isOk());
+
+        verify(groupRepository, times(2)).findAllAsDTO();
+        verify(levelRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testUpdateLevel_EvictsGroupListWithLevelNames() throws Exception {
+        when(levelRepository.findById(1L)).thenReturn(Optional.of(level));
+        when(levelRepository.save(any(Level.class))).thenReturn(level);
+
+        mockMvc.perform(get("/api/groups")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/levels/1").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Level One\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/groups")).andExpect(status().isOk());
+
+        verify(groupRepository, times(2)).findAllAsDTO();
+    }
+}
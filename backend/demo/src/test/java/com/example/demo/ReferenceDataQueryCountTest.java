@@ -0,0 +1,100 @@
+package com.example.demo;
+
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Group.Group;
+import com.example.demo.Group.GroupController;
+import com.example.demo.Group.GroupDTO;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.Level;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Subject.Subject;
+import com.example.demo.Subject.SubjectController;
+import com.example.demo.Subject.SubjectDTO;
+import com.example.demo.Subject.SubjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Guards the group and subject listings against the N+1 pattern: however many rows and
+// distinct levels there are, each listing must stay a single SQL statement.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:reference-queries;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Import({GroupController.class, SubjectController.class, GroupDashboardService.class})
+public class ReferenceDataQueryCountTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private GroupController groupController;
+
+    @Autowired
+    private SubjectController subjectController;
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // A distinct level per row, so lazy loading would cost one query per row
+        for (int i = 0; i < ROWS; i++) {
+            Level level = levelRepository.save(new Level("Level " + i));
+            groupRepository.save(new Group("G" + i, level));
+            subjectRepository.save(new Subject("S" + i, level));
+        }
+        groupRepository.save(new Group("No level", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllGroups_SingleStatement() {
+        List<GroupDTO> groups = groupController.getAllGroups();
+
+        assertEquals(ROWS + 1, groups.size());
+        assertEquals("Level 0", groups.get(0).getLevelName());
+        assertEquals("N/A", groups.get(ROWS).getLevelName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetAllSubjects_SingleStatement() {
+        List<SubjectDTO> subjects = subjectController.getAllSubjects();
+
+        assertEquals(ROWS, subjects.size());
+        assertEquals("Level 4", subjects.get(ROWS - 1).getLevelName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
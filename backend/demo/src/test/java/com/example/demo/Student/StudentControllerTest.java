@@ -0,0 +1,114 @@
+package com.example.demo.Student;
+
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Authentication.AuthenticatedUser;
+import com.example.demo.Authentication.LoginService;
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.WorkReturn.WorkReturnRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StudentController.class)
+public class StudentControllerTest {
+
+    private static final String CSV = "email,password,group\na@school.com,pw,G1\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StudentRepository studentRepository;
+
+    @MockBean
+    private StudentImportService importService;
+
+    @MockBean
+    private PasswordHasher passwordHasher;
+
+    @MockBean
+    private LoginService loginService;
+
+    @MockBean
+    private SubmissionStateService submissionStates;
+
+    @MockBean
+    private GroupDashboardService dashboards;
+
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private LevelRepository levelRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+    @MockBean
+    private GradeRepository gradeRepository;
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+
+    @Test
+    void testImportStudents_RequiresSignIn() throws Exception {
+        mockMvc.perform(post("/api/students/import").contentType("text/csv").content(CSV))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testImportStudents_RejectsNonAdmins() throws Exception {
+        mockMvc.perform(post("/api/students/import").contentType("text/csv").content(CSV)
+                        .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, user("teacher")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(importService);
+        verify(loginService, never()).evictAll();
+    }
+
+    @Test
+    void testImportStudents_AdminImports() throws Exception {
+        StudentImportReport report = new StudentImportReport(10);
+        when(importService.importCsv(any())).thenReturn(report);
+
+        mockMvc.perform(post("/api/students/import").contentType("text/csv").content(CSV)
+                        .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, user(AuthenticatedUser.ADMIN_ROLE)))
+                .andExpect(status().isOk());
+
+        verify(importService).importCsv(any());
+        verify(loginService).evictAll();
+    }
+
+    private static AuthenticatedUser user(String role) {
+        return new AuthenticatedUser(role, 1L, role + "@school.com", null, Instant.now().plusSeconds(60));
+    }
+}
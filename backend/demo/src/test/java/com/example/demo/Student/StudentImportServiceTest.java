@@ -0,0 +1,159 @@
+package com.example.demo.Student;
+
+import com.example.demo.Authentication.PasswordHasher;
+import com.example.demo.Group.Group;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.Level;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import com.example.demo.Student.StudentImportReport.RowError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against an in-memory H2 database; each import batch commits in its own transaction
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:student-import;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "auth.bcrypt-strength=4"
+})
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({StudentImportService.class, PasswordHasher.class, SubmissionStateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StudentImportServiceTest {
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        groupRepository.deleteAll();
+        levelRepository.deleteAll();
+
+        Level first = level("First Year");
+        Level second = level("Second Year");
+        group("G1", first);
+        group("G2", first);
+        group("G1", second);
+
+        studentRepository.save(new Student("taken@school.com", "pw", "Already", "Here"));
+    }
+
+    @Test
+    void testImportCsv_ReportsBadRowsAndImportsTheRest() throws Exception {
+        String csv = "\uFEFFEmail,Password,Firstname,Lastname,Group,Level\r\n"
+                + "amal@school.com,pw1,Amal,\"Ben, Ali\",G2,\r\n"
+                + "\n"
+                + "sara@school.com,pw2,Sara,Idrissi,G1,second year\n"
+                + "taken@school.com,pw3,Dup,Db,G2,\n"
+                + "amal@school.com,pw4,Dup,File,G2,\n"
+                + "yann@school.com,pw5,Yann,Ambiguous,G1,\n"
+                + "lina@school.com,pw6,Lina,Nogroup,G9,\n"
+                + "not-an-email,pw7,No,Mail,G2,\n";
+
+        StudentImportReport report = importService.importCsv(stream(csv));
+
+        assertEquals(7, report.getTotalRows());
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getFailed());
+        assertEquals(3, studentRepository.count());
+
+        Student amal = studentRepository.findByEmail("amal@school.com").orElseThrow();
+        assertEquals("Ben, Ali", amal.getLastname());
+        Student sara = studentRepository.findByEmail("sara@school.com").orElseThrow();
+        assertEquals("Second Year", groupRepository.findAllWithLevel().stream()
+                .filter(g -> g.getId().equals(sara.getGroup().getId()))
+                .findFirst().orElseThrow().getLevel().getName());
+
+        assertError(report, 3, "Email already exists");
+        assertError(report, 4, "Duplicate email in file");
+        assertError(report, 5, "exists in several levels");
+        assertError(report, 6, "Unknown group");
+        assertError(report, 7, "valid email");
+    }
+
+    @Test
+    void testImportJson_SpansSeveralBatches() throws Exception {
+        int rows = StudentImportService.BATCH_SIZE * 2 + 7;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"email\":\"s").append(i).append("@school.com\",\"password\":\"pw\",")
+                    .append("\"firstname\":\"S\",\"lastname\":\"").append(i).append("\",\"group\":\"G2\"}");
+        }
+        json.append(']');
+
+        StudentImportReport report = importService.importJson(stream(json.toString()));
+
+        assertEquals(rows, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(rows + 1, studentRepository.count());
+    }
+
+    @Test
+    void testImportCsv_RejectedBatchFallsBackToSingleRows() throws Exception {
+        // Too long for the firstname column: only that row fails, not the whole batch
+        String csv = "email,password,firstname,group\n"
+                + "one@school.com,pw,One,G2\n"
+                + "long@school.com,pw," + "x".repeat(300) + ",G2\n"
+                + "three@school.com,pw,Three,G2\n";
+
+        StudentImportReport report = importService.importCsv(stream(csv));
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertError(report, 2, "Insert failed");
+        assertTrue(studentRepository.findByEmail("one@school.com").isPresent());
+        assertTrue(studentRepository.findByEmail("three@school.com").isPresent());
+        assertFalse(studentRepository.findByEmail("long@school.com").isPresent());
+    }
+
+    @Test
+    void testImportCsv_MissingRequiredColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importCsv(stream("email,firstname\na@school.com,A\n")));
+    }
+
+    private static void assertError(StudentImportReport report, long row, String message) {
+        RowError error = report.getErrors().stream().filter(e -> e.getRow() == row).findFirst().orElseThrow();
+        assertTrue(error.getMessage().contains(message), error.getMessage());
+    }
+
+    private Level level(String name) {
+        return levelRepository.save(new Level(name));
+    }
+
+    private void group(String name, Level level) {
+        groupRepository.save(new Group(name, level));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
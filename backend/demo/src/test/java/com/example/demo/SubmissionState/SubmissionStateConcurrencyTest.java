@@ -0,0 +1,130 @@
+package com.example.demo.SubmissionState;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Group.Group;
+import com.example.demo.Level.Level;
+import com.example.demo.Student.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// First writers racing on an assignment that has no rows yet, each call in its own committed
+// transaction as in production (the test itself runs outside any transaction).
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:submission-states-concurrency;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import(SubmissionStateService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SubmissionStateConcurrencyTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private SubmissionStateService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private Group group;
+    private Student ada;
+    private Student alan;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newFixedThreadPool(4);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Level level = entityManager.persist(new Level("L1"));
+            group = entityManager.persist(new Group("A", level));
+            ada = entityManager.persist(new Student("ada@example.com", "secret", "Ada", "Lovelace", level, group));
+            alan = entityManager.persist(new Student("alan@example.com", "secret", "Alan", "Turing", level, group));
+            entityManager.persist(new Student("grace@example.com", "secret", "Grace", "Hopper", level, group));
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        for (String table : List.of("assignment_submission_stats", "submission_states", "assignments", "students",
+                "groups", "levels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void testFirstWritersOnAnUninitializedAssignment() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Long id = transactionTemplate.execute(tx -> {
+                Assignment assignment = new Assignment();
+                assignment.setTitle("Essay");
+                assignment.setGroup(entityManager.find(Group.class, group.getId()));
+                return entityManager.persist(assignment).getId();
+            });
+
+            // A double-submit processed by two workers, a grade and a first read, all at once
+            CyclicBarrier start = new CyclicBarrier(4);
+            List<Future<?>> calls = new ArrayList<>();
+            for (Callable<?> call : List.<Callable<?>>of(
+                    () -> { start.await(); service.recordSubmission(id, ada.getId(), 100L); return null; },
+                    () -> { start.await(); service.recordSubmission(id, ada.getId(), 101L); return null; },
+                    () -> { start.await(); service.recordGrade(id, alan.getId(), true); return null; },
+                    () -> { start.await(); return service.getStats(id); })) {
+                calls.add(executor.submit(call));
+            }
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS);
+            }
+
+            Map<String, Object> ada = jdbcTemplate.queryForMap(
+                    "SELECT status, submissions FROM submission_states WHERE assignment_id = ? AND student_id = ?",
+                    id, this.ada.getId());
+            assertEquals("SUBMITTED", ada.get("status"), "round " + round);
+            assertEquals(2, ((Number) ada.get("submissions")).intValue(), "round " + round);
+            assertEquals(Map.of("submitted", 2, "graded", 1, "missing", 1), counters(id), "round " + round);
+        }
+    }
+
+    private Map<String, Object> counters(Long assignmentId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT submitted, graded, missing FROM assignment_submission_stats WHERE assignment_id = ?",
+                assignmentId);
+    }
+}
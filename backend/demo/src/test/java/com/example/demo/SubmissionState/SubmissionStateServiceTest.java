@@ -0,0 +1,205 @@
+package com.example.demo.SubmissionState;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Group.Group;
+import com.example.demo.Level.Level;
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import com.example.demo.WorkReturn.WorkReturn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The counters against the migrated schema (H2 in SQL Server mode): every step checks the
+// incrementally maintained row against a fresh count of submission_states.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import(SubmissionStateService.class)
+public class SubmissionStateServiceTest {
+
+    @Autowired
+    private SubmissionStateService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Group groupA;
+    private Group groupB;
+    private Assignment assignment;
+    private Student ada;
+    private Student alan;
+    private Student grace;
+
+    @BeforeEach
+    void setUp() {
+        Level level = entityManager.persist(new Level("L1"));
+        groupA = entityManager.persist(new Group("A", level));
+        groupB = entityManager.persist(new Group("B", level));
+        Subject subject = entityManager.persist(new Subject("Math", level));
+        ada = entityManager.persist(new Student("ada@example.com", "secret", "Ada", "Lovelace", level, groupA));
+        alan = entityManager.persist(new Student("alan@example.com", "secret", "Alan", "Turing", level, groupA));
+        grace = entityManager.persist(new Student("grace@example.com", "secret", "Grace", "Hopper", level, groupA));
+
+        assignment = new Assignment();
+        assignment.setTitle("Essay");
+        assignment.setSubject(subject);
+        assignment.setGroup(groupA);
+        entityManager.persist(assignment);
+        entityManager.flush();
+    }
+
+    @Test
+    void testCountersFollowSubmissionsAndGrades() {
+        Long id = assignment.getId();
+        service.syncAssignment(id, groupA.getId());
+        assertCounts(0, 0, 3);
+
+        service.recordSubmission(id, ada.getId(), 100L);
+        assertCounts(1, 0, 2);
+
+        // A resubmission only bumps the student's own row
+        service.recordSubmission(id, ada.getId(), 101L);
+        assertCounts(1, 0, 2);
+
+        service.recordGrade(id, ada.getId(), true);
+        service.recordGrade(id, ada.getId(), true);
+        assertCounts(1, 1, 2);
+
+        service.recordGrade(id, ada.getId(), false);
+        assertCounts(1, 0, 2);
+
+        // Graded before the pipeline got to the upload
+        service.recordGrade(id, alan.getId(), true);
+        assertCounts(2, 1, 1);
+
+        entityManager.clear();
+        List<SubmissionStateDTO> table = service.getTable(id, null);
+        assertEquals(3, table.size());
+        SubmissionStateDTO first = table.stream().filter(row -> row.getStudentId().equals(ada.getId())).findFirst().orElseThrow();
+        assertEquals(SubmissionStatus.SUBMITTED, first.getStatus());
+        assertEquals(2, first.getSubmissions());
+        assertEquals(101L, first.getLastWorkReturnId());
+        assertNotNull(first.getUpdatedAt());
+        assertEquals(List.of(grace.getId()),
+                service.getTable(id, SubmissionStatus.MISSING).stream().map(SubmissionStateDTO::getStudentId).toList());
+    }
+
+    @Test
+    void testMembershipChangesRecount() {
+        Long id = assignment.getId();
+        service.syncAssignment(id, groupA.getId());
+        service.recordSubmission(id, ada.getId(), 100L);
+
+        // Grace moves away: her MISSING row goes, Ada's submission stays
+        jdbcTemplate.update("UPDATE students SET group_id = ? WHERE id = ?", groupB.getId(), grace.getId());
+        service.studentLeftGroup(grace.getId(), groupA.getId());
+        service.studentJoinedGroup(grace.getId(), groupB.getId());
+        assertCounts(1, 0, 1);
+
+        // A submission from outside the group still counts
+        service.recordSubmission(id, grace.getId(), 102L);
+        assertCounts(2, 0, 1);
+
+        // The assignment moves to group B: Alan's MISSING row goes, Grace already handed in
+        jdbcTemplate.update("UPDATE assignments SET group_id = ? WHERE id = ?", groupB.getId(), id);
+        service.syncAssignment(id, groupB.getId());
+        assertCounts(2, 0, 0);
+    }
+
+    @Test
+    void testStudentStatuses_ReadOwnRows() {
+        Long id = assignment.getId();
+        // Never synced: the first read initializes the assignment from its work returns
+        workReturn(ada);
+        entityManager.flush();
+
+        assertEquals(Map.of(id, SubmissionStatus.SUBMITTED), service.getStudentStatuses(ada.getId(), List.of(id)));
+        assertEquals(Map.of(id, SubmissionStatus.MISSING), service.getStudentStatuses(alan.getId(), List.of(id)));
+
+        service.recordGrade(id, ada.getId(), true);
+        assertEquals(Map.of(id, SubmissionStatus.GRADED), service.getStudentStatuses(ada.getId(), List.of(id)));
+        assertEquals(Map.of(), service.getStudentStatuses(ada.getId(), List.of()));
+    }
+
+    @Test
+    void testFirstReadInitializesFromExistingRows() {
+        // Rows written before submission_states existed, as the V5 backfill would find them
+        workReturn(ada);
+        workReturn(ada);
+        workReturn(alan);
+        entityManager.persist(new Grade(15.0, alan, assignment));
+        entityManager.flush();
+
+        AssignmentSubmissionStats stats = service.getStats(assignment.getId()).orElseThrow();
+        assertEquals(2, stats.getSubmitted());
+        assertEquals(1, stats.getGraded());
+        assertEquals(1, stats.getMissing());
+        assertCounts(2, 1, 1);
+
+        assertTrue(service.getStats(assignment.getId() + 1000).isEmpty());
+    }
+
+    @Test
+    void testRefreshGradesRealignsWithGradesTable() {
+        Long id = assignment.getId();
+        service.syncAssignment(id, groupA.getId());
+        service.recordSubmission(id, ada.getId(), 100L);
+
+        entityManager.persist(new Grade(12.0, ada, assignment));
+        entityManager.persist(new Grade(9.0, grace, assignment));
+        entityManager.flush();
+        service.refreshGrades(List.of(id));
+        assertCounts(2, 2, 1);
+    }
+
+    private void workReturn(Student student) {
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setFilePath("/uploads/" + student.getFirstname() + ".pdf");
+        workReturn.setStudent(student);
+        workReturn.setAssignment(assignment);
+        entityManager.persist(workReturn);
+    }
+
+    private void assertCounts(int submitted, int graded, int missing) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT submitted, graded, missing FROM assignment_submission_stats WHERE assignment_id = ?",
+                assignment.getId());
+        assertEquals(List.of(submitted, graded, missing),
+                List.of(row.get("submitted"), row.get("graded"), row.get("missing")), "counters");
+
+        Map<String, Object> recount = jdbcTemplate.queryForMap(
+                "SELECT SUM(CASE WHEN status <> 'MISSING' THEN 1 ELSE 0 END) AS submitted, "
+                        + "SUM(CASE WHEN status = 'GRADED' THEN 1 ELSE 0 END) AS graded, "
+                        + "SUM(CASE WHEN status = 'MISSING' THEN 1 ELSE 0 END) AS missing "
+                        + "FROM submission_states WHERE assignment_id = ?", assignment.getId());
+        assertEquals(List.of(submitted, graded, missing),
+                List.of(asInt(recount.get("submitted")), asInt(recount.get("graded")), asInt(recount.get("missing"))),
+                "submission_states");
+    }
+
+    private static int asInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
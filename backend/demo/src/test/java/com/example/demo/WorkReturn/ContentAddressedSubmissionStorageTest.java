@@ -0,0 +1,133 @@
+package com.example.demo.WorkReturn;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ContentAddressedSubmissionStorageTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ContentAddressedSubmissionStorage storage;
+    private final Map<String, SubmissionBlob> blobs = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // Back the repository mock with a map so reference counts behave like the table
+        SubmissionBlobRepository blobRepository = mock(SubmissionBlobRepository.class);
+        when(blobRepository.addReference(anyString())).thenAnswer(invocation -> {
+            SubmissionBlob blob = blobs.get(invocation.<String>getArgument(0));
+            if (blob == null) {
+                return 0;
+            }
+            blob.setRefCount(blob.getRefCount() + 1);
+            return 1;
+        });
+        when(blobRepository.insertFirstReference(anyString(), anyLong())).thenAnswer(invocation -> {
+            SubmissionBlob blob = new SubmissionBlob(invocation.getArgument(0), invocation.getArgument(1));
+            blob.setRefCount(1);
+            return blobs.putIfAbsent(blob.getContentHash(), blob) == null ? 1 : 0;
+        });
+        when(blobRepository.removeReference(anyString())).thenAnswer(invocation -> {
+            SubmissionBlob blob = blobs.get(invocation.<String>getArgument(0));
+            if (blob == null) {
+                return 0;
+            }
+            blob.setRefCount(blob.getRefCount() - 1);
+            return 1;
+        });
+        when(blobRepository.deleteIfUnreferenced(anyString())).thenAnswer(invocation -> {
+            SubmissionBlob blob = blobs.get(invocation.<String>getArgument(0));
+            return blob != null && blob.getRefCount() <= 0 && blobs.remove(blob.getContentHash()) != null ? 1 : 0;
+        });
+
+        storage = new ContentAddressedSubmissionStorage();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(storage, "blobRepository", blobRepository);
+    }
+
+    @Test
+    void testCommit_ShardsByHashAndDeduplicates() throws Exception {
+        byte[] content = "same essay".getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(content);
+
+        String first = storage.commit(stage(content), hash, content.length, "essay.pdf");
+        String second = storage.commit(stage(content), hash, content.length, "copy.pdf");
+
+        assertEquals("/uploads/objects/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash, first);
+        assertEquals(first, second);
+        assertEquals(2, blobs.get(hash).getRefCount());
+        assertArrayEquals(content, Files.readAllBytes(storage.resolve(first).get()));
+        try (var staged = Files.list(storage.stagingDirectory())) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void testRelease_DeletesFileWithLastReference() throws Exception {
+        byte[] content = "shared answer".getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(content);
+        String filePath = storage.commit(stage(content), hash, content.length, "a.pdf");
+        storage.commit(stage(content), hash, content.length, "b.pdf");
+
+        storage.release(filePath);
+        assertTrue(storage.resolve(filePath).isPresent());
+        assertEquals(1, blobs.get(hash).getRefCount());
+
+        storage.release(filePath);
+        assertFalse(storage.resolve(filePath).isPresent());
+        assertFalse(blobs.containsKey(hash));
+    }
+
+    @Test
+    void testRelease_KeepsFileWithoutReferenceCount() throws Exception {
+        byte[] content = "uncounted".getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(content);
+        String filePath = storage.commit(stage(content), hash, content.length, "a.pdf");
+        blobs.clear();
+
+        storage.release(filePath);
+
+        assertTrue(storage.resolve(filePath).isPresent());
+    }
+
+    @Test
+    void testRelease_LegacyFileIsDeleted() throws Exception {
+        Path legacy = Files.writeString(uploadDir.resolve("1234_old.pdf"), "old");
+
+        assertTrue(storage.resolve("/uploads/1234_old.pdf").isPresent());
+        storage.release("/uploads/1234_old.pdf");
+
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void testResolve_RejectsPathsOutsideUploadDir() {
+        assertFalse(storage.resolve("/uploads/../secret.txt").isPresent());
+        assertFalse(storage.resolve("C:/secret.txt").isPresent());
+    }
+
+    private Path stage(byte[] content) throws Exception {
+        return Files.write(Files.createTempFile(storage.stagingDirectory(), "upload", ".part"), content);
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.WorkReturn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCounterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCountPdfPages_SkipsPageTreeNodes() throws Exception {
+        String pdf = "%PDF-1.4\n"
+                + "1 0 obj << /Type /Catalog /Pages 2 0 R >> endobj\n"
+                + "2 0 obj << /Type /Pages /Kids [3 0 R 4 0 R 5 0 R] /Count 3 >> endobj\n"
+                + "3 0 obj << /Type /Page /Parent 2 0 R >> endobj\n"
+                + "4 0 obj <</Type/Page/Parent 2 0 R>> endobj\n"
+                + "5 0 obj << /Type\r\n/Page >> endobj\n"
+                + "6 0 obj << /Type /PageLabel >> endobj\n"
+                + "trailer << /Root 1 0 R >>\n%%EOF\n";
+        assertEquals(3, PageCounter.countPdfPages(stream(pdf)));
+    }
+
+    @Test
+    void testCountPdfPages_MatchSplitAcrossReads() throws Exception {
+        // One byte per read, so every token straddles a buffer boundary
+        InputStream slow = new ByteArrayInputStream("<< /Type /Page >> << /Type /Pages >> /Type /Page".getBytes(StandardCharsets.US_ASCII)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        assertEquals(2, PageCounter.countPdfPages(slow));
+    }
+
+    @Test
+    void testCountPdfPages_UnknownWhenPagesAreCompressed() throws Exception {
+        assertNull(PageCounter.countPdfPages(stream("%PDF-1.5\n1 0 obj << /Type /ObjStm /N 4 >> stream\nxxxx\nendstream\n")));
+    }
+
+    @Test
+    void testCount_DocxFromAppProperties() throws Exception {
+        Path docx = dir.resolve("essay.docx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(docx))) {
+            zip.putNextEntry(new ZipEntry("docProps/app.xml"));
+            zip.write("<Properties><Pages>7</Pages><Words>1200</Words></Properties>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        assertEquals(7, PageCounter.count(docx, "Essay.DOCX"));
+
+        Path notZip = dir.resolve("fake.docx");
+        try (OutputStream out = Files.newOutputStream(notZip)) {
+            out.write("not a zip".getBytes(StandardCharsets.US_ASCII));
+        }
+        assertNull(PageCounter.count(notZip, "fake.docx"));
+        assertNull(PageCounter.count(notZip, "essay.doc"));
+    }
+
+    private static InputStream stream(String content) throws IOException {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.WorkReturn.SubmissionDownloadService.FileMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ContentDisposition;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubmissionDownloadServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private SubmissionDownloadService service;
+    private WorkReturnRepository workReturnRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(uploadDir.resolve("abc_essay.pdf"), "0123456789", StandardCharsets.US_ASCII);
+
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setId(1L);
+        workReturn.setFilePath("/uploads/abc_essay.pdf");
+        workReturn.setContentHash("deadbeef");
+
+        workReturnRepository = mock(WorkReturnRepository.class);
+        when(workReturnRepository.findById(1L)).thenReturn(Optional.of(workReturn));
+
+        UuidSubmissionStorage storage = new UuidSubmissionStorage();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+
+        service = new SubmissionDownloadService();
+        ReflectionTestUtils.setField(service, "storage", storage);
+        ReflectionTestUtils.setField(service, "workReturnRepository", workReturnRepository);
+    }
+
+    @Test
+    void testLookup_CachesMetadata() throws Exception {
+        FileMetadata first = service.lookup(1L).orElseThrow();
+        FileMetadata second = service.lookup(1L).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("\"deadbeef\"", first.getEtag());
+        assertEquals(10, first.getSize());
+        verify(workReturnRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testSend_FullFile() throws Exception {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/api/workreturns/1/download"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("\"deadbeef\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("application/pdf", response.getContentType());
+    }
+
+    @Test
+    void testSend_UploadedNameIsEncoded() throws Exception {
+        WorkReturn renamed = new WorkReturn();
+        renamed.setId(2L);
+        renamed.setFilePath("/uploads/abc_essay.pdf");
+        renamed.setOriginalFileName("r\u00e9sum\u00e9 \"final\".pdf");
+        when(workReturnRepository.findById(2L)).thenReturn(Optional.of(renamed));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(service.lookup(2L).orElseThrow(), new MockHttpServletRequest("GET", "/api/workreturns/2/download"),
+                response);
+
+        ContentDisposition disposition = ContentDisposition.parse(response.getHeader("Content-Disposition"));
+        assertTrue(disposition.isAttachment());
+        assertEquals("r\u00e9sum\u00e9 \"final\".pdf", disposition.getFilename());
+    }
+
+    @Test
+    void testSend_NotModifiedWhenEtagMatches() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workreturns/1/download");
+        request.addHeader("If-None-Match", "\"deadbeef\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSend_ByteRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workreturns/1/download");
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testSend_StaleIfRangeGetsWholeFile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/workreturns/1/download");
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"other\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void testParseRange() {
+        assertArrayEquals(new long[] {7, 9}, SubmissionDownloadService.parseRange("bytes=-3", 10));
+        assertArrayEquals(new long[] {4, 9}, SubmissionDownloadService.parseRange("bytes=4-", 10));
+        assertArrayEquals(new long[] {0, 9}, SubmissionDownloadService.parseRange("bytes=0-100", 10));
+        assertNull(SubmissionDownloadService.parseRange("bytes=10-12", 10));
+        assertEquals(0, SubmissionDownloadService.parseRange("bytes=0-1,4-5", 10).length);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(service.lookup(1L).orElseThrow(), request, response);
+        return response;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubmissionPipelineTest {
+
+    @TempDir
+    Path dir;
+
+    private SubmissionPipeline pipeline;
+    private WorkReturnRepository workReturnRepository;
+    private SubmissionStateService submissionStates;
+    private SubmissionStorage storage;
+    private SubmissionScanner scanner;
+    private SubmissionDownloadService downloadService;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workReturnRepository = mock(WorkReturnRepository.class);
+        submissionStates = mock(SubmissionStateService.class);
+        storage = mock(SubmissionStorage.class);
+        scanner = mock(SubmissionScanner.class);
+        downloadService = mock(SubmissionDownloadService.class);
+
+        pipeline = new SubmissionPipeline();
+        ReflectionTestUtils.setField(pipeline, "workReturnRepository", workReturnRepository);
+        ReflectionTestUtils.setField(pipeline, "submissionStates", submissionStates);
+        ReflectionTestUtils.setField(pipeline, "dashboards", mock(GroupDashboardService.class));
+        ReflectionTestUtils.setField(pipeline, "storage", storage);
+        ReflectionTestUtils.setField(pipeline, "scanner", scanner);
+        ReflectionTestUtils.setField(pipeline, "downloadService", downloadService);
+        ReflectionTestUtils.setField(pipeline, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pipeline, "workerCount", 1);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1);
+        ReflectionTestUtils.setField(pipeline, "sweepAfter", Duration.ofMinutes(1));
+        pipeline.start();
+
+        file = dir.resolve("essay.pdf");
+        Files.write(file, "<< /Type /Page >> << /Type /Page >>".getBytes(StandardCharsets.US_ASCII));
+        when(storage.resolve("/uploads/essay.pdf")).thenReturn(Optional.of(file));
+        when(scanner.scan(any(), any())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pipeline.stop();
+    }
+
+    @Test
+    void testProcess_CleanFileBecomesReadyWithPageCount() {
+        pending(10L);
+        when(workReturnRepository.completeProcessing(10L, ProcessingStatus.READY, 2)).thenReturn(1);
+
+        pipeline.process(10L);
+
+        verify(workReturnRepository).completeProcessing(10L, ProcessingStatus.READY, 2);
+        verify(submissionStates).recordSubmission(7L, 3L, 10L);
+    }
+
+    @Test
+    void testProcess_RejectedFileIsNoLongerServed() throws Exception {
+        pending(10L);
+        when(scanner.scan(file, "essay.pdf")).thenReturn(Optional.of("EICAR test signature"));
+        when(workReturnRepository.completeProcessing(10L, ProcessingStatus.REJECTED, null)).thenReturn(1);
+
+        pipeline.process(10L);
+
+        verify(workReturnRepository).completeProcessing(10L, ProcessingStatus.REJECTED, null);
+        verify(downloadService).evict(10L);
+        verify(submissionStates, never()).recordSubmission(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testProcess_FailingFileIsRejectedNotRetriedForever() throws Exception {
+        pending(10L);
+        when(scanner.scan(file, "essay.pdf")).thenThrow(new IllegalStateException("corrupt archive"));
+        when(workReturnRepository.completeProcessing(10L, ProcessingStatus.REJECTED, null)).thenReturn(1);
+
+        pipeline.process(10L);
+
+        verify(workReturnRepository).completeProcessing(10L, ProcessingStatus.REJECTED, null);
+        verify(downloadService).evict(10L);
+        verify(submissionStates, never()).recordSubmission(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testProcess_TransientFailureLeavesSubmissionPending() throws Exception {
+        pending(10L);
+        when(workReturnRepository.completeProcessing(10L, ProcessingStatus.READY, 2))
+                .thenThrow(new QueryTimeoutException("lock timeout"));
+
+        pipeline.process(10L);
+
+        verify(workReturnRepository, never()).completeProcessing(10L, ProcessingStatus.REJECTED, null);
+    }
+
+    @Test
+    void testProcess_ConstraintViolationLeavesSubmissionPending() throws Exception {
+        pending(10L);
+        when(workReturnRepository.completeProcessing(10L, ProcessingStatus.READY, 2)).thenReturn(1);
+        doThrow(new DataIntegrityViolationException("uk_submission_states_assignment_student"))
+                .when(submissionStates).recordSubmission(anyLong(), anyLong(), anyLong());
+
+        pipeline.process(10L);
+
+        verify(workReturnRepository, never()).completeProcessing(10L, ProcessingStatus.REJECTED, null);
+        verify(downloadService, never()).evict(10L);
+    }
+
+    @Test
+    void testProcess_CompletesOnlyOnce() throws Exception {
+        // Already READY: nothing is scanned or written
+        when(workReturnRepository.findProcessingState(10L)).thenReturn(Optional.of(
+                new WorkReturnProcessingState(10L, "/uploads/essay.pdf", "essay.pdf", ProcessingStatus.READY, 2, 7L, 3L)));
+        pipeline.process(10L);
+        verify(scanner, never()).scan(any(), any());
+
+        // Completed by a concurrent run between the read and the write: the aggregate is left alone
+        pending(11L);
+        when(workReturnRepository.completeProcessing(eq(11L), any(), any())).thenReturn(0);
+        pipeline.process(11L);
+        verify(submissionStates, never()).recordSubmission(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testSubmit_FullQueueLeavesSubmissionForTheSweep() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(scanner.scan(any(), any())).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await();
+            return Optional.empty();
+        });
+        pending(1L);
+        pending(2L);
+        pending(3L);
+
+        assertTrue(pipeline.submit(1L));
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        assertTrue(pipeline.submit(2L));   // fills the queue
+        assertTrue(pipeline.submit(2L));   // already queued, not added twice
+        assertFalse(pipeline.submit(3L));  // one worker busy, queue of one full
+
+        release.countDown();
+        verify(workReturnRepository, timeout(5000)).completeProcessing(eq(2L), any(), any());
+
+        // The sweep picks up what was dropped
+        when(workReturnRepository.findPendingIds(any(), any())).thenReturn(List.of(3L));
+        pipeline.sweep();
+        verify(workReturnRepository, timeout(5000)).completeProcessing(eq(3L), any(), any());
+    }
+
+    private void pending(Long id) {
+        when(workReturnRepository.findProcessingState(id)).thenReturn(Optional.of(
+                new WorkReturnProcessingState(id, "/uploads/essay.pdf", "essay.pdf", ProcessingStatus.PENDING, null, 7L, 3L)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.WorkReturn.SubmissionUploadService.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Reference counts against the migrated schema: the UPDATE/INSERT statements run as real SQL
+// (H2 in SQL Server mode) in the transaction that writes the WorkReturn rows.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import({SubmissionRecordService.class, ContentAddressedSubmissionStorage.class})
+public class SubmissionRecordServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Autowired
+    private SubmissionRecordService records;
+
+    @Autowired
+    private ContentAddressedSubmissionStorage storage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final byte[] content = "shared answer".getBytes(StandardCharsets.UTF_8);
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+        hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    @Test
+    void testRecordAndDelete_CountReferencesInTheTransaction() throws Exception {
+        WorkReturn first = records.record(new WorkReturn(), stage("a.pdf"));
+        WorkReturn second = records.record(new WorkReturn(), stage("b.pdf"));
+
+        assertEquals(first.getFilePath(), second.getFilePath());
+        assertEquals("b.pdf", second.getOriginalFileName());
+        assertEquals(List.of(2), refCounts());
+
+        records.delete(first);
+        assertEquals(List.of(1), refCounts());
+        assertTrue(storage.resolve(second.getFilePath()).isPresent());
+
+        // The last reference goes with the row; the file waits for the transaction's outcome
+        records.delete(second);
+        assertEquals(List.of(), refCounts());
+        assertFalse(storage.resolve(second.getFilePath()).isPresent());
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        assertTrue(storage.resolve(second.getFilePath()).isPresent());
+    }
+
+    private StoredFile stage(String originalName) throws Exception {
+        Path staged = Files.write(Files.createTempFile(storage.stagingDirectory(), "upload", ".part"), content);
+        return new StoredFile(staged, originalName, content.length, hash);
+    }
+
+    private List<Integer> refCounts() {
+        return jdbcTemplate.queryForList("SELECT ref_count FROM submission_blobs WHERE content_hash = ?",
+                Integer.class, hash);
+    }
+}
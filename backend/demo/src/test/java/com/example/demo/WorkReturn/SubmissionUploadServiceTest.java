@@ -0,0 +1,233 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.WorkReturn.SubmissionUploadService.OffsetMismatchException;
+import com.example.demo.WorkReturn.SubmissionUploadService.StoredFile;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadCompletedException;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadSession;
+import com.example.demo.WorkReturn.SubmissionUploadService.UploadsBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionUploadServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private SubmissionUploadService service;
+    private SimpleMeterRegistry meterRegistry;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        UuidSubmissionStorage storage = new UuidSubmissionStorage();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+
+        service = new SubmissionUploadService();
+        ReflectionTestUtils.setField(service, "storage", storage);
+        ReflectionTestUtils.setField(service, "maxUploadSize", 1024L * 1024L);
+        ReflectionTestUtils.setField(service, "sessionTtl", Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+
+        // Larger than the copy buffer so several reads are needed
+        content = new byte[200_000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    void testStore_WritesFileAndHash() throws Exception {
+        StoredFile stored = service.store(new ByteArrayInputStream(content), "essay.pdf");
+
+        // The file stays staged until it is committed with its WorkReturn
+        Path file = stored.getStagedFile();
+        assertEquals(uploadDir.resolve(LocalSubmissionStorage.STAGING_DIR), file.getParent());
+        assertEquals("essay.pdf", stored.getOriginalName());
+        assertEquals(content.length, stored.getSize());
+        assertArrayEquals(content, Files.readAllBytes(file));
+        assertEquals(sha256(content), stored.getSha256());
+
+        service.discard(stored);
+        assertStaged(0);
+        assertEquals(content.length, meterRegistry.get("submission.upload.bytes").tag("mode", "stream").counter().count());
+        assertEquals(1, meterRegistry.get("submission.upload.throughput").summary().count());
+    }
+
+    @Test
+    void testStore_RejectsOversizedBodyAndCleansUp() throws Exception {
+        ReflectionTestUtils.setField(service, "maxUploadSize", 1000L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.store(new ByteArrayInputStream(content), "essay.pdf"));
+        assertStaged(0);
+    }
+
+    @Test
+    void testStore_RefusedWhenAllBodyReadsAreTaken() throws Exception {
+        service.setMaxConcurrentBodyReads(1);
+        ReflectionTestUtils.setField(service, "bodyReadWait", Duration.ofMillis(50));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // The first upload holds the only slot until its client sends the rest
+        Thread first = Thread.ofVirtual().start(() -> {
+            try {
+                service.store(gatedStream(content, reading, release), "first.pdf");
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reading.await();
+
+        UploadsBusyException busy = assertThrows(UploadsBusyException.class,
+                () -> service.store(new ByteArrayInputStream(content), "second.pdf"));
+        assertEquals(Duration.ofMillis(50), busy.getRetryAfter());
+
+        release.countDown();
+        first.join();
+        assertNull(failure.get());
+        // The slot is free again once the first upload is in
+        assertEquals(content.length, service.store(new ByteArrayInputStream(content), "third.pdf").getSize());
+        // Only the two accepted uploads are staged; the refused one left nothing behind
+        assertStaged(2);
+    }
+
+    @Test
+    void testResumableUpload_ChunksInOrder() throws Exception {
+        UploadSession session = service.startSession(1L, 2L, "essay.pdf", content.length);
+
+        service.appendChunk(session, 0, new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 70_000)));
+        assertEquals(70_000, session.getOffset());
+        assertFalse(session.isComplete());
+
+        // A chunk sent from the wrong offset is refused and reports where to resume
+        OffsetMismatchException mismatch = assertThrows(OffsetMismatchException.class,
+                () -> service.appendChunk(session, 0, new ByteArrayInputStream(content)));
+        assertEquals(70_000, mismatch.getExpectedOffset());
+
+        service.appendChunk(session, 70_000, new ByteArrayInputStream(Arrays.copyOfRange(content, 70_000, content.length)));
+        assertTrue(session.isComplete());
+
+        StoredFile stored = service.completeSession(session);
+        assertArrayEquals(content, Files.readAllBytes(stored.getStagedFile()));
+        assertEquals(sha256(content), stored.getSha256());
+        assertNull(service.getSession(session.getUploadId()));
+
+        // A retried final chunk finds the session already handed over
+        assertThrows(UploadCompletedException.class, () -> service.completeSession(session));
+    }
+
+    @Test
+    void testAppendChunk_SlowClientDoesNotPinVirtualThread() throws Exception {
+        UploadSession session = service.startSession(1L, 2L, "essay.pdf", content.length);
+        Object monitor = new Object();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Path recordingFile = uploadDir.resolve("pinning.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            Thread uploader = Thread.ofVirtual().start(() -> {
+                try {
+                    service.appendChunk(session, 0, slowStream(content));
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            // Control: parking inside a monitor does pin, so the recording is known to catch it
+            Thread control = Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    sleep();
+                }
+            });
+            uploader.join();
+            control.join();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        assertNull(failure.get());
+        assertTrue(session.isComplete());
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(recordingFile);
+        assertTrue(pinned.stream().anyMatch(event -> inClass(event, SubmissionUploadServiceTest.class)));
+        assertFalse(pinned.stream().anyMatch(event -> inClass(event, SubmissionUploadService.class)));
+    }
+
+    // A client on a slow network: every read parks the thread, like a wait on the socket
+    private static InputStream slowStream(byte[] bytes) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return super.read(buffer, off, len);
+            }
+        };
+    }
+
+    // Signals once the service starts reading, then holds the read until released
+    private static InputStream gatedStream(byte[] bytes, CountDownLatch reading, CountDownLatch release) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return super.read(buffer, off, len);
+            }
+        };
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean inClass(RecordedEvent event, Class<?> type) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().equals(type.getName()));
+    }
+
+    private void assertStaged(int expected) throws Exception {
+        try (var files = Files.list(uploadDir.resolve(LocalSubmissionStorage.STAGING_DIR))) {
+            assertEquals(expected, files.count());
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Admin.AdminRepository;
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Assignment.AssignmentRepository;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Group.GroupRepository;
+import com.example.demo.Level.LevelRepository;
+import com.example.demo.Program.ProgramRepository;
+import com.example.demo.Student.Student;
+import com.example.demo.Student.StudentRepository;
+import com.example.demo.Subject.SubjectRepository;
+import com.example.demo.Teacher.TeacherRepository;
+import com.example.demo.WorkReturn.SubmissionUploadService.StoredFile;
+import com.example.demo.WorkReturn.WorkReturnGradingService.GradeConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WorkReturnController.class)
+public class WorkReturnControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WorkReturnRepository workReturnRepository;
+
+    @MockBean
+    private StudentRepository studentRepository;
+
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+
+    @MockBean
+    private GradeRepository gradeRepository;
+
+    @MockBean
+    private SubmissionUploadService uploadService;
+
+    @MockBean
+    private SubmissionDownloadService downloadService;
+
+    @MockBean
+    private SubmissionRecordService records;
+
+    @MockBean
+    private WorkReturnGradingService gradingService;
+
+    @MockBean
+    private SubmissionPipeline pipeline;
+
+    @MockBean
+    private GroupDashboardService dashboards;
+
+    // Mock all repositories required by Application.testEverything
+    @MockBean
+    private LevelRepository levelRepository;
+    @MockBean
+    private SubjectRepository subjectRepository;
+    @MockBean
+    private TeacherRepository teacherRepository;
+    @MockBean
+    private GroupRepository groupRepository;
+    @MockBean
+    private ProgramRepository programRepository;
+    @MockBean
+    private AdminRepository adminRepository;
+
+    private WorkReturn first;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student();
+        student.setId(1L);
+
+        Assignment assignment = new Assignment();
+        assignment.setId(1L);
+        assignment.setTitle("Math Assignment");
+
+        first = new WorkReturn();
+        first.setId(10L);
+        first.setFilePath("/uploads/a.pdf");
+        first.setStudent(student);
+        first.setAssignment(assignment);
+    }
+
+    @Test
+    void testGetWorkReturns_FilteredByStudentInDatabase() throws Exception {
+        when(workReturnRepository.findPageByStudent(eq(1L), isNull(), eq(0L), eq(PageRequest.of(0, 100))))
+                .thenReturn(Arrays.asList(listItem(10L), listItem(11L)));
+
+        mockMvc.perform(get("/api/workreturns").param("studentId", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].studentName").value("Ada Lovelace"))
+                .andExpect(jsonPath("$[0].assignmentTitle").value("Math Assignment"))
+                .andExpect(jsonPath("$[0].originalFileName").value("essay.pdf"))
+                .andExpect(jsonPath("$[0].assignment").doesNotExist())
+                .andExpect(header().doesNotExist(WorkReturnController.NEXT_CURSOR_HEADER));
+
+        verify(workReturnRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetWorkReturns_FullPageReturnsNextCursor() throws Exception {
+        when(workReturnRepository.findPageByGroup(eq(3L), eq(false), eq(5L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(listItem(10L), listItem(11L)));
+
+        mockMvc.perform(get("/api/workreturns")
+                        .param("groupId", "3")
+                        .param("graded", "false")
+                        .param("after", "5")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(WorkReturnController.NEXT_CURSOR_HEADER, "11"));
+    }
+
+    @Test
+    void testGetWorkReturns_ByAssignment() throws Exception {
+        when(workReturnRepository.findPageByAssignment(eq(1L), eq(true), eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/api/workreturns")
+                        .param("assignmentId", "1")
+                        .param("graded", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(workReturnRepository).findPageByAssignment(eq(1L), eq(true), eq(0L), eq(PageRequest.of(0, 100)));
+    }
+
+    @Test
+    void testGetWorkReturns_UnfilteredIsPagedByDefault() throws Exception {
+        List<WorkReturnListItemDTO> page = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            page.add(listItem(id));
+        }
+        when(workReturnRepository.findPage(isNull(), eq(0L), eq(PageRequest.of(0, 100)))).thenReturn(page);
+
+        mockMvc.perform(get("/api/workreturns").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(100))
+                .andExpect(header().string(WorkReturnController.NEXT_CURSOR_HEADER, "100"));
+
+        verify(workReturnRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetWorkReturns_SeveralFiltersRejected() throws Exception {
+        mockMvc.perform(get("/api/workreturns")
+                        .param("studentId", "1")
+                        .param("assignmentId", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(workReturnRepository, never()).findPageByStudent(any(), any(), any(), any());
+    }
+
+    @Test
+    void testStreamWorkReturn_AcceptedAndQueuedForProcessing() throws Exception {
+        Student student = first.getStudent();
+        Assignment assignment = first.getAssignment();
+        StoredFile stored = new StoredFile(Path.of("essay.part"), "essay.pdf", 3L, "abc");
+        when(uploadService.store(any(), eq("essay.pdf"))).thenReturn(stored);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
+        when(records.record(any(WorkReturn.class), eq(stored))).thenAnswer(invocation -> {
+            WorkReturn saved = invocation.getArgument(0);
+            saved.setId(12L);
+            saved.setFilePath("/uploads/objects/ab/cd/abc");
+            saved.setOriginalFileName("essay.pdf");
+            return saved;
+        });
+
+        mockMvc.perform(post("/api/workreturns/stream")
+                        .param("assignmentId", "1").param("studentId", "1").param("fileName", "essay.pdf")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/workreturns/12/status"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.originalFileName").value("essay.pdf"))
+                .andExpect(jsonPath("$.statusUrl").value("/api/workreturns/12/status"));
+
+        verify(pipeline).submit(12L);
+        // The shared assignment row is no longer written on the upload path
+        verify(assignmentRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetProcessingStatus() throws Exception {
+        when(workReturnRepository.findProcessingState(10L)).thenReturn(Optional.of(
+                new WorkReturnProcessingState(10L, "/uploads/a.pdf", "a.pdf", ProcessingStatus.READY, 4, 1L, 2L)));
+        when(workReturnRepository.findProcessingState(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/workreturns/10/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("READY"))
+                .andExpect(jsonPath("$.pageCount").value(4));
+        mockMvc.perform(get("/api/workreturns/99/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdateWorkReturn_GradesWithVersion() throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", 10L);
+        result.put("fileUrl", "/uploads/a.pdf");
+        result.put("grade", 15);
+        result.put("version", 4L);
+        when(gradingService.applyGrade(10L, 15, 3L)).thenReturn(Optional.of(result));
+
+        mockMvc.perform(put("/api/workreturns/10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\": 15, \"version\": 3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grade").value(15))
+                .andExpect(jsonPath("$.version").value(4));
+
+        verify(workReturnRepository, never()).findById(any());
+        verify(workReturnRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateWorkReturn_StaleVersionConflicts() throws Exception {
+        when(gradingService.applyGrade(10L, 15, 3L)).thenThrow(new GradeConflictException(5L));
+
+        mockMvc.perform(put("/api/workreturns/10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\": 15, \"version\": 3}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void testUpdateWorkReturn_NotFoundAndInvalidGrade() throws Exception {
+        when(gradingService.applyGrade(eq(99L), any(), isNull())).thenReturn(Optional.empty());
+        when(gradingService.applyGrade(eq(10L), eq(150), isNull()))
+                .thenThrow(new IllegalArgumentException("Grade must be between 0 and 100"));
+
+        mockMvc.perform(put("/api/workreturns/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\": 15}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/workreturns/10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\": 150}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Grade must be between 0 and 100"));
+    }
+
+    @Test
+    void testGradeWorkReturns_Bulk() throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", 10L);
+        result.put("grade", 15);
+        when(gradingService.applyGrades(any())).thenReturn(Collections.singletonList(result));
+
+        mockMvc.perform(put("/api/workreturns/grades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"workReturnId\": 10, \"grade\": 15}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].grade").value(15));
+    }
+
+    @Test
+    void testGradeWorkReturns_InvalidRequest() throws Exception {
+        when(gradingService.applyGrades(any())).thenThrow(new IllegalArgumentException("WorkReturns not found: [99]"));
+
+        mockMvc.perform(put("/api/workreturns/grades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"workReturnId\": 99, \"grade\": 15}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("WorkReturns not found: [99]"));
+    }
+
+    @Test
+    void testDeleteWorkReturn_ReleasesStoredFile() throws Exception {
+        when(workReturnRepository.findById(10L)).thenReturn(Optional.of(first));
+
+        mockMvc.perform(delete("/api/workreturns/10"))
+                .andExpect(status().isNoContent());
+
+        verify(records).delete(first);
+        verify(downloadService).evict(10L);
+    }
+
+    @Test
+    void testDeleteWorkReturn_NotFound() throws Exception {
+        when(workReturnRepository.findById(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(delete("/api/workreturns/99"))
+                .andExpect(status().isNotFound());
+
+        verify(records, never()).delete(any());
+    }
+
+    private static WorkReturnListItemDTO listItem(Long id) {
+        return new WorkReturnListItemDTO(id, "/uploads/" + id + ".pdf", "essay.pdf", null, 0L, ProcessingStatus.READY,
+                null, 1L, "Ada", "Lovelace", 1L, "Math Assignment", "Not Started", "Math");
+    }
+}
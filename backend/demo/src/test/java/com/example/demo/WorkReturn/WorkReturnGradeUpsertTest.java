@@ -0,0 +1,115 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import com.example.demo.WorkReturn.WorkReturnGradingService.GradeConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The single-grade path against the migrated schema: the conditional UPDATE and the MERGE run as
+// real SQL (H2 in SQL Server mode), so a second grade must update the Grade row, not add one.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:schema-migration;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=GROUPS;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test", "prod"})
+@Import({WorkReturnGradingService.class, SubmissionStateService.class, GradebookService.class,
+        GroupDashboardService.class})
+public class WorkReturnGradeUpsertTest {
+
+    @Autowired
+    private WorkReturnGradingService gradingService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long workReturnId;
+
+    @BeforeEach
+    void setUp() {
+        Subject subject = entityManager.persist(new Subject("Math", null));
+        Student student = entityManager.persist(new Student("upsert@example.com", "secret", "Ada", "Lovelace"));
+        Assignment assignment = new Assignment();
+        assignment.setTitle("Essay");
+        assignment.setSubject(subject);
+        entityManager.persist(assignment);
+
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setFilePath("/uploads/essay.pdf");
+        workReturn.setStudent(student);
+        workReturn.setAssignment(assignment);
+        workReturnId = entityManager.persist(workReturn).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testApplyGrade_InsertsThenUpdatesOneGrade() {
+        Map<String, Object> first = gradingService.applyGrade(workReturnId, 12, null).orElseThrow();
+        assertEquals(12, first.get("grade"));
+        assertEquals(1L, first.get("version"));
+
+        Map<String, Object> second = gradingService.applyGrade(workReturnId, 17, 1L).orElseThrow();
+        assertEquals(17, second.get("grade"));
+        assertEquals(2L, second.get("version"));
+
+        Map<String, Object> grade = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS n, MAX(g.score) AS score, MAX(g.subject_id) AS subject_id FROM grades g "
+                        + "JOIN work_return wr ON wr.student_id = g.student_id AND wr.assignment_id = g.assignment_id "
+                        + "WHERE wr.id = ?", workReturnId);
+        assertEquals(1L, ((Number) grade.get("n")).longValue());
+        assertEquals(17.0, ((Number) grade.get("score")).doubleValue());
+        assertNotNull(grade.get("subject_id"));
+
+        // The student's gradebook summary follows the grade
+        Map<String, Object> summary = jdbcTemplate.queryForMap(
+                "SELECT gs.grade_count, gs.score_total FROM grade_summaries gs "
+                        + "JOIN work_return wr ON wr.student_id = gs.student_id WHERE wr.id = ?", workReturnId);
+        assertEquals(1, ((Number) summary.get("grade_count")).intValue());
+        assertEquals(17.0, ((Number) summary.get("score_total")).doubleValue());
+    }
+
+    @Test
+    void testApplyGrade_StaleVersionWritesNothing() {
+        gradingService.applyGrade(workReturnId, 12, null);
+
+        GradeConflictException conflict = assertThrows(GradeConflictException.class,
+                () -> gradingService.applyGrade(workReturnId, 18, 0L));
+        assertEquals(1L, conflict.getCurrentVersion());
+        assertEquals(12, jdbcTemplate.queryForObject(
+                "SELECT grade FROM work_return WHERE id = ?", Integer.class, workReturnId));
+    }
+
+    @Test
+    void testApplyGrade_MissingOrUngradable() {
+        assertTrue(gradingService.applyGrade(workReturnId + 1000, 12, null).isEmpty());
+
+        WorkReturn orphan = new WorkReturn();
+        orphan.setFilePath("/uploads/orphan.pdf");
+        Long orphanId = entityManager.persistAndFlush(orphan).getId();
+        assertThrows(IllegalArgumentException.class, () -> gradingService.applyGrade(orphanId, 12, null));
+        assertThrows(IllegalArgumentException.class, () -> gradingService.applyGrade(workReturnId, 101, null));
+    }
+}
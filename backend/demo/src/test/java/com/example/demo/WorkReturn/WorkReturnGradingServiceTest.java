@@ -0,0 +1,114 @@
+package com.example.demo.WorkReturn;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Grade.Grade;
+import com.example.demo.Grade.GradeRepository;
+import com.example.demo.Dashboard.GroupDashboardService;
+import com.example.demo.Gradebook.GradebookService;
+import com.example.demo.Student.Student;
+import com.example.demo.SubmissionState.SubmissionStateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorkReturnGradingServiceTest {
+
+    private WorkReturnGradingService service;
+    private WorkReturnRepository workReturnRepository;
+    private GradeRepository gradeRepository;
+
+    private Assignment assignment;
+    private WorkReturn first;
+    private WorkReturn second;
+
+    @BeforeEach
+    void setUp() {
+        workReturnRepository = mock(WorkReturnRepository.class);
+        gradeRepository = mock(GradeRepository.class);
+        service = new WorkReturnGradingService();
+        ReflectionTestUtils.setField(service, "workReturnRepository", workReturnRepository);
+        ReflectionTestUtils.setField(service, "gradeRepository", gradeRepository);
+        ReflectionTestUtils.setField(service, "submissionStates", mock(SubmissionStateService.class));
+        ReflectionTestUtils.setField(service, "gradebook", mock(GradebookService.class));
+        ReflectionTestUtils.setField(service, "dashboards", mock(GroupDashboardService.class));
+
+        assignment = new Assignment();
+        assignment.setId(7L);
+
+        first = workReturn(10L, student(1L));
+        second = workReturn(11L, student(2L));
+    }
+
+    @Test
+    void testApplyGrades_UpdatesExistingAndCreatesMissingGrades() {
+        Grade existing = new Grade(5.0, first.getStudent(), assignment);
+        when(workReturnRepository.findAllWithStudentAndAssignmentByIdIn(anyCollection()))
+                .thenReturn(Arrays.asList(first, second));
+        when(gradeRepository.findByStudentIdsAndAssignmentIds(anyCollection(), anyCollection()))
+                .thenReturn(Collections.singletonList(existing));
+
+        List<Map<String, Object>> results = service.applyGrades(Arrays.asList(
+                new WorkReturnGradeUpdate(10L, 15),
+                new WorkReturnGradeUpdate(11L, 18)));
+
+        assertEquals(2, results.size());
+        assertEquals(15, first.getGrade());
+        assertEquals(18, second.getGrade());
+        assertEquals(15.0, existing.getScore());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Grade>> saved = ArgumentCaptor.forClass(List.class);
+        verify(gradeRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(18.0, saved.getValue().get(0).getScore());
+        assertSame(second.getStudent(), saved.getValue().get(0).getStudent());
+    }
+
+    @Test
+    void testApplyGrades_UnknownWorkReturnRejectsWholeBatch() {
+        when(workReturnRepository.findAllWithStudentAndAssignmentByIdIn(anyCollection()))
+                .thenReturn(Collections.singletonList(first));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.applyGrades(Arrays.asList(
+                new WorkReturnGradeUpdate(10L, 15),
+                new WorkReturnGradeUpdate(99L, 12))));
+
+        assertTrue(e.getMessage().contains("99"));
+        verify(gradeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testApplyGrades_RejectsOutOfRangeGrade() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyGrades(Collections.singletonList(new WorkReturnGradeUpdate(10L, 101))));
+        verify(workReturnRepository, never()).findAllWithStudentAndAssignmentByIdIn(anyCollection());
+    }
+
+    private WorkReturn workReturn(Long id, Student student) {
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setId(id);
+        workReturn.setStudent(student);
+        workReturn.setAssignment(assignment);
+        return workReturn;
+    }
+
+    private static Student student(Long id) {
+        Student student = new Student();
+        student.setId(id);
+        return student;
+    }
+}
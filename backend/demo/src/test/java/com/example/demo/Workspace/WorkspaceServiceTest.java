@@ -0,0 +1,157 @@
+package com.example.demo.Workspace;
+
+import com.example.demo.Assignment.Assignment;
+import com.example.demo.Group.Group;
+import com.example.demo.Level.Level;
+import com.example.demo.Program.Program;
+import com.example.demo.Student.Student;
+import com.example.demo.Subject.Subject;
+import com.example.demo.Teacher.Teacher;
+import com.example.demo.WorkReturn.ProcessingStatus;
+import com.example.demo.WorkReturn.WorkReturn;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The workspace holds only the teacher's groups, and costs the same statements however many
+// groups, assignments and submissions it covers.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=",
+        "spring.datasource.url=jdbc:h2:mem:teacher-workspace;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Import(WorkspaceService.class)
+public class WorkspaceServiceTest {
+
+    @Autowired
+    private WorkspaceService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Teacher turing;
+    private Teacher hopper;
+    private Group groupA;
+    private Group groupB;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Level level = entityManager.persist(new Level("L1"));
+        groupA = entityManager.persist(new Group("A", level));
+        groupB = entityManager.persist(new Group("B", level));
+        Group other = entityManager.persist(new Group("C", level));
+        Subject math = entityManager.persist(new Subject("Math", level));
+        Subject physics = entityManager.persist(new Subject("Physics", level));
+        turing = entityManager.persist(new Teacher("turing@example.com", "secret", "Alan", "Turing"));
+        hopper = entityManager.persist(new Teacher("hopper@example.com", "secret", "Grace", "Hopper"));
+        entityManager.persist(new Program(turing, groupA, math));
+        entityManager.persist(new Program(turing, groupA, physics));
+        entityManager.persist(new Program(turing, groupB, math));
+        entityManager.persist(new Program(hopper, other, math));
+
+        Student ada = entityManager.persist(new Student("ada@example.com", "secret", "Ada", "Lovelace", level, groupA));
+        Student alan = entityManager.persist(new Student("kay@example.com", "secret", "Alan", "Kay", level, groupB));
+        Student linus = entityManager.persist(new Student("linus@example.com", "secret", "Linus", "T", level, other));
+        Assignment essay = assignment("Essay", groupA, math);
+        Assignment lab = assignment("Lab", groupB, null);
+        Assignment elsewhere = assignment("Elsewhere", other, math);
+        workReturn(ada, essay, 15);
+        workReturn(alan, lab, null);
+        workReturn(null, lab, null);
+        workReturn(linus, elsewhere, 11);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testTeacherWorkspace_JoinedInFixedStatements() {
+        Map<String, Object> workspace = service.getTeacherWorkspace(turing.getId()).orElseThrow();
+
+        List<WorkspaceProgramDTO> programs = list(workspace, "programs");
+        assertEquals(List.of("A|Math", "A|Physics", "B|Math"), programs.stream()
+                .map(p -> p.getGroupName() + "|" + p.getSubjectName()).toList());
+        assertEquals(List.of(groupA.getId(), groupB.getId()), this.<WorkspaceGroupDTO>list(workspace, "groups")
+                .stream().map(WorkspaceGroupDTO::getId).toList());
+
+        List<WorkspaceAssignmentDTO> assignments = list(workspace, "assignments");
+        assertEquals(List.of("Essay", "Lab"), assignments.stream().map(WorkspaceAssignmentDTO::getTitle).toList());
+        assertEquals("Math", assignments.get(0).getSubjectName());
+        assertNull(assignments.get(1).getSubjectName());
+
+        // Submissions without a student are left out, as in the per-group listing
+        List<WorkspaceWorkReturnDTO> workReturns = list(workspace, "workReturns");
+        assertEquals(2, workReturns.size());
+        assertEquals("Ada Lovelace", workReturns.get(0).getStudentName());
+        assertEquals("Essay", workReturns.get(0).getAssignmentTitle());
+        assertEquals("Math", workReturns.get(0).getSubjectName());
+        assertEquals(15, workReturns.get(0).getGrade());
+        assertEquals("Essay.pdf", workReturns.get(0).getOriginalFileName());
+        assertEquals(ProcessingStatus.READY, workReturns.get(0).getProcessingStatus());
+        assertEquals(groupB.getId(), workReturns.get(1).getGroupId());
+        assertNull(workReturns.get(1).getGrade());
+
+        assertEquals(5, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTeacherWorkspace_NoPrograms() {
+        Teacher newcomer = entityManager.persistFlushFind(new Teacher("new@example.com", "secret", "New", "Comer"));
+        statistics.clear();
+
+        Map<String, Object> workspace = service.getTeacherWorkspace(newcomer.getId()).orElseThrow();
+
+        assertTrue(this.<WorkspaceGroupDTO>list(workspace, "groups").isEmpty());
+        assertTrue(this.<WorkspaceWorkReturnDTO>list(workspace, "workReturns").isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTeacherWorkspace_TeacherNotFound() {
+        assertTrue(service.getTeacherWorkspace(hopper.getId() + 1000).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> list(Map<String, Object> workspace, String key) {
+        return (List<T>) workspace.get(key);
+    }
+
+    private Assignment assignment(String title, Group group, Subject subject) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle(title);
+        assignment.setGroup(group);
+        assignment.setSubject(subject);
+        return entityManager.persist(assignment);
+    }
+
+    private void workReturn(Student student, Assignment assignment, Integer grade) {
+        WorkReturn workReturn = new WorkReturn();
+        workReturn.setFilePath("/uploads/" + assignment.getTitle() + ".pdf");
+        workReturn.setOriginalFileName(assignment.getTitle() + ".pdf");
+        workReturn.setStudent(student);
+        workReturn.setAssignment(assignment);
+        workReturn.setProcessingStatus(ProcessingStatus.READY);
+        workReturn.setGrade(grade);
+        entityManager.persist(workReturn);
+    }
+}
@@ -0,0 +1,52 @@
+-- A database as the old ddl-auto=create setup left it: identity ids on students and grades, no
+-- upload columns on work_return, no submission_blobs, and generated constraint names.
+
+create table levels (id bigint identity not null, name varchar(255), primary key (id));
+create table subjects (id bigint identity not null, name varchar(255), level_id bigint, primary key (id));
+create table groups (id bigint identity not null, name varchar(255), level_id bigint, primary key (id));
+create table teachers (id bigint identity not null, email varchar(255) not null, password varchar(255) not null,
+    firstname varchar(255), lastname varchar(255), primary key (id));
+create table admins (id bigint identity not null, email varchar(255) not null, password varchar(255) not null,
+    firstname varchar(255), lastname varchar(255), institution_name varchar(255), primary key (id));
+create table students (id bigint identity not null, email varchar(255) not null, password varchar(255) not null,
+    firstname varchar(255), lastname varchar(255), level_id bigint, group_id bigint, primary key (id));
+create table programs (id bigint identity not null, teacher_id bigint not null, group_id bigint not null,
+    subject_id bigint not null, primary key (id));
+create table assignments (id bigint identity not null, title varchar(255), description varchar(5000),
+    delay datetime2(6), status varchar(50) default 'Not Started' not null, subject_id bigint, group_id bigint,
+    program_id bigint, primary key (id));
+create table grades (id bigint identity not null, score float(53), student_id bigint, assignment_id bigint,
+    subject_id bigint, primary key (id));
+create table work_return (id bigint identity not null, file_path varchar(255), created_at datetime2(6), grade int,
+    student_id bigint, assignment_id bigint, primary key (id));
+
+alter table admins add constraint UK_47bvqemyk6vlm0w7crc3opdd4 unique (email);
+alter table teachers add constraint UK_9sbwhjnq8k8cbwhhvlrqbccqq unique (email);
+alter table students add constraint UK_e2rndfrsx22acpq2ty1caeuyw unique (email);
+alter table subjects add constraint FK6d4xm9wgm2o3yxkvumnr7cdmb foreign key (level_id) references levels;
+alter table groups add constraint FKbjmy6oq3f7ngw2t8nqwyd6dh6 foreign key (level_id) references levels;
+alter table students add constraint FK9jcaosw6m6etm4rqvkb6pp9sk foreign key (level_id) references levels;
+alter table students add constraint FKmsev1nou0j86spuk5jrv19mss foreign key (group_id) references groups;
+alter table programs add constraint FKjx1s6xbkfph9ie6dx8c8q5wlg foreign key (teacher_id) references teachers;
+alter table programs add constraint FK2n7s8wyr6ckqsd3dnsw4u7ugl foreign key (group_id) references groups;
+alter table programs add constraint FKq0hv1fgbn1k7lhmqcxrw3r1nl foreign key (subject_id) references subjects;
+alter table assignments add constraint FK6q5c9x0lqcefkrfnvbe3uygda foreign key (subject_id) references subjects;
+alter table assignments add constraint FKhy2f6i0h8qsp0l8pcn4hgkpb5 foreign key (group_id) references groups;
+alter table assignments add constraint FKk5ivhh8ybx5dyjwksjqpvc0e1 foreign key (program_id) references programs;
+alter table grades add constraint FK5tlpbgk8nlw3bq5vvkwq7fbp8 foreign key (student_id) references students;
+alter table grades add constraint FKopx2fr1j8gbpw4bnx0m5ywr36 foreign key (assignment_id) references assignments;
+alter table grades add constraint FKhjnn6nhwr2jqcbs6ge5arx0mq foreign key (subject_id) references subjects;
+alter table work_return add constraint FK1rnd3jccx3qg8qxo5dmb8g4ua foreign key (student_id) references students;
+alter table work_return add constraint FKt1l1d9s6a7wqpi3h9c0n3m2kx foreign key (assignment_id) references assignments;
+
+insert into levels (name) values ('L1');
+insert into groups (name, level_id) values ('G1', 1);
+insert into subjects (name, level_id) values ('Maths', 1);
+insert into teachers (email, password) values ('t@school.com', 'pw');
+insert into programs (teacher_id, group_id, subject_id) values (1, 1, 1);
+insert into assignments (title, subject_id, group_id, program_id) values ('Homework', 1, 1, 1);
+insert into students (email, password, level_id, group_id) values ('a@school.com', 'pw', 1, 1);
+insert into students (email, password, level_id, group_id) values ('b@school.com', 'pw', 1, 1);
+insert into grades (score, student_id, assignment_id, subject_id) values (12, 1, 1, 1);
+insert into grades (score, student_id, assignment_id, subject_id) values (15, 2, 1, 1);
+insert into work_return (file_path, grade, student_id, assignment_id) values ('/uploads/old.pdf', 12, 1, 1);
@@ -166,6 +166,9 @@ public class LoginActivity extends AppCompatActivity {
         editor.putLong("user_id", userId);
         editor.putString("email", loginResponse.getEmail());
         editor.putString("role", loginResponse.getRole());
+        // Restored into ApiClient by SchoolApplication when the process restarts
+        editor.putString("token", loginResponse.getToken());
+        ApiClient.setAuthToken(loginResponse.getToken());
 
         // Save specific role-based IDs
         String roleStr = loginResponse.getRole();
@@ -189,8 +192,18 @@ public class LoginActivity extends AppCompatActivity {
                 return;
         }
 
-        // Fetch student details if role is STUDENT to get group_id
-        if (role == UserRole.STUDENT) {
+        // The login response carries the student's group; older servers need the extra lookup
+        if (role == UserRole.STUDENT && loginResponse.getGroupId() != null) {
+            editor.putLong("group_id", loginResponse.getGroupId());
+            if (!editor.commit()) {
+                Log.e(TAG, "Failed to commit SharedPreferences");
+                Toast.makeText(this, "Failed to save login data", Toast.LENGTH_LONG).show();
+                return;
+            }
+            Log.d(TAG, "Student logged in: student_id=" + userId + ", group_id=" + loginResponse.getGroupId());
+            navigateToDashboard(role);
+        } else if (role == UserRole.STUDENT) {
+            // Fetch student details if role is STUDENT to get group_id
             ApiService apiService = ApiClient.getClient().create(ApiService.class);
             Call<Student> studentCall = apiService.getStudentByEmail(email);
             studentCall.enqueue(new Callback<Student>() {
@@ -0,0 +1,18 @@
+package com.example.schoolapp;
+
+import android.app.Application;
+import android.content.SharedPreferences;
+
+import com.example.schoolapp.service.ApiClient;
+
+public class SchoolApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Android may recreate a dashboard straight after process death, skipping login,
+        // so put the saved session token back before any activity calls the API
+        SharedPreferences prefs = getSharedPreferences("user_prefs", MODE_PRIVATE);
+        ApiClient.setAuthToken(prefs.getString("token", null));
+    }
+}
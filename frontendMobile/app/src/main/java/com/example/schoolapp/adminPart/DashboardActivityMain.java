@@ -89,6 +89,7 @@ public class DashboardActivityMain extends AppCompatActivity {
             Log.d(TAG, "Logging out");
             // Clear shared preferences
             getSharedPreferences("user_prefs", MODE_PRIVATE).edit().clear().apply();
+            ApiClient.setAuthToken(null);
             // Navigate to LoginActivity
             Intent intent = new Intent(DashboardActivityMain.this, LoginActivity.class);
             intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK); // Clear back stack
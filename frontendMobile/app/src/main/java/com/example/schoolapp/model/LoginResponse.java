@@ -12,6 +12,12 @@ public class LoginResponse {
     @SerializedName("role")
     private String role;
 
+    @SerializedName("groupId")
+    private Long groupId;
+
+    @SerializedName("token")
+    private String token;
+
     public Long getId() {
         return id;
     }
@@ -36,6 +42,22 @@ public class LoginResponse {
         this.role = role;
     }
 
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
     @Override
     public String toString() {
         return "LoginResponse{id=" + id + ", email='" + email + "', role='" + role + "'}";
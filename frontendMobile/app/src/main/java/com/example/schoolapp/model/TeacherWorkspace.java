@@ -0,0 +1,22 @@
+package com.example.schoolapp.model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A teacher's groups and the submissions to them, with names already joined by the backend
+public class TeacherWorkspace {
+    @SerializedName("teacherId")
+    private Long teacherId;
+
+    @SerializedName("groups")
+    private List<Group> groups = new ArrayList<>();
+
+    @SerializedName("workReturns")
+    private List<WorkReturn> workReturns = new ArrayList<>();
+
+    public Long getTeacherId() { return teacherId; }
+    public List<Group> getGroups() { return groups; }
+    public List<WorkReturn> getWorkReturns() { return workReturns; }
+}
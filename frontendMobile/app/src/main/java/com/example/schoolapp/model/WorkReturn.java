@@ -12,15 +12,25 @@ public class WorkReturn {
     @SerializedName("assignment")
     private Assignment assignment;
 
-    @SerializedName("fileUrl")
+    @SerializedName(value = "fileUrl", alternate = {"filePath"})
     private String fileUrl; // URL or path to the submitted file
 
+    @SerializedName("originalFileName")
+    private String originalFileName; // Name the file was uploaded with; stored paths are content hashes
+
+    @SerializedName("processingStatus")
+    private String processingStatus; // PENDING, READY or REJECTED; only READY files can be downloaded
+
     @SerializedName("grade")
     private String grade; // Or Integer, depending on your backend
 
-    private String studentName; // Enriched field
-    private String assignmentName; // Enriched field
-    private String subjectName; // Enriched field
+    // Enriched fields, filled in by the teacher workspace endpoint
+    @SerializedName("studentName")
+    private String studentName;
+    @SerializedName(value = "assignmentName", alternate = {"assignmentTitle"})
+    private String assignmentName;
+    @SerializedName("subjectName")
+    private String subjectName;
 
     // Getters and setters
     public Long getId() { return id; }
@@ -31,6 +41,10 @@ public class WorkReturn {
     public void setAssignment(Assignment assignment) { this.assignment = assignment; }
     public String getFileUrl() { return fileUrl; }
     public void setFileUrl(String fileUrl) { this.fileUrl = fileUrl; }
+    public String getOriginalFileName() { return originalFileName; }
+    public void setOriginalFileName(String originalFileName) { this.originalFileName = originalFileName; }
+    public String getProcessingStatus() { return processingStatus; }
+    public void setProcessingStatus(String processingStatus) { this.processingStatus = processingStatus; }
     public String getGrade() { return grade; }
     public void setGrade(String grade) { this.grade = grade; }
     public String getStudentName() { return studentName; }
@@ -40,7 +54,11 @@ public class WorkReturn {
     public String getSubjectName() { return subjectName; }
     public void setSubjectName(String subjectName) { this.subjectName = subjectName; }
 
+    public boolean isDownloadable() {
+        return "READY".equals(processingStatus); // Pending files are still being scanned, rejected ones are no longer served
+    }
+
     public String getFilePath() {
-        return fileUrl; // Backend provides a path like "/uploads/<filename>", so return as-is
+        return fileUrl; // Backend provides a path like "/uploads/objects/ab/cd/<sha256>", so return as-is
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.schoolapp.model;
+
+import com.google.gson.annotations.SerializedName;
+
+public class WorkReturnGradeUpdate {
+    @SerializedName("workReturnId")
+    private Long workReturnId;
+
+    @SerializedName("grade")
+    private Integer grade;
+
+    public WorkReturnGradeUpdate(Long workReturnId, Integer grade) {
+        this.workReturnId = workReturnId;
+        this.grade = grade;
+    }
+
+    public Long getWorkReturnId() {
+        return workReturnId;
+    }
+
+    public void setWorkReturnId(Long workReturnId) {
+        this.workReturnId = workReturnId;
+    }
+
+    public Integer getGrade() {
+        return grade;
+    }
+
+    public void setGrade(Integer grade) {
+        this.grade = grade;
+    }
+}
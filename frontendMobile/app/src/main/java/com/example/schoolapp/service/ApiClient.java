@@ -10,12 +10,27 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public class ApiClient {
     private static final String BASE_URL = "http://192.168.1.33:8080/"; // Updated to your machine's IP
     private static Retrofit retrofit;
+    private static volatile String authToken;
+
+    /** Session token from the login response, sent as "Authorization: Bearer" on every call. */
+    public static void setAuthToken(String token) {
+        authToken = token;
+    }
 
     public static Retrofit getClient() {
         if (retrofit == null) {
             HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
             interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
             OkHttpClient client = new OkHttpClient.Builder()
+                    .addInterceptor(chain -> {
+                        String token = authToken;
+                        if (token == null) {
+                            return chain.proceed(chain.request());
+                        }
+                        return chain.proceed(chain.request().newBuilder()
+                                .header("Authorization", "Bearer " + token)
+                                .build());
+                    })
                     .addInterceptor(interceptor)
                     .build();
 
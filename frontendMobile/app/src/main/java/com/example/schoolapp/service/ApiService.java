@@ -99,6 +99,10 @@ public interface ApiService {
     @GET("api/programs/teacher/{teacherId}")
     Call<List<Program>> getProgramsByTeacher(@Path("teacherId") Long teacherId);
 
+    // Programs, groups, assignments and submissions of one teacher, names joined, in one request
+    @GET("api/workspace/teachers/{teacherId}")
+    Call<TeacherWorkspace> getTeacherWorkspace(@Path("teacherId") Long teacherId);
+
     // Work Returns
     @GET("api/workreturns")
     Call<List<WorkReturn>> getWorkReturns();
@@ -130,12 +134,15 @@ public interface ApiService {
 
     @DELETE("api/assignments/{id}")
     Call<Void> deleteAssignment(@Path("id") Long id);
-    @GET("api/assignments") // Same endpoint, different return type
+    @GET("api/assignments?include=subject,group,program") // Same endpoint, with nested objects
     Call<List<Assignment>> getAssignmentsAsAssignment();
     // Grades
     @GET("api/grades")
     Call<List<Grade>> getGrades();
 
+    @GET("api/grades")
+    Call<List<GradeDTO>> getGradesByStudent(@Query("studentId") Long studentId);
+
     @GET("api/grades/{id}")
     Call<Grade> getGrade(@Path("id") Long id);
 
@@ -196,6 +203,10 @@ public interface ApiService {
     // New method for updating a grade
     @PUT("api/workreturns/{workReturnId}")
     Call<WorkReturn> updateWorkReturnGrade(@Path("workReturnId") Long workReturnId, @Body WorkReturn workReturn);
+
+    // Grades several submissions in one request
+    @PUT("api/workreturns/grades")
+    Call<List<Map<String, Object>>> gradeWorkReturns(@Body List<WorkReturnGradeUpdate> updates);
     @DELETE("api/workreturns/{id}")
     Call<Void> deleteWorkReturn(@Path("id") Long id);
 
@@ -7,14 +7,12 @@ import android.widget.ListView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.schoolapp.R;
-import com.example.schoolapp.model.Grade;
 import com.example.schoolapp.model.GradeDTO;
 import com.example.schoolapp.service.ApiClient;
 import com.example.schoolapp.service.ApiService;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import java.util.ArrayList;
 import java.util.List;
 
 public class CheckGradesActivity extends AppCompatActivity {
@@ -22,7 +20,6 @@ public class CheckGradesActivity extends AppCompatActivity {
     private ApiService apiService;
     private Long studentId;
     private ListView listViewGrades;
-    private List<Grade> gradeList = new ArrayList<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,21 +48,13 @@ public class CheckGradesActivity extends AppCompatActivity {
     }
 
     private void fetchGrades() {
-        Call<List<Grade>> call = apiService.getGrades(); // Fetching List<Grade>
-        call.enqueue(new Callback<List<Grade>>() {
+        // The backend filters by student and returns flat rows, so there is nothing to filter or convert here
+        Call<List<GradeDTO>> call = apiService.getGradesByStudent(studentId);
+        call.enqueue(new Callback<List<GradeDTO>>() {
             @Override
-            public void onResponse(Call<List<Grade>> call, Response<List<Grade>> response) {
+            public void onResponse(Call<List<GradeDTO>> call, Response<List<GradeDTO>> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    gradeList.clear();
-                    gradeList.addAll(response.body());
-                    // Convert Grade to GradeDTO and filter
-                    List<GradeDTO> gradeDTOs = convertToGradeDTOs(gradeList);
-                    List<GradeDTO> studentGradeDTOs = new ArrayList<>();
-                    for (GradeDTO gradeDTO : gradeDTOs) {
-                        if (gradeDTO.getStudentId() != null && gradeDTO.getStudentId().equals(studentId)) {
-                            studentGradeDTOs.add(gradeDTO);
-                        }
-                    }
+                    List<GradeDTO> studentGradeDTOs = response.body();
                     // Use ArrayAdapter with GradeDTO (toString will be used for display)
                     android.widget.ArrayAdapter<GradeDTO> adapter = new android.widget.ArrayAdapter<>(
                             CheckGradesActivity.this, android.R.layout.simple_list_item_1, studentGradeDTOs);
@@ -78,29 +67,10 @@ public class CheckGradesActivity extends AppCompatActivity {
             }
 
             @Override
-            public void onFailure(Call<List<Grade>> call, Throwable t) {
+            public void onFailure(Call<List<GradeDTO>> call, Throwable t) {
                 Log.e(TAG, "Network error fetching grades: " + t.getMessage(), t);
                 Toast.makeText(CheckGradesActivity.this, "Network error", Toast.LENGTH_SHORT).show();
             }
         });
     }
-
-    private List<GradeDTO> convertToGradeDTOs(List<Grade> grades) {
-        List<GradeDTO> gradeDTOs = new ArrayList<>();
-        for (Grade grade : grades) {
-            String assignmentName = null;
-            if (grade.getAssignment() != null && grade.getAssignment().getTitle() != null) {
-                assignmentName = grade.getAssignment().getTitle();
-            }
-            GradeDTO gradeDTO = new GradeDTO(
-                    grade.getScore(),
-                    grade.getStudent() != null && grade.getStudent().getId() != null ? grade.getStudent().getId() : null,
-                    grade.getSubject() != null && grade.getSubject().getId() != null ? grade.getSubject().getId() : null,
-                    grade.getAssignment() != null && grade.getAssignment().getId() != null ? grade.getAssignment().getId() : null,
-                    assignmentName
-            );
-            gradeDTOs.add(gradeDTO);
-        }
-        return gradeDTOs;
-    }
-}
\ No newline at end of file
+}
@@ -65,6 +65,7 @@ public class StudentDashboardActivity extends AppCompatActivity {
         buttonLogout.setOnClickListener(v -> {
             Log.d(TAG, "Logging out");
             getSharedPreferences("user_prefs", MODE_PRIVATE).edit().clear().apply();
+            ApiClient.setAuthToken(null);
             startActivity(new Intent(this, LoginActivity.class));
             finish();
         });
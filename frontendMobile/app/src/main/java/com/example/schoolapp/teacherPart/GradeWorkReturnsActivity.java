@@ -7,23 +7,23 @@ import android.os.Bundle;
 import android.os.Environment;
 import android.util.Log;
 import android.view.View;
+import android.widget.Button;
 import android.widget.ListView;
 import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.schoolapp.R;
-import com.example.schoolapp.model.Assignment;
-import com.example.schoolapp.model.Program;
-import com.example.schoolapp.model.Student;
+import com.example.schoolapp.model.TeacherWorkspace;
 import com.example.schoolapp.model.WorkReturn;
+import com.example.schoolapp.model.WorkReturnGradeUpdate;
 import com.example.schoolapp.service.ApiClient;
 import com.example.schoolapp.service.ApiService;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -34,15 +34,14 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
     private static final String PREF_TEACHER_ID = "teacher_id";
     private ApiService apiService;
     private ListView listViewWorkReturns;
+    private Button buttonSaveGrades;
     private List<WorkReturn> workReturnList = new ArrayList<>();
     private WorkReturnAdapter adapter;
     private Long teacherId;
-    private Set<Long> groupIds = new HashSet<>();
-    private List<Student> students = new ArrayList<>();
-    private List<com.example.schoolapp.model.Subject> subjects = new ArrayList<>();
-    private List<Assignment> assignments = new ArrayList<>();
     private boolean isLoading = false;
     private String errorMessage = null;
+    // Grades entered but not yet sent; saved together with one bulk request
+    private final Map<Long, Integer> pendingGrades = new LinkedHashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -65,103 +64,35 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
         adapter = new WorkReturnAdapter(this, workReturnList, this);
         listViewWorkReturns.setAdapter(adapter);
 
-        fetchReferenceData();
+        buttonSaveGrades = findViewById(R.id.buttonSaveGrades);
+        buttonSaveGrades.setOnClickListener(v -> saveGrades());
+
+        fetchWorkspace();
     }
 
-    private void fetchReferenceData() {
+    // One request for everything the screen shows; names come joined from the backend
+    private void fetchWorkspace() {
         isLoading = true;
         updateUI();
 
-        Call<List<Student>> studentsCall = apiService.getStudents();
-        Call<List<com.example.schoolapp.model.Subject>> subjectsCall = apiService.getSubjects();
-        Call<List<Assignment>> assignmentsCall = apiService.getAssignmentsAsAssignment();
-
-        studentsCall.enqueue(new Callback<List<Student>>() {
-            @Override
-            public void onResponse(Call<List<Student>> call, Response<List<Student>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    students = response.body();
-                    Log.d(TAG, "Fetched " + students.size() + " students");
-                } else {
-                    Log.e(TAG, "Failed to fetch students: " + response.code());
-                }
-                checkReferenceDataLoaded();
-            }
-
-            @Override
-            public void onFailure(Call<List<Student>> call, Throwable t) {
-                Log.e(TAG, "Network error fetching students: " + t.getMessage());
-                checkReferenceDataLoaded();
-            }
-        });
-
-        subjectsCall.enqueue(new Callback<List<com.example.schoolapp.model.Subject>>() {
-            @Override
-            public void onResponse(Call<List<com.example.schoolapp.model.Subject>> call, Response<List<com.example.schoolapp.model.Subject>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    subjects = response.body();
-                    Log.d(TAG, "Fetched " + subjects.size() + " subjects");
-                } else {
-                    Log.e(TAG, "Failed to fetch subjects: " + response.code());
-                }
-                checkReferenceDataLoaded();
-            }
-
+        Call<TeacherWorkspace> call = apiService.getTeacherWorkspace(teacherId);
+        call.enqueue(new Callback<TeacherWorkspace>() {
             @Override
-            public void onFailure(Call<List<com.example.schoolapp.model.Subject>> call, Throwable t) {
-                Log.e(TAG, "Network error fetching subjects: " + t.getMessage());
-                checkReferenceDataLoaded();
-            }
-        });
-
-        assignmentsCall.enqueue(new Callback<List<Assignment>>() {
-            @Override
-            public void onResponse(Call<List<Assignment>> call, Response<List<Assignment>> response) {
+            public void onResponse(Call<TeacherWorkspace> call, Response<TeacherWorkspace> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    assignments = response.body();
-                    Log.d(TAG, "Fetched " + assignments.size() + " assignments");
-                } else {
-                    Log.e(TAG, "Failed to fetch assignments: " + response.code());
-                }
-                checkReferenceDataLoaded();
-            }
-
-            @Override
-            public void onFailure(Call<List<Assignment>> call, Throwable t) {
-                Log.e(TAG, "Network error fetching assignments: " + t.getMessage());
-                checkReferenceDataLoaded();
-            }
-        });
-    }
-
-    private void checkReferenceDataLoaded() {
-        if (!students.isEmpty() && !subjects.isEmpty() && !assignments.isEmpty()) {
-            fetchProgramsAndWorkReturns();
-        }
-    }
-
-    private void fetchProgramsAndWorkReturns() {
-        Call<List<Program>> call = apiService.getProgramsByTeacher(teacherId);
-        call.enqueue(new Callback<List<Program>>() {
-            @Override
-            public void onResponse(Call<List<Program>> call, Response<List<Program>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Program> programs = response.body();
-                    Log.d(TAG, "Fetched " + programs.size() + " programs for teacher ID: " + teacherId);
-                    groupIds.clear();
-                    for (Program program : programs) {
-                        if (program.getGroup() != null && program.getGroup().getId() != null) {
-                            groupIds.add(program.getGroup().getId());
-                        }
-                    }
-                    Log.d(TAG, "Extracted group IDs: " + groupIds);
-                    if (groupIds.isEmpty()) {
-                        Log.w(TAG, "No groups found for teacher ID: " + teacherId);
-                        Toast.makeText(GradeWorkReturnsActivity.this, "No groups assigned to this teacher.", Toast.LENGTH_SHORT).show();
-                        fetchAllWorkReturnsAsFallback();
-                        return;
+                    TeacherWorkspace workspace = response.body();
+                    workReturnList.clear();
+                    workReturnList.addAll(workspace.getWorkReturns());
+                    adapter.notifyDataSetChanged();
+                    Log.d(TAG, "Fetched " + workspace.getGroups().size() + " groups and " + workReturnList.size()
+                            + " work returns for teacher ID: " + teacherId);
+                    if (workspace.getGroups().isEmpty()) {
+                        errorMessage = "No groups assigned to this teacher.";
+                    } else if (workReturnList.isEmpty()) {
+                        errorMessage = "No submissions found for your groups.";
+                    } else {
+                        errorMessage = null;
                     }
-                    fetchWorkReturnsForGroups();
                 } else {
                     String errorBody = "N/A";
                     try {
@@ -169,155 +100,19 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
                     } catch (IOException e) {
                         Log.e(TAG, "Error reading error body: " + e.getMessage());
                     }
-                    Log.e(TAG, "Failed to fetch programs: " + response.code() + ", Body: " + errorBody);
-                    errorMessage = "Failed to fetch programs for teacher: " + response.code() + " (" + errorBody + ")";
-                    isLoading = false;
-                    updateUI();
-                    Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                    fetchAllWorkReturnsAsFallback();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<Program>> call, Throwable t) {
-                Log.e(TAG, "Network error fetching programs: " + t.getMessage());
-                errorMessage = "Network error: " + t.getMessage();
-                isLoading = false;
-                updateUI();
-                Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                fetchAllWorkReturnsAsFallback();
-            }
-        });
-    }
-
-    private void fetchWorkReturnsForGroups() {
-        workReturnList.clear();
-        int groupCount = groupIds.size();
-        final int[] completedRequests = {0};
-
-        for (Long groupId : groupIds) {
-            Call<List<WorkReturn>> call = apiService.getAllWorkReturns(groupId, null);
-            call.enqueue(new Callback<List<WorkReturn>>() {
-                @Override
-                public void onResponse(Call<List<WorkReturn>> call, Response<List<WorkReturn>> response) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        List<WorkReturn> fetchedWorkReturns = response.body();
-                        for (WorkReturn wr : fetchedWorkReturns) {
-                            Student student = students.stream()
-                                    .filter(s -> s.getId().equals(wr.getStudent() != null ? wr.getStudent().getId() : -1))
-                                    .findFirst()
-                                    .orElse(null);
-                            Assignment assignment = assignments.stream()
-                                    .filter(a -> a.getId().equals(wr.getAssignment() != null ? wr.getAssignment().getId() : -1))
-                                    .findFirst()
-                                    .orElse(null);
-                            com.example.schoolapp.model.Subject subject = assignment != null
-                                    ? subjects.stream()
-                                    .filter(s -> s.getId().equals(assignment.getSubjectId()))
-                                    .findFirst()
-                                    .orElse(null)
-                                    : null;
-
-                            wr.setStudentName(student != null
-                                    ? student.getFirstname() + " " + student.getLastname()
-                                    : "Unknown Student");
-                            wr.setAssignmentName(assignment != null ? assignment.getTitle() : "Unknown Assignment");
-                            wr.setSubjectName(subject != null ? subject.getName() : "Unknown Subject");
-                            Log.d(TAG, "WorkReturn ID: " + wr.getId() + ", File Path: " + wr.getFilePath() + ", Student: " + wr.getStudent() + ", Assignment: " + wr.getAssignment());
-                        }
-                        workReturnList.addAll(fetchedWorkReturns);
-                        adapter.notifyDataSetChanged();
-                        Log.d(TAG, "Fetched " + fetchedWorkReturns.size() + " work returns for group ID: " + groupId + ". Total: " + workReturnList.size());
-                    } else {
-                        Log.e(TAG, "Failed to fetch work returns for group ID " + groupId + ": " + response.code() + ", Message: " + response.message());
-                    }
-                    completedRequests[0]++;
-                    checkIfAllRequestsCompleted(completedRequests[0], groupCount);
-                }
-
-                @Override
-                public void onFailure(Call<List<WorkReturn>> call, Throwable t) {
-                    Log.e(TAG, "Network error fetching work returns for group ID " + groupId + ": " + t.getMessage());
-                    completedRequests[0]++;
-                    checkIfAllRequestsCompleted(completedRequests[0], groupCount);
+                    Log.e(TAG, "Failed to fetch workspace: " + response.code() + ", Body: " + errorBody);
+                    errorMessage = "Failed to fetch submissions: " + response.code() + " (" + errorBody + ")";
                 }
-            });
-        }
-    }
-
-    private void checkIfAllRequestsCompleted(int completed, int total) {
-        if (completed == total) {
-            if (workReturnList.isEmpty()) {
-                Log.w(TAG, "No submissions found for any groups.");
-                errorMessage = "No submissions found for your groups.";
                 isLoading = false;
                 updateUI();
-                Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                fetchAllWorkReturnsAsFallback();
-            } else {
-                isLoading = false;
-                errorMessage = null;
-                updateUI();
             }
-        }
-    }
 
-    private void fetchAllWorkReturnsAsFallback() {
-        Call<List<WorkReturn>> call = apiService.getWorkReturns();
-        call.enqueue(new Callback<List<WorkReturn>>() {
             @Override
-            public void onResponse(Call<List<WorkReturn>> call, Response<List<WorkReturn>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    workReturnList.clear();
-                    List<WorkReturn> fetchedWorkReturns = response.body();
-                    for (WorkReturn wr : fetchedWorkReturns) {
-                        Student student = students.stream()
-                                .filter(s -> s.getId().equals(wr.getStudent() != null ? wr.getStudent().getId() : -1))
-                                .findFirst()
-                                .orElse(null);
-                        Assignment assignment = assignments.stream()
-                                .filter(a -> a.getId().equals(wr.getAssignment() != null ? wr.getAssignment().getId() : -1))
-                                .findFirst()
-                                .orElse(null);
-                        com.example.schoolapp.model.Subject subject = assignment != null
-                                ? subjects.stream()
-                                .filter(s -> s.getId().equals(assignment.getSubjectId()))
-                                .findFirst()
-                                .orElse(null)
-                                : null;
-
-                        wr.setStudentName(student != null
-                                ? student.getFirstname() + " " + student.getLastname()
-                                : "Unknown Student");
-                        wr.setAssignmentName(assignment != null ? assignment.getTitle() : "Unknown Assignment");
-                        wr.setSubjectName(subject != null ? subject.getName() : "Unknown Subject");
-                        Log.d(TAG, "WorkReturn ID: " + wr.getId() + ", File Path: " + wr.getFilePath() + ", Student: " + wr.getStudent() + ", Assignment: " + wr.getAssignment());
-                    }
-                    workReturnList.addAll(fetchedWorkReturns);
-                    adapter.notifyDataSetChanged();
-                    Log.d(TAG, "Fetched " + workReturnList.size() + " work returns as fallback. Total: " + workReturnList.size());
-                    if (workReturnList.isEmpty()) {
-                        errorMessage = "No submissions found in the system.";
-                        Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                    } else {
-                        errorMessage = null;
-                    }
-                } else {
-                    Log.e(TAG, "Failed to fetch all work returns: " + response.code() + ", Message: " + response.message());
-                    errorMessage = "Failed to fetch submissions: " + response.code();
-                    Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
-                }
-                isLoading = false;
-                updateUI();
-            }
-
-            @Override
-            public void onFailure(Call<List<WorkReturn>> call, Throwable t) {
-                Log.e(TAG, "Network error fetching all work returns: " + t.getMessage());
+            public void onFailure(Call<TeacherWorkspace> call, Throwable t) {
+                Log.e(TAG, "Network error fetching workspace: " + t.getMessage());
                 errorMessage = "Network error: " + t.getMessage();
                 isLoading = false;
                 updateUI();
-                Toast.makeText(GradeWorkReturnsActivity.this, errorMessage, Toast.LENGTH_SHORT).show();
             }
         });
     }
@@ -357,6 +152,11 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
             Toast.makeText(this, "WorkReturn not available", Toast.LENGTH_SHORT).show();
             return;
         }
+        if (!workReturn.isDownloadable()) {
+            Log.d(TAG, "WorkReturn ID: " + workReturnId + " is " + workReturn.getProcessingStatus() + ", not downloadable");
+            Toast.makeText(this, "File not available for download", Toast.LENGTH_SHORT).show();
+            return;
+        }
         String filePath = workReturn.getFilePath();
         if (filePath == null) {
             Log.e(TAG, "FilePath is null for WorkReturn ID: " + workReturnId);
@@ -373,8 +173,10 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
             public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     try {
-                        String fileName = filePath.substring(filePath.lastIndexOf('/') + 1);
-                        if (fileName.isEmpty()) fileName = "submission_" + workReturnId + ".pdf";
+                        // The stored path ends in a content hash, not a file name
+                        String fileName = workReturn.getOriginalFileName();
+                        if (fileName == null || fileName.isEmpty()) fileName = "submission_" + workReturnId + ".pdf";
+                        fileName = new File(fileName).getName(); // Never write outside Downloads
                         File destinationFile = new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS), fileName);
                         java.io.FileOutputStream outputStream = new java.io.FileOutputStream(destinationFile);
                         outputStream.write(response.body().bytes());
@@ -415,17 +217,29 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
 
         builder.setPositiveButton("Submit", (dialog, which) -> {
             String grade = input.getText().toString();
-            if (!grade.isEmpty()) {
-                WorkReturn workReturn = workReturnList.stream()
-                        .filter(wr -> wr.getId().equals(workReturnId))
-                        .findFirst()
-                        .orElse(null);
-                if (workReturn != null) {
-                    workReturn.setGrade(grade);
-                    updateGrade(workReturnId, grade);
-                }
-            } else {
+            if (grade.isEmpty()) {
                 Toast.makeText(GradeWorkReturnsActivity.this, "Please enter a grade", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(grade);
+            } catch (NumberFormatException e) {
+                value = -1;
+            }
+            if (value < 0 || value > 100) {
+                Toast.makeText(GradeWorkReturnsActivity.this, "Grade must be between 0 and 100", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            WorkReturn workReturn = workReturnList.stream()
+                    .filter(wr -> wr.getId().equals(workReturnId))
+                    .findFirst()
+                    .orElse(null);
+            if (workReturn != null) {
+                workReturn.setGrade(grade);
+                pendingGrades.put(workReturnId, value);
+                adapter.notifyDataSetChanged();
+                updateSaveButton();
             }
         });
         builder.setNegativeButton("Cancel", (dialog, which) -> dialog.cancel());
@@ -433,33 +247,53 @@ public class GradeWorkReturnsActivity extends AppCompatActivity implements OnAct
         builder.show();
     }
 
-    private void updateGrade(Long workReturnId, String grade) {
-        WorkReturn workReturn = new WorkReturn();
-        workReturn.setId(workReturnId);
-        workReturn.setGrade(grade);
-        Call<WorkReturn> call = apiService.updateWorkReturnGrade(workReturnId, workReturn);
-        call.enqueue(new Callback<WorkReturn>() {
+    private void updateSaveButton() {
+        buttonSaveGrades.setEnabled(!pendingGrades.isEmpty());
+        buttonSaveGrades.setText(pendingGrades.isEmpty() ? "Save Grades" : "Save Grades (" + pendingGrades.size() + ")");
+    }
+
+    private void saveGrades() {
+        if (pendingGrades.isEmpty()) {
+            Toast.makeText(this, "No grades to save", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        // Snapshot what is sent so grades entered while the request is in flight stay pending
+        Map<Long, Integer> sent = new LinkedHashMap<>(pendingGrades);
+        List<WorkReturnGradeUpdate> updates = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : sent.entrySet()) {
+            updates.add(new WorkReturnGradeUpdate(entry.getKey(), entry.getValue()));
+        }
+        buttonSaveGrades.setEnabled(false);
+
+        Call<List<Map<String, Object>>> call = apiService.gradeWorkReturns(updates);
+        call.enqueue(new Callback<List<Map<String, Object>>>() {
             @Override
-            public void onResponse(Call<WorkReturn> call, Response<WorkReturn> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    WorkReturn updatedWorkReturn = response.body();
-                    workReturnList.stream()
-                            .filter(wr -> wr.getId().equals(workReturnId))
-                            .findFirst()
-                            .ifPresent(wr -> wr.setGrade(updatedWorkReturn.getGrade()));
-                    adapter.notifyDataSetChanged();
-                    Toast.makeText(GradeWorkReturnsActivity.this, "Grade updated successfully", Toast.LENGTH_SHORT).show();
+            public void onResponse(Call<List<Map<String, Object>>> call, Response<List<Map<String, Object>>> response) {
+                if (response.isSuccessful()) {
+                    for (Map.Entry<Long, Integer> entry : sent.entrySet()) {
+                        pendingGrades.remove(entry.getKey(), entry.getValue());
+                    }
+                    Log.d(TAG, "Saved " + sent.size() + " grades in one request");
+                    Toast.makeText(GradeWorkReturnsActivity.this, "Saved " + sent.size() + " grades", Toast.LENGTH_SHORT).show();
                 } else {
-                    Log.e(TAG, "Failed to update grade: " + response.code());
-                    Toast.makeText(GradeWorkReturnsActivity.this, "Failed to update grade: " + response.code(), Toast.LENGTH_SHORT).show();
+                    String errorBody = "N/A";
+                    try {
+                        errorBody = response.errorBody() != null ? response.errorBody().string() : "No error body";
+                    } catch (IOException e) {
+                        Log.e(TAG, "Error reading error body: " + e.getMessage());
+                    }
+                    Log.e(TAG, "Failed to save grades: " + response.code() + ", Body: " + errorBody);
+                    Toast.makeText(GradeWorkReturnsActivity.this, "Failed to save grades: " + response.code(), Toast.LENGTH_SHORT).show();
                 }
+                updateSaveButton();
             }
 
             @Override
-            public void onFailure(Call<WorkReturn> call, Throwable t) {
-                Log.e(TAG, "Network error updating grade: " + t.getMessage());
-                Toast.makeText(GradeWorkReturnsActivity.this, "Network error updating grade", Toast.LENGTH_SHORT).show();
+            public void onFailure(Call<List<Map<String, Object>>> call, Throwable t) {
+                Log.e(TAG, "Network error saving grades: " + t.getMessage());
+                Toast.makeText(GradeWorkReturnsActivity.this, "Network error saving grades", Toast.LENGTH_SHORT).show();
+                updateSaveButton();
             }
         });
     }
-}
\ No newline at end of file
+}
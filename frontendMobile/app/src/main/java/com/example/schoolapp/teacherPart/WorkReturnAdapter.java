@@ -60,6 +60,7 @@ public class WorkReturnAdapter extends BaseAdapter {
         holder.textSubjectName.setText(workReturn.getSubjectName());
         holder.textGrade.setText(workReturn.getGrade() != null ? workReturn.getGrade() : "Not Graded");
 
+        holder.buttonDownload.setEnabled(workReturn.isDownloadable());
         holder.buttonDownload.setOnClickListener(v -> onActionListener.onAction(workReturn.getId(), OnActionListener.ActionType.DOWNLOAD));
         holder.buttonGrade.setOnClickListener(v -> onActionListener.onAction(workReturn.getId(), OnActionListener.ActionType.GRADE));
 
@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Subject {
   id: number
@@ -45,7 +46,7 @@ export default function SubjectsPage() {
   const fetchLevels = async () => {
     try {
       console.log(`[DEBUG] Fetching levels from ${BACKEND_URL}/levels`)
-      const response = await fetch(`${BACKEND_URL}/levels`)
+      const response = await apiFetch(`${BACKEND_URL}/levels`)
       console.log(`[DEBUG] Levels fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -68,7 +69,7 @@ export default function SubjectsPage() {
     try {
       console.log(`[DEBUG] Fetching subjects from ${BACKEND_URL}/subjects`)
       console.log(`[DEBUG] Current levels state:`, levels)
-      const response = await fetch(`${BACKEND_URL}/subjects`)
+      const response = await apiFetch(`${BACKEND_URL}/subjects`)
       console.log(`[DEBUG] Subjects fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -160,7 +161,7 @@ export default function SubjectsPage() {
       console.log(`[DEBUG] Submitting subject:`, subjectToSend)
       console.log(`[DEBUG] Raw payload:`, JSON.stringify(subjectToSend))
       const url = isEditing ? `${BACKEND_URL}/subjects/${editingSubjectId}` : `${BACKEND_URL}/subjects`
-      const response = await fetch(url, {
+      const response = await apiFetch(url, {
         method: isEditing ? "PUT" : "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(subjectToSend),
@@ -227,7 +228,7 @@ export default function SubjectsPage() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting subject id: ${id}`)
-      const response = await fetch(`${BACKEND_URL}/subjects/${id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/subjects/${id}`, {
         method: "DELETE",
       })
 
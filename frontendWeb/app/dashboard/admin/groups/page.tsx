@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Group {
   id: number
@@ -45,7 +46,7 @@ export default function GroupsPage() {
   const fetchLevels = async () => {
     try {
       console.log(`[DEBUG] Fetching levels from ${BACKEND_URL}/levels`)
-      const response = await fetch(`${BACKEND_URL}/levels`)
+      const response = await apiFetch(`${BACKEND_URL}/levels`)
       console.log(`[DEBUG] Levels fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -71,7 +72,7 @@ export default function GroupsPage() {
     try {
       console.log(`[DEBUG] Fetching groups from ${BACKEND_URL}/groups`)
       console.log(`[DEBUG] Current levels state:`, levels)
-      const response = await fetch(`${BACKEND_URL}/groups`)
+      const response = await apiFetch(`${BACKEND_URL}/groups`)
       console.log(`[DEBUG] Groups fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -163,7 +164,7 @@ export default function GroupsPage() {
       console.log(`[DEBUG] Submitting group:`, groupToSend)
       console.log(`[DEBUG] Raw payload:`, JSON.stringify(groupToSend))
       const url = isEditing ? `${BACKEND_URL}/groups/${editingGroupId}` : `${BACKEND_URL}/groups`
-      const response = await fetch(url, {
+      const response = await apiFetch(url, {
         method: isEditing ? "PUT" : "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(groupToSend),
@@ -230,7 +231,7 @@ export default function GroupsPage() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting group id: ${id}`)
-      const response = await fetch(`${BACKEND_URL}/groups/${id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/groups/${id}`, {
         method: "DELETE",
       })
 
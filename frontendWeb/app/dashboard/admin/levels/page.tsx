@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Level {
   id: number
@@ -34,7 +35,7 @@ export default function LevelsPage() {
   const fetchLevels = async () => {
     try {
       console.log(`[DEBUG] Fetching levels from ${BACKEND_URL}/levels`)
-      const response = await fetch(`${BACKEND_URL}/levels`)
+      const response = await apiFetch(`${BACKEND_URL}/levels`)
       console.log(`[DEBUG] Levels fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -111,7 +112,7 @@ export default function LevelsPage() {
       console.log(`[DEBUG] Submitting level:`, levelToSend)
       console.log(`[DEBUG] Raw payload:`, JSON.stringify(levelToSend))
       const url = isEditing ? `${BACKEND_URL}/levels/${editingLevelId}` : `${BACKEND_URL}/levels`
-      const response = await fetch(url, {
+      const response = await apiFetch(url, {
         method: isEditing ? "PUT" : "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(levelToSend),
@@ -170,7 +171,7 @@ export default function LevelsPage() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting level id: ${id}`)
-      const response = await fetch(`${BACKEND_URL}/levels/${id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/levels/${id}`, {
         method: "DELETE",
       })
 
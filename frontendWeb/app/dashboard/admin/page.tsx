@@ -8,6 +8,7 @@ import { Button } from "@/components/ui/button"
 import { BookOpen, GraduationCap, Users, Settings, Bell, School, Layers } from "lucide-react"
 import Link from "next/link"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface SubjectPerformance {
   subject: string
@@ -66,7 +67,7 @@ export default function AdminDashboard() {
   const fetchStudents = async () => {
     try {
       console.log(`[DEBUG] Fetching students from ${BACKEND_URL}/students`)
-      const response = await fetch(`${BACKEND_URL}/students`)
+      const response = await apiFetch(`${BACKEND_URL}/students`)
       console.log(`[DEBUG] Students fetch status: ${response.status} ${response.statusText}`)
       if (!response.ok) {
         const errorText = await response.text()
@@ -95,7 +96,7 @@ export default function AdminDashboard() {
   const fetchTeachers = async () => {
     try {
       console.log(`[DEBUG] Fetching teachers from ${BACKEND_URL}/teachers`)
-      const response = await fetch(`${BACKEND_URL}/teachers`)
+      const response = await apiFetch(`${BACKEND_URL}/teachers`)
       console.log(`[DEBUG] Teachers fetch status: ${response.status} ${response.statusText}`)
       if (!response.ok) {
         const errorText = await response.text()
@@ -135,7 +136,7 @@ export default function AdminDashboard() {
   const fetchSubjects = async () => {
     try {
       console.log(`[DEBUG] Fetching subjects from ${BACKEND_URL}/subjects`)
-      const response = await fetch(`${BACKEND_URL}/subjects`)
+      const response = await apiFetch(`${BACKEND_URL}/subjects`)
       console.log(`[DEBUG] Subjects fetch status: ${response.status} ${response.statusText}`)
       if (!response.ok) {
         const errorText = await response.text()
@@ -164,7 +165,7 @@ export default function AdminDashboard() {
   const fetchGrades = async () => {
     try {
       console.log(`[DEBUG] Fetching grades from ${BACKEND_URL}/grades`)
-      const response = await fetch(`${BACKEND_URL}/grades`)
+      const response = await apiFetch(`${BACKEND_URL}/grades`)
       console.log(`[DEBUG] Grades fetch status: ${response.status} ${response.statusText}`)
       if (!response.ok) {
         const errorText = await response.text()
@@ -223,7 +224,7 @@ export default function AdminDashboard() {
         }
       })
 
-      const studentResponse = await fetch(`${BACKEND_URL}/students`)
+      const studentResponse = await apiFetch(`${BACKEND_URL}/students`)
       if (!studentResponse.ok) {
         throw new Error("Failed to fetch students for GPA")
       }
@@ -45,6 +45,7 @@ import { Plus, Edit, Trash, School } from "lucide-react"
 import { useForm } from "react-hook-form"
 import * as z from "zod"
 import { zodResolver } from "@hookform/resolvers/zod"
+import { apiFetch } from "@/lib/api"
 
 interface Program {
   id: number
@@ -105,7 +106,7 @@ export default function ProgramsPage() {
   const fetchPrograms = async () => {
     try {
       console.log(`[DEBUG] Fetching programs from ${BACKEND_URL}/programs`)
-      const response = await fetch(`${BACKEND_URL}/programs`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Programs fetch status: ${response.status} ${response.statusText}`)
@@ -158,7 +159,7 @@ export default function ProgramsPage() {
   const fetchTeachers = async () => {
     try {
       console.log(`[DEBUG] Fetching teachers from ${BACKEND_URL}/teachers`)
-      const response = await fetch(`${BACKEND_URL}/teachers`, {
+      const response = await apiFetch(`${BACKEND_URL}/teachers`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Teachers fetch status: ${response.status} ${response.statusText}`)
@@ -195,7 +196,7 @@ export default function ProgramsPage() {
   const fetchGroups = async () => {
     try {
       console.log(`[DEBUG] Fetching groups from ${BACKEND_URL}/groups`)
-      const response = await fetch(`${BACKEND_URL}/groups`, {
+      const response = await apiFetch(`${BACKEND_URL}/groups`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Groups fetch status: ${response.status} ${response.statusText}`)
@@ -235,7 +236,7 @@ export default function ProgramsPage() {
   const fetchSubjects = async () => {
     try {
       console.log(`[DEBUG] Fetching subjects from ${BACKEND_URL}/subjects`)
-      const response = await fetch(`${BACKEND_URL}/subjects`, {
+      const response = await apiFetch(`${BACKEND_URL}/subjects`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Subjects fetch status: ${response.status} ${response.statusText}`)
@@ -296,7 +297,7 @@ export default function ProgramsPage() {
 
       console.log(`[DEBUG] Sending program to backend:`, program)
 
-      const response = await fetch(`${BACKEND_URL}/programs`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs`, {
         method: "POST",
         headers: {
           "Content-Type": "application/json",
@@ -378,7 +379,7 @@ export default function ProgramsPage() {
 
       console.log(`[DEBUG] Sending updated program to backend:`, program)
 
-      const response = await fetch(`${BACKEND_URL}/programs/${selectedProgram.id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs/${selectedProgram.id}`, {
         method: "PUT",
         headers: {
           "Content-Type": "application/json",
@@ -442,7 +443,7 @@ export default function ProgramsPage() {
     if (!selectedProgram) return
     try {
       console.log(`[DEBUG] Deleting program ${selectedProgram.id}`)
-      const response = await fetch(`${BACKEND_URL}/programs/${selectedProgram.id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs/${selectedProgram.id}`, {
         method: "DELETE",
         headers: { "Accept": "application/json" },
       })
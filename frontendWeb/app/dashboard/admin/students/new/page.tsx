@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Student {
   id: number
@@ -62,8 +63,8 @@ export default function ManageStudents() {
     try {
       console.log(`[DEBUG] Fetching reference data from ${BACKEND_URL}`)
       const [groupsRes, levelsRes] = await Promise.all([
-        fetch(`${BACKEND_URL}/groups`),
-        fetch(`${BACKEND_URL}/levels`),
+        apiFetch(`${BACKEND_URL}/groups`),
+        apiFetch(`${BACKEND_URL}/levels`),
       ])
 
       console.log(`[DEBUG] Groups fetch status: ${groupsRes.status} ${groupsRes.statusText}`)
@@ -103,7 +104,7 @@ export default function ManageStudents() {
   const fetchStudents = async (referenceData: { groupsData: Group[], levelsData: Level[] }) => {
     try {
       console.log(`[DEBUG] Fetching students from ${BACKEND_URL}/students`)
-      const response = await fetch(`${BACKEND_URL}/students`)
+      const response = await apiFetch(`${BACKEND_URL}/students`)
       console.log(`[DEBUG] Students fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -189,7 +190,7 @@ export default function ManageStudents() {
     try {
       console.log(`[DEBUG] Submitting student:`, studentToSend)
       const url = isEditing ? `${BACKEND_URL}/students/${newStudent.id}` : `${BACKEND_URL}/students`
-      const response = await fetch(url, {
+      const response = await apiFetch(url, {
         method: isEditing ? "PUT" : "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(studentToSend),
@@ -272,7 +273,7 @@ export default function ManageStudents() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting student id: ${id}`)
-      const response = await fetch(`${BACKEND_URL}/students/${id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/students/${id}`, {
         method: "DELETE",
       })
 
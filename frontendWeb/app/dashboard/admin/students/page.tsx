@@ -3,6 +3,7 @@
 import { useEffect, useState } from "react"
 import { Card, CardContent, CardHeader, CardTitle, CardDescription } from "@/components/ui/card"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Student {
   id: number
@@ -25,7 +26,7 @@ export default function StudentsPage() {
   const fetchStudents = async () => {
     try {
       console.log(`[DEBUG] Fetching students from ${BACKEND_URL}/students`)
-      const response = await fetch(`${BACKEND_URL}/students`)
+      const response = await apiFetch(`${BACKEND_URL}/students`)
       console.log(`[DEBUG] Students fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
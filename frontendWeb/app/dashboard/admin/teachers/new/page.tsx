@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Teacher {
   id: number
@@ -44,7 +45,7 @@ export default function TeacherManagement() {
     setError(null)
     try {
       console.log(`[DEBUG] Fetching teachers from ${BACKEND_URL}/teachers`)
-      const response = await fetch(`${BACKEND_URL}/teachers`)
+      const response = await apiFetch(`${BACKEND_URL}/teachers`)
       console.log(`[DEBUG] Teachers fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
@@ -106,7 +107,7 @@ export default function TeacherManagement() {
     try {
       console.log(`[DEBUG] Submitting teacher:`, teacherToSend)
       const url = isEditing ? `${BACKEND_URL}/teachers/${newTeacher.id}` : `${BACKEND_URL}/teachers`
-      const response = await fetch(url, {
+      const response = await apiFetch(url, {
         method: isEditing ? "PUT" : "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(teacherToSend),
@@ -177,7 +178,7 @@ export default function TeacherManagement() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting teacher id: ${id}`)
-      const response = await fetch(`${BACKEND_URL}/teachers/${id}`, {
+      const response = await apiFetch(`${BACKEND_URL}/teachers/${id}`, {
         method: "DELETE",
       })
 
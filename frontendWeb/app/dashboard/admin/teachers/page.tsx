@@ -3,6 +3,7 @@
 import { useEffect, useState } from "react"
 import { Card, CardContent, CardHeader, CardTitle, CardDescription } from "@/components/ui/card"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Teacher {
   id: number
@@ -21,7 +22,7 @@ export default function TeachersPage() {
   const fetchTeachers = async () => {
     try {
       console.log(`[DEBUG] Fetching teachers from ${BACKEND_URL}/teachers`)
-      const response = await fetch(`${BACKEND_URL}/teachers`)
+      const response = await apiFetch(`${BACKEND_URL}/teachers`)
       console.log(`[DEBUG] Teachers fetch status: ${response.status} ${response.statusText}`)
 
       if (!response.ok) {
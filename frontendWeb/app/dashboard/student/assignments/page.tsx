@@ -6,6 +6,7 @@ import { Card, CardContent, CardHeader, CardTitle, CardDescription, CardFooter }
 import { Input } from "@/components/ui/input"
 import { Label } from "@/components/ui/label"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 type Assignment = {
   id: number
@@ -41,8 +42,8 @@ export default function StudentAssignments() {
     try {
       console.log(`[DEBUG] Fetching assignments and subjects from ${BACKEND_URL}`);
       const [resAssignments, resSubjects] = await Promise.all([
-        fetch(`${BACKEND_URL}/assignments`, { headers: { "Accept": "application/json" } }),
-        fetch(`${BACKEND_URL}/subjects`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/assignments`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/subjects`, { headers: { "Accept": "application/json" } }),
       ])
 
       console.log(`[DEBUG] Assignments fetch status: ${resAssignments.status} ${resAssignments.statusText}`);
@@ -142,7 +143,7 @@ export default function StudentAssignments() {
     }
 
     try {
-      const res = await fetch(`${BACKEND_URL}/workreturns`, {
+      const res = await apiFetch(`${BACKEND_URL}/workreturns`, {
         method: "POST",
         body: formData,
       });
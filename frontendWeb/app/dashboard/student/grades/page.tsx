@@ -2,11 +2,13 @@
 
 import { useEffect, useState } from 'react'
 import { Button } from "@/components/ui/button"
+import { apiFetch, fetchAllPages } from "@/lib/api"
 
 type Grade = {
   id: number
   score: number | null
   fileUrl: string
+  fileName: string
   subject: {
     id: number
     name: string
@@ -31,25 +33,18 @@ export default function StudentGradesPage() {
       try {
         const studentId = 1 // Replace with actual logged-in student ID
         console.log(`[DEBUG] Fetching work returns from ${BASE_URL}/api/workreturns?studentId=${studentId}`)
-        const response = await fetch(`${BASE_URL}/api/workreturns?studentId=${studentId}`, {
+        const data = await fetchAllPages<any>(`${BASE_URL}/api/workreturns?studentId=${studentId}`, {
           headers: { "Accept": "application/json" },
         })
-        
-        console.log(`[DEBUG] WorkReturns fetch status: ${response.status} ${response.statusText}`)
-        if (!response.ok) {
-          const errorText = await response.text()
-          console.error(`[DEBUG] WorkReturns fetch error response: ${errorText}`)
-          throw new Error(`HTTP error! status: ${response.status}`)
-        }
-        
-        const data = await response.json()
         console.log(`[DEBUG] WorkReturns raw response:`, data)
         setGrades(data.map((wr: any) => ({
           id: wr.id,
           score: wr.grade !== null && wr.grade !== undefined ? wr.grade : null,
           fileUrl: wr.filePath || '',
-          subject: wr.assignment?.subject ? { id: wr.assignment.subject.id, name: wr.assignment.subject.name } : { id: 0, name: 'Unknown Subject' },
-          assignment: wr.assignment ? { id: wr.assignment.id, title: wr.assignment.title } : { id: 0, title: 'Unknown Assignment' },
+          // Stored paths are content hashes, so the name comes from the upload
+          fileName: wr.originalFileName || 'submission',
+          subject: { id: 0, name: wr.subjectName || 'Unknown Subject' },
+          assignment: wr.assignmentId ? { id: wr.assignmentId, title: wr.assignmentTitle } : { id: 0, title: 'Unknown Assignment' },
           createdAt: wr.createdAt || new Date().toISOString()
         })))
       } catch (err) {
@@ -66,7 +61,7 @@ export default function StudentGradesPage() {
   const handleDownload = async (workReturnId: number, fileName: string) => {
     try {
       console.log(`[DEBUG] Downloading file from ${BASE_URL}/api/workreturns/${workReturnId}/download`)
-      const response = await fetch(`${BASE_URL}/api/workreturns/${workReturnId}/download`, {
+      const response = await apiFetch(`${BASE_URL}/api/workreturns/${workReturnId}/download`, {
         method: "GET",
         headers: { "Accept": "*/*" },
       })
@@ -204,7 +199,7 @@ export default function StudentGradesPage() {
                   <td className="px-6 py-4 whitespace-nowrap text-sm">
                     <Button
                       variant="link"
-                      onClick={() => handleDownload(grade.id, grade.fileUrl.split("/").pop() || "submission")}
+                      onClick={() => handleDownload(grade.id, grade.fileName)}
                     >
                       Download
                     </Button>
@@ -4,13 +4,15 @@ import { useEffect, useState } from "react"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
 import { Tabs, TabsContent, TabsList, TabsTrigger } from "@/components/ui/tabs"
 import { CalendarDays, FileText, GraduationCap, Users } from "lucide-react"
+import { apiFetch } from "@/lib/api"
 
 interface Assignment {
   id: number
   subject: { id: number; name: string; levelName: string }
   title: string
   dueDate: string
-  status: "SUBMITTED" | "IN_PROGRESS" | "NOT_STARTED"
+  // This student's own status, from the listing's submissionStatus
+  status: "MISSING" | "SUBMITTED" | "GRADED"
 }
 
 interface Grade {
@@ -49,7 +51,7 @@ export default function StudentDashboard() {
   const fetchStudent = async () => {
     try {
       console.log(`[DEBUG] Fetching student from ${BACKEND_URL}/students/${STUDENT_ID}`)
-      const response = await fetch(`${BACKEND_URL}/students/${STUDENT_ID}`, {
+      const response = await apiFetch(`${BACKEND_URL}/students/${STUDENT_ID}`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Student fetch status: ${response.status} ${response.statusText}`)
@@ -87,8 +89,9 @@ export default function StudentDashboard() {
 
   const fetchAssignments = async (groupId: number) => {
     try {
-      console.log(`[DEBUG] Fetching assignments from ${BACKEND_URL}/assignments?groupId=${groupId}`)
-      const response = await fetch(`${BACKEND_URL}/assignments?groupId=${groupId}`, {
+      const url = `${BACKEND_URL}/assignments?groupId=${groupId}&studentId=${STUDENT_ID}`
+      console.log(`[DEBUG] Fetching assignments from ${url}`)
+      const response = await apiFetch(url, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Assignments fetch status: ${response.status} ${response.statusText}`)
@@ -101,7 +104,7 @@ export default function StudentDashboard() {
       console.log(`[DEBUG] Assignments response:`, data)
       const normalizedAssignments = Array.isArray(data)
         ? data.map((assignment: any) => {
-            const status = (assignment.status || "NOT_STARTED").toUpperCase()
+            const status = assignment.submissionStatus || "MISSING"
             console.log(`[DEBUG] Assignment ID: ${assignment.id}, Status: ${status}`)
             return {
               id: assignment.id || 0,
@@ -112,7 +115,7 @@ export default function StudentDashboard() {
               },
               title: assignment.title || "Untitled",
               dueDate: assignment.dueDate || "N/A",
-              status: status as "SUBMITTED" | "IN_PROGRESS" | "NOT_STARTED",
+              status: status as "MISSING" | "SUBMITTED" | "GRADED",
             }
           })
         : []
@@ -126,7 +129,7 @@ export default function StudentDashboard() {
   const fetchGrades = async (groupId: number) => {
     try {
       console.log(`[DEBUG] Fetching grades from ${BACKEND_URL}/grades?groupId=${groupId}`)
-      const response = await fetch(`${BACKEND_URL}/grades?groupId=${groupId}`, {
+      const response = await apiFetch(`${BACKEND_URL}/grades?groupId=${groupId}`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Grades fetch status: ${response.status} ${response.statusText}`)
@@ -163,7 +166,7 @@ export default function StudentDashboard() {
   const fetchClasses = async (groupId: number) => {
     try {
       console.log(`[DEBUG] Fetching programs from ${BACKEND_URL}/programs?groupId=${groupId}`)
-      const response = await fetch(`${BACKEND_URL}/programs?groupId=${groupId}`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs?groupId=${groupId}`, {
         headers: { "Accept": "application/json" },
       })
       console.log(`[DEBUG] Programs fetch status: ${response.status} ${response.statusText}`)
@@ -334,14 +337,14 @@ export default function StudentDashboard() {
                           <div className="text-sm text-muted-foreground">{assignment.dueDate}</div>
                           <div
                             className={`text-sm font-medium ${
-                              assignment.status === "SUBMITTED"
+                              assignment.status === "GRADED"
                                 ? "text-green-500"
-                                : assignment.status === "IN_PROGRESS"
+                                : assignment.status === "SUBMITTED"
                                 ? "text-amber-500"
                                 : "text-red-500"
                             }`}
                           >
-                            {assignment.status.replace("_", " ")}
+                            {assignment.status}
                           </div>
                         </div>
                       </div>
@@ -399,14 +402,14 @@ export default function StudentDashboard() {
                         <div className="text-sm text-muted-foreground">{assignment.dueDate}</div>
                         <div
                           className={`text-sm font-medium ${
-                            assignment.status === "SUBMITTED"
+                            assignment.status === "GRADED"
                               ? "text-green-500"
-                              : assignment.status === "IN_PROGRESS"
+                              : assignment.status === "SUBMITTED"
                               ? "text-amber-500"
                               : "text-red-500"
                             }`}
                         >
-                          {assignment.status.replace("_", " ")}
+                          {assignment.status}
                         </div>
                       </div>
                     </div>
@@ -1,6 +1,7 @@
 "use client"
 
 import { useEffect, useState } from 'react'
+import { apiFetch } from '@/lib/api'
 
 type Student = {
   id: number
@@ -31,7 +32,7 @@ export default function StudentProfile() {
       try {
         // In production, get ID from auth/session
         const studentId = 1 // Replace with actual logged-in student ID
-        const response = await fetch(`http://localhost:8080/api/students/${studentId}`)
+        const response = await apiFetch(`http://localhost:8080/api/students/${studentId}`)
         
         if (!response.ok) {
           throw new Error(`HTTP error! status: ${response.status}`)
@@ -67,7 +68,7 @@ export default function StudentProfile() {
       setSuccess('')
       setLoading(true)
 
-      const response = await fetch(`http://localhost:8080/api/students/${student.id}`, {
+      const response = await apiFetch(`http://localhost:8080/api/students/${student.id}`, {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',
@@ -15,6 +15,7 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 type Assignment = {
   id: number
@@ -70,10 +71,10 @@ export default function AddAssignmentForm() {
     try {
       console.log(`[DEBUG] Fetching form data from ${BACKEND_URL}`);
       const [resSubjects, resGroups, resPrograms, resAssignments] = await Promise.all([
-        fetch(`${BACKEND_URL}/subjects`, { headers: { "Accept": "application/json" } }),
-        fetch(`${BACKEND_URL}/groups`, { headers: { "Accept": "application/json" } }),
-        fetch(`${BACKEND_URL}/programs`, { headers: { "Accept": "application/json" } }),
-        fetch(`${BACKEND_URL}/assignments/all`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/subjects`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/groups`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/programs`, { headers: { "Accept": "application/json" } }),
+        apiFetch(`${BACKEND_URL}/assignments/all`, { headers: { "Accept": "application/json" } }),
       ])
 
       console.log(`[DEBUG] Subjects fetch status: ${resSubjects.status} ${resSubjects.statusText}`);
@@ -208,7 +209,7 @@ export default function AddAssignmentForm() {
 
     try {
       console.log(`[DEBUG] Submitting assignment:`, assignmentToSend);
-      const res = await fetch(`${BACKEND_URL}/assignments${newAssignment.id ? `/${newAssignment.id}` : ''}`, {
+      const res = await apiFetch(`${BACKEND_URL}/assignments${newAssignment.id ? `/${newAssignment.id}` : ''}`, {
         method: newAssignment.id ? "PUT" : "POST",
         headers: { "Content-Type": "application/json", "Accept": "application/json" },
         body: JSON.stringify(assignmentToSend),
@@ -288,7 +289,7 @@ export default function AddAssignmentForm() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting assignment id: ${id}`);
-      const res = await fetch(`${BACKEND_URL}/assignments/${id}`, {
+      const res = await apiFetch(`${BACKEND_URL}/assignments/${id}`, {
         method: "DELETE",
         headers: { "Accept": "application/json" },
       });
@@ -15,12 +15,14 @@ import {
   DialogTrigger,
 } from "@/components/ui/dialog"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch, fetchAllPages } from "@/lib/api"
 
 type WorkReturn = {
   id: number
   studentId: number
   assignmentId: number
   fileUrl: string
+  fileName: string
   grade?: number
   studentName: string
   subjectName: string
@@ -71,9 +73,9 @@ export default function AddGradeForm() {
     try {
       console.log(`[DEBUG] Fetching reference data from ${API_URL}`)
       const [studentsRes, subjectsRes, assignmentsRes] = await Promise.all([
-        fetch(`${API_URL}/students`),
-        fetch(`${API_URL}/subjects`),
-        fetch(`${API_URL}/assignments/all`),
+        apiFetch(`${API_URL}/students`),
+        apiFetch(`${API_URL}/subjects`),
+        apiFetch(`${API_URL}/assignments/all`),
       ])
 
       console.log(`[DEBUG] Students fetch status: ${studentsRes.status} ${studentsRes.statusText}`)
@@ -137,18 +139,9 @@ export default function AddGradeForm() {
   }) => {
     try {
       console.log(`[DEBUG] Fetching work returns from ${API_URL}/workreturns?groupId=${GROUP_ID}`)
-      const workReturnsRes = await fetch(`${API_URL}/workreturns?groupId=${GROUP_ID}`, {
+      const workReturnsData = await fetchAllPages<any>(`${API_URL}/workreturns?groupId=${GROUP_ID}`, {
         headers: { "Accept": "application/json" },
       })
-      console.log(`[DEBUG] WorkReturns fetch status: ${workReturnsRes.status} ${workReturnsRes.statusText}`)
-
-      if (!workReturnsRes.ok) {
-        const errorText = await workReturnsRes.text()
-        console.error(`[DEBUG] WorkReturns fetch error response: ${errorText}`)
-        throw new Error("Failed to fetch work returns")
-      }
-
-      const workReturnsData = await workReturnsRes.json()
       console.log(`[DEBUG] WorkReturns raw response:`, workReturnsData)
 
       const enrichedWorkReturns = Array.isArray(workReturnsData)
@@ -167,7 +160,7 @@ export default function AddGradeForm() {
               `[DEBUG] Enriching work return id ${wr.id}: studentId=${
                 wr.studentId || wr.student?.id
               }, assignmentId=${wr.assignmentId || wr.assignment?.id}, status=${
-                wr.assignment?.status
+                wr.assignmentStatus
               }, groupId=${assignment?.groupId}, fileUrl=${wr.filePath}`
             )
 
@@ -176,12 +169,14 @@ export default function AddGradeForm() {
               studentId: wr.studentId || wr.student?.id || 0,
               assignmentId: wr.assignmentId || wr.assignment?.id || 0,
               fileUrl: wr.filePath || wr.fileUrl || "",
+              // Stored paths are content hashes, so the name comes from the upload
+              fileName: wr.originalFileName || "submission",
               grade: wr.grade || undefined,
-              studentName: student
+              studentName: wr.studentName || (student
                 ? `${student.firstname} ${student.lastname}`
-                : "Unknown Student",
-              subjectName: subject?.name || "Unknown Subject",
-              assignmentName: assignment?.title || "Unknown Assignment",
+                : "Unknown Student"),
+              subjectName: wr.subjectName || subject?.name || "Unknown Subject",
+              assignmentName: wr.assignmentTitle || assignment?.title || "Unknown Assignment",
             }
           })
         : []
@@ -211,7 +206,7 @@ export default function AddGradeForm() {
   const handleDownload = async (workReturnId: number, fileName: string) => {
     try {
       console.log(`[DEBUG] Downloading file from ${API_URL}/workreturns/${workReturnId}/download`)
-      const response = await fetch(`${API_URL}/workreturns/${workReturnId}/download`, {
+      const response = await apiFetch(`${API_URL}/workreturns/${workReturnId}/download`, {
         method: "GET",
         headers: { "Accept": "*/*" },
       })
@@ -284,7 +279,7 @@ export default function AddGradeForm() {
 
     try {
       console.log(`[DEBUG] Updating work return:`, workReturnToUpdate)
-      const res = await fetch(`${API_URL}/workreturns/${newGrade.workReturnId}`, {
+      const res = await apiFetch(`${API_URL}/workreturns/${newGrade.workReturnId}`, {
         method: "PUT",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(workReturnToUpdate),
@@ -348,7 +343,7 @@ export default function AddGradeForm() {
   const handleDelete = async (id: number) => {
     try {
       console.log(`[DEBUG] Deleting work return grade id: ${id}`)
-      const res = await fetch(`${API_URL}/workreturns/${id}`, {
+      const res = await apiFetch(`${API_URL}/workreturns/${id}`, {
         method: "PUT",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify({ id, grade: null }),
@@ -487,18 +482,18 @@ export default function AddGradeForm() {
                 <p>
                   <strong>Submission:</strong>{" "}
                   <a
-                    href={`${BASE_URL}${wr.fileUrl}`}
-                    download={wr.fileUrl.split("/").pop()}
+                    href={`${API_URL}/workreturns/${wr.id}/download`}
+                    download={wr.fileName}
                     target="_blank"
                     rel="noopener noreferrer"
-                    onClick={() => console.log(`[DEBUG] Download link clicked: ${BASE_URL}${wr.fileUrl}`)}
+                    onClick={() => console.log(`[DEBUG] Download link clicked: ${API_URL}/workreturns/${wr.id}/download`)}
                   >
                     Download File
                   </a>
                   {" | "}
                   <Button
                     variant="link"
-                    onClick={() => handleDownload(wr.id, wr.fileUrl.split("/").pop() || "submission")}
+                    onClick={() => handleDownload(wr.id, wr.fileName)}
                   >
                     Download
                   </Button>
@@ -7,6 +7,7 @@ import { Button } from "@/components/ui/button"
 import { FileText, GraduationCap, Users, Clock } from "lucide-react"
 import Link from "next/link"
 import { toast } from "@/components/ui/use-toast"
+import { apiFetch } from "@/lib/api"
 
 interface Subject {
   id: number
@@ -87,7 +88,7 @@ export default function TeacherDashboard() {
   const fetchSubjects = async () => {
     try {
       console.log(`[DEBUG] Fetching subjects from ${BACKEND_URL}/subjects`)
-      const response = await fetch(`${BACKEND_URL}/subjects`, {
+      const response = await apiFetch(`${BACKEND_URL}/subjects`, {
         headers: { "Accept": "application/json" }
       })
       console.log(`[DEBUG] Subjects fetch status: ${response.status} ${response.statusText}`)
@@ -125,7 +126,7 @@ export default function TeacherDashboard() {
   const fetchStudents = async () => {
     try {
       console.log(`[DEBUG] Fetching students from ${BACKEND_URL}/students`)
-      const response = await fetch(`${BACKEND_URL}/students`, {
+      const response = await apiFetch(`${BACKEND_URL}/students`, {
         headers: { "Accept": "application/json" }
       })
       console.log(`[DEBUG] Students fetch status: ${response.status} ${response.statusText}`)
@@ -171,7 +172,7 @@ export default function TeacherDashboard() {
   const fetchGrades = async () => {
     try {
       console.log(`[DEBUG] Fetching grades from ${BACKEND_URL}/grades`)
-      const response = await fetch(`${BACKEND_URL}/grades`, {
+      const response = await apiFetch(`${BACKEND_URL}/grades`, {
         headers: { "Accept": "application/json" }
       })
       console.log(`[DEBUG] Grades fetch status: ${response.status} ${response.statusText}`)
@@ -213,7 +214,7 @@ export default function TeacherDashboard() {
   const fetchPrograms = async () => {
     try {
       console.log(`[DEBUG] Fetching programs from ${BACKEND_URL}/programs`)
-      const response = await fetch(`${BACKEND_URL}/programs`, {
+      const response = await apiFetch(`${BACKEND_URL}/programs`, {
         headers: { "Accept": "application/json" }
       })
       console.log(`[DEBUG] Programs fetch status: ${response.status} ${response.statusText}`)
@@ -275,7 +276,7 @@ export default function TeacherDashboard() {
       if (groupIds.length === 0) {
         console.log(`[DEBUG] No valid group IDs from students, trying default groupId=1`)
         // Fallback to groupId=1
-        const response = await fetch(`${BACKEND_URL}/assignments?groupId=1`, {
+        const response = await apiFetch(`${BACKEND_URL}/assignments?groupId=1`, {
           headers: { "Accept": "application/json" }
         })
         console.log(`[DEBUG] Assignments fetch status (groupId=1): ${response.status} ${response.statusText}`)
@@ -311,7 +312,7 @@ export default function TeacherDashboard() {
       const allAssignments: Assignment[] = []
       for (const groupId of groupIds) {
         console.log(`[DEBUG] Fetching assignments for groupId=${groupId}`)
-        const response = await fetch(`${BACKEND_URL}/assignments?groupId=${groupId}`, {
+        const response = await apiFetch(`${BACKEND_URL}/assignments?groupId=${groupId}`, {
           headers: { "Accept": "application/json" }
         })
         console.log(`[DEBUG] Assignments fetch status (groupId=${groupId}): ${response.status} ${response.statusText}`)
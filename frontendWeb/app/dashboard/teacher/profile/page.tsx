@@ -1,6 +1,7 @@
 "use client"
 
 import { useEffect, useState } from 'react'
+import { apiFetch } from '@/lib/api'
 
 type Teacher = {
   id: number
@@ -23,7 +24,7 @@ export default function TeacherProfile() {
       try {
         // In production, get ID from auth/session
         const teacherId = 1 // Replace with actual logged-in teacher ID
-        const response = await fetch(`http://localhost:8080/api/teachers/${teacherId}`)
+        const response = await apiFetch(`http://localhost:8080/api/teachers/${teacherId}`)
         
         if (!response.ok) {
           throw new Error(`HTTP error! status: ${response.status}`)
@@ -59,7 +60,7 @@ export default function TeacherProfile() {
       setSuccess('')
       setLoading(true)
 
-      const response = await fetch(`http://localhost:8080/api/teachers/${teacher.id}`, {
+      const response = await apiFetch(`http://localhost:8080/api/teachers/${teacher.id}`, {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',
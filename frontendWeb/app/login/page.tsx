@@ -37,6 +37,15 @@ export default function LoginPage() {
   
       const userData = await response.json();
       console.log("Login success:", userData);
+
+      // Signed session token: role, id and group travel with it, so pages need no identity lookups.
+      // apiFetch sends it on every backend call; a login without one must not reuse the previous token.
+      if (userData.token) {
+        localStorage.setItem("authToken", userData.token);
+      } else {
+        localStorage.removeItem("authToken");
+      }
+      localStorage.setItem("user", JSON.stringify({ id: userData.id, role: userData.role, email: userData.email, groupId: userData.groupId }));
   
       if (userData.role === "student") {
         router.push("/dashboard/student");
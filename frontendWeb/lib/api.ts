@@ -0,0 +1,30 @@
+// Every backend call goes through apiFetch so the session token saved at login reaches the
+// server as "Authorization: Bearer"; requests without a token are sent as before.
+export function apiFetch(input: string, init?: RequestInit): Promise<Response> {
+  const token = typeof window !== "undefined" ? localStorage.getItem("authToken") : null
+  if (!token) {
+    return fetch(input, init)
+  }
+  const headers = new Headers(init?.headers)
+  if (!headers.has("Authorization")) {
+    headers.set("Authorization", `Bearer ${token}`)
+  }
+  return fetch(input, { ...init, headers })
+}
+
+// Listings such as /api/workreturns return one page at a time and an X-Next-Cursor header
+// while there may be more; the cursor goes back as ?after= for the next page.
+export async function fetchAllPages<T>(url: string, init?: RequestInit): Promise<T[]> {
+  const items: T[] = []
+  let cursor: string | null = null
+  do {
+    const separator = url.includes("?") ? "&" : "?"
+    const res = await apiFetch(cursor ? `${url}${separator}after=${cursor}` : url, init)
+    if (!res.ok) {
+      throw new Error(`HTTP error! status: ${res.status} ${await res.text()}`)
+    }
+    items.push(...(await res.json()))
+    cursor = res.headers.get("X-Next-Cursor")
+  } while (cursor)
+  return items
+}